@@ -117,15 +117,32 @@ public @interface Logic {
      * <li>All other type adapter factories that are auto-generated by Immutables are found by {@link TypeAdapterFactory}</li>
      * </ul>
      * There is no way to get around this limitation as distinct {@link Processor} cannot modify the same service file
-     * and the only way to auto-generate type adapter factories for the logic predicates is through a
-     * {@code RuntimeTypeAdapter}. {@link ExpectedSubtypes} does not perform well and requires distinct JSON models to
-     * distinguish between subtypes and would require providing an obscure discriminator method to the model that serves
-     * no purpose but to enable JSON serialization.
+     * and the only way to auto-generate type adapter factories for the logic predicates is through a custom
+     * {@code io.logic.gson.LogicTypeAdapter}, which streams each predicate behind a {@code type} discriminator.
+     * {@link ExpectedSubtypes} does not perform well and requires distinct JSON models to distinguish between subtypes
+     * and would require providing an obscure discriminator method to the model that serves no purpose but to enable
+     * JSON serialization.
      *
      * @return whether or not to generate the type adapter factories for the logic predicates
      */
     boolean gson() default true;
 
+    /**
+     * Represents whether or not to generate the Jackson {@code com.fasterxml.jackson.databind.Module} required for
+     * serializing the type hierarchy of logic predicates.
+     * <p>
+     * Generated modules are registered with {@link ServiceLoader} under {@code io.logic.jackson.ModuleMirror}, for the
+     * same reason type adapter factories are registered under {@code io.logic.gson.TypeAdapterFactoryMirror}. The
+     * serializers write the same JSON as the {@link Logic#gson()} type adapters, so predicates can be written by one
+     * library and read by the other.
+     * <p>
+     * Modules are only generated on request, since they require {@code jackson-databind} on the classpath of the
+     * annotated model. Requesting them without it is reported as a compilation error.
+     *
+     * @return whether or not to generate the Jackson modules for the logic predicates
+     */
+    boolean jackson() default false;
+
     /**
      * Represents whether or not to implement the <a href="https://en.wikipedia.org/wiki/Visitor_pattern">visitor pattern</a>
      * for the type hierarchy of logic predicates.
@@ -134,6 +151,17 @@ public @interface Logic {
      */
     boolean visitor() default true;
 
+    /**
+     * Represents whether or not to generate an off-heap column store for the model, which stores each member in its own
+     * column and answers queries by scanning only the columns the predicate reads.
+     * <p>
+     * Column stores decompose queries through the visitor pattern, so enabling them without {@link Logic#visitor()} is
+     * reported as a compilation error.
+     *
+     * @return whether or not to generate the column store for the model
+     */
+    boolean columnar() default false;
+
     /**
      * An annotation that can be placed on types or packages to designate a set of {@link Class} to include for generating
      * model predicates.
@@ -216,6 +244,47 @@ public @interface Logic {
     @interface Ignore {
     }
 
+    /**
+     * An annotation that can be placed on value-providing members of {@link Logic} classes to maintain a secondary
+     * index on the member.
+     * <p>
+     * If any member of a {@link Logic} class is indexed, an indexed collection is generated for the class, with the
+     * name {@code {Class#getSimpleName()}Index}, which answers predicate queries with index lookups instead of testing
+     * every element.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    @Documented
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    @interface Indexed {
+        /**
+         * Represents the kind of index to maintain for the member.
+         *
+         * @return the index type of the member
+         */
+        Type value() default Type.HASH;
+
+        /**
+         * The kinds of secondary indexes which can be maintained for a member.
+         *
+         * @author Ian Caffey
+         * @since 1.0
+         */
+        enum Type {
+            /**
+             * A hash index, which supports equality lookups ({@code isEqualTo}, {@code isIn}).
+             */
+            HASH,
+            /**
+             * A sorted index, which supports equality and range lookups ({@code isLessThan}, {@code isGreaterThan}, ...).
+             * <p>
+             * The member values must implement {@link Comparable}.
+             */
+            SORTED
+        }
+    }
+
     /**
      * A declarative representation of a custom predicate implementation of the {@link Logic} model class.
      * <p>
@@ -345,6 +414,17 @@ public @interface Logic {
              */
             Class<?> type() default Void.class;
 
+            /**
+             * Represents the type arguments of the parameter type.
+             * <p>
+             * If the type arguments are non-empty, the parameter type is the generic type {@link Parameter#type()}
+             * parameterized by the type arguments (e.g. {@code type = MembershipFilter.class, typeArguments = Long.class}
+             * for {@code MembershipFilter<Long>}), so arguments of another parameterization fail to compile.
+             *
+             * @return the parameter type arguments
+             */
+            Class<?>[] typeArguments() default {};
+
             /**
              * Represents the fully-qualified type name of the parameter.
              * <p>
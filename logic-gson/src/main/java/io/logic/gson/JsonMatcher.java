@@ -0,0 +1,286 @@
+package io.logic.gson;
+
+import com.google.common.base.Defaults;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.FieldNamingStrategy;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A predicate evaluated directly against the JSON representation of a model instance within a {@link JsonReader},
+ * without deserializing the model instance.
+ * <p>
+ * The predicate is decomposed into an {@link Expression} once, and each JSON object is then read member by member:
+ * members which no remaining atom reads are skipped with {@link JsonReader#skipValue()}, members of a nested model
+ * described by a {@link JsonSchema} are read the same way (unless they are not represented as JSON objects), and every
+ * other member is decoded (primitives and strings directly from the reader, anything else with {@link Gson}) and
+ * substituted into the expression. Once the expression folds to a constant, the rest of the object is skipped.
+ * <p>
+ * Members are named as the {@link Gson} of the matcher names them: by the {@link SerializedName} of the field or method
+ * which declares the member, or else by the {@link FieldNamingStrategy} of the {@link Gson} applied to the field (or to
+ * the field named after a method member, if the model has one), or else by the JSON name of the {@link JsonSchema}.
+ * <p>
+ * The atoms of a member missing from the JSON object are unknown rather than tested with a default value: the object
+ * is still matched if the outcome does not depend on them, and a {@link JsonParseException} is thrown otherwise. A
+ * member which is JSON {@code null} is tested with {@code null} (or zero for primitives), as {@link Gson} deserializes
+ * it. A predicate which tests the whole model instance (e.g. an opaque predicate) deserializes the object with
+ * {@link Gson} and tests it directly. {@link JsonMatcher} is thread-safe.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class JsonMatcher<T> {
+    private final Predicate<? super T> predicate;
+    private final JsonSchema schema;
+    private final Gson gson;
+    private final Expression expression;
+    private final Level root;
+
+    /**
+     * Constructs a new {@link JsonMatcher} of the predicate.
+     *
+     * @param predicate the predicate to evaluate
+     * @param schema    the schema of the model
+     * @param gson      the {@link Gson} which serializes the model, used to name members and to decode members which
+     *                  are not primitives or strings
+     * @throws IllegalArgumentException if the predicate tests a member which the schema does not describe, or two
+     *                                  members read by the predicate have the same JSON name
+     */
+    protected JsonMatcher(Predicate<? super T> predicate, JsonSchema schema, Gson gson) {
+        this.predicate = Objects.requireNonNull(predicate, "predicate");
+        this.schema = Objects.requireNonNull(schema, "schema");
+        this.gson = Objects.requireNonNull(gson, "gson");
+        this.expression = Expression.of(predicate);
+        Set<Atom> atoms = expression.atoms();
+        this.root = atoms.stream().anyMatch(atom -> atom.getPath().isEmpty()) ? null : level(schema, atoms, 0);
+    }
+
+    /**
+     * Represents the predicate evaluated by the matcher.
+     *
+     * @return the predicate of the matcher
+     */
+    public Predicate<? super T> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Evaluates the predicate against the JSON object at the position of the reader, consuming the object.
+     *
+     * @param reader the reader positioned at the start of a JSON object
+     * @return {@code true} if the model instance represented by the object matches the predicate
+     * @throws IOException        if the object cannot be read
+     * @throws JsonParseException if the outcome depends on a member which is missing from the object
+     */
+    @SuppressWarnings("unchecked")
+    public boolean test(JsonReader reader) throws IOException {
+        if (root == null) {
+            return predicate.test((T) gson.getAdapter(TypeToken.get(schema.getType())).read(reader));
+        }
+        Evaluation evaluation = new Evaluation(expression);
+        read(reader, root, evaluation);
+        if (!evaluation.isDecided() && !evaluation.missing.isEmpty()) {
+            throw new JsonParseException("Unable to evaluate " + evaluation.remaining + " since the JSON object has no " + evaluation.missing + " members.");
+        }
+        if (!evaluation.isDecided()) {
+            throw new IllegalStateException("Unable to evaluate " + evaluation.remaining + " from the JSON object.");
+        }
+        return ((Expression.Constant) evaluation.remaining).isValue();
+    }
+
+    private void read(JsonReader reader, Level level, Evaluation evaluation) throws IOException {
+        Set<Target> seen = new HashSet<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Target target = level.targets.get(reader.nextName());
+            if (target == null || evaluation.isDecided() || !evaluation.needs(target) || !seen.add(target)) {
+                reader.skipValue();
+            } else if (target.nested == null || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                evaluation.resolve(target, decode(reader, target.member.getType()));
+            } else {
+                read(reader, target.nested, evaluation);
+            }
+        }
+        reader.endObject();
+        for (Target target : new HashSet<>(level.targets.values())) {
+            if (!seen.contains(target) && !evaluation.isDecided() && evaluation.needs(target)) {
+                evaluation.missing.add(target.jsonName);
+            }
+        }
+    }
+
+    private Object decode(JsonReader reader, Type type) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return defaultValue(type);
+        }
+        if (type == String.class) {
+            return reader.nextString();
+        } else if (type == int.class || type == Integer.class) {
+            return reader.nextInt();
+        } else if (type == long.class || type == Long.class) {
+            return reader.nextLong();
+        } else if (type == double.class || type == Double.class) {
+            return reader.nextDouble();
+        } else if (type == boolean.class || type == Boolean.class) {
+            return reader.nextBoolean();
+        }
+        return gson.getAdapter(TypeToken.get(type)).read(reader);
+    }
+
+    private static Object defaultValue(Type type) {
+        return type instanceof Class ? Defaults.defaultValue((Class<?>) type) : null;
+    }
+
+    /**
+     * Groups the atoms by the member of the schema they read at the depth, reading the members of nested models member
+     * by member unless an atom tests the nested model as a whole.
+     */
+    private Level level(JsonSchema schema, Collection<Atom> atoms, int depth) {
+        Map<String, List<Atom>> atomsByMember = atoms.stream()
+                .collect(Collectors.groupingBy(atom -> atom.getPath().get(depth), LinkedHashMap::new, Collectors.toList()));
+        Map<String, Target> targets = new HashMap<>();
+        atomsByMember.forEach((name, memberAtoms) -> {
+            JsonSchema.Member member = schema.getMembers().get(name);
+            if (member == null) {
+                throw new IllegalArgumentException("No JSON member for " + name + ".");
+            }
+            boolean whole = !member.getSchema().isPresent() || memberAtoms.stream().anyMatch(atom -> atom.getPath().size() == depth + 1);
+            List<String> jsonNames = jsonNames(schema, member);
+            Target target = new Target(member, jsonNames.get(0), depth, memberAtoms, whole ? null : level(member.getSchema().get(), memberAtoms, depth + 1));
+            for (String jsonName : jsonNames) {
+                if (targets.putIfAbsent(jsonName, target) != null) {
+                    throw new IllegalArgumentException("Duplicate JSON name " + jsonName + ".");
+                }
+            }
+        });
+        return new Level(targets);
+    }
+
+    /**
+     * Names the member as {@link Gson} does, followed by the alternate names it reads the member from.
+     */
+    private List<String> jsonNames(JsonSchema schema, JsonSchema.Member member) {
+        AnnotatedElement element = member.getElement().orElse(null);
+        if (element != null && !(element instanceof Field) && !element.isAnnotationPresent(SerializedName.class)) {
+            //Gson serializes the field a method member reads, if the model has one named after the member
+            Field field = backingField(TypeToken.get(schema.getType()).getRawType(), member.getJsonName());
+            element = field == null ? element : field;
+        }
+        List<String> names = new ArrayList<>();
+        SerializedName serializedName = element == null ? null : element.getAnnotation(SerializedName.class);
+        if (serializedName != null) {
+            names.add(serializedName.value());
+            names.addAll(Arrays.asList(serializedName.alternate()));
+        } else if (element instanceof Field) {
+            names.add(gson.fieldNamingStrategy().translateName((Field) element));
+        } else {
+            names.add(member.getJsonName());
+        }
+        return names;
+    }
+
+    private static Field backingField(Class<?> type, String name) {
+        try {
+            return JsonSchema.field(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The members read from a JSON object, keyed by their JSON name.
+     */
+    private static final class Level {
+        private final Map<String, Target> targets;
+
+        private Level(Map<String, Target> targets) {
+            this.targets = ImmutableMap.copyOf(targets);
+        }
+    }
+
+    /**
+     * A member read by the atoms of the predicate, which is either decoded or read as a nested level.
+     */
+    private static final class Target {
+        private final JsonSchema.Member member;
+        private final String jsonName;
+        private final int depth;
+        private final List<Atom> atoms;
+        private final Level nested;
+
+        private Target(JsonSchema.Member member, String jsonName, int depth, List<Atom> atoms, Level nested) {
+            this.member = member;
+            this.jsonName = jsonName;
+            this.depth = depth;
+            this.atoms = ImmutableList.copyOf(atoms);
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * The partially evaluated expression of a single JSON object.
+     */
+    private static final class Evaluation {
+        private final List<String> missing = new ArrayList<>();
+        private Expression remaining;
+        private Set<Atom> atoms;
+
+        private Evaluation(Expression expression) {
+            this.remaining = expression;
+            this.atoms = expression.atoms();
+        }
+
+        private boolean isDecided() {
+            return remaining instanceof Expression.Constant;
+        }
+
+        private boolean needs(Target target) {
+            return target.atoms.stream().anyMatch(atoms::contains);
+        }
+
+        /**
+         * Tests the atoms which read the member on its value, resolving the rest of their paths from the value.
+         */
+        private void resolve(Target target, Object value) {
+            Map<Atom, Boolean> values = new HashMap<>();
+            for (Atom atom : target.atoms) {
+                if (atoms.contains(atom)) {
+                    Object resolved = value;
+                    for (Function<Object, Object> accessor : atom.getAccessors().subList(target.depth + 1, atom.getAccessors().size())) {
+                        resolved = accessor.apply(resolved);
+                    }
+                    values.put(atom, atom.getPredicate().test(resolved));
+                }
+            }
+            remaining = remaining.assign(values);
+            atoms = remaining.atoms();
+        }
+    }
+}
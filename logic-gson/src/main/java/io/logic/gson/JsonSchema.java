@@ -0,0 +1,261 @@
+package io.logic.gson;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A description of how the members of a model are named within its JSON representation, used by a {@link JsonMatcher}
+ * to find the members a predicate reads within a stream of JSON.
+ * <p>
+ * Members of a model type with its own schema refer to it lazily, so recursive models can be described. A member may
+ * also refer to the field or method it was declared by, so a {@link JsonMatcher} names it as its {@code Gson} does.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class JsonSchema {
+    private final Type type;
+    private final Map<String, Member> members;
+
+    private JsonSchema(Type type, Map<String, Member> members) {
+        this.type = type;
+        this.members = ImmutableMap.copyOf(members);
+    }
+
+    /**
+     * Creates a new {@link Builder} for the {@link JsonSchema} of a model.
+     *
+     * @param type the type of the model
+     * @return a new builder
+     */
+    public static Builder builder(Type type) {
+        return new Builder(Objects.requireNonNull(type, "type"));
+    }
+
+    /**
+     * Represents the type of the model, used to deserialize it when a predicate tests the whole model instance.
+     *
+     * @return the type of the model
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Represents the members of the model, keyed by their logic name (e.g. {@code Make}).
+     *
+     * @return the members of the model
+     */
+    public Map<String, Member> getMembers() {
+        return members;
+    }
+
+    /**
+     * Finds the field declared by the type or one of its superclasses.
+     *
+     * @param type the type which declares or inherits the field
+     * @param name the name of the field
+     * @return the field
+     * @throws IllegalArgumentException if the type has no such field
+     */
+    public static Field field(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                //declared by a superclass
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " in " + type.getName() + ".");
+    }
+
+    /**
+     * Finds the method without parameters declared by the type, one of its superclasses, or one of its interfaces.
+     *
+     * @param type the type which declares or inherits the method
+     * @param name the name of the method
+     * @return the method
+     * @throws IllegalArgumentException if the type has no such method
+     */
+    public static Method method(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredMethod(name);
+            } catch (NoSuchMethodException ignored) {
+                //declared by a superclass
+            }
+        }
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No method " + name + "() in " + type.getName() + ".", e);
+        }
+    }
+
+    /**
+     * A member of the model, along with its name within the JSON representation of the model.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Member {
+        private final String name;
+        private final String jsonName;
+        private final Type type;
+        private final AnnotatedElement element;
+        private final Supplier<Optional<JsonSchema>> schema;
+
+        private Member(String name, String jsonName, Type type, AnnotatedElement element, Supplier<JsonSchema> schema) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.jsonName = Objects.requireNonNull(jsonName, "jsonName");
+            this.type = Objects.requireNonNull(type, "type");
+            this.element = element;
+            this.schema = schema == null ? Optional::empty : Suppliers.memoize(() -> Optional.of(schema.get()));
+        }
+
+        /**
+         * Represents the logic name of the member.
+         *
+         * @return the logic name of the member
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Represents the name of the member within the JSON representation of the model, unless the {@code Gson} of a
+         * {@link JsonMatcher} names the element of the member otherwise.
+         *
+         * @return the JSON name of the member
+         */
+        public String getJsonName() {
+            return jsonName;
+        }
+
+        /**
+         * Represents the type of the member, used to decode its value.
+         *
+         * @return the type of the member
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Represents the field or method which declares the member, whose annotations and name determine how
+         * {@code Gson} names the member.
+         *
+         * @return the element which declares the member, or {@link Optional#empty()} if the JSON name is fixed
+         */
+        public Optional<AnnotatedElement> getElement() {
+            return Optional.ofNullable(element);
+        }
+
+        /**
+         * Represents the schema of the member type, which allows the members of a nested model to be read without
+         * decoding the whole nested model.
+         *
+         * @return the schema of the member type, or {@link Optional#empty()} if the member type is not described
+         */
+        public Optional<JsonSchema> getSchema() {
+            return schema.get();
+        }
+    }
+
+    /**
+     * A builder for {@link JsonSchema}.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder {
+        private final Type type;
+        private final Map<String, Member> members = new LinkedHashMap<>();
+
+        private Builder(Type type) {
+            this.type = type;
+        }
+
+        /**
+         * Adds a member which is decoded as a whole.
+         *
+         * @param name     the logic name of the member
+         * @param jsonName the JSON name of the member
+         * @param type     the type of the member
+         * @return {@code this} builder
+         */
+        public Builder addMember(String name, String jsonName, Type type) {
+            return add(new Member(name, jsonName, type, null, null));
+        }
+
+        /**
+         * Adds a member which is decoded as a whole, named as {@code Gson} names the element which declares it.
+         *
+         * @param name     the logic name of the member
+         * @param jsonName the JSON name of the member unless {@code Gson} names the element otherwise
+         * @param type     the type of the member
+         * @param element  the field or method which declares the member
+         * @return {@code this} builder
+         */
+        public Builder addMember(String name, String jsonName, Type type, AnnotatedElement element) {
+            return add(new Member(name, jsonName, type, Objects.requireNonNull(element, "element"), null));
+        }
+
+        /**
+         * Adds a member of a model type described by its own schema.
+         *
+         * @param name     the logic name of the member
+         * @param jsonName the JSON name of the member
+         * @param type     the type of the member
+         * @param schema   the supplier of the schema of the member type
+         * @return {@code this} builder
+         */
+        public Builder addMember(String name, String jsonName, Type type, Supplier<JsonSchema> schema) {
+            return add(new Member(name, jsonName, type, null, Objects.requireNonNull(schema, "schema")));
+        }
+
+        /**
+         * Adds a member of a model type described by its own schema, named as {@code Gson} names the element which
+         * declares it.
+         *
+         * @param name     the logic name of the member
+         * @param jsonName the JSON name of the member unless {@code Gson} names the element otherwise
+         * @param type     the type of the member
+         * @param element  the field or method which declares the member
+         * @param schema   the supplier of the schema of the member type
+         * @return {@code this} builder
+         */
+        public Builder addMember(String name, String jsonName, Type type, AnnotatedElement element, Supplier<JsonSchema> schema) {
+            return add(new Member(name, jsonName, type, Objects.requireNonNull(element, "element"), Objects.requireNonNull(schema, "schema")));
+        }
+
+        private Builder add(Member member) {
+            if (members.values().stream().anyMatch(existing -> existing.getJsonName().equals(member.getJsonName()))) {
+                throw new IllegalArgumentException("Duplicate JSON name " + member.getJsonName() + ".");
+            }
+            if (members.putIfAbsent(member.getName(), member) != null) {
+                throw new IllegalArgumentException("Duplicate member " + member.getName() + ".");
+            }
+            return this;
+        }
+
+        /**
+         * Creates the {@link JsonSchema}.
+         *
+         * @return a new {@link JsonSchema}
+         */
+        public JsonSchema build() {
+            return new JsonSchema(type, members);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.logic.gson;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A streaming {@link TypeAdapter} for a predicate hierarchy, which represents each predicate as a JSON object whose
+ * first member is the {@value #TYPE} discriminator, followed by the attributes of the predicate (e.g.
+ * <code>{"type":"And","left":{...},"right":{...}}</code>).
+ * <p>
+ * The representation is the one of {@code RuntimeTypeAdapterFactory}, but predicates are written and read directly
+ * against the stream instead of through an intermediate {@link JsonElement} tree. Writing always emits the discriminator
+ * first, so reading dispatches on it as soon as the object begins. An object whose discriminator is not its first
+ * member (e.g. JSON written by another library) is still accepted: the object is buffered, and the buffered tree is
+ * read once the discriminator is found.
+ * <p>
+ * Generated type adapter factories extend {@link LogicTypeAdapter} with the attributes of every predicate of the
+ * hierarchy.
+ *
+ * @param <T> the type of the predicate hierarchy
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public abstract class LogicTypeAdapter<T> extends TypeAdapter<T> {
+    /**
+     * The name of the member which holds the type of the predicate.
+     */
+    public static final String TYPE = "type";
+    private final Class<T> type;
+
+    /**
+     * Constructs a new {@link LogicTypeAdapter} for the predicate hierarchy.
+     *
+     * @param type the base type of the predicate hierarchy
+     */
+    protected LogicTypeAdapter(Class<T> type) {
+        this.type = Objects.requireNonNull(type, "type");
+    }
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(TYPE).value(getType(value));
+        writeAttributes(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        in.beginObject();
+        if (!in.hasNext()) {
+            throw new JsonParseException("Cannot deserialize " + type.getName() + " without a " + TYPE + " member.");
+        }
+        String name = in.nextName();
+        if (!TYPE.equals(name) || in.peek() != JsonToken.STRING) {
+            return readBuffered(name, in);
+        }
+        T value = readAttributes(in.nextString(), in);
+        in.endObject();
+        return value;
+    }
+
+    /**
+     * Buffers the rest of an object whose first member is not the discriminator, and reads the object again with the
+     * discriminator moved first.
+     */
+    private T readBuffered(String name, JsonReader in) throws IOException {
+        JsonParser parser = new JsonParser();
+        JsonObject members = new JsonObject();
+        members.add(name, parser.parse(in));
+        while (in.hasNext()) {
+            members.add(in.nextName(), parser.parse(in));
+        }
+        in.endObject();
+        JsonElement label = members.remove(TYPE);
+        if (label == null || !label.isJsonPrimitive() || !label.getAsJsonPrimitive().isString()) {
+            throw new JsonParseException("Cannot deserialize " + type.getName() + " without a " + TYPE + " member.");
+        }
+        JsonObject ordered = new JsonObject();
+        ordered.add(TYPE, label);
+        for (Map.Entry<String, JsonElement> member : members.entrySet()) {
+            ordered.add(member.getKey(), member.getValue());
+        }
+        return fromJsonTree(ordered);
+    }
+
+    /**
+     * Represents the type of the predicate, which is written as the discriminator of its JSON object.
+     *
+     * @param value the predicate
+     * @return the type of the predicate (e.g. {@code And})
+     * @throws JsonParseException if the predicate is not a predicate of the hierarchy
+     */
+    protected abstract String getType(T value);
+
+    /**
+     * Writes the attributes of the predicate as members of the current JSON object.
+     *
+     * @param out   the writer, positioned after the discriminator
+     * @param value the predicate
+     * @throws IOException if the writer fails
+     */
+    protected abstract void writeAttributes(JsonWriter out, T value) throws IOException;
+
+    /**
+     * Reads the attributes of a predicate of the type from the members of the current JSON object, skipping unknown
+     * members and consuming every member up to the end of the object.
+     *
+     * @param type the type of the predicate
+     * @param in   the reader, positioned after the discriminator
+     * @return the predicate
+     * @throws IOException        if the reader fails
+     * @throws JsonParseException if the type is unknown or a required attribute is missing
+     */
+    protected abstract T readAttributes(String type, JsonReader in) throws IOException;
+
+    /**
+     * Requires the attribute to have been read from the JSON object.
+     *
+     * @param value the attribute value, which is {@code null} if the member was missing
+     * @param type  the type of the predicate
+     * @param name  the name of the attribute
+     * @param <V>   the type of the attribute
+     * @return the attribute value
+     * @throws JsonParseException if the attribute value is {@code null}
+     */
+    protected static <V> V require(V value, String type, String name) {
+        if (value == null) {
+            throw new JsonParseException("Cannot deserialize " + type + " without a " + name + " member.");
+        }
+        return value;
+    }
+
+    /**
+     * Creates the exception for a predicate which is not a predicate of the hierarchy.
+     *
+     * @param value the predicate
+     * @return the exception to throw
+     */
+    protected JsonParseException unknownPredicate(Object value) {
+        return new JsonParseException("Cannot serialize " + value.getClass().getName() + " as a " + type.getName() + ".");
+    }
+
+    /**
+     * Creates the exception for a discriminator which is not a type of the hierarchy.
+     *
+     * @param type the discriminator
+     * @return the exception to throw
+     */
+    protected JsonParseException unknownType(String type) {
+        return new JsonParseException("Cannot deserialize " + this.type.getName() + " of unknown type " + type + ".");
+    }
+}
@@ -0,0 +1,242 @@
+package io.logic.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A streaming Jackson {@link JsonDeserializer} for a predicate hierarchy, which reads the JSON objects written by
+ * {@link LogicSerializer} (e.g. <code>{"type":"And","left":{...},"right":{...}}</code>).
+ * <p>
+ * Predicates are read directly from the parser, dispatching on the discriminator as soon as the object begins. An
+ * object whose discriminator is not its first member (e.g. JSON written by another library) is still accepted: the
+ * object is buffered, and the buffered tree is read once the discriminator is found.
+ * <p>
+ * Generated modules register a {@link LogicModule} with an extension of {@link LogicDeserializer} for the attributes of
+ * every predicate of the hierarchy.
+ *
+ * @param <T> the type of the predicate hierarchy
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public abstract class LogicDeserializer<T> extends StdDeserializer<T> implements ResolvableDeserializer {
+    private static final long serialVersionUID = 1L;
+    private static final String TYPE = LogicSerializer.TYPE;
+
+    /**
+     * Constructs a new {@link LogicDeserializer} for the predicate hierarchy.
+     *
+     * @param type the base type of the predicate hierarchy
+     */
+    protected LogicDeserializer(Class<T> type) {
+        super(type);
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return ctxt.reportInputMismatch(this, "Cannot deserialize %s without a %s member.", handledType().getName(), TYPE);
+        }
+        if (token != JsonToken.FIELD_NAME) {
+            return (T) ctxt.handleUnexpectedToken(handledType(), p);
+        }
+        String name = p.currentName();
+        if (p.nextToken() != JsonToken.VALUE_STRING || !TYPE.equals(name)) {
+            return readBuffered(name, p, ctxt);
+        }
+        return readAttributes(p.getText(), p, ctxt);
+    }
+
+    /**
+     * Buffers the rest of an object whose first member is not the discriminator, and reads the object again with the
+     * discriminator moved first.
+     */
+    private T readBuffered(String name, JsonParser p, DeserializationContext ctxt) throws IOException {
+        ObjectNode members = ctxt.getNodeFactory().objectNode();
+        members.set(name, ctxt.readTree(p));
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String member = p.currentName();
+            p.nextToken();
+            members.set(member, ctxt.readTree(p));
+        }
+        JsonNode label = members.remove(TYPE);
+        if (label == null || !label.isTextual()) {
+            return ctxt.reportInputMismatch(this, "Cannot deserialize %s without a %s member.", handledType().getName(), TYPE);
+        }
+        ObjectNode ordered = ctxt.getNodeFactory().objectNode();
+        ordered.set(TYPE, label);
+        for (Iterator<Map.Entry<String, JsonNode>> iterator = members.fields(); iterator.hasNext(); ) {
+            Map.Entry<String, JsonNode> member = iterator.next();
+            ordered.set(member.getKey(), member.getValue());
+        }
+        try (JsonParser buffered = ordered.traverse(p.getCodec())) {
+            buffered.nextToken();
+            return deserialize(buffered, ctxt);
+        }
+    }
+
+    /**
+     * Reads the attributes of a predicate of the type from the members of the current JSON object, skipping unknown
+     * members and consuming every member up to the end of the object.
+     *
+     * @param type the type of the predicate
+     * @param p    the parser, positioned at the discriminator
+     * @param ctxt the context of the deserialization
+     * @return the predicate
+     * @throws IOException          if the parser fails
+     * @throws JsonMappingException if the type is unknown or a required attribute is missing
+     */
+    protected abstract T readAttributes(String type, JsonParser p, DeserializationContext ctxt) throws IOException;
+
+    /**
+     * Reads the value of an attribute with its deserializer.
+     *
+     * @param deserializer the deserializer of the attribute type
+     * @param p            the parser, positioned at the value of the attribute
+     * @param ctxt         the context of the deserialization
+     * @param <V>          the type of the attribute
+     * @return the attribute value, which is {@code null} if the value is a JSON {@code null}
+     * @throws IOException if the parser fails
+     */
+    protected static <V> V read(JsonDeserializer<V> deserializer, JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : deserializer.deserialize(p, ctxt);
+    }
+
+    /**
+     * Requires the attribute to have been read from the JSON object.
+     *
+     * @param value the attribute value, which is {@code null} if the member was missing
+     * @param type  the type of the predicate
+     * @param name  the name of the attribute
+     * @param ctxt  the context of the deserialization
+     * @param <V>   the type of the attribute
+     * @return the attribute value
+     * @throws JsonMappingException if the attribute value is {@code null}
+     */
+    protected <V> V require(V value, String type, String name, DeserializationContext ctxt) throws JsonMappingException {
+        if (value == null) {
+            return ctxt.reportInputMismatch(this, "Cannot deserialize %s without a %s member.", type, name);
+        }
+        return value;
+    }
+
+    /**
+     * Finds the deserializer of an attribute type.
+     * <p>
+     * {@link Pattern} is read from its pattern and flags, as Gson writes it, or from its pattern alone. Arrays are read
+     * from JSON arrays, as Gson writes them, as well as from the representation of Jackson.
+     *
+     * @param ctxt the context which resolves this deserializer
+     * @param type the attribute type
+     * @param <V>  the attribute type
+     * @return the deserializer of the attribute type
+     * @throws JsonMappingException if there is no deserializer for the attribute type
+     */
+    @SuppressWarnings("unchecked")
+    protected static <V> JsonDeserializer<V> findDeserializer(DeserializationContext ctxt, Class<V> type) throws JsonMappingException {
+        if (type == Pattern.class) {
+            return (JsonDeserializer<V>) PatternDeserializer.INSTANCE;
+        }
+        return (JsonDeserializer<V>) ctxt.findRootValueDeserializer(ctxt.constructType(type));
+    }
+
+    /**
+     * Finds the deserializer of a parameterized attribute type.
+     * <p>
+     * {@link Set} is read as a {@link LinkedHashSet}, as Gson reads it, so a predicate keeps the order of its values.
+     *
+     * @param ctxt the context which resolves this deserializer
+     * @param type the attribute type
+     * @param <V>  the attribute type
+     * @return the deserializer of the attribute type
+     * @throws JsonMappingException if there is no deserializer for the attribute type
+     */
+    @SuppressWarnings("unchecked")
+    protected static <V> JsonDeserializer<V> findDeserializer(DeserializationContext ctxt, TypeReference<V> type) throws JsonMappingException {
+        JavaType javaType = ctxt.getTypeFactory().constructType(type);
+        if (javaType.hasRawClass(Set.class)) {
+            javaType = ctxt.getTypeFactory().constructSpecializedType(javaType, LinkedHashSet.class);
+        }
+        return (JsonDeserializer<V>) ctxt.findRootValueDeserializer(javaType);
+    }
+
+    /**
+     * Reports a discriminator which is not a type of the hierarchy.
+     *
+     * @param type the discriminator
+     * @param ctxt the context of the deserialization
+     * @return nothing, since the report always throws
+     * @throws JsonMappingException always
+     */
+    protected T unknownType(String type, DeserializationContext ctxt) throws JsonMappingException {
+        return ctxt.reportInputMismatch(this, "Cannot deserialize %s of unknown type %s.", handledType().getName(), type);
+    }
+
+    /**
+     * A {@link JsonDeserializer} which reads a {@link Pattern} from <code>{"pattern":"...","flags":0}</code> or from a
+     * JSON string of the pattern.
+     */
+    private static final class PatternDeserializer extends StdDeserializer<Pattern> {
+        private static final long serialVersionUID = 1L;
+        private static final PatternDeserializer INSTANCE = new PatternDeserializer();
+
+        private PatternDeserializer() {
+            super(Pattern.class);
+        }
+
+        @Override
+        public Pattern deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return Pattern.compile(p.getText());
+            }
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (Pattern) ctxt.handleUnexpectedToken(Pattern.class, p);
+            }
+            String pattern = null;
+            int flags = 0;
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                switch (name) {
+                    case "pattern":
+                        pattern = p.getValueAsString();
+                        break;
+                    case "flags":
+                        flags = p.getValueAsInt();
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            if (pattern == null) {
+                return ctxt.reportInputMismatch(this, "Cannot deserialize %s without a pattern member.", Pattern.class.getName());
+            }
+            return Pattern.compile(pattern, flags);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.logic.jackson;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.ser.Serializers;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A Jackson {@link Module} which serializes a predicate hierarchy with a {@link LogicSerializer} and deserializes it with
+ * a {@link LogicDeserializer}.
+ * <p>
+ * A new serializer and deserializer is created every time an {@link com.fasterxml.jackson.databind.ObjectMapper} looks
+ * one up, like a {@code com.google.gson.TypeAdapterFactory} creates a type adapter for every {@code Gson}, so the
+ * attribute serializers they resolve are never shared between mappers of distinct configurations. Every implementation
+ * of the hierarchy is written by the serializer, since Jackson looks up serializers by the runtime type of the value.
+ *
+ * @param <T> the type of the predicate hierarchy
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class LogicModule<T> extends Module {
+    private final Class<T> type;
+    private final Supplier<? extends LogicSerializer<T>> serializer;
+    private final Supplier<? extends LogicDeserializer<T>> deserializer;
+
+    /**
+     * Constructs a new {@link LogicModule} for the predicate hierarchy.
+     *
+     * @param type         the base type of the predicate hierarchy
+     * @param serializer   the supplier of new serializers of the predicate hierarchy
+     * @param deserializer the supplier of new deserializers of the predicate hierarchy
+     */
+    public LogicModule(Class<T> type, Supplier<? extends LogicSerializer<T>> serializer, Supplier<? extends LogicDeserializer<T>> deserializer) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.serializer = Objects.requireNonNull(serializer, "serializer");
+        this.deserializer = Objects.requireNonNull(deserializer, "deserializer");
+    }
+
+    @Override
+    public String getModuleName() {
+        return type.getName();
+    }
+
+    /**
+     * Represents the identity of the module, which is the predicate hierarchy, so registering the module of a
+     * hierarchy twice with the same mapper has no effect while the modules of distinct hierarchies are all registered.
+     *
+     * @return the name of the base type of the predicate hierarchy
+     */
+    @Override
+    public Object getTypeId() {
+        return type.getName();
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType javaType, BeanDescription beanDesc) {
+                return type.isAssignableFrom(javaType.getRawClass()) ? serializer.get() : null;
+            }
+        });
+        context.addDeserializers(new Deserializers.Base() {
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType javaType, DeserializationConfig config, BeanDescription beanDesc) {
+                return javaType.hasRawClass(type) ? deserializer.get() : null;
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package io.logic.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * A streaming Jackson {@link JsonSerializer} for a predicate hierarchy, which writes each predicate as a JSON object
+ * whose first member is the {@value #TYPE} discriminator, followed by the attributes of the predicate (e.g.
+ * <code>{"type":"And","left":{...},"right":{...}}</code>).
+ * <p>
+ * The representation is the one of {@code io.logic.gson.LogicTypeAdapter}, so predicates written with Jackson are read
+ * with Gson and the other way around. The serializers of the attributes are resolved once, when the serializer is
+ * resolved by the {@link SerializerProvider}, instead of being looked up for every predicate.
+ * <p>
+ * Generated modules register a {@link LogicModule} with an extension of {@link LogicSerializer} for the attributes of
+ * every predicate of the hierarchy.
+ *
+ * @param <T> the type of the predicate hierarchy
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public abstract class LogicSerializer<T> extends StdSerializer<T> implements ResolvableSerializer {
+    /**
+     * The name of the member which holds the type of the predicate.
+     */
+    public static final String TYPE = "type";
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@link LogicSerializer} for the predicate hierarchy.
+     *
+     * @param type the base type of the predicate hierarchy
+     */
+    protected LogicSerializer(Class<T> type) {
+        super(type);
+    }
+
+    @Override
+    public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeStringField(TYPE, getType(value));
+        writeAttributes(gen, value, provider);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Represents the type of the predicate, which is written as the discriminator of its JSON object.
+     *
+     * @param value the predicate
+     * @return the type of the predicate (e.g. {@code And})
+     * @throws JsonMappingException if the predicate is not a predicate of the hierarchy
+     */
+    protected abstract String getType(T value) throws JsonMappingException;
+
+    /**
+     * Writes the attributes of the predicate as members of the current JSON object.
+     *
+     * @param gen      the generator, positioned after the discriminator
+     * @param value    the predicate
+     * @param provider the provider of the serialization
+     * @throws IOException if the generator fails
+     */
+    protected abstract void writeAttributes(JsonGenerator gen, T value, SerializerProvider provider) throws IOException;
+
+    /**
+     * Finds the serializer of an attribute type.
+     * <p>
+     * {@link Pattern} is written as its pattern and flags, {@code byte[]} as an array of numbers, and {@code char[]} as
+     * an array of strings, as Gson writes them, instead of as a pattern, a Base64 string, and a string.
+     *
+     * @param provider the provider which resolves this serializer
+     * @param type     the attribute type
+     * @param <V>      the attribute type
+     * @return the serializer of the attribute type
+     * @throws JsonMappingException if there is no serializer for the attribute type
+     */
+    @SuppressWarnings("unchecked")
+    protected static <V> JsonSerializer<V> findSerializer(SerializerProvider provider, Class<V> type) throws JsonMappingException {
+        if (type == Pattern.class) {
+            return (JsonSerializer<V>) PatternSerializer.INSTANCE;
+        }
+        if (type == byte[].class) {
+            return (JsonSerializer<V>) ByteArraySerializer.INSTANCE;
+        }
+        if (type == char[].class) {
+            return (JsonSerializer<V>) CharArraySerializer.INSTANCE;
+        }
+        return (JsonSerializer<V>) provider.findValueSerializer(type);
+    }
+
+    /**
+     * Finds the serializer of a parameterized attribute type.
+     *
+     * @param provider the provider which resolves this serializer
+     * @param type     the attribute type
+     * @param <V>      the attribute type
+     * @return the serializer of the attribute type
+     * @throws JsonMappingException if there is no serializer for the attribute type
+     */
+    @SuppressWarnings("unchecked")
+    protected static <V> JsonSerializer<V> findSerializer(SerializerProvider provider, TypeReference<V> type) throws JsonMappingException {
+        return (JsonSerializer<V>) provider.findValueSerializer(provider.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Creates the exception for a predicate which is not a predicate of the hierarchy.
+     *
+     * @param value the predicate
+     * @return the exception to throw
+     */
+    protected JsonMappingException unknownPredicate(Object value) {
+        return new JsonMappingException((Closeable) null, "Cannot serialize " + value.getClass().getName() + " as a " + handledType().getName() + ".");
+    }
+
+    /**
+     * A {@link JsonSerializer} which writes a {@link Pattern} as <code>{"pattern":"...","flags":0}</code>.
+     */
+    private static final class PatternSerializer extends StdSerializer<Pattern> {
+        private static final long serialVersionUID = 1L;
+        private static final PatternSerializer INSTANCE = new PatternSerializer();
+
+        private PatternSerializer() {
+            super(Pattern.class);
+        }
+
+        @Override
+        public void serialize(Pattern value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeStringField("pattern", value.pattern());
+            gen.writeNumberField("flags", value.flags());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * A {@link JsonSerializer} which writes a {@code byte[]} as an array of numbers.
+     */
+    private static final class ByteArraySerializer extends StdSerializer<byte[]> {
+        private static final long serialVersionUID = 1L;
+        private static final ByteArraySerializer INSTANCE = new ByteArraySerializer();
+
+        private ByteArraySerializer() {
+            super(byte[].class);
+        }
+
+        @Override
+        public void serialize(byte[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.length);
+            for (byte element : value) {
+                gen.writeNumber(element);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * A {@link JsonSerializer} which writes a {@code char[]} as an array of strings.
+     */
+    private static final class CharArraySerializer extends StdSerializer<char[]> {
+        private static final long serialVersionUID = 1L;
+        private static final CharArraySerializer INSTANCE = new CharArraySerializer();
+
+        private CharArraySerializer() {
+            super(char[].class);
+        }
+
+        @Override
+        public void serialize(char[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.length);
+            for (char element : value) {
+                gen.writeString(String.valueOf(element));
+            }
+            gen.writeEndArray();
+        }
+    }
+}
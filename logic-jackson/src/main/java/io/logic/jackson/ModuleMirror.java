@@ -0,0 +1,20 @@
+package io.logic.jackson;
+
+import com.fasterxml.jackson.databind.Module;
+
+/**
+ * A shim for the Jackson {@link Module} of a predicate hierarchy, which the io.logic annotation processor registers with
+ * {@link java.util.ServiceLoader} like {@code io.logic.gson.TypeAdapterFactoryMirror} for Gson.
+ * <p>
+ * Every generated module is registered under {@link ModuleMirror} instead of {@link Module} itself, so the modules of
+ * logic predicates are only registered with an {@link com.fasterxml.jackson.databind.ObjectMapper} which asks for them
+ * and are not picked up by {@link com.fasterxml.jackson.databind.ObjectMapper#findAndRegisterModules()} by accident.
+ * <p>
+ * {@code ServiceLoader.load(ModuleMirror.class).forEach(mirror -> mapper.registerModule(mirror.getModule()));}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface ModuleMirror {
+    Module getModule();
+}
@@ -0,0 +1,280 @@
+package io.logic.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class LogicModuleTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new LogicModule<>(Shape.class, Serializer::new, Deserializer::new));
+
+    @Test
+    public void writesTheDiscriminatorFirst() throws IOException {
+        Shape shape = new Pair(new Label(Pattern.compile("^a+$", Pattern.CASE_INSENSITIVE), new byte[]{-1, 2}, new char[]{'x', 'é'},
+                new LinkedHashSet<>(Arrays.asList("z", "a"))), new Label(null, null, null, Collections.emptySet()));
+        assertEquals("{\"type\":\"Pair\","
+                + "\"left\":{\"type\":\"Label\",\"pattern\":{\"pattern\":\"^a+$\",\"flags\":2},\"bytes\":[-1,2],\"chars\":[\"x\",\"é\"],\"tags\":[\"z\",\"a\"]},"
+                + "\"right\":{\"type\":\"Label\",\"pattern\":null,\"bytes\":null,\"chars\":null,\"tags\":[]}}", MAPPER.writeValueAsString(shape));
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        Shape shape = new Pair(new Label(Pattern.compile("^a+$", Pattern.CASE_INSENSITIVE), new byte[]{-1, 2}, new char[]{'x', 'é'},
+                new LinkedHashSet<>(Arrays.asList("z", "a", "m"))), new Pair(new Label(null, null, null, Collections.emptySet()),
+                new Label(null, new byte[0], new char[0], Collections.singleton("b"))));
+        String json = MAPPER.writeValueAsString(shape);
+        Shape decoded = MAPPER.readValue(json, Shape.class);
+        assertEquals(json, MAPPER.writeValueAsString(decoded));
+        Label label = (Label) ((Pair) decoded).left;
+        assertEquals(Pattern.CASE_INSENSITIVE, label.pattern.flags());
+        assertArrayEquals(new byte[]{-1, 2}, label.bytes);
+        assertArrayEquals(new char[]{'x', 'é'}, label.chars);
+        assertEquals(LinkedHashSet.class, label.tags.getClass());
+        assertEquals(Arrays.asList("z", "a", "m"), new ArrayList<>(label.tags));
+    }
+
+    @Test
+    public void readsTheDiscriminatorInAnyPosition() throws IOException {
+        String json = "{\"right\":{\"tags\":[\"b\"],\"type\":\"Label\"},\"unknown\":{\"type\":\"Pair\"},"
+                + "\"left\":{\"type\":\"Label\",\"tags\":[]},\"type\":\"Pair\"}";
+        assertEquals("{\"type\":\"Pair\","
+                + "\"left\":{\"type\":\"Label\",\"pattern\":null,\"bytes\":null,\"chars\":null,\"tags\":[]},"
+                + "\"right\":{\"type\":\"Label\",\"pattern\":null,\"bytes\":null,\"chars\":null,\"tags\":[\"b\"]}}",
+                MAPPER.writeValueAsString(MAPPER.readValue(json, Shape.class)));
+    }
+
+    @Test
+    public void readsPatternsFromStrings() throws IOException {
+        Label label = (Label) MAPPER.readValue("{\"type\":\"Label\",\"pattern\":\"^b$\",\"tags\":[]}", Shape.class);
+        assertEquals("^b$", label.pattern.pattern());
+        assertEquals(0, label.pattern.flags());
+    }
+
+    @Test
+    public void readsNull() throws IOException {
+        assertNull(MAPPER.readValue("null", Shape.class));
+        Pair pair = (Pair) MAPPER.readValue("{\"type\":\"Pair\",\"left\":null,\"right\":{\"type\":\"Label\",\"tags\":[]}}", Shape.class);
+        assertNull(pair.left);
+    }
+
+    @Test
+    public void rejectsMalformedPredicates() {
+        assertRejected("{\"type\":\"Unknown\"}", "Cannot deserialize " + Shape.class.getName() + " of unknown type Unknown.");
+        assertRejected("{}", "Cannot deserialize " + Shape.class.getName() + " without a type member.");
+        assertRejected("{\"left\":{}}", "Cannot deserialize " + Shape.class.getName() + " without a type member.");
+        assertRejected("{\"type\":\"Label\"}", "Cannot deserialize Label without a tags member.");
+        assertRejected("{\"type\":\"Label\",\"pattern\":{\"flags\":2},\"tags\":[]}", "Cannot deserialize java.util.regex.Pattern without a pattern member.");
+    }
+
+    @Test
+    public void rejectsUnknownImplementations() throws IOException {
+        try {
+            MAPPER.writeValueAsString(new Shape() {
+            });
+            fail();
+        } catch (JsonMappingException e) {
+            assertEquals(0, e.getOriginalMessage().indexOf("Cannot serialize "));
+        }
+    }
+
+    @Test
+    public void registeringTwiceHasNoEffect() throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new LogicModule<>(Shape.class, Serializer::new, Deserializer::new))
+                .registerModule(new LogicModule<>(Shape.class, Serializer::new, Deserializer::new));
+        assertEquals(1, mapper.getRegisteredModuleIds().size());
+        Shape shape = new Label(null, null, null, Collections.singleton("a"));
+        assertEquals(MAPPER.writeValueAsString(shape), mapper.writeValueAsString(shape));
+    }
+
+    private static void assertRejected(String json, String message) {
+        try {
+            MAPPER.readValue(json, Shape.class);
+            fail(json);
+        } catch (JsonMappingException e) {
+            assertEquals(message, e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private interface Shape {
+    }
+
+    private static final class Label implements Shape {
+        private final Pattern pattern;
+        private final byte[] bytes;
+        private final char[] chars;
+        private final Set<String> tags;
+
+        private Label(Pattern pattern, byte[] bytes, char[] chars, Set<String> tags) {
+            this.pattern = pattern;
+            this.bytes = bytes;
+            this.chars = chars;
+            this.tags = tags;
+        }
+    }
+
+    private static final class Pair implements Shape {
+        private final Shape left;
+        private final Shape right;
+
+        private Pair(Shape left, Shape right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class Serializer extends LogicSerializer<Shape> {
+        private static final long serialVersionUID = 1L;
+        private JsonSerializer<Pattern> patternSerializer;
+        private JsonSerializer<byte[]> bytesSerializer;
+        private JsonSerializer<char[]> charsSerializer;
+        private JsonSerializer<Set<String>> tagsSerializer;
+
+        private Serializer() {
+            super(Shape.class);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            this.patternSerializer = findSerializer(provider, Pattern.class);
+            this.bytesSerializer = findSerializer(provider, byte[].class);
+            this.charsSerializer = findSerializer(provider, char[].class);
+            this.tagsSerializer = findSerializer(provider, new TypeReference<Set<String>>() {});
+        }
+
+        @Override
+        protected String getType(Shape value) throws JsonMappingException {
+            if (value instanceof Label) {
+                return "Label";
+            }
+            if (value instanceof Pair) {
+                return "Pair";
+            }
+            throw unknownPredicate(value);
+        }
+
+        @Override
+        protected void writeAttributes(JsonGenerator gen, Shape value, SerializerProvider provider) throws IOException {
+            if (value instanceof Label) {
+                Label label = (Label) value;
+                write(gen, "pattern", patternSerializer, label.pattern, provider);
+                write(gen, "bytes", bytesSerializer, label.bytes, provider);
+                write(gen, "chars", charsSerializer, label.chars, provider);
+                write(gen, "tags", tagsSerializer, label.tags, provider);
+            } else if (value instanceof Pair) {
+                write(gen, "left", this, ((Pair) value).left, provider);
+                write(gen, "right", this, ((Pair) value).right, provider);
+            }
+        }
+
+        private static <V> void write(JsonGenerator gen, String name, JsonSerializer<V> serializer, V value, SerializerProvider provider) throws IOException {
+            gen.writeFieldName(name);
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                serializer.serialize(value, gen, provider);
+            }
+        }
+    }
+
+    private static final class Deserializer extends LogicDeserializer<Shape> {
+        private static final long serialVersionUID = 1L;
+        private JsonDeserializer<Pattern> patternDeserializer;
+        private JsonDeserializer<byte[]> bytesDeserializer;
+        private JsonDeserializer<char[]> charsDeserializer;
+        private JsonDeserializer<Set<String>> tagsDeserializer;
+
+        private Deserializer() {
+            super(Shape.class);
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            this.patternDeserializer = findDeserializer(ctxt, Pattern.class);
+            this.bytesDeserializer = findDeserializer(ctxt, byte[].class);
+            this.charsDeserializer = findDeserializer(ctxt, char[].class);
+            this.tagsDeserializer = findDeserializer(ctxt, new TypeReference<Set<String>>() {});
+        }
+
+        @Override
+        protected Shape readAttributes(String type, JsonParser p, DeserializationContext ctxt) throws IOException {
+            switch (type) {
+                case "Label":
+                    return readLabel(p, ctxt);
+                case "Pair":
+                    return readPair(p, ctxt);
+                default:
+                    return unknownType(type, ctxt);
+            }
+        }
+
+        private Label readLabel(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Pattern pattern = null;
+            byte[] bytes = null;
+            char[] chars = null;
+            Set<String> tags = null;
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                switch (name) {
+                    case "pattern":
+                        pattern = read(patternDeserializer, p, ctxt);
+                        break;
+                    case "bytes":
+                        bytes = read(bytesDeserializer, p, ctxt);
+                        break;
+                    case "chars":
+                        chars = read(charsDeserializer, p, ctxt);
+                        break;
+                    case "tags":
+                        tags = read(tagsDeserializer, p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            return new Label(pattern, bytes, chars, require(tags, "Label", "tags", ctxt));
+        }
+
+        private Pair readPair(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Shape left = null;
+            Shape right = null;
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                switch (name) {
+                    case "left":
+                        left = read(this, p, ctxt);
+                        break;
+                    case "right":
+                        right = read(this, p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            return new Pair(left, right);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package io.logic;
 
 import com.squareup.javapoet.TypeName;
+import io.logic.Logic.Indexed;
 import io.logic.immutables.ImmutableLogicStyle;
 import org.immutables.value.Value.Derived;
 import org.immutables.value.Value.Immutable;
 
+import java.util.Optional;
+
 /**
  * A representation of the definition of a field in a {@link PredicateDefinition}.
  * <p>
@@ -23,8 +26,8 @@ public interface FieldDefinition extends MemberDefinition {
     }
 
     //Immutables factory stub to hide immutable class dependency
-    static FieldDefinition of(String name, TypeName type, String predicateName) {
-        return ImmutableFieldDefinition.of(name, type, predicateName);
+    static FieldDefinition of(String name, TypeName type, String predicateName, Optional<Indexed.Type> index) {
+        return ImmutableFieldDefinition.of(name, type, predicateName, index);
     }
 
     /**
@@ -52,6 +55,13 @@ public interface FieldDefinition extends MemberDefinition {
     @Override
     String getPredicateName();
 
+    /**
+     * Represents the kind of secondary index maintained for the field, if the field is annotated with {@link Indexed}.
+     *
+     * @return the index type of the field
+     */
+    Optional<Indexed.Type> getIndex();
+
     /**
      * Represents the factory name of the field definition predicate.
      * <p>
@@ -91,6 +101,10 @@ public interface FieldDefinition extends MemberDefinition {
 
         Builder setPredicateName(String predicateName);
 
+        Builder setIndex(Indexed.Type index);
+
+        Builder setIndex(Optional<? extends Indexed.Type> index);
+
         FieldDefinition build();
     }
 }
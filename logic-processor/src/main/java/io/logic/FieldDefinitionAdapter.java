@@ -2,11 +2,13 @@ package io.logic;
 
 import com.google.common.base.CaseFormat;
 import com.squareup.javapoet.TypeName;
+import io.logic.Logic.Indexed;
 import io.logic.Logic.Named;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
 import javax.lang.model.element.VariableElement;
+import java.util.Optional;
 
 /**
  * A utility class for converting a {@link VariableElement} program element to a {@link FieldDefinition}.
@@ -20,6 +22,8 @@ public class FieldDefinitionAdapter {
      * Converts the specified {@link VariableElement} into a {@link FieldDefinition} using the specified name as the
      * predicate name, unless the field is annotated with {@link Named} where that value is used in replace of the provided
      * name.
+     * <p>
+     * If the field is annotated with {@link Indexed}, the requested index type is recorded in the definition.
      *
      * @param name  the predicate name for the field definition
      * @param field the field program element which is being defined
@@ -27,10 +31,12 @@ public class FieldDefinitionAdapter {
      */
     public FieldDefinition convert(@NonNull String name, @NonNull VariableElement field) {
         Named named = field.getAnnotation(Named.class);
+        Indexed indexed = field.getAnnotation(Indexed.class);
         return FieldDefinition.builder()
                 .setName(field.getSimpleName().toString())
                 .setType(TypeName.get(field.asType()))
                 .setPredicateName(CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, named != null ? named.value() : name))
+                .setIndex(Optional.ofNullable(indexed).map(Indexed::value))
                 .build();
     }
 }
@@ -1,23 +1,64 @@
 package io.logic;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.google.common.collect.ImmutableSet;
+import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
-import com.google.gson.typeadapters.RuntimeTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.squareup.javapoet.*;
+import io.logic.codec.BinaryCodec;
+import io.logic.codec.BinaryCodecFactory;
+import io.logic.codec.BinaryCodecs;
+import io.logic.codec.BinaryReader;
+import io.logic.codec.BinaryWriter;
+import io.logic.column.Column;
+import io.logic.column.ColumnStore;
+import io.logic.gson.JsonMatcher;
+import io.logic.gson.JsonSchema;
+import io.logic.gson.LogicTypeAdapter;
 import io.logic.gson.TypeAdapterFactoryMirror;
 import io.logic.immutables.ImmutableLogicStyle;
+import io.logic.index.IndexedMember;
+import io.logic.index.LiveView;
+import io.logic.index.LogicIndex;
+import io.logic.jackson.LogicDeserializer;
+import io.logic.jackson.LogicModule;
+import io.logic.jackson.LogicSerializer;
+import io.logic.jackson.ModuleMirror;
+import io.logic.structure.Fingerprint;
+import io.logic.structure.Fingerprinted;
+import io.logic.structure.LogicInterner;
+import io.logic.structure.LogicPredicate;
+import io.logic.structure.StructureVisitor;
 import lombok.experimental.UtilityClass;
 import org.immutables.gson.Gson;
 import org.immutables.metainf.Metainf;
+import org.immutables.value.Value.Check;
 import org.immutables.value.Value.Enclosing;
 import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Lazy;
 
 import javax.annotation.Generated;
 import javax.lang.model.element.Modifier;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.*;
 import java.util.stream.Collectors;
@@ -47,53 +88,199 @@ public class LogicGenerator {
             TypeName.DOUBLE, DoublePredicate.class,
             TypeName.LONG, LongPredicate.class
     );
+    private static final Map<TypeName, String> BINARY_PRIMITIVES = ImmutableMap.<TypeName, String>builder()
+            .put(TypeName.BOOLEAN, "Boolean")
+            .put(TypeName.BYTE, "Byte")
+            .put(TypeName.SHORT, "Short")
+            .put(TypeName.CHAR, "Char")
+            .put(TypeName.INT, "Int")
+            .put(TypeName.LONG, "Long")
+            .put(TypeName.FLOAT, "Float")
+            .put(TypeName.DOUBLE, "Double")
+            .put(ClassName.get(String.class), "String")
+            .build();
+    private static final Map<TypeName, String> COLUMN_FACTORIES = ImmutableMap.<TypeName, String>builder()
+            .put(TypeName.BOOLEAN, "booleans")
+            .put(TypeName.BYTE, "bytes")
+            .put(TypeName.SHORT, "shorts")
+            .put(TypeName.CHAR, "chars")
+            .put(TypeName.INT, "ints")
+            .put(TypeName.LONG, "longs")
+            .put(TypeName.FLOAT, "floats")
+            .put(TypeName.DOUBLE, "doubles")
+            .build();
 
     /**
      * Generates all source files for the specified {@link PredicateDefinition}.
      *
      * @param definitions          the predicate definitions to construct
      * @param modelToPredicateName the existing model to predicate context to resolve member reference predicate names
-     * @return a set of {@link JavaFile} that contains every predicate hierarchy, visitor, and type adapter factory
+     * @return a set of {@link JavaFile} that contains every predicate hierarchy, visitor, type adapter factory, Jackson module, binary codec factory, JSON matcher, index, and column store
      */
     public Set<JavaFile> generate(Set<PredicateDefinition> definitions, Map<TypeName, ClassName> modelToPredicateName) {
         ImmutableSet.Builder<JavaFile> builder = ImmutableSet.builder();
+        //JSON matchers read nested models through their own schema, so every model with a matcher is resolved upfront
+        Map<TypeName, ClassName> modelToMatcherName = definitions.stream()
+                .filter(LogicGenerator::isJsonMatcherEnabled)
+                .collect(ImmutableMap.toImmutableMap(PredicateDefinition::getTypeName, definition -> toJsonMatcherName(definition.getPredicateName())));
         definitions.forEach(definition -> {
             ClassName predicateName = definition.getPredicateName();
             builder.add(createFile(predicateName.packageName(), createPredicate(definition, modelToPredicateName)));
             if (definition.isGsonEnabled()) {
-                builder.add(createFile(predicateName.packageName(), createTypeAdapterFactory(definition)));
+                builder.add(createFile(predicateName.packageName(), createTypeAdapterFactory(definition, modelToPredicateName)));
+            }
+            if (definition.isJacksonEnabled()) {
+                builder.add(createFile(predicateName.packageName(), createJacksonModule(definition, modelToPredicateName)));
+            }
+            builder.add(createFile(predicateName.packageName(), createBinaryCodecFactory(definition, modelToPredicateName)));
+            if (isJsonMatcherEnabled(definition)) {
+                builder.add(createFile(predicateName.packageName(), createJsonMatcher(definition, modelToMatcherName)));
             }
             if (definition.isVisitorEnabled()) {
                 builder.add(createFile(predicateName.packageName(), createVisitor(definition)));
             }
+            if (definition.getMembers().stream().anyMatch(member -> member.accept(new MemberIndexType()).isPresent())) {
+                builder.add(createFile(predicateName.packageName(), createIndex(definition)));
+            }
+            if (definition.isColumnarEnabled() && definition.isVisitorEnabled()) {
+                builder.add(createFile(predicateName.packageName(), createColumns(definition)));
+            }
         });
         return builder.build();
     }
 
     /**
      * Constructs the {@link TypeSpec} that corresponds to the {@link com.google.gson.TypeAdapterFactory} of the {@link PredicateDefinition} model.
+     * <p>
+     * The factory creates a {@link LogicTypeAdapter} for the predicate hierarchy which writes and reads the attributes of
+     * every predicate directly against the stream, dispatching on the type of the predicate.
      *
-     * @param definition the predicate definition to construct the type adapter factory
+     * @param definition     the predicate definition to construct the type adapter factory
+     * @param predicateNames the mapping of model type name to predicate name
      * @return a new {@link TypeSpec} that represents the predicate type adapter factory
      */
-    private TypeSpec createTypeAdapterFactory(PredicateDefinition definition) {
+    private TypeSpec createTypeAdapterFactory(PredicateDefinition definition, Map<TypeName, ClassName> predicateNames) {
         ClassName predicateName = definition.getPredicateName();
-        Set<? extends MemberDefinition> members = definition.getMembers();
         ClassName immutableEnclosingTypeName = predicateName.peerClass("Immutable" + predicateName.simpleName());
-        Set<ClassName> nestedPredicateNames = Stream.concat(
-                Stream.of("And", "Or", "Not", "HashCode").map(immutableEnclosingTypeName::nestedClass),
-                members.stream().map(member -> immutableEnclosingTypeName.nestedClass(member.getPredicateName()))
-        ).collect(ImmutableSet.toImmutableSet());
-        String delegateFactoryInitializer = nestedPredicateNames.stream()
-                .map(d -> "\n" + INDENT + INDENT + ".registerSubtype($T.class)")
-                .collect(Collectors.joining("", "$T.of($T.class)", ""));
-        return TypeSpec.classBuilder(ClassName.get(predicateName.packageName(), predicateName.simpleName() + "TypeAdapterFactory"))
+        Map<String, Map<String, TypeName>> predicates = toAttributes(definition, predicateNames);
+        //a single type adapter is resolved for each distinct attribute type
+        Map<TypeName, String> adapterNames = toFieldNames(predicates, "Adapter", typeName -> true);
+        ClassName adapterTypeName = ClassName.get(predicateName.packageName(), predicateName.simpleName() + "TypeAdapterFactory").nestedClass("Adapter");
+        TypeSpec.Builder adapterBuilder = TypeSpec.classBuilder(adapterTypeName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(LogicTypeAdapter.class), predicateName));
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(com.google.gson.Gson.class, "gson")
+                .addStatement("super($T.class)", predicateName);
+        adapterNames.forEach((typeName, adapterName) -> {
+            adapterBuilder.addField(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeName.box()), adapterName, Modifier.PRIVATE, Modifier.FINAL);
+            constructorBuilder.addStatement(isReifiable(typeName) ? "this.$L = gson.getAdapter($T.class)" : "this.$L = gson.getAdapter(new $T<$T>() {})",
+                    isReifiable(typeName) ? new Object[]{adapterName, typeName} : new Object[]{adapterName, TypeToken.class, typeName});
+        });
+        adapterBuilder.addMethod(constructorBuilder.build());
+        //#getType(...)
+        MethodSpec.Builder getTypeBuilder = MethodSpec.methodBuilder("getType")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(predicateName, "value")
+                .returns(String.class);
+        predicates.keySet().forEach(type -> getTypeBuilder
+                .beginControlFlow("if (value instanceof $T)", predicateName.nestedClass(type))
+                .addStatement("return $S", type)
+                .endControlFlow());
+        adapterBuilder.addMethod(getTypeBuilder.addStatement("throw unknownPredicate(value)").build());
+        //#writeAttributes(...)
+        MethodSpec.Builder writeBuilder = MethodSpec.methodBuilder("writeAttributes")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(JsonWriter.class, "out")
+                .addParameter(predicateName, "value")
+                .addException(IOException.class);
+        boolean first = true;
+        for (Map.Entry<String, Map<String, TypeName>> predicate : predicates.entrySet()) {
+            if (predicate.getValue().isEmpty()) {
+                continue;
+            }
+            ClassName typeName = predicateName.nestedClass(predicate.getKey());
+            if (first) {
+                writeBuilder.beginControlFlow("if (value instanceof $T)", typeName);
+                first = false;
+            } else {
+                writeBuilder.nextControlFlow("else if (value instanceof $T)", typeName);
+            }
+            predicate.getValue().forEach((name, attributeTypeName) -> writeBuilder
+                    .addStatement("out.name($S)", name)
+                    .addStatement("$L.write(out, (($T) value).get$L())", adapterNames.get(attributeTypeName), typeName, CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, name)));
+        }
+        adapterBuilder.addMethod(writeBuilder.endControlFlow().build());
+        //#readAttributes(...)
+        MethodSpec.Builder readBuilder = MethodSpec.methodBuilder("readAttributes")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(String.class, "type")
+                .addParameter(JsonReader.class, "in")
+                .addException(IOException.class)
+                .returns(predicateName)
+                .beginControlFlow("switch (type)");
+        predicates.forEach((type, attributes) -> {
+            String readName = "read" + type;
+            readBuilder.addCode("case $S:\n$>", type).addStatement("return $L(in)$<", readName);
+            MethodSpec.Builder readTypeBuilder = MethodSpec.methodBuilder(readName)
+                    .addModifiers(Modifier.PRIVATE)
+                    .addParameter(JsonReader.class, "in")
+                    .addException(IOException.class)
+                    .returns(predicateName.nestedClass(type));
+            attributes.forEach((name, attributeTypeName) -> readTypeBuilder.addStatement("$T $L = null", attributeTypeName.box(), name));
+            readTypeBuilder.beginControlFlow("while (in.hasNext())");
+            if (attributes.isEmpty()) {
+                readTypeBuilder.addStatement("in.nextName()").addStatement("in.skipValue()");
+            } else {
+                readTypeBuilder.beginControlFlow("switch (in.nextName())");
+                attributes.forEach((name, attributeTypeName) -> readTypeBuilder
+                        .addCode("case $S:\n$>", name)
+                        .addStatement("$L = $L.read(in)", name, adapterNames.get(attributeTypeName))
+                        .addStatement("break$<"));
+                readTypeBuilder.addCode("default:\n$>")
+                        .addStatement("in.skipValue()$<")
+                        .endControlFlow();
+            }
+            readTypeBuilder.endControlFlow();
+            String factoryArguments = attributes.keySet().stream().map(name -> "require($L, $S, $S)").collect(Collectors.joining(", ", "return $T.of(", ")"));
+            Object[] arguments = Stream.concat(Stream.of(immutableEnclosingTypeName.nestedClass(type)),
+                    attributes.keySet().stream().flatMap(name -> Stream.of(name, type, name))).toArray();
+            adapterBuilder.addMethod(readTypeBuilder.addStatement(factoryArguments, arguments).build());
+        });
+        adapterBuilder.addMethod(readBuilder
+                .addCode("default:\n$>")
+                .addStatement("throw unknownType(type)$<")
+                .endControlFlow()
+                .build());
+        //the factory is nested, since the service of the generated class must only be the mirror
+        ClassName factoryTypeName = adapterTypeName.peerClass("Factory");
+        TypeVariableName typeVariable = TypeVariableName.get("T");
+        TypeSpec factory = TypeSpec.classBuilder(factoryTypeName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(TypeAdapterFactory.class)
+                .addMethod(MethodSpec.methodBuilder("create")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                        .addTypeVariable(typeVariable)
+                        .addParameter(com.google.gson.Gson.class, "gson")
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(TypeToken.class), typeVariable), "type")
+                        .addStatement("return type.getRawType() == $T.class ? ($T) new $T(gson) : null", predicateName,
+                                ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeVariable), adapterTypeName)
+                        .returns(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeVariable))
+                        .build())
+                .build();
+        return TypeSpec.classBuilder(adapterTypeName.enclosingClassName())
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Metainf.Service.class)
                 .addAnnotation(GENERATED)
                 .addSuperinterface(TypeAdapterFactoryMirror.class)
                 .addField(FieldSpec.builder(TypeName.get(TypeAdapterFactory.class), "delegate", Modifier.PRIVATE, Modifier.FINAL)
-                        .initializer(delegateFactoryInitializer, Stream.concat(Stream.of(RuntimeTypeAdapterFactory.class, predicateName), nestedPredicateNames.stream()).toArray())
+                        .initializer("new $T()", factoryTypeName)
                         .build())
                 .addMethod(MethodSpec.methodBuilder("getFactory")
                         .addModifiers(Modifier.PUBLIC)
@@ -101,9 +288,556 @@ public class LogicGenerator {
                         .addStatement("return delegate")
                         .returns(TypeAdapterFactory.class)
                         .build())
+                .addType(factory)
+                .addType(adapterBuilder.build())
+                .build();
+    }
+
+    /**
+     * Constructs the {@link TypeSpec} that corresponds to the {@link ModuleMirror} of the {@link PredicateDefinition} model.
+     * <p>
+     * The module registers a {@link LogicSerializer} and a {@link LogicDeserializer} for the predicate hierarchy, which
+     * write and read the attributes of every predicate directly against the stream in the JSON representation of the
+     * {@link LogicTypeAdapter}, dispatching on the type of the predicate.
+     *
+     * @param definition     the predicate definition to construct the Jackson module
+     * @param predicateNames the mapping of model type name to predicate name
+     * @return a new {@link TypeSpec} that represents the predicate Jackson module
+     */
+    private TypeSpec createJacksonModule(PredicateDefinition definition, Map<TypeName, ClassName> predicateNames) {
+        ClassName predicateName = definition.getPredicateName();
+        ClassName immutableEnclosingTypeName = predicateName.peerClass("Immutable" + predicateName.simpleName());
+        Map<String, Map<String, TypeName>> predicates = toAttributes(definition, predicateNames);
+        ClassName moduleTypeName = ClassName.get(predicateName.packageName(), predicateName.simpleName() + "JacksonModule");
+        //a single serializer and deserializer is resolved for each distinct attribute type
+        Map<TypeName, String> serializerNames = toFieldNames(predicates, "Serializer", typeName -> !typeName.equals(predicateName));
+        Map<TypeName, String> deserializerNames = toFieldNames(predicates, "Deserializer", typeName -> !typeName.equals(predicateName));
+        //the operands of the hierarchy itself are written and read by the serializer and deserializer directly
+        serializerNames.put(predicateName, "this");
+        deserializerNames.put(predicateName, "this");
+        ClassName serializerTypeName = moduleTypeName.nestedClass("Serializer");
+        TypeSpec.Builder serializerBuilder = TypeSpec.classBuilder(serializerTypeName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(LogicSerializer.class), predicateName))
+                .addField(FieldSpec.builder(long.class, "serialVersionUID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("1L")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addStatement("super($T.class)", predicateName)
+                        .build());
+        MethodSpec.Builder resolveSerializersBuilder = MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(SerializerProvider.class, "provider")
+                .addException(JsonMappingException.class);
+        serializerNames.forEach((typeName, serializerName) -> {
+            if (typeName.equals(predicateName)) {
+                return;
+            }
+            serializerBuilder.addField(ParameterizedTypeName.get(ClassName.get(JsonSerializer.class), typeName.box()), serializerName, Modifier.PRIVATE);
+            resolveSerializersBuilder.addStatement(isReifiable(typeName) ? "this.$L = findSerializer(provider, $T.class)" : "this.$L = findSerializer(provider, new $T<$T>() {})",
+                    isReifiable(typeName) ? new Object[]{serializerName, typeName.box()} : new Object[]{serializerName, TypeReference.class, typeName});
+        });
+        serializerBuilder.addMethod(resolveSerializersBuilder.build());
+        //#getType(...)
+        MethodSpec.Builder getTypeBuilder = MethodSpec.methodBuilder("getType")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(predicateName, "value")
+                .addException(JsonMappingException.class)
+                .returns(String.class);
+        predicates.keySet().forEach(type -> getTypeBuilder
+                .beginControlFlow("if (value instanceof $T)", predicateName.nestedClass(type))
+                .addStatement("return $S", type)
+                .endControlFlow());
+        serializerBuilder.addMethod(getTypeBuilder.addStatement("throw unknownPredicate(value)").build());
+        //#writeAttributes(...)
+        MethodSpec.Builder writeBuilder = MethodSpec.methodBuilder("writeAttributes")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(JsonGenerator.class, "gen")
+                .addParameter(predicateName, "value")
+                .addParameter(SerializerProvider.class, "provider")
+                .addException(IOException.class);
+        boolean first = true;
+        for (Map.Entry<String, Map<String, TypeName>> predicate : predicates.entrySet()) {
+            if (predicate.getValue().isEmpty()) {
+                continue;
+            }
+            ClassName typeName = predicateName.nestedClass(predicate.getKey());
+            if (first) {
+                writeBuilder.beginControlFlow("if (value instanceof $T)", typeName);
+                first = false;
+            } else {
+                writeBuilder.nextControlFlow("else if (value instanceof $T)", typeName);
+            }
+            predicate.getValue().forEach((name, attributeTypeName) -> writeBuilder
+                    .addStatement("gen.writeFieldName($S)", name)
+                    .addStatement("$L.serialize((($T) value).get$L(), gen, provider)", serializerNames.get(attributeTypeName), typeName, CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, name)));
+        }
+        serializerBuilder.addMethod(writeBuilder.endControlFlow().build());
+        ClassName deserializerTypeName = moduleTypeName.nestedClass("Deserializer");
+        TypeSpec.Builder deserializerBuilder = TypeSpec.classBuilder(deserializerTypeName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(LogicDeserializer.class), predicateName))
+                .addField(FieldSpec.builder(long.class, "serialVersionUID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("1L")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addStatement("super($T.class)", predicateName)
+                        .build());
+        MethodSpec.Builder resolveDeserializersBuilder = MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(JsonMappingException.class);
+        deserializerNames.forEach((typeName, deserializerName) -> {
+            if (typeName.equals(predicateName)) {
+                return;
+            }
+            deserializerBuilder.addField(ParameterizedTypeName.get(ClassName.get(JsonDeserializer.class), typeName.box()), deserializerName, Modifier.PRIVATE);
+            resolveDeserializersBuilder.addStatement(isReifiable(typeName) ? "this.$L = findDeserializer(ctxt, $T.class)" : "this.$L = findDeserializer(ctxt, new $T<$T>() {})",
+                    isReifiable(typeName) ? new Object[]{deserializerName, typeName.box()} : new Object[]{deserializerName, TypeReference.class, typeName});
+        });
+        deserializerBuilder.addMethod(resolveDeserializersBuilder.build());
+        //#readAttributes(...)
+        MethodSpec.Builder readBuilder = MethodSpec.methodBuilder("readAttributes")
+                .addModifiers(Modifier.PROTECTED)
+                .addAnnotation(Override.class)
+                .addParameter(String.class, "type")
+                .addParameter(JsonParser.class, "p")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .returns(predicateName)
+                .beginControlFlow("switch (type)");
+        predicates.forEach((type, attributes) -> {
+            String readName = "read" + type;
+            readBuilder.addCode("case $S:\n$>", type).addStatement("return $L(p, ctxt)$<", readName);
+            MethodSpec.Builder readTypeBuilder = MethodSpec.methodBuilder(readName)
+                    .addModifiers(Modifier.PRIVATE)
+                    .addParameter(JsonParser.class, "p")
+                    .addParameter(DeserializationContext.class, "ctxt")
+                    .addException(IOException.class)
+                    .returns(predicateName.nestedClass(type));
+            attributes.forEach((name, attributeTypeName) -> readTypeBuilder.addStatement("$T $L = null", attributeTypeName.box(), name));
+            readTypeBuilder.addStatement("$T name", String.class)
+                    .beginControlFlow("while ((name = p.nextFieldName()) != null)")
+                    .addStatement("p.nextToken()");
+            if (attributes.isEmpty()) {
+                readTypeBuilder.addStatement("p.skipChildren()");
+            } else {
+                readTypeBuilder.beginControlFlow("switch (name)");
+                attributes.forEach((name, attributeTypeName) -> readTypeBuilder
+                        .addCode("case $S:\n$>", name)
+                        .addStatement("$L = read($L, p, ctxt)", name, deserializerNames.get(attributeTypeName))
+                        .addStatement("break$<"));
+                readTypeBuilder.addCode("default:\n$>")
+                        .addStatement("p.skipChildren()$<")
+                        .endControlFlow();
+            }
+            readTypeBuilder.endControlFlow();
+            String factoryArguments = attributes.keySet().stream().map(name -> "require($L, $S, $S, ctxt)").collect(Collectors.joining(", ", "return $T.of(", ")"));
+            Object[] arguments = Stream.concat(Stream.of(immutableEnclosingTypeName.nestedClass(type)),
+                    attributes.keySet().stream().flatMap(name -> Stream.of(name, type, name))).toArray();
+            deserializerBuilder.addMethod(readTypeBuilder.addStatement(factoryArguments, arguments).build());
+        });
+        deserializerBuilder.addMethod(readBuilder
+                .addCode("default:\n$>")
+                .addStatement("return unknownType(type, ctxt)$<")
+                .endControlFlow()
+                .build());
+        //the serializer and deserializer are nested, since the service of the generated class must only be the mirror
+        return TypeSpec.classBuilder(moduleTypeName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Metainf.Service.class)
+                .addAnnotation(GENERATED)
+                .addSuperinterface(ModuleMirror.class)
+                .addField(FieldSpec.builder(TypeName.get(Module.class), "delegate", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T<>($T.class, $T::new, $T::new)", LogicModule.class, predicateName, serializerTypeName, deserializerTypeName)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getModule")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addStatement("return delegate")
+                        .returns(Module.class)
+                        .build())
+                .addType(serializerBuilder.build())
+                .addType(deserializerBuilder.build())
+                .build();
+    }
+
+    /**
+     * Constructs the {@link TypeSpec} that corresponds to the {@link BinaryCodecFactory} of the {@link PredicateDefinition} model.
+     * <p>
+     * The codec writes the name of the predicate within the hierarchy as its tag, followed by its attributes in order.
+     * The tag is written through the string dictionary of the message, so it stays stable as predicates are added to
+     * or removed from the hierarchy, and each distinct tag costs its bytes once per message. Primitive and string
+     * attributes are written directly, and every other attribute is written by the codec of its type.
+     *
+     * @param definition     the predicate definition to construct the binary codec factory
+     * @param predicateNames the mapping of model type name to predicate name
+     * @return a new {@link TypeSpec} that represents the predicate binary codec factory
+     */
+    private TypeSpec createBinaryCodecFactory(PredicateDefinition definition, Map<TypeName, ClassName> predicateNames) {
+        ClassName predicateName = definition.getPredicateName();
+        ClassName immutableEnclosingTypeName = predicateName.peerClass("Immutable" + predicateName.simpleName());
+        Map<String, Map<String, TypeName>> predicates = toAttributes(definition, predicateNames);
+        //a single codec is resolved for each distinct attribute type which is not written directly
+        Map<TypeName, String> codecNames = toFieldNames(predicates, "Codec", typeName -> !BINARY_PRIMITIVES.containsKey(typeName) && !typeName.equals(predicateName));
+        //the operands of the hierarchy itself are written by the codec directly
+        codecNames.put(predicateName, "this");
+        ClassName codecTypeName = ClassName.get(predicateName.packageName(), predicateName.simpleName() + "BinaryCodecFactory").nestedClass("Codec");
+        TypeSpec.Builder codecBuilder = TypeSpec.classBuilder(codecTypeName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(BinaryCodec.class), predicateName));
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(BinaryCodecs.class, "codecs");
+        //the anonymous type tokens of generic attribute types are serializable, but are never serialized
+        if (codecNames.keySet().stream().anyMatch(typeName -> !isReifiable(typeName))) {
+            constructorBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "serial").build());
+        }
+        codecNames.forEach((typeName, codecName) -> {
+            if (typeName.equals(predicateName)) {
+                return;
+            }
+            codecBuilder.addField(ParameterizedTypeName.get(ClassName.get(BinaryCodec.class), typeName.box()), codecName, Modifier.PRIVATE, Modifier.FINAL);
+            constructorBuilder.addStatement(isReifiable(typeName) ? "this.$L = codecs.get($T.class)" : "this.$L = codecs.get(new $T<$T>() {})",
+                    isReifiable(typeName) ? new Object[]{codecName, typeName} : new Object[]{codecName, com.google.common.reflect.TypeToken.class, typeName});
+        });
+        codecBuilder.addMethod(constructorBuilder.build());
+        MethodSpec.Builder writeBuilder = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(BinaryWriter.class, "out")
+                .addParameter(predicateName, "value");
+        MethodSpec.Builder readBuilder = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(BinaryReader.class, "in")
+                .returns(predicateName)
+                .addStatement("String tag = in.readString()")
+                .beginControlFlow("switch (tag)");
+        boolean first = true;
+        for (Map.Entry<String, Map<String, TypeName>> predicate : predicates.entrySet()) {
+            ClassName typeName = predicateName.nestedClass(predicate.getKey());
+            if (first) {
+                writeBuilder.beginControlFlow("if (value instanceof $T)", typeName);
+            } else {
+                writeBuilder.nextControlFlow("else if (value instanceof $T)", typeName);
+            }
+            writeBuilder.addStatement("out.writeString($S)", predicate.getKey());
+            CodeBlock.Builder arguments = CodeBlock.builder();
+            predicate.getValue().forEach((name, attributeTypeName) -> {
+                String getterName = "get" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, name);
+                String primitive = BINARY_PRIMITIVES.get(attributeTypeName);
+                if (primitive == null) {
+                    writeBuilder.addStatement("$L.write(out, (($T) value).$L())", codecNames.get(attributeTypeName), typeName, getterName);
+                    arguments.add(arguments.isEmpty() ? "$L.read(in)" : ", $L.read(in)", codecNames.get(attributeTypeName));
+                } else {
+                    writeBuilder.addStatement("out.write$L((($T) value).$L())", primitive, typeName, getterName);
+                    arguments.add(arguments.isEmpty() ? "in.read$L()" : ", in.read$L()", primitive);
+                }
+            });
+            //the arguments are evaluated from left to right, which reads the attributes in the order they are written
+            readBuilder.addCode("case $S:\n$>", predicate.getKey())
+                    .addStatement("return $T.of($L)$<", immutableEnclosingTypeName.nestedClass(predicate.getKey()), arguments.build());
+            first = false;
+        }
+        codecBuilder.addMethod(writeBuilder
+                .nextControlFlow("else")
+                .addStatement("throw new $T($S + value.getClass().getName() + $S)", IllegalArgumentException.class, "Unable to encode ", " as a " + predicateName.simpleName() + ".")
+                .endControlFlow()
+                .build());
+        codecBuilder.addMethod(readBuilder
+                .addCode("default:\n$>")
+                .addStatement("throw new $T($S + tag + $S)$<", IllegalArgumentException.class, "Unknown tag ", " of " + predicateName.simpleName() + ".")
+                .endControlFlow()
+                .build());
+        TypeVariableName typeVariable = TypeVariableName.get("T");
+        return TypeSpec.classBuilder(codecTypeName.enclosingClassName())
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Metainf.Service.class)
+                .addAnnotation(GENERATED)
+                .addSuperinterface(BinaryCodecFactory.class)
+                .addMethod(MethodSpec.methodBuilder("create")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                        .addTypeVariable(typeVariable)
+                        .addParameter(BinaryCodecs.class, "codecs")
+                        .addParameter(java.lang.reflect.Type.class, "type")
+                        .addStatement("return type == $T.class ? ($T) new $T(codecs) : null", predicateName,
+                                ParameterizedTypeName.get(ClassName.get(BinaryCodec.class), typeVariable), codecTypeName)
+                        .returns(ParameterizedTypeName.get(ClassName.get(BinaryCodec.class), typeVariable))
+                        .build())
+                .addType(codecBuilder.build())
+                .build();
+    }
+
+    /**
+     * Resolves the attributes of every predicate of the hierarchy of the {@link PredicateDefinition}, which are the
+     * parameters of their factories, in order.
+     *
+     * @param definition     the predicate definition
+     * @param predicateNames the mapping of model type name to predicate name
+     * @return the attribute names and types of every predicate, by predicate name
+     */
+    private Map<String, Map<String, TypeName>> toAttributes(PredicateDefinition definition, Map<TypeName, ClassName> predicateNames) {
+        ClassName predicateName = definition.getPredicateName();
+        Map<String, Map<String, TypeName>> predicates = new LinkedHashMap<>();
+        predicates.put("And", ImmutableMap.of("left", predicateName, "right", predicateName));
+        predicates.put("Or", ImmutableMap.of("left", predicateName, "right", predicateName));
+        predicates.put("Not", ImmutableMap.of("predicate", predicateName));
+        predicates.put("HashCode", ImmutableMap.of("predicate", predicateNames.get(TypeName.INT)));
+        definition.getMembers().forEach(member -> predicates.put(member.getPredicateName(), member.accept(new MemberDefinitionVisitor<Map<String, TypeName>>() {
+            @Override
+            public Map<String, TypeName> visit(FieldDefinition definition) {
+                return visitMember(definition);
+            }
+
+            @Override
+            public Map<String, TypeName> visit(MethodDefinition definition) {
+                return visitMember(definition);
+            }
+
+            @Override
+            public Map<String, TypeName> visit(MixinDefinition definition) {
+                return definition.getParameters();
+            }
+
+            private Map<String, TypeName> visitMember(MemberDefinition definition) {
+                TypeName typeName = definition.accept(new MemberTypeName());
+                ClassName memberPredicateName = predicateNames.get(typeName);
+                if (memberPredicateName == null) {
+                    throw new IllegalArgumentException("Unable to find predicate implementation for " + typeName + ".");
+                }
+                return ImmutableMap.of("predicate", memberPredicateName);
+            }
+        })));
+        return predicates;
+    }
+
+    /**
+     * Names a field for each distinct attribute type of the predicates, which holds the serializer of the type.
+     *
+     * @param predicates the attributes of every predicate of the hierarchy
+     * @param suffix     the suffix of the field names
+     * @param filter     the attribute types which need a field
+     * @return the field name of every attribute type which needs a field
+     */
+    private Map<TypeName, String> toFieldNames(Map<String, Map<String, TypeName>> predicates, String suffix, Predicate<TypeName> filter) {
+        Map<TypeName, String> fieldNames = new LinkedHashMap<>();
+        predicates.values().stream().flatMap(attributes -> attributes.values().stream()).distinct().filter(filter).forEach(typeName -> {
+            String fieldName = toParameterName(typeName.box()) + suffix;
+            fieldNames.put(typeName, fieldNames.containsValue(fieldName) ? fieldName + fieldNames.size() : fieldName);
+        });
+        return fieldNames;
+    }
+
+    /**
+     * Constructs the {@link TypeSpec} that corresponds to the {@link JsonMatcher} of the {@link PredicateDefinition} model.
+     * <p>
+     * The JSON matcher describes the JSON name, type, and declaring field or method of every field and method member of
+     * the model within a {@link JsonSchema}, referring to the schema of every member whose model has a JSON matcher of
+     * its own. It is constructed with the {@link com.google.gson.Gson} which serializes the model, which names members.
+     *
+     * @param definition         the predicate definition to construct the JSON matcher
+     * @param modelToMatcherName the models which have a JSON matcher, along with the names of their JSON matchers
+     * @return a new {@link TypeSpec} that represents the JSON matcher
+     */
+    private TypeSpec createJsonMatcher(PredicateDefinition definition, Map<TypeName, ClassName> modelToMatcherName) {
+        ClassName predicateName = definition.getPredicateName();
+        TypeName modelName = definition.getTypeName();
+        CodeBlock.Builder schema = CodeBlock.builder().add("$T.builder($L)", JsonSchema.class, toTypeExpression(modelName));
+        definition.getMembers().stream()
+                .filter(member -> member.accept(new MemberAccessor()).isPresent())
+                .forEach(member -> {
+                    TypeName typeName = member.accept(new MemberTypeName());
+                    //Immutables and Gson name method members after the attribute (e.g. getMake() is serialized as make)
+                    //unless the Gson of the matcher names the field or method otherwise
+                    CodeBlock element = member.accept(new MemberDefinitionVisitor<CodeBlock>() {
+                        @Override
+                        public CodeBlock visit(FieldDefinition definition) {
+                            return CodeBlock.of("$T.field($T.class, $S)", JsonSchema.class, modelName, definition.getName());
+                        }
+
+                        @Override
+                        public CodeBlock visit(MethodDefinition definition) {
+                            return CodeBlock.of("$T.method($T.class, $S)", JsonSchema.class, modelName, definition.getName());
+                        }
+
+                        @Override
+                        public CodeBlock visit(MixinDefinition definition) {
+                            throw new IllegalArgumentException("Mixins are not members and do not have JSON names.");
+                        }
+                    });
+                    String jsonName = member.accept(new MemberDefinitionVisitor<String>() {
+                        @Override
+                        public String visit(FieldDefinition definition) {
+                            return definition.getName();
+                        }
+
+                        @Override
+                        public String visit(MethodDefinition definition) {
+                            return CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, definition.getPredicateName());
+                        }
+
+                        @Override
+                        public String visit(MixinDefinition definition) {
+                            throw new IllegalArgumentException("Mixins are not members and do not have JSON names.");
+                        }
+                    });
+                    ClassName matcherName = modelToMatcherName.get(typeName);
+                    if (matcherName == null) {
+                        schema.add("\n$>$>.addMember($S, $S, $L, $L)$<$<", member.getPredicateName(), jsonName, toTypeExpression(typeName), element);
+                    } else {
+                        schema.add("\n$>$>.addMember($S, $S, $L, $L, () -> $T.SCHEMA)$<$<", member.getPredicateName(), jsonName, toTypeExpression(typeName), element, matcherName);
+                    }
+                });
+        schema.add("\n$>$>.build()$<$<");
+        return TypeSpec.classBuilder(toJsonMatcherName(predicateName))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(GENERATED)
+                .superclass(ParameterizedTypeName.get(ClassName.get(JsonMatcher.class), modelName.box()))
+                .addField(FieldSpec.builder(JsonSchema.class, "SCHEMA", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(schema.build())
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(predicateName, "predicate")
+                        .addParameter(com.google.gson.Gson.class, "gson")
+                        .addStatement("super(predicate, SCHEMA, gson)")
+                        .build())
                 .build();
     }
 
+    /**
+     * Constructs the {@link TypeSpec} that corresponds to the indexed collection of the {@link PredicateDefinition} model.
+     * <p>
+     * The indexed collection is a {@link LogicIndex} which maintains a secondary index for every member annotated with
+     * {@link Logic.Indexed}.
+     *
+     * @param definition the predicate definition to construct the indexed collection
+     * @return a new {@link TypeSpec} that represents the indexed collection
+     */
+    private TypeSpec createIndex(PredicateDefinition definition) {
+        ClassName predicateName = definition.getPredicateName();
+        TypeName modelName = definition.getTypeName();
+        String modelParameterName = toParameterName(modelName);
+        String simpleName = predicateName.simpleName();
+        CodeBlock members = definition.getMembers().stream()
+                .filter(member -> member.accept(new MemberIndexType()).isPresent())
+                .map(member -> {
+                    boolean sorted = member.accept(new MemberIndexType()).get() == Logic.Indexed.Type.SORTED;
+                    String accessor = member.accept(new MemberDefinitionVisitor<String>() {
+                        @Override
+                        public String visit(FieldDefinition definition) {
+                            return definition.getName();
+                        }
+
+                        @Override
+                        public String visit(MethodDefinition definition) {
+                            return definition.getName() + "()";
+                        }
+
+                        @Override
+                        public String visit(MixinDefinition definition) {
+                            throw new IllegalArgumentException("Mixins are not members and cannot be indexed.");
+                        }
+                    });
+                    return CodeBlock.of("$T.<$T>$L($S, $L -> $L.$L)", IndexedMember.class, modelName.box(), sorted ? "sorted" : "hash",
+                            member.getPredicateName(), modelParameterName, modelParameterName, accessor);
+                })
+                .collect(CodeBlock.joining(",\n"));
+        return TypeSpec.classBuilder(predicateName.peerClass(simpleName.substring(0, simpleName.lastIndexOf("Predicate")) + "Index"))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(GENERATED)
+                .superclass(ParameterizedTypeName.get(ClassName.get(LogicIndex.class), modelName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("super($T.of(\n$>$L$<))", ImmutableList.class, members)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("query")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(predicateName, "predicate")
+                        .addStatement("return super.query(predicate)")
+                        .returns(ParameterizedTypeName.get(ClassName.get(List.class), modelName))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("view")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(predicateName, "predicate")
+                        .addStatement("return super.view(predicate)")
+                        .returns(ParameterizedTypeName.get(ClassName.get(LiveView.class), modelName))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Constructs the {@link TypeSpec} that corresponds to the column store of the {@link PredicateDefinition} model.
+     * <p>
+     * The column store is a {@link ColumnStore} with a {@link Column} for every field and method member, using a
+     * primitive column for primitive members and a dictionary encoded column for every other member, along with a typed
+     * accessor for each member of a stored row.
+     *
+     * @param definition the predicate definition to construct the column store
+     * @return a new {@link TypeSpec} that represents the column store
+     */
+    private TypeSpec createColumns(PredicateDefinition definition) {
+        ClassName predicateName = definition.getPredicateName();
+        TypeName modelName = definition.getTypeName();
+        String modelParameterName = toParameterName(modelName);
+        String simpleName = predicateName.simpleName();
+        //Column stores only hold the fields and methods of the model, since mixins are not members
+        List<MemberDefinition> members = definition.getMembers().stream()
+                .filter(member -> member.accept(new MemberAccessor()).isPresent())
+                .collect(ImmutableList.toImmutableList());
+        CodeBlock columns = members.stream()
+                .map(member -> CodeBlock.of("$T.<$T>$L($S, $L -> $L.$L)", Column.class, modelName.box(),
+                        COLUMN_FACTORIES.getOrDefault(member.accept(new MemberTypeName()), "dictionary"), member.getPredicateName(),
+                        modelParameterName, modelParameterName, member.accept(new MemberAccessor()).get()))
+                .collect(CodeBlock.joining(",\n"));
+        TypeSpec.Builder builder = TypeSpec.classBuilder(predicateName.peerClass(simpleName.substring(0, simpleName.lastIndexOf("Predicate")) + "Columns"))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(GENERATED)
+                .superclass(ParameterizedTypeName.get(ClassName.get(ColumnStore.class), modelName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("super($T.of(\n$>$L$<))", ImmutableList.class, columns)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("scan")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(predicateName, "predicate")
+                        .addStatement("return super.scan(predicate)")
+                        .returns(int[].class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("count")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(predicateName, "predicate")
+                        .addStatement("return super.count(predicate)")
+                        .returns(int.class)
+                        .build());
+        for (int i = 0; i < members.size(); i++) {
+            TypeName type = members.get(i).accept(new MemberTypeName());
+            MethodSpec.Builder getter = MethodSpec.methodBuilder("get" + members.get(i).getPredicateName())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(int.class, "row")
+                    .returns(type);
+            if (type.isPrimitive()) {
+                getter.addStatement("return get$L($L, row)", CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, type.toString()), i);
+            } else {
+                if (type instanceof ParameterizedTypeName) {
+                    getter.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build());
+                }
+                getter.addStatement("return ($T) getValue($L, row)", type, i);
+            }
+            builder.addMethod(getter.build());
+        }
+        return builder.build();
+    }
+
     /**
      * Constructs the {@link TypeSpec} that corresponds to the visitor interface of the {@link PredicateDefinition} model.
      *
@@ -166,6 +900,19 @@ public class LogicGenerator {
             builder.addSuperinterface(ParameterizedTypeName.get(ClassName.get(Predicate.class), definition.getTypeName()));
             hasJava8Superinterface = true;
         }
+        //Expose the structure of the predicate hierarchy to generic algorithms alongside the visitor pattern
+        if (visitorEnabled) {
+            builder.addSuperinterface(ParameterizedTypeName.get(ClassName.get(LogicPredicate.class), modelName.box()));
+        }
+        //Every implementation computes its structural fingerprint once it is requested, which implementations outside
+        //of the hierarchy fall back to computing from their hash code
+        builder.addSuperinterface(Fingerprinted.class);
+        builder.addMethod(MethodSpec.methodBuilder("getFingerprint")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addStatement("return $T.builder(getClass().getName()).add(hashCode()).build()", Fingerprint.class)
+                .returns(Fingerprint.class)
+                .build());
         //Add missing boolean test(Model model) method for types which do not have a Java8 superinterface
         if (!hasJava8Superinterface) {
             builder.addMethod(MethodSpec.methodBuilder("test")
@@ -287,7 +1034,16 @@ public class LogicGenerator {
             andBuilder.addMethod(accept);
             orBuilder.addMethod(accept);
             notBuilder.addMethod(accept);
+            andBuilder.addMethod(createDecompose(modelName, CodeBlock.of("return visitor.visitAnd(getLeft(), getRight())")));
+            orBuilder.addMethod(createDecompose(modelName, CodeBlock.of("return visitor.visitOr(getLeft(), getRight())")));
+            notBuilder.addMethod(createDecompose(modelName, CodeBlock.of("return visitor.visitNot(getPredicate())")));
         }
+        andBuilder.addMethod(createFingerprint(andTypeName, ImmutableList.of("getLeft", "getRight")));
+        orBuilder.addMethod(createFingerprint(orTypeName, ImmutableList.of("getLeft", "getRight")));
+        notBuilder.addMethod(createFingerprint(notTypeName, ImmutableList.of("getPredicate")));
+        andBuilder.addMethod(createIntern(andTypeName));
+        orBuilder.addMethod(createIntern(orTypeName));
+        notBuilder.addMethod(createIntern(notTypeName));
         builder.addType(andBuilder.build());
         builder.addType(orBuilder.build());
         builder.addType(notBuilder.build());
@@ -410,6 +1166,11 @@ public class LogicGenerator {
                             .addStatement(definition.getBody())
                             .returns(TypeName.BOOLEAN)
                             .build());
+                    memberPredicateBuilder.addMethod(createFingerprint(predicateName.nestedClass(definition.getPredicateName()),
+                            definition.getParameters().keySet().stream()
+                                    .map(name -> "get" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, name))
+                                    .collect(Collectors.toList())));
+                    memberPredicateBuilder.addMethod(createIntern(predicateName.nestedClass(definition.getPredicateName())));
                     if (visitorEnabled) {
                         TypeVariableName visitorTypeVariable = TypeVariableName.get("T");
                         memberPredicateBuilder.addMethod(MethodSpec.methodBuilder("accept")
@@ -420,6 +1181,20 @@ public class LogicGenerator {
                                 .addStatement("return visitor.visit(this)")
                                 .returns(visitorTypeVariable)
                                 .build());
+                        //ImmutableMap#of(...) only supports up to five entries
+                        String parametersFormatString = definition.getParameters().size() <= 5 ?
+                                definition.getParameters().keySet().stream()
+                                        .map(parameter -> "$S, $L()")
+                                        .collect(Collectors.joining(", ", "return visitor.visitMixin($S, $T.of(", "), this)")) :
+                                definition.getParameters().keySet().stream()
+                                        .map(parameter -> ".put($S, $L())")
+                                        .collect(Collectors.joining("", "return visitor.visitMixin($S, $T.<String, Object>builder()", ".build(), this)"));
+                        Object[] parametersArguments = Stream.concat(
+                                Stream.of(definition.getPredicateName(), ImmutableMap.class),
+                                definition.getParameters().keySet().stream().flatMap(name -> Stream.of(name,
+                                        "get" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, name)))
+                        ).toArray();
+                        memberPredicateBuilder.addMethod(createDecompose(modelName, CodeBlock.of(parametersFormatString, parametersArguments)));
                     }
                     return memberPredicateBuilder.build();
                 }
@@ -444,7 +1219,9 @@ public class LogicGenerator {
                                     .addParameter(modelName, modelParameterName)
                                     .addStatement("return getPredicate().test($L.$L)", modelParameterName, value.apply(definition))
                                     .returns(TypeName.BOOLEAN)
-                                    .build());
+                                    .build())
+                            .addMethod(createFingerprint(predicateName.nestedClass(definition.getPredicateName()), ImmutableList.of("getPredicate")))
+                            .addMethod(createIntern(predicateName.nestedClass(definition.getPredicateName())));
                     if (visitorEnabled) {
                         TypeVariableName visitorTypeVariable = TypeVariableName.get("T");
                         memberPredicateBuilder.addMethod(MethodSpec.methodBuilder("accept")
@@ -455,6 +1232,9 @@ public class LogicGenerator {
                                 .addStatement("return visitor.visit(this)")
                                 .returns(visitorTypeVariable)
                                 .build());
+                        memberPredicateBuilder.addMethod(createDecompose(modelName, CodeBlock.of(
+                                "return visitor.visitMember($S, $L -> $L.$L, getPredicate())",
+                                definition.getPredicateName(), modelParameterName, modelParameterName, value.apply(definition))));
                     }
                     return memberPredicateBuilder.build();
                 }
@@ -463,6 +1243,69 @@ public class LogicGenerator {
         return builder.build();
     }
 
+    /**
+     * Constructs the {@link MethodSpec} that implements {@link LogicPredicate#decompose(StructureVisitor)} for a
+     * predicate implementation.
+     *
+     * @param modelName the type name of the predicate model
+     * @param body      the statement which forwards to the appropriate {@link StructureVisitor} method
+     * @return a new {@link MethodSpec} that represents the decompose method
+     */
+    private MethodSpec createDecompose(TypeName modelName, CodeBlock body) {
+        TypeVariableName structureTypeVariable = TypeVariableName.get("R");
+        return MethodSpec.methodBuilder("decompose")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addTypeVariable(structureTypeVariable)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(StructureVisitor.class), modelName.box(), structureTypeVariable), "visitor")
+                .addStatement(body)
+                .returns(structureTypeVariable)
+                .build();
+    }
+
+    /**
+     * Constructs the {@link MethodSpec} that implements {@link Fingerprinted#getFingerprint()} for a predicate
+     * implementation.
+     * <p>
+     * The fingerprint is lazy in Immutables, so it is computed once when it is first requested rather than by every
+     * predicate constructed (e.g. a predicate over a large set of values never hashes the set unless its fingerprint is
+     * used), and, like every lazy attribute, it is left out of {@code equals}, {@code hashCode}, {@code toString} and
+     * the JSON of the predicate.
+     *
+     * @param typeName the type name of the predicate implementation, which names the fingerprint
+     * @param getters  the names of the getters of the attributes of the predicate implementation, in order
+     * @return a new {@link MethodSpec} that represents the fingerprint method
+     */
+    private MethodSpec createFingerprint(ClassName typeName, List<String> getters) {
+        CodeBlock.Builder body = CodeBlock.builder().add("return $T.builder($S)", Fingerprint.class, typeName.toString());
+        getters.forEach(getter -> body.add(".add($L())", getter));
+        return MethodSpec.methodBuilder("getFingerprint")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addAnnotation(Lazy.class)
+                .addStatement(body.add(".build()").build())
+                .returns(Fingerprint.class)
+                .build();
+    }
+
+    /**
+     * Constructs the {@link MethodSpec} that passes a predicate implementation through {@link LogicInterner}.
+     * <p>
+     * The method normalizes the instance for Immutables, so every factory, builder and deserializer of the predicate
+     * implementation returns the canonical instance while interning is enabled.
+     *
+     * @param typeName the type name of the predicate implementation
+     * @return a new {@link MethodSpec} that represents the intern method
+     */
+    private MethodSpec createIntern(ClassName typeName) {
+        return MethodSpec.methodBuilder("intern")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Check.class)
+                .addStatement("return $T.intern(this)", LogicInterner.class)
+                .returns(typeName)
+                .build();
+    }
+
     /**
      * Converts the type name into a well formed parameter name.
      * <p>
@@ -505,6 +1348,126 @@ public class LogicGenerator {
         return JavaFile.builder(packageName, typeSpec).indent(INDENT).skipJavaLangImports(true).build();
     }
 
+    /**
+     * Tests whether a {@link JsonMatcher} is generated for the {@link PredicateDefinition} model, which requires the
+     * model to have members and the predicates to be serializable and decomposable.
+     * <p>
+     * Platform types (e.g. {@link String}) are excluded, since {@link com.google.gson.Gson} does not serialize them as
+     * JSON objects of their members.
+     *
+     * @param definition the predicate definition
+     * @return {@code true} if a JSON matcher is generated for the model
+     */
+    private static boolean isJsonMatcherEnabled(PredicateDefinition definition) {
+        TypeName modelName = definition.getTypeName();
+        return definition.isGsonEnabled() && definition.isVisitorEnabled() &&
+                modelName instanceof ClassName && !((ClassName) modelName).packageName().startsWith("java.") &&
+                definition.getMembers().stream().anyMatch(member -> member.accept(new MemberAccessor()).isPresent());
+    }
+
+    private static ClassName toJsonMatcherName(ClassName predicateName) {
+        return predicateName.peerClass(predicateName.simpleName() + "JsonMatcher");
+    }
+
+    /**
+     * Creates the expression of the {@link java.lang.reflect.Type} of the type name, using a {@link TypeToken} to
+     * capture the type arguments of parameterized types.
+     *
+     * @param typeName the type name
+     * @return the code block that evaluates to the type
+     */
+    private static CodeBlock toTypeExpression(TypeName typeName) {
+        return isReifiable(typeName) ? CodeBlock.of("$T.class", typeName) : CodeBlock.of("new $T<$T>() {\n}.getType()", TypeToken.class, typeName);
+    }
+
+    private static boolean isReifiable(TypeName typeName) {
+        return typeName.isPrimitive() || typeName instanceof ClassName ||
+                typeName instanceof ArrayTypeName && isReifiable(((ArrayTypeName) typeName).componentType);
+    }
+
+    /**
+     * An implementation of {@link MemberDefinitionVisitor} which resolves the secondary index type of the definition.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    private static class MemberIndexType implements MemberDefinitionVisitor<Optional<Logic.Indexed.Type>> {
+        /**
+         * Visits the {@link FieldDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return {@link FieldDefinition#getIndex()}
+         */
+        @Override
+        public Optional<Logic.Indexed.Type> visit(FieldDefinition definition) {
+            return definition.getIndex();
+        }
+
+        /**
+         * Visits the {@link MethodDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return {@link MethodDefinition#getIndex()}
+         */
+        @Override
+        public Optional<Logic.Indexed.Type> visit(MethodDefinition definition) {
+            return definition.getIndex();
+        }
+
+        /**
+         * Visits the {@link MixinDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return {@link Optional#empty()} because mixins are not members and cannot be indexed
+         */
+        @Override
+        public Optional<Logic.Indexed.Type> visit(MixinDefinition definition) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * An implementation of {@link MemberDefinitionVisitor} which resolves the expression that reads the member from a
+     * model instance.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    private static class MemberAccessor implements MemberDefinitionVisitor<Optional<String>> {
+        /**
+         * Visits the {@link FieldDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return {@link FieldDefinition#getName()}
+         */
+        @Override
+        public Optional<String> visit(FieldDefinition definition) {
+            return Optional.of(definition.getName());
+        }
+
+        /**
+         * Visits the {@link MethodDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return the invocation of {@link MethodDefinition#getName()}
+         */
+        @Override
+        public Optional<String> visit(MethodDefinition definition) {
+            return Optional.of(definition.getName() + "()");
+        }
+
+        /**
+         * Visits the {@link MixinDefinition}.
+         *
+         * @param definition the definition to visit
+         * @return {@link Optional#empty()} because mixins are not members and cannot be read
+         */
+        @Override
+        public Optional<String> visit(MixinDefinition definition) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * An implementation of {@link MemberDefinitionVisitor} which converts the definition to its appropriate model type name.
      *
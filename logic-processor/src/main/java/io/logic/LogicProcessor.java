@@ -7,6 +7,7 @@ import com.google.common.collect.ImmutableSet;
 import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import io.logic.Logic.Ignore;
 import io.logic.Logic.Include;
@@ -20,10 +21,15 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -63,6 +69,8 @@ public class LogicProcessor extends AbstractProcessor {
             .put(TypeKind.FLOAT, float.class)
             .put(TypeKind.DOUBLE, double.class)
             .build();
+    private static final String JACKSON_MODULE = "com.fasterxml.jackson.databind.Module";
+    private static final String RUNTIME_PACKAGE = "io.logic";
 
     /**
      * Performs all {@link Logic} modeling for classes made available to the annotation processor.
@@ -81,10 +89,33 @@ public class LogicProcessor extends AbstractProcessor {
             return false;
         }
         Set<PredicateDefinition> baseLogic = findLogic(roundEnv);
-        Map<TypeName, ClassName> basePredicateNames = baseLogic.stream().collect(Collectors.toMap(
+        Map<TypeName, ClassName> basePredicateNames = new HashMap<>(baseLogic.stream().collect(Collectors.toMap(
                 PredicateDefinition::getTypeName,
                 PredicateDefinition::getPredicateName
-        ));
+        )));
+        //Resolve the member types modeled by an earlier compilation (e.g. the built-in predicates of the runtime for a
+        //model compiled against the runtime), along with int which every hierarchy needs for its hash code predicate
+        Stream.concat(Stream.of(TypeName.INT), baseLogic.stream().flatMap(definition -> definition.getMembers().stream())
+                .map(member -> member.accept(new MemberDefinitionVisitor<TypeName>() {
+                    @Override
+                    public TypeName visit(FieldDefinition definition) {
+                        return definition.getType();
+                    }
+
+                    @Override
+                    public TypeName visit(MethodDefinition definition) {
+                        return definition.getReturnType();
+                    }
+
+                    @Override
+                    public TypeName visit(MixinDefinition definition) {
+                        return null;
+                    }
+                }))
+                .filter(Objects::nonNull))
+                .filter(typeName -> !basePredicateNames.containsKey(typeName))
+                .collect(Collectors.toSet())
+                .forEach(typeName -> findCompiledPredicateName(typeName).ifPresent(predicateName -> basePredicateNames.put(typeName, predicateName)));
         ImmutableSet.Builder<PredicateDefinition> logic = ImmutableSet.<PredicateDefinition>builder().addAll(baseLogic);
         ImmutableMap.Builder<TypeName, ClassName> predicateNamesBuilder = ImmutableMap.<TypeName, ClassName>builder().putAll(basePredicateNames);
         //Manually generate predicate implementation for an array type using the existing definition as the component type
@@ -100,7 +131,9 @@ public class LogicProcessor extends AbstractProcessor {
                     .setTypeName(arrayTypeName)
                     .setPredicateName(arrayPredicateName)
                     .setGsonEnabled(definition.isGsonEnabled())
+                    .setJacksonEnabled(definition.isJacksonEnabled())
                     .setVisitorEnabled(definition.isVisitorEnabled())
+                    .setColumnarEnabled(false)
                     .addMember(MixinDefinition.builder()
                             .setPredicateName("Empty")
                             .setFactoryName("isEmpty")
@@ -193,6 +226,8 @@ public class LogicProcessor extends AbstractProcessor {
             Element source = typeLogic.getSource();
             TypeElement type = typeLogic.getType();
             LogicSpec logic = typeLogic.getLogic();
+            checkColumnar(source, logic);
+            checkJackson(source, logic);
             String namespaceOverride = logic.getNamespace();
             String namespace = namespaceOverride.isEmpty() ?
                     processingEnv.getElementUtils().getPackageOf(source).getQualifiedName().toString() :
@@ -201,7 +236,9 @@ public class LogicProcessor extends AbstractProcessor {
                     .setPredicateName(ClassName.get(namespace, type.getSimpleName() + "Predicate"))
                     .setTypeName(ClassName.get(type))
                     .setGsonEnabled(logic.isGsonEnabled())
-                    .setVisitorEnabled(logic.isVisitorEnabled());
+                    .setJacksonEnabled(logic.isJacksonEnabled())
+                    .setVisitorEnabled(logic.isVisitorEnabled())
+                    .setColumnarEnabled(logic.isColumnarEnabled());
             List<? extends Element> enclosedElements = type.getEnclosedElements();
             //Add all detected fields to the PredicateDefinition
             enclosedElements.stream()
@@ -244,13 +281,17 @@ public class LogicProcessor extends AbstractProcessor {
             Element source = typeLogic.getSource();
             Class<?> type = typeLogic.getType();
             LogicSpec logic = typeLogic.getLogic();
+            checkColumnar(source, logic);
+            checkJackson(source, logic);
             String typeName = type.getName();
             String namespace = processingEnv.getElementUtils().getPackageOf(source).getQualifiedName().toString();
             PredicateDefinition.Builder builder = PredicateDefinition.builder()
                     .setPredicateName(ClassName.get(namespace, CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, typeName) + "Predicate"))
                     .setTypeName(TypeName.get(type))
                     .setGsonEnabled(logic.isGsonEnabled())
-                    .setVisitorEnabled(logic.isVisitorEnabled());
+                    .setJacksonEnabled(logic.isJacksonEnabled())
+                    .setVisitorEnabled(logic.isVisitorEnabled())
+                    .setColumnarEnabled(logic.isColumnarEnabled());
             //Add all @Logic.Mixin to the PredicateDefinition (primitive type definition only have mixins as members)
             for (MixinSpec mixin : logic.getMixins()) {
                 builder.addMember(MixinDefinitionAdapter.convert(mixin));
@@ -260,6 +301,44 @@ public class LogicProcessor extends AbstractProcessor {
         return Stream.concat(declaredTypes, primitiveTypes).collect(ImmutableSet.toImmutableSet());
     }
 
+    /**
+     * Finds the predicate implementation of a type which was modeled by an earlier compilation, and is on the class
+     * path rather than among the sources being processed.
+     * <p>
+     * A {@link Logic} type is named after its namespace, and every other type (i.e. primitives, {@link String} and
+     * {@link CharSequence}) after the built-in predicates of the runtime, following {@link LogicProcessor#findLogic}.
+     * Arrays are named after the array predicate of their component type.
+     *
+     * @param typeName the type name to find the predicate implementation of
+     * @return the name of the compiled predicate implementation, if it exists
+     */
+    private Optional<ClassName> findCompiledPredicateName(TypeName typeName) {
+        ClassName predicateName;
+        if (typeName.isPrimitive()) {
+            predicateName = ClassName.get(RUNTIME_PACKAGE, CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, typeName.toString()) + "Predicate");
+        } else if (typeName instanceof ArrayTypeName) {
+            Optional<ClassName> componentPredicateName = findCompiledPredicateName(((ArrayTypeName) typeName).componentType);
+            if (!componentPredicateName.isPresent()) {
+                return Optional.empty();
+            }
+            String simpleName = componentPredicateName.get().simpleName();
+            predicateName = componentPredicateName.get().peerClass(simpleName.substring(0, simpleName.lastIndexOf("Predicate")) + "ArrayPredicate");
+        } else if (typeName instanceof ClassName) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(((ClassName) typeName).reflectionName());
+            if (type == null) {
+                return Optional.empty();
+            }
+            Logic logic = type.getAnnotation(Logic.class);
+            String namespace = logic == null ? RUNTIME_PACKAGE : logic.namespace().isEmpty() ?
+                    processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString() :
+                    logic.namespace();
+            predicateName = ClassName.get(namespace, type.getSimpleName() + "Predicate");
+        } else {
+            return Optional.empty();
+        }
+        return processingEnv.getElementUtils().getTypeElement(predicateName.reflectionName()) == null ? Optional.empty() : Optional.of(predicateName);
+    }
+
     /**
      * Extracts the {@link LogicSpec} from the {@link Logic} annotation and the {@link Include} annotation mirror.
      *
@@ -322,7 +401,9 @@ public class LogicProcessor extends AbstractProcessor {
                 .addMethodVisibility(logic.methodVisibility())
                 .setNamespace(logic.namespace())
                 .setGsonEnabled(logic.gson())
-                .setVisitorEnabled(logic.visitor());
+                .setJacksonEnabled(logic.jackson())
+                .setVisitorEnabled(logic.visitor())
+                .setColumnarEnabled(logic.columnar());
         processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).forEach((key, value) -> {
             String name = key.getSimpleName().toString();
             if (!"mixins".equals(name)) {
@@ -362,6 +443,7 @@ public class LogicProcessor extends AbstractProcessor {
                         AtomicReference<String> parameterName = new AtomicReference<>();
                         AtomicReference<TypeName> parameterType = new AtomicReference<>();
                         AtomicReference<String> parameterTypeName = new AtomicReference<>();
+                        List<TypeName> parameterTypeArguments = new ArrayList<>();
                         processingEnv.getElementUtils().getElementValuesWithDefaults(parameterMirror).forEach((parameterKey, parameterValue) -> {
                             String fieldName = parameterKey.getSimpleName().toString();
                             switch (fieldName) {
@@ -374,11 +456,23 @@ public class LogicProcessor extends AbstractProcessor {
                                 case "typeName":
                                     parameterTypeName.set((String) parameterValue.getValue());
                                     break;
+                                case "typeArguments":
+                                    ((List<? extends AnnotationValue>) parameterValue.getValue()).forEach(typeArgument ->
+                                            parameterTypeArguments.add(TypeName.get((TypeMirror) typeArgument.getValue())));
+                                    break;
                             }
                         });
                         //if the type name is non-empty, use it; otherwise, use the type directly
                         String typeName = parameterTypeName.get();
-                        builder.putParameter(parameterName.get(), !typeName.isEmpty() ? ClassName.bestGuess(typeName) : parameterType.get());
+                        TypeName rawTypeName = !typeName.isEmpty() ? ClassName.bestGuess(typeName) : parameterType.get();
+                        if (parameterTypeArguments.isEmpty()) {
+                            builder.putParameter(parameterName.get(), rawTypeName);
+                        } else if (rawTypeName instanceof ClassName) {
+                            builder.putParameter(parameterName.get(), ParameterizedTypeName.get((ClassName) rawTypeName,
+                                    parameterTypeArguments.stream().map(TypeName::box).toArray(TypeName[]::new)));
+                        } else {
+                            throw new IllegalArgumentException("Unable to parameterize " + rawTypeName + " of parameter " + parameterName.get() + ".");
+                        }
                     });
                     break;
                 }
@@ -449,6 +543,34 @@ public class LogicProcessor extends AbstractProcessor {
         return Pattern.compile(expression.replace("*", "(.+)"));
     }
 
+    /**
+     * Reports a {@link Logic#columnar()} model whose {@link Logic#visitor()} is disabled as an error, since column stores
+     * decompose queries through the visitor and would otherwise not be generated.
+     *
+     * @param source the originating program element of the logic
+     * @param logic  the logic of the model
+     */
+    private void checkColumnar(Element source, LogicSpec logic) {
+        if (logic.isColumnarEnabled() && !logic.isVisitorEnabled()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Logic(columnar = true) requires @Logic(visitor = true), since column stores decompose queries through the visitor.", source);
+        }
+    }
+
+    /**
+     * Reports a {@link Logic#jackson()} model as an error when {@code jackson-databind} is not on the classpath, since
+     * the generated module would otherwise fail to compile.
+     *
+     * @param source the originating program element of the logic
+     * @param logic  the logic of the model
+     */
+    private void checkJackson(Element source, LogicSpec logic) {
+        if (logic.isJacksonEnabled() && processingEnv.getElementUtils().getTypeElement(JACKSON_MODULE) == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Logic(jackson = true) requires " + JACKSON_MODULE + " on the classpath, which is provided by jackson-databind.", source);
+        }
+    }
+
     /**
      * Writes the {@link JavaFile} out to the {@link ProcessingEnvironment#getFiler()}.
      *
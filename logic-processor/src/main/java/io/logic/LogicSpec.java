@@ -2,6 +2,7 @@ package io.logic;
 
 import com.google.gson.TypeAdapterFactory;
 import io.logic.gson.TypeAdapterFactoryMirror;
+import io.logic.jackson.ModuleMirror;
 import io.logic.immutables.ImmutableLogicStyle;
 import org.immutables.gson.Gson;
 import org.immutables.value.Value.Immutable;
@@ -86,15 +87,24 @@ public interface LogicSpec {
      * <li>All other type adapter factories that are auto-generated by Immutables are found by {@link TypeAdapterFactory}</li>
      * </ul>
      * There is no way to get around this limitation as distinct {@link Processor} cannot modify the same service file
-     * and the only way to auto-generate type adapter factories for the logic predicates is through a
-     * {@code RuntimeTypeAdapter}. {@link Gson.ExpectedSubtypes} does not perform well and requires distinct JSON models to
-     * distinguish between subtypes and would require providing an obscure discriminator method to the model that serves
-     * no purpose but to enable JSON serialization.
+     * and the only way to auto-generate type adapter factories for the logic predicates is through a custom
+     * {@code io.logic.gson.LogicTypeAdapter}, which streams each predicate behind a {@code type} discriminator.
+     * {@link Gson.ExpectedSubtypes} does not perform well and requires distinct JSON models to distinguish between
+     * subtypes and would require providing an obscure discriminator method to the model that serves no purpose but to
+     * enable JSON serialization.
      *
      * @return whether or not to generate the type adapter factories for the logic predicates
      */
     boolean isGsonEnabled();
 
+    /**
+     * Represents whether or not to generate the Jackson {@code com.fasterxml.jackson.databind.Module} required for
+     * serializing the type hierarchy of logic predicates, which is registered under {@link ModuleMirror}.
+     *
+     * @return whether or not to generate the Jackson modules for the logic predicates
+     */
+    boolean isJacksonEnabled();
+
     /**
      * Represents whether or not to implement the <a href="https://en.wikipedia.org/wiki/Visitor_pattern">visitor pattern</a>
      * for the type hierarchy of logic predicates.
@@ -103,6 +113,13 @@ public interface LogicSpec {
      */
     boolean isVisitorEnabled();
 
+    /**
+     * Represents whether or not to generate an off-heap column store for the model.
+     *
+     * @return whether or not to generate the column store for the model
+     */
+    boolean isColumnarEnabled();
+
     //Immutables builder stub to hide immutable class dependency
     interface Builder {
         Builder addFieldPattern(Pattern pattern);
@@ -149,8 +166,12 @@ public interface LogicSpec {
 
         Builder setGsonEnabled(boolean gsonEnabled);
 
+        Builder setJacksonEnabled(boolean jacksonEnabled);
+
         Builder setVisitorEnabled(boolean visitorEnabled);
 
+        Builder setColumnarEnabled(boolean columnarEnabled);
+
         LogicSpec build();
     }
 }
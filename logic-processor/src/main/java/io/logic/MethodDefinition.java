@@ -1,10 +1,13 @@
 package io.logic;
 
 import com.squareup.javapoet.TypeName;
+import io.logic.Logic.Indexed;
 import io.logic.immutables.ImmutableLogicStyle;
 import org.immutables.value.Value.Derived;
 import org.immutables.value.Value.Immutable;
 
+import java.util.Optional;
+
 /**
  * A representation of the definition of a method in a {@link PredicateDefinition}.
  * <p>
@@ -23,8 +26,8 @@ public interface MethodDefinition extends MemberDefinition {
     }
 
     //Immutables factory stub to hide immutable class dependency
-    static MethodDefinition of(String name, TypeName returnType, String predicateName) {
-        return ImmutableMethodDefinition.of(name, returnType, predicateName);
+    static MethodDefinition of(String name, TypeName returnType, String predicateName, Optional<Indexed.Type> index) {
+        return ImmutableMethodDefinition.of(name, returnType, predicateName, index);
     }
 
     /**
@@ -52,6 +55,13 @@ public interface MethodDefinition extends MemberDefinition {
     @Override
     String getPredicateName();
 
+    /**
+     * Represents the kind of secondary index maintained for the method, if the method is annotated with {@link Indexed}.
+     *
+     * @return the index type of the method
+     */
+    Optional<Indexed.Type> getIndex();
+
     /**
      * Represents the factory name of the method definition predicate.
      * <p>
@@ -91,6 +101,10 @@ public interface MethodDefinition extends MemberDefinition {
 
         Builder setPredicateName(String predicateName);
 
+        Builder setIndex(Indexed.Type index);
+
+        Builder setIndex(Optional<? extends Indexed.Type> index);
+
         MethodDefinition build();
     }
 }
@@ -2,11 +2,13 @@ package io.logic;
 
 import com.google.common.base.CaseFormat;
 import com.squareup.javapoet.ClassName;
+import io.logic.Logic.Indexed;
 import io.logic.Logic.Named;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
 import javax.lang.model.element.ExecutableElement;
+import java.util.Optional;
 
 /**
  * A utility class for converting a {@link ExecutableElement} program element to a {@link MethodDefinition}.
@@ -20,6 +22,8 @@ public class MethodDefinitionAdapter {
      * Converts the specified {@link ExecutableElement} into a {@link MethodDefinition} using the specified name as the
      * predicate name, unless the method is annotated with {@link Named} where that value is used in replace of the
      * provided name.
+     * <p>
+     * If the method is annotated with {@link Indexed}, the requested index type is recorded in the definition.
      *
      * @param name   the predicate name for the method definition
      * @param method the method program element which is being defined
@@ -27,10 +31,12 @@ public class MethodDefinitionAdapter {
      */
     public MethodDefinition convert(@NonNull String name, @NonNull ExecutableElement method) {
         Named named = method.getAnnotation(Named.class);
+        Indexed indexed = method.getAnnotation(Indexed.class);
         return MethodDefinition.builder()
                 .setName(method.getSimpleName().toString())
                 .setReturnType(ClassName.get(method.getReturnType()))
                 .setPredicateName(CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, named != null ? named.value() : name))
+                .setIndex(Optional.ofNullable(indexed).map(Indexed::value))
                 .build();
     }
 }
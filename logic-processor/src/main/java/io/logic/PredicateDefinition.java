@@ -5,6 +5,7 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import io.logic.Logic.Include;
 import io.logic.Logic.Mixin;
@@ -38,8 +39,8 @@ public interface PredicateDefinition {
     }
 
     //Immutables factory stub to hide immutable class dependency
-    static PredicateDefinition of(ClassName predicateName, TypeName typeName, Set<? extends MemberDefinition> members, boolean gsonEnabled, boolean visitorEnabled) {
-        return ImmutablePredicateDefinition.of(predicateName, typeName, members, gsonEnabled, visitorEnabled);
+    static PredicateDefinition of(ClassName predicateName, TypeName typeName, Set<? extends MemberDefinition> members, boolean gsonEnabled, boolean jacksonEnabled, boolean visitorEnabled, boolean columnarEnabled) {
+        return ImmutablePredicateDefinition.of(predicateName, typeName, members, gsonEnabled, jacksonEnabled, visitorEnabled, columnarEnabled);
     }
 
     /**
@@ -75,6 +76,13 @@ public interface PredicateDefinition {
      */
     boolean isGsonEnabled();
 
+    /**
+     * Represents whether a Jackson {@code Module} should be generated for the predicate hierarchy.
+     *
+     * @return whether jackson serializers are generated for the predicate implementations
+     */
+    boolean isJacksonEnabled();
+
     /**
      * Represents whether the visitor pattern will be implemented for the predicate hierarchy.
      *
@@ -82,12 +90,20 @@ public interface PredicateDefinition {
      */
     boolean isVisitorEnabled();
 
+    /**
+     * Represents whether a column store will be generated for the model.
+     *
+     * @return whether a column store is generated for the model
+     */
+    boolean isColumnarEnabled();
+
     /**
      * An <a href="https://github.com/immutables/immutables">Immutables</a> precondition {@link Check} that constructs
      * a {@link PredicateDefinition} with the standard predicates:
      * <ul>
      * <li>{@code Equals},</li>
      * <li>{@code NotEquals},</li>
+     * <li>{@code In} (neither array types nor {@code float} and {@code double}),</li>
      * <li>{@code IdentityEquals} (reference types only),</li>
      * <li>{@code IdentityNotEquals} (reference types only).</li>
      * </ul>
@@ -120,6 +136,16 @@ public interface PredicateDefinition {
         }
         standardPredicatesBuilder.add(equalsBuilder.build());
         standardPredicatesBuilder.add(notEqualsBuilder.build());
+        //Arrays are compared by content, which a set of arrays cannot represent, and floating point primitives are
+        //compared with ==, which disagrees with the Object#equals of a set of their boxes for -0.0 and NaN
+        if (!(modelName instanceof ArrayTypeName) && !modelName.equals(TypeName.FLOAT) && !modelName.equals(TypeName.DOUBLE)) {
+            standardPredicatesBuilder.add(MixinDefinition.builder()
+                    .setPredicateName("In")
+                    .setFactoryName("isIn")
+                    .putParameter("values", ParameterizedTypeName.get(ClassName.get(Set.class), modelName.box()))
+                    .setBody("getValues().contains($L)", modelParameterName)
+                    .build());
+        }
         //Primitive types do not have a concept of identity
         if (!modelName.isPrimitive()) {
             standardPredicatesBuilder.add(MixinDefinition.builder()
@@ -160,8 +186,12 @@ public interface PredicateDefinition {
 
         Builder setGsonEnabled(boolean gsonEnabled);
 
+        Builder setJacksonEnabled(boolean jacksonEnabled);
+
         Builder setVisitorEnabled(boolean visitorEnabled);
 
+        Builder setColumnarEnabled(boolean columnarEnabled);
+
         PredicateDefinition build();
     }
 }
@@ -0,0 +1,123 @@
+package io.logic;
+
+import io.logic.codec.BinaryCodecFactory;
+import io.logic.codec.BinaryCodecs;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogicProcessorTest {
+    @Test
+    public void columnarWithoutVisitorIsAnError() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = process("@Logic(columnar = true, visitor = false, methods = {})");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage(null).contains("@Logic(columnar = true) requires @Logic(visitor = true)"));
+    }
+
+    @Test
+    public void columnarWithVisitorIsGenerated() throws IOException {
+        assertEquals(Collections.emptyList(), process("@Logic(columnar = true, methods = {})"));
+    }
+
+    @Test
+    public void binaryMessagesDecodeWithALaterVersionOfTheModel() throws Exception {
+        ClassLoader v1 = load("int getYear();\nint getDoors();\n");
+        ClassLoader v2 = load("int getSeats();\nint getDoors();\nint getYear();\n");
+        Object predicate = predicate(v1);
+        Object decoded = decode(v2, encode(v1, predicate));
+        assertEquals(predicate(v2), decoded);
+        assertEquals(predicate.toString(), decoded.toString());
+        assertEquals(predicate, decode(v1, encode(v2, decoded)));
+    }
+
+    private static Object predicate(ClassLoader loader) throws ReflectiveOperationException {
+        Class<?> ints = loader.loadClass("test.IntPredicate");
+        Class<?> models = loader.loadClass("test.ModelPredicate");
+        Object year = models.getMethod("whenYear", ints).invoke(null, ints.getMethod("isEqualTo", int.class).invoke(null, 2010));
+        Object doors = models.getMethod("whenDoors", ints).invoke(null, ints.getMethod("isEqualTo", int.class).invoke(null, 4));
+        Object either = models.getMethod("or", models).invoke(year, models.getMethod("whenHashCode", ints).invoke(null, ints.getMethod("isEqualTo", int.class).invoke(null, 0)));
+        return models.getMethod("and", models).invoke(either, models.getMethod("negate").invoke(doors));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] encode(ClassLoader loader, Object predicate) throws ReflectiveOperationException {
+        return codecs(loader).encode((Class<Object>) loader.loadClass("test.ModelPredicate"), predicate);
+    }
+
+    private static Object decode(ClassLoader loader, byte[] message) throws ReflectiveOperationException {
+        return codecs(loader).decode(loader.loadClass("test.ModelPredicate"), message);
+    }
+
+    private static BinaryCodecs codecs(ClassLoader loader) throws ReflectiveOperationException {
+        return BinaryCodecs.builder()
+                .addFactory((BinaryCodecFactory) loader.loadClass("test.ModelPredicateBinaryCodecFactory").newInstance())
+                .addFactory((BinaryCodecFactory) loader.loadClass("test.IntPredicateBinaryCodecFactory").newInstance())
+                .build();
+    }
+
+    /**
+     * Compiles a model with the members, along with its generated sources, and loads the classes it compiles to.
+     */
+    private static ClassLoader load(String members) throws IOException {
+        Path output = Files.createTempDirectory("logic");
+        assertEquals(Collections.emptyList(), compile("@Logic", members, output, Arrays.asList("-processor",
+                LogicProcessor.class.getName() + ",org.immutables.processor.ProxyProcessor")));
+        return new URLClassLoader(new URL[]{output.toUri().toURL()}, LogicProcessorTest.class.getClassLoader());
+    }
+
+    /**
+     * Runs the processor over a model annotated with the logic, along with the {@code int} predicate every model needs
+     * for its array predicate, and collects the errors it reports.
+     */
+    private static List<Diagnostic<? extends JavaFileObject>> process(String logic) throws IOException {
+        return compile(logic, "", Files.createTempDirectory("logic"), Arrays.asList("-proc:only", "-processor", LogicProcessor.class.getName()));
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(String logic, String members, Path output, List<String> options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            files.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singleton(output.toFile()));
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(output.toFile()));
+            JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///test/Model.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return "package test;\n" +
+                            "import io.logic.Logic;\n" +
+                            logic + "\n" +
+                            "@Logic.Include(int.class)\n" +
+                            "public interface Model {\n" +
+                            members +
+                            "}\n";
+                }
+            };
+            List<String> arguments = new ArrayList<>(options);
+            arguments.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path")));
+            compiler.getTask(null, files, diagnostics, arguments, null, Collections.singleton(source)).call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+    }
+}
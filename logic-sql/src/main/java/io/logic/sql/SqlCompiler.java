@@ -0,0 +1,230 @@
+package io.logic.sql;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+import io.logic.structure.LogicPredicate;
+
+import java.lang.reflect.TypeVariable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles an {@link Expression} into a parameterized SQL condition and the residual expression which the condition
+ * cannot express.
+ * <p>
+ * The comparison mixins ({@code Equals}, {@code NotEquals}, {@code LessThan}, {@code LessThanEquals},
+ * {@code GreaterThan}, {@code GreaterThanEquals}), {@code In}, {@code True}, {@code False} and the {@link String}
+ * mixins {@code Empty}, {@code NonEmpty} and {@code Contains} translate to SQL when their member is mapped to a column
+ * and is a primitive or a {@link String} (text is only compared for equality, since the ordering of text depends on the
+ * collation of the column). Any other atom (e.g. {@code Matches}, whose regular expression dialect differs between
+ * databases, or an opaque predicate) is left to the residual expression.
+ * <p>
+ * A condition is exact if it matches the same rows as its expression, and approximate if it may also match rows which
+ * the expression does not (which the residual expression removes). Conjunctions push down whatever their operands can,
+ * while disjunctions and negations push down only when their operands are exact (or, for disjunctions, approximate).
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class SqlCompiler {
+    private static final Condition TRUE = new Condition("(1 = 1)", ImmutableList.of(), Expression.constant(true));
+    private static final Condition FALSE = new Condition("(1 = 0)", ImmutableList.of(), Expression.constant(true));
+    private static final TypeVariable<?> LOGIC_TYPE = LogicPredicate.class.getTypeParameters()[0];
+    private static final Set<Class<?>> BINDABLE_TYPES = ImmutableSet.of(
+            Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, Character.class, String.class
+    );
+
+    private SqlCompiler() {
+    }
+
+    /**
+     * Compiles the expression into a condition over the columns of the mapping.
+     *
+     * @param expression the decomposed query predicate
+     * @param mapping    the columns of the members
+     * @return the condition and residual expression
+     */
+    static Condition compile(Expression expression, SqlMapping mapping) {
+        return expression.accept(new ExpressionVisitor<Condition>() {
+            @Override
+            public Condition visit(Expression.And and) {
+                Condition left = and.getLeft().accept(this);
+                Condition right = and.getRight().accept(this);
+                String sql = left.sql == null ? right.sql : right.sql == null ? left.sql : "(" + left.sql + " AND " + right.sql + ")";
+                return new Condition(sql, concat(left.parameters, right.parameters), Expression.and(left.residual, right.residual));
+            }
+
+            @Override
+            public Condition visit(Expression.Or or) {
+                Condition left = or.getLeft().accept(this);
+                Condition right = or.getRight().accept(this);
+                if (left.sql == null || right.sql == null) {
+                    return new Condition(null, ImmutableList.of(), or);
+                }
+                //an approximate disjunct leaves the whole disjunction to be tested again
+                return new Condition("(" + left.sql + " OR " + right.sql + ")", concat(left.parameters, right.parameters),
+                        left.isExact() && right.isExact() ? Expression.constant(true) : or);
+            }
+
+            @Override
+            public Condition visit(Expression.Not not) {
+                Condition operand = not.getOperand().accept(this);
+                if (operand.sql == null || !operand.isExact()) {
+                    return new Condition(null, ImmutableList.of(), not);
+                }
+                return new Condition("NOT " + operand.sql, operand.parameters, Expression.constant(true));
+            }
+
+            @Override
+            public Condition visit(Expression.Test test) {
+                Atom atom = test.getAtom();
+                Optional<String> column = atom.getPath().isEmpty() ? Optional.empty() : mapping.getColumn(String.join(".", atom.getPath()));
+                Condition condition = column.isPresent() ? compile(atom, column.get(), mapping.isCaseSensitive()) : null;
+                return condition == null ? new Condition(null, ImmutableList.of(), test) : condition;
+            }
+
+            @Override
+            public Condition visit(Expression.Constant constant) {
+                return constant.isValue() ? TRUE : FALSE;
+            }
+        });
+    }
+
+    private static Condition compile(Atom atom, String column, boolean caseSensitive) {
+        Class<?> type = Primitives.wrap(TypeToken.of(atom.getPredicate().getClass()).resolveType(LOGIC_TYPE).getRawType());
+        if (!BINDABLE_TYPES.contains(type)) {
+            return null;
+        }
+        boolean text = type == String.class || type == Character.class;
+        boolean exact = caseSensitive || !text;
+        switch (atom.getName()) {
+            case "True":
+                return compare(column, " = ?", true);
+            case "False":
+                return compare(column, " = ?", false);
+            case "Empty":
+                return type == String.class ? approximate(atom, compare(column, " = ?", ""), true, exact) : null;
+            case "NonEmpty":
+                return type == String.class ? approximate(atom, compare(column, " <> ?", ""), false, exact) : null;
+            case "In":
+                Collection<?> values = (Collection<?>) atom.getParameters().get("values");
+                if (values == null || !values.stream().allMatch(value -> isBindable(type, value))) {
+                    return null;
+                }
+                if (values.isEmpty()) {
+                    return FALSE;
+                }
+                String sql = "(" + column + " IN (" + values.stream().map(value -> "?").collect(Collectors.joining(", ")) + "))";
+                return approximate(atom, new Condition(sql, ImmutableList.copyOf(values), Expression.constant(true)), true, exact);
+            default:
+                break;
+        }
+        Object value = atom.getParameters().get("value");
+        if (!isBindable(type, value)) {
+            return null;
+        }
+        switch (atom.getName()) {
+            case "Equals":
+                return approximate(atom, compare(column, " = ?", value), true, exact);
+            case "NotEquals":
+                return approximate(atom, compare(column, " <> ?", value), false, exact);
+            case "Contains":
+                return type == String.class ? approximate(atom, compare(column, " LIKE ? ESCAPE '!'", "%" + escape((String) value) + "%"), true, exact) : null;
+            case "LessThan":
+                return text ? null : compare(column, " < ?", value);
+            case "LessThanEquals":
+                return text ? null : compare(column, " <= ?", value);
+            case "GreaterThan":
+                return text ? null : compare(column, " > ?", value);
+            case "GreaterThanEquals":
+                return text ? null : compare(column, " >= ?", value);
+            default:
+                return null;
+        }
+    }
+
+    private static Condition compare(String column, String operator, Object value) {
+        return new Condition("(" + column + operator + ")", ImmutableList.of(value), Expression.constant(true));
+    }
+
+    /**
+     * Keeps the condition of a comparison as it is if the column compares as the atom does. Otherwise, the condition is
+     * kept as an approximation if it only widens the match (e.g. a case-insensitive equality) and the atom is tested
+     * again on the rows it matches, or is not pushed down at all.
+     */
+    private static Condition approximate(Atom atom, Condition condition, boolean widening, boolean exact) {
+        if (exact) {
+            return condition;
+        }
+        return widening ? new Condition(condition.sql, condition.parameters, Expression.test(atom)) : null;
+    }
+
+    private static boolean isBindable(Class<?> type, Object value) {
+        if (value instanceof Float && ((Float) value).isNaN() || value instanceof Double && ((Double) value).isNaN()) {
+            return false; //NaN compares unequal to everything in Java, but not in every database
+        }
+        return type.isInstance(value);
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of the value with {@code !}.
+     */
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '!' || c == '%' || c == '_') {
+                builder.append('!');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static List<Object> concat(List<Object> left, List<Object> right) {
+        return left.isEmpty() ? right : right.isEmpty() ? left : ImmutableList.builder().addAll(left).addAll(right).build();
+    }
+
+    /**
+     * A parameterized SQL condition, along with the residual expression which must still be tested on the rows it
+     * matches.
+     */
+    static final class Condition {
+        private final String sql;
+        private final List<Object> parameters;
+        private final Expression residual;
+
+        private Condition(String sql, List<Object> parameters, Expression residual) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.residual = residual;
+        }
+
+        /**
+         * Represents the SQL condition, or {@code null} if no part of the expression could be pushed down.
+         */
+        String getSql() {
+            return sql;
+        }
+
+        List<Object> getParameters() {
+            return parameters;
+        }
+
+        Expression getResidual() {
+            return residual;
+        }
+
+        boolean isExact() {
+            return residual instanceof Expression.Constant && ((Expression.Constant) residual).isValue();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.logic.sql;
+
+import io.logic.structure.Expression;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A predicate pushed down into a parameterized SQL {@code WHERE} clause, along with the residual predicate which must
+ * still be tested in memory on the rows the clause selects.
+ * <p>
+ * The predicate is decomposed into an {@link Expression}, and every atom which tests a mapped member with a standard
+ * mixin (e.g. {@code whenMake(isEqualTo("Ford"))} or {@code whenYear(isIn(years))}) is written as a comparison of its
+ * column with the mixin values bound as statement parameters, so values are never written into the SQL. Atoms which
+ * cannot be expressed in SQL (e.g. custom mixins, regular expressions, opaque predicates or unmapped members) are left
+ * to the residual predicate, and the clause selects a superset of the matching rows. Rows selected by the clause and
+ * matched by the residual predicate are exactly the rows which match the predicate.
+ * <p>
+ * Pushed down comparisons expect the mapped columns to be non-null (as the member predicates expect non-null members),
+ * since a {@code NULL} column matches neither a comparison nor its negation in SQL.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class SqlFilter<T> {
+    private final Predicate<? super T> predicate;
+    private final String whereClause;
+    private final List<Object> parameters;
+    private final Expression residual;
+
+    private SqlFilter(Predicate<? super T> predicate, String whereClause, List<Object> parameters, Expression residual) {
+        this.predicate = predicate;
+        this.whereClause = whereClause;
+        this.parameters = parameters;
+        this.residual = residual;
+    }
+
+    /**
+     * Pushes the predicate down into a {@code WHERE} clause over the columns of the mapping.
+     *
+     * @param predicate the query predicate
+     * @param mapping   the columns of the members
+     * @param <T>       the type of the model
+     * @return a new {@link SqlFilter} of the predicate
+     */
+    public static <T> SqlFilter<T> of(Predicate<? super T> predicate, SqlMapping mapping) {
+        Objects.requireNonNull(predicate, "predicate");
+        Objects.requireNonNull(mapping, "mapping");
+        SqlCompiler.Condition condition = SqlCompiler.compile(Expression.of(predicate), mapping);
+        String whereClause = condition.getSql() == null ? "(1 = 1)" : condition.getSql();
+        return new SqlFilter<>(predicate, whereClause, condition.getParameters(), condition.getResidual());
+    }
+
+    /**
+     * Represents the predicate pushed down by the filter.
+     *
+     * @return the query predicate
+     */
+    public Predicate<? super T> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Represents the condition of the {@code WHERE} clause (without the {@code WHERE} keyword), with a {@code ?}
+     * placeholder for each parameter.
+     *
+     * @return the SQL condition
+     */
+    public String getWhereClause() {
+        return whereClause;
+    }
+
+    /**
+     * Represents the values bound to the placeholders of the {@code WHERE} clause, in order.
+     *
+     * @return the parameters of the clause
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Tests whether the {@code WHERE} clause selects exactly the rows which match the predicate, so the residual
+     * predicate matches every row.
+     *
+     * @return {@code true} if the whole predicate was pushed down
+     */
+    public boolean isExact() {
+        return residual instanceof Expression.Constant && ((Expression.Constant) residual).isValue();
+    }
+
+    /**
+     * Tests the part of the predicate which was not pushed down against a model instance read from a selected row.
+     *
+     * @param object the model instance
+     * @return {@code true} if the model instance matches the residual predicate
+     */
+    public boolean testResidual(T object) {
+        return residual.test(object);
+    }
+
+    /**
+     * Binds the parameters of the {@code WHERE} clause to the statement.
+     *
+     * @param statement the statement which contains the clause
+     * @param index     the index of the first placeholder of the clause within the statement
+     * @return the index of the placeholder following the clause
+     * @throws SQLException if a parameter cannot be bound
+     */
+    public int bind(PreparedStatement statement, int index) throws SQLException {
+        for (Object parameter : parameters) {
+            if (parameter instanceof Character) {
+                statement.setString(index++, parameter.toString());
+            } else {
+                statement.setObject(index++, parameter);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Runs the query with the filter appended as its {@code WHERE} clause, and reads every selected row which matches
+     * the residual predicate.
+     *
+     * @param connection the connection to query
+     * @param select     the query without a {@code WHERE} clause (e.g. {@code SELECT make, model, year FROM cars})
+     * @param mapper     the function which reads the model instance from the current row
+     * @return the model instances which match the predicate
+     * @throws SQLException if the query fails
+     */
+    public List<T> query(Connection connection, String select, RowMapper<? extends T> mapper) throws SQLException {
+        List<T> results = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(select + " WHERE " + whereClause)) {
+            bind(statement, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    T result = mapper.map(resultSet);
+                    if (testResidual(result)) {
+                        results.add(result);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlFilter{whereClause=" + whereClause + ", parameters=" + parameters + ", residual=" + residual + "}";
+    }
+
+    /**
+     * A function which reads a model instance from the current row of a {@link ResultSet}.
+     *
+     * @param <T> the type of the model
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        /**
+         * Reads the model instance from the current row.
+         *
+         * @param resultSet the result set positioned at the row
+         * @return the model instance of the row
+         * @throws SQLException if the row cannot be read
+         */
+        T map(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -0,0 +1,71 @@
+package io.logic.sql;
+
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A mapping of the members of a model to the columns of the table (or query) which holds the model.
+ * <p>
+ * Members are named by their logic name, with the names along the path of a nested member joined by {@code .} (e.g.
+ * {@code Engine.Cylinders}). Columns are SQL expressions which are written into the {@code WHERE} clause as they are
+ * (e.g. {@code "make"} or {@code "e.cylinders"}), so they must never be derived from untrusted input.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Immutable
+@ImmutableLogicStyle
+public interface SqlMapping {
+    //Immutables builder stub to hide immutable class dependency
+    static Builder builder() {
+        return ImmutableSqlMapping.builder();
+    }
+
+    /**
+     * Represents the columns of the mapped members, keyed by the logic name of the member.
+     *
+     * @return the columns of the members
+     */
+    Map<String, String> getColumns();
+
+    /**
+     * Tests whether text columns compare case-sensitively and without padding (e.g. a binary collation), as
+     * {@link String#equals(Object)} does.
+     * <p>
+     * Otherwise text comparisons are only pushed down where the database may return extra rows (which the residual
+     * predicate removes), and negated text comparisons are not pushed down at all.
+     *
+     * @return {@code true} if text columns compare as {@link String} does, which is the default
+     */
+    @Default
+    default boolean isCaseSensitive() {
+        return true;
+    }
+
+    /**
+     * Finds the column which holds the member.
+     *
+     * @param name the logic name of the member, with nested member names joined by {@code .}
+     * @return the column of the member, or {@link Optional#empty()} if the member is not mapped
+     */
+    default Optional<String> getColumn(String name) {
+        return Optional.ofNullable(getColumns().get(name));
+    }
+
+    //Immutables builder stub to hide immutable class dependency
+    interface Builder {
+        Builder putColumn(String key, String value);
+
+        Builder putAllColumns(Map<String, ? extends String> entries);
+
+        Builder setColumns(Map<String, ? extends String> entries);
+
+        Builder setCaseSensitive(boolean caseSensitive);
+
+        SqlMapping build();
+    }
+}
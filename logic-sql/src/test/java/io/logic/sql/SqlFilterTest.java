@@ -0,0 +1,192 @@
+package io.logic.sql;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SqlFilterTest {
+    private static final String SELECT = "SELECT make, model, year FROM cars";
+    private static final SqlMapping MAPPING = SqlMapping.builder()
+            .putColumn("Make", "make")
+            .putColumn("Model", "model")
+            .putColumn("Year", "year")
+            .build();
+    private static final List<Car> CARS = Arrays.asList(
+            car("Ford", "F-150", 2015),
+            car("Ford", "Focus", 2008),
+            car("Kia", "Soul", 2020),
+            car("Honda", "Civic", 2010),
+            car("O'Brien", "50% Off", 1999)
+    );
+    private Connection connection;
+
+    @Before
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE cars (make VARCHAR(32), model VARCHAR(32), year INT)");
+        }
+        insert(CARS);
+    }
+
+    @After
+    public void dropTable() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void exactConditionsSelectTheMatchingRows() throws SQLException {
+        List<CarPredicate> predicates = Arrays.asList(
+                make(StringPredicate.isEqualTo("Ford")),
+                make(StringPredicate.isEqualTo("Ford")).and(year(IntPredicate.isGreaterThan(2010))),
+                make(StringPredicate.isEqualTo("Kia")).or(year(IntPredicate.isLessThanEqualTo(2008))),
+                make(StringPredicate.isIn(new HashSet<>(Arrays.asList("Kia", "Honda")))),
+                make(StringPredicate.isEqualTo("O'Brien")),
+                make(StringPredicate.contains("Brien")),
+                model(StringPredicate.contains("0%")),
+                year(IntPredicate.isIn(Collections.emptySet()))
+        );
+        for (CarPredicate predicate : predicates) {
+            SqlFilter<Car> filter = SqlFilter.of(predicate, MAPPING);
+            assertTrue(filter.toString(), filter.isExact());
+            assertFalse(filter.getWhereClause(), filter.getWhereClause().contains("Brien"));
+            assertEquals(filter.toString(), expected(predicate), filter.query(connection, SELECT, SqlFilterTest::read));
+        }
+    }
+
+    @Test
+    public void negationOfAnExactConditionIsPushedDown() throws SQLException {
+        //generated disjunctions negate into a conjunction of negated atoms
+        CarPredicate predicate = make(StringPredicate.isEqualTo("Ford")).or(year(IntPredicate.isGreaterThanEqualTo(2015))).negate();
+        SqlFilter<Car> filter = SqlFilter.of(predicate, MAPPING);
+        assertTrue(filter.isExact());
+        assertEquals("(NOT (make = ?) AND NOT (year >= ?))", filter.getWhereClause());
+        assertEquals(expected(predicate), filter.query(connection, SELECT, SqlFilterTest::read));
+    }
+
+    @Test
+    public void disjunctionWithAResidualAtomIsTestedInMemory() throws SQLException {
+        CarPredicate predicate = year(IntPredicate.isGreaterThan(2005))
+                .and(make(StringPredicate.isEqualTo("Kia")).or(model(StringPredicate.matches(Pattern.compile("F.*")))));
+        SqlFilter<Car> filter = SqlFilter.of(predicate, MAPPING);
+        assertFalse(filter.isExact());
+        assertEquals("(year > ?)", filter.getWhereClause());
+        assertEquals(expected(predicate), filter.query(connection, SELECT, SqlFilterTest::read));
+    }
+
+    @Test
+    public void caseInsensitiveColumnsAreApproximated() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE cars");
+            statement.execute("CREATE TABLE cars (make VARCHAR_IGNORECASE(32), model VARCHAR(32), year INT)");
+        }
+        insert(CARS);
+        insert(Collections.singletonList(car("FORD", "Ranger", 2012)));
+        SqlMapping mapping = SqlMapping.builder().putAllColumns(MAPPING.getColumns()).setCaseSensitive(false).build();
+        CarPredicate predicate = make(StringPredicate.isEqualTo("Ford")).or(make(StringPredicate.isEqualTo("Kia")));
+        SqlFilter<Car> filter = SqlFilter.of(predicate, mapping);
+        assertFalse(filter.isExact());
+        assertEquals("((make = ?) OR (make = ?))", filter.getWhereClause());
+        assertEquals(expected(predicate), filter.query(connection, SELECT, SqlFilterTest::read));
+        CarPredicate negated = make(StringPredicate.isEqualTo("Ford")).negate();
+        SqlFilter<Car> negatedFilter = SqlFilter.of(negated, mapping);
+        assertEquals("(1 = 1)", negatedFilter.getWhereClause());
+        assertEquals(expected(negated), negatedFilter.query(connection, SELECT, SqlFilterTest::read));
+    }
+
+    @Test
+    public void nullColumnsMatchNeitherAComparisonNorItsNegation() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO cars VALUES (NULL, 'Unknown', 2015)")) {
+            statement.executeUpdate();
+        }
+        CarPredicate predicate = make(StringPredicate.isEqualTo("Ford"));
+        assertEquals(expected(predicate), SqlFilter.of(predicate, MAPPING).query(connection, SELECT, SqlFilterTest::read));
+        CarPredicate negated = predicate.negate();
+        List<Car> selected = SqlFilter.of(negated, MAPPING).query(connection, SELECT, SqlFilterTest::read);
+        assertEquals(expected(negated), selected);
+        assertTrue(selected.stream().allMatch(car -> car.getMake() != null));
+        assertEquals(expected(year(IntPredicate.isEqualTo(2015))).size() + 1,
+                SqlFilter.of(year(IntPredicate.isEqualTo(2015)), MAPPING).query(connection, SELECT, SqlFilterTest::read).size());
+    }
+
+    private void insert(List<Car> cars) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO cars VALUES (?, ?, ?)")) {
+            for (Car car : cars) {
+                statement.setString(1, car.getMake());
+                statement.setString(2, car.getModel());
+                statement.setInt(3, car.getYear());
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private List<Car> expected(Predicate<Car> predicate) throws SQLException {
+        List<Car> cars = SqlFilter.<Car>of(car -> true, MAPPING).query(connection, SELECT, SqlFilterTest::read);
+        return cars.stream().filter(car -> car.getMake() != null).filter(predicate).collect(Collectors.toList());
+    }
+
+    private static CarPredicate make(StringPredicate predicate) {
+        return CarPredicate.whenMake(predicate);
+    }
+
+    private static CarPredicate model(StringPredicate predicate) {
+        return CarPredicate.whenModel(predicate);
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static Car car(String make, String model, int year) {
+        return ImmutableCar.builder().make(make).model(model).year(year).build();
+    }
+
+    private static Car read(ResultSet resultSet) throws SQLException {
+        String make = resultSet.getString("make");
+        String model = resultSet.getString("model");
+        int year = resultSet.getInt("year");
+        if (make != null) {
+            return car(make, model, year);
+        }
+        //the immutable model has no missing makes, so a row without one is read into a car which has none
+        return new Car() {
+            @Override
+            public String getMake() {
+                return null;
+            }
+
+            @Override
+            public String getModel() {
+                return model;
+            }
+
+            @Override
+            public int getYear() {
+                return year;
+            }
+        };
+    }
+}
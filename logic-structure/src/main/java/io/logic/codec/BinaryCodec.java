@@ -0,0 +1,61 @@
+package io.logic.codec;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A codec which writes values of a type to the compact binary format of {@link BinaryWriter} and reads them back from
+ * a {@link BinaryReader}.
+ * <p>
+ * Values are written without any type information or attribute names, so a message can only be read by a codec of the
+ * same type. The codecs of logic predicates are generated for every predicate hierarchy and resolved through
+ * {@link BinaryCodecs}.
+ *
+ * @param <T> the type of the values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface BinaryCodec<T> {
+    /**
+     * Creates a new {@link BinaryCodec} from its write and read functions.
+     *
+     * @param writer the function which writes a value
+     * @param reader the function which reads a value
+     * @param <T>    the type of the values
+     * @return a new codec
+     */
+    static <T> BinaryCodec<T> of(BiConsumer<BinaryWriter, ? super T> writer, Function<BinaryReader, ? extends T> reader) {
+        Objects.requireNonNull(writer, "writer");
+        Objects.requireNonNull(reader, "reader");
+        return new BinaryCodec<T>() {
+            @Override
+            public void write(BinaryWriter out, T value) {
+                writer.accept(out, value);
+            }
+
+            @Override
+            public T read(BinaryReader in) {
+                return reader.apply(in);
+            }
+        };
+    }
+
+    /**
+     * Writes the value.
+     *
+     * @param out   the writer
+     * @param value the value to write, which is never {@code null}
+     * @throws IllegalArgumentException if the value cannot be encoded
+     */
+    void write(BinaryWriter out, T value);
+
+    /**
+     * Reads a value.
+     *
+     * @param in the reader
+     * @return the value read
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    T read(BinaryReader in);
+}
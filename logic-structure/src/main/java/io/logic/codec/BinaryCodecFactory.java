@@ -0,0 +1,24 @@
+package io.logic.codec;
+
+import java.lang.reflect.Type;
+
+/**
+ * A factory of the {@link BinaryCodec} of a family of types, registered with {@link BinaryCodecs}.
+ * <p>
+ * The io.logic annotation processor generates a {@link BinaryCodecFactory} for every predicate hierarchy, which is
+ * registered with {@link java.util.ServiceLoader}.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface BinaryCodecFactory {
+    /**
+     * Creates the codec of the type.
+     *
+     * @param codecs the codecs to resolve the codecs of nested values from
+     * @param type   the type of the values
+     * @param <T>    the type of the values
+     * @return the codec of the type, or {@code null} if the factory does not support the type
+     */
+    <T> BinaryCodec<T> create(BinaryCodecs codecs, Type type);
+}
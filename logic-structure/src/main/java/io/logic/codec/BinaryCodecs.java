@@ -0,0 +1,340 @@
+package io.logic.codec;
+
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * A registry of {@link BinaryCodec}, which resolves the codec of a type from its {@link BinaryCodecFactory} along with
+ * the codecs of every nested type.
+ * <p>
+ * Codecs are built in for primitives and their boxes, strings (including {@link CharSequence}, read as a
+ * {@link String}), enums (by name), {@link Pattern}, arrays, and {@link Set}, {@link List} and {@link Collection} of a
+ * type with a codec. Every other type is resolved by the registered factories, in the order they are registered, ahead
+ * of the built-in codecs. A type which no factory supports resolves to a codec which fails when it is used, so a
+ * predicate hierarchy can be encoded as long as the predicates being encoded only have attributes with a codec.
+ * <p>
+ * Codecs are created once per type and cached, and a codec may resolve its own type (e.g. the operands of an
+ * {@code And}) while it is created. {@link BinaryCodecs} is thread-safe.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class BinaryCodecs {
+    private final List<BinaryCodecFactory> factories;
+    private final Map<Type, BinaryCodec<?>> codecs = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<Type, Deferred<?>>> pending = ThreadLocal.withInitial(HashMap::new);
+
+    private BinaryCodecs(List<BinaryCodecFactory> factories) {
+        this.factories = factories;
+    }
+
+    /**
+     * Creates the {@link BinaryCodecs} of every {@link BinaryCodecFactory} registered with {@link ServiceLoader},
+     * which includes the codecs of every generated predicate hierarchy.
+     *
+     * @return new codecs
+     */
+    public static BinaryCodecs create() {
+        return builder().addFactories(ServiceLoader.load(BinaryCodecFactory.class)).build();
+    }
+
+    /**
+     * Creates a new {@link Builder} for {@link BinaryCodecs}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Resolves the codec of the type.
+     *
+     * @param type the type of the values
+     * @param <T>  the type of the values
+     * @return the codec of the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BinaryCodec<T> get(Class<T> type) {
+        return (BinaryCodec<T>) get((Type) type);
+    }
+
+    /**
+     * Resolves the codec of the generic type (e.g. {@code new TypeToken<Set<String>>() {}}).
+     *
+     * @param type the type of the values
+     * @param <T>  the type of the values
+     * @return the codec of the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BinaryCodec<T> get(TypeToken<T> type) {
+        return (BinaryCodec<T>) get(type.getType());
+    }
+
+    /**
+     * Resolves the codec of the type.
+     *
+     * @param type the type of the values
+     * @return the codec of the type
+     */
+    @SuppressWarnings("unchecked")
+    public BinaryCodec<?> get(Type type) {
+        Type key = type instanceof Class ? Primitives.wrap((Class<?>) type) : Objects.requireNonNull(type, "type");
+        BinaryCodec<?> codec = codecs.get(key);
+        if (codec != null) {
+            return codec;
+        }
+        //a codec which resolves its own type while it is created receives a placeholder of itself
+        Map<Type, Deferred<?>> resolving = pending.get();
+        Deferred<?> deferred = resolving.get(key);
+        if (deferred != null) {
+            return deferred;
+        }
+        Deferred<Object> placeholder = new Deferred<>();
+        resolving.put(key, placeholder);
+        try {
+            codec = create(key);
+            placeholder.delegate = (BinaryCodec<Object>) codec;
+            BinaryCodec<?> existing = codecs.putIfAbsent(key, codec);
+            return existing == null ? codec : existing;
+        } finally {
+            resolving.remove(key);
+        }
+    }
+
+    /**
+     * Encodes the value as a message of its own.
+     *
+     * @param type  the type of the value
+     * @param value the value to encode
+     * @param <T>   the type of the value
+     * @return the message
+     */
+    public <T> byte[] encode(Class<T> type, T value) {
+        BinaryWriter out = new BinaryWriter();
+        get(type).write(out, Objects.requireNonNull(value, "value"));
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message which holds a single value.
+     *
+     * @param type    the type of the value
+     * @param message the message
+     * @param <T>     the type of the value
+     * @return the value
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public <T> T decode(Class<T> type, byte[] message) {
+        BinaryReader in = new BinaryReader(message);
+        T value = get(type).read(in);
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException("Unexpected " + in.remaining() + " bytes after the end of the message.");
+        }
+        return value;
+    }
+
+    private BinaryCodec<?> create(Type type) {
+        for (BinaryCodecFactory factory : factories) {
+            BinaryCodec<?> codec = factory.create(this, type);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        BinaryCodec<?> codec = createBuiltIn(type);
+        if (codec != null) {
+            return codec;
+        }
+        return BinaryCodec.of((out, value) -> {
+            throw new IllegalArgumentException("No binary codec is registered for " + type.getTypeName() + ".");
+        }, in -> {
+            throw new IllegalArgumentException("No binary codec is registered for " + type.getTypeName() + ".");
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BinaryCodec<?> createBuiltIn(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) type).getRawType();
+            Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (rawType == Set.class) {
+                return collection(get(elementType), LinkedHashSet::new);
+            }
+            if (rawType == List.class || rawType == Collection.class) {
+                return collection(get(elementType), ArrayList::new);
+            }
+            return null;
+        }
+        if (!(type instanceof Class)) {
+            return null;
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Boolean.class) {
+            return BinaryCodec.<Boolean>of(BinaryWriter::writeBoolean, BinaryReader::readBoolean);
+        } else if (raw == Byte.class) {
+            return BinaryCodec.<Byte>of(BinaryWriter::writeByte, BinaryReader::readByte);
+        } else if (raw == Short.class) {
+            return BinaryCodec.<Short>of(BinaryWriter::writeShort, BinaryReader::readShort);
+        } else if (raw == Character.class) {
+            return BinaryCodec.<Character>of(BinaryWriter::writeChar, BinaryReader::readChar);
+        } else if (raw == Integer.class) {
+            return BinaryCodec.<Integer>of(BinaryWriter::writeInt, BinaryReader::readInt);
+        } else if (raw == Long.class) {
+            return BinaryCodec.<Long>of(BinaryWriter::writeLong, BinaryReader::readLong);
+        } else if (raw == Float.class) {
+            return BinaryCodec.<Float>of(BinaryWriter::writeFloat, BinaryReader::readFloat);
+        } else if (raw == Double.class) {
+            return BinaryCodec.<Double>of(BinaryWriter::writeDouble, BinaryReader::readDouble);
+        } else if (raw == String.class || raw == CharSequence.class) {
+            return BinaryCodec.<CharSequence>of((out, value) -> out.writeString(value.toString()), BinaryReader::readString);
+        } else if (raw == Pattern.class) {
+            return BinaryCodec.<Pattern>of((out, value) -> {
+                out.writeString(value.pattern());
+                out.writeVarint(value.flags());
+            }, in -> Pattern.compile(in.readString(), in.readVarint()));
+        } else if (raw == byte[].class) {
+            return BinaryCodec.of(BinaryWriter::writeBytes, BinaryReader::readBytes);
+        } else if (raw.isEnum()) {
+            return BinaryCodec.<Enum>of((out, value) -> out.writeString(value.name()), in -> Enum.valueOf((Class) raw, in.readString()));
+        } else if (raw.isArray()) {
+            Class<?> componentType = raw.getComponentType();
+            BinaryCodec<Object> codec = (BinaryCodec<Object>) get(componentType);
+            return BinaryCodec.of((out, value) -> {
+                int length = Array.getLength(value);
+                out.writeVarint(length);
+                for (int i = 0; i < length; i++) {
+                    codec.write(out, Array.get(value, i));
+                }
+            }, in -> {
+                int length = in.readLength();
+                Object value = Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    Array.set(value, i, codec.read(in));
+                }
+                return value;
+            });
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E, C extends Collection<E>> BinaryCodec<C> collection(BinaryCodec<?> elementCodec, Supplier<C> constructor) {
+        BinaryCodec<E> codec = (BinaryCodec<E>) elementCodec;
+        return BinaryCodec.of((out, value) -> {
+            out.writeVarint(value.size());
+            for (E element : value) {
+                codec.write(out, element);
+            }
+        }, in -> {
+            C value = constructor.get();
+            for (int i = in.readLength(); i > 0; i--) {
+                value.add(codec.read(in));
+            }
+            return value;
+        });
+    }
+
+    /**
+     * A placeholder of a codec which is being created, which forwards to the codec once it is created.
+     */
+    private static final class Deferred<T> implements BinaryCodec<T> {
+        private volatile BinaryCodec<T> delegate;
+
+        @Override
+        public void write(BinaryWriter out, T value) {
+            delegate().write(out, value);
+        }
+
+        @Override
+        public T read(BinaryReader in) {
+            return delegate().read(in);
+        }
+
+        private BinaryCodec<T> delegate() {
+            if (delegate == null) {
+                throw new IllegalStateException("Codec is used before it is created.");
+            }
+            return delegate;
+        }
+    }
+
+    /**
+     * A builder for {@link BinaryCodecs}.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder {
+        private final List<BinaryCodecFactory> factories = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a factory of codecs.
+         *
+         * @param factory the factory to add
+         * @return {@code this} builder
+         */
+        public Builder addFactory(BinaryCodecFactory factory) {
+            factories.add(Objects.requireNonNull(factory, "factory"));
+            return this;
+        }
+
+        /**
+         * Adds every factory of codecs.
+         *
+         * @param factories the factories to add
+         * @return {@code this} builder
+         */
+        public Builder addFactories(Iterable<? extends BinaryCodecFactory> factories) {
+            factories.forEach(this::addFactory);
+            return this;
+        }
+
+        /**
+         * Adds the codec of a single type.
+         *
+         * @param type  the type of the values
+         * @param codec the codec of the type
+         * @param <T>   the type of the values
+         * @return {@code this} builder
+         */
+        public <T> Builder addCodec(Class<T> type, BinaryCodec<T> codec) {
+            Type key = Primitives.wrap(Objects.requireNonNull(type, "type"));
+            Objects.requireNonNull(codec, "codec");
+            return addFactory(new BinaryCodecFactory() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <V> BinaryCodec<V> create(BinaryCodecs codecs, Type type) {
+                    return type.equals(key) ? (BinaryCodec<V>) codec : null;
+                }
+            });
+        }
+
+        /**
+         * Creates the {@link BinaryCodecs}.
+         *
+         * @return new codecs
+         */
+        public BinaryCodecs build() {
+            return new BinaryCodecs(new ArrayList<>(factories));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package io.logic.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A reader of the compact binary format written by {@link BinaryWriter}.
+ * <p>
+ * Every read validates the message, throwing an {@link IllegalArgumentException} if the message is truncated or
+ * malformed, so a corrupted message never causes an allocation larger than the message itself. {@link BinaryReader}
+ * is not thread-safe.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class BinaryReader {
+    private final List<String> strings = new ArrayList<>();
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    /**
+     * Constructs a new {@link BinaryReader} of the message.
+     *
+     * @param buffer the message
+     */
+    public BinaryReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Constructs a new {@link BinaryReader} of the message within a slice of the buffer.
+     *
+     * @param buffer the buffer
+     * @param offset the offset of the message
+     * @param length the length of the message
+     */
+    public BinaryReader(byte[] buffer, int offset, int length) {
+        Objects.requireNonNull(buffer, "buffer");
+        if (offset < 0 || length < 0 || offset > buffer.length - length) {
+            throw new IndexOutOfBoundsException("Slice [" + offset + ", " + offset + " + " + length + ") is out of bounds of " + buffer.length + " bytes.");
+        }
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Reads a boolean written by {@link BinaryWriter#writeBoolean(boolean)}.
+     *
+     * @return the value read
+     */
+    public boolean readBoolean() {
+        byte value = readByte();
+        if (value != 0 && value != 1) {
+            throw malformed("boolean");
+        }
+        return value == 1;
+    }
+
+    /**
+     * Reads a byte written by {@link BinaryWriter#writeByte(byte)}.
+     *
+     * @return the value read
+     */
+    public byte readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    /**
+     * Reads a short written by {@link BinaryWriter#writeShort(short)}.
+     *
+     * @return the value read
+     */
+    public short readShort() {
+        int value = readInt();
+        if (value != (short) value) {
+            throw malformed("short");
+        }
+        return (short) value;
+    }
+
+    /**
+     * Reads a char written by {@link BinaryWriter#writeChar(char)}.
+     *
+     * @return the value read
+     */
+    public char readChar() {
+        int value = readVarint();
+        if (value != (char) value) {
+            throw malformed("char");
+        }
+        return (char) value;
+    }
+
+    /**
+     * Reads an int written by {@link BinaryWriter#writeInt(int)}.
+     *
+     * @return the value read
+     */
+    public int readInt() {
+        int value = readVarint();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Reads a long written by {@link BinaryWriter#writeLong(long)}.
+     *
+     * @return the value read
+     */
+    public long readLong() {
+        long value = readVarlong();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Reads a float written by {@link BinaryWriter#writeFloat(float)}.
+     *
+     * @return the value read
+     */
+    public float readFloat() {
+        require(4);
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            bits |= (buffer[position++] & 0xFF) << (i << 3);
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Reads a double written by {@link BinaryWriter#writeDouble(double)}.
+     *
+     * @return the value read
+     */
+    public double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (buffer[position++] & 0xFFL) << (i << 3);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer written by {@link BinaryWriter#writeVarint(int)}.
+     *
+     * @return the value read
+     */
+    public int readVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("varint");
+    }
+
+    /**
+     * Reads an unsigned variable-length long written by {@link BinaryWriter#writeVarlong(long)}.
+     *
+     * @return the value read
+     */
+    public long readVarlong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7FL) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("varlong");
+    }
+
+    /**
+     * Reads the number of elements of a sequence written by {@link BinaryWriter#writeVarint(int)}, which is validated
+     * against the remaining bytes of the message, since every element takes at least one byte.
+     *
+     * @return the number of elements
+     */
+    public int readLength() {
+        int length = readVarint();
+        if (length < 0 || length > remaining()) {
+            throw malformed("length");
+        }
+        return length;
+    }
+
+    /**
+     * Reads a string written by {@link BinaryWriter#writeString(String)}.
+     *
+     * @return the value read
+     */
+    public String readString() {
+        int index = readVarint();
+        if (index == 0) {
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+        if (index < 0 || index > strings.size()) {
+            throw malformed("string reference");
+        }
+        return strings.get(index - 1);
+    }
+
+    /**
+     * Reads a byte array written by {@link BinaryWriter#writeBytes(byte[])}.
+     *
+     * @return the value read
+     */
+    public byte[] readBytes() {
+        int length = readLength();
+        byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Represents the number of bytes of the message which have not been read.
+     *
+     * @return the remaining bytes
+     */
+    public int remaining() {
+        return limit - position;
+    }
+
+    private void require(int bytes) {
+        if (limit - position < bytes) {
+            throw new IllegalArgumentException("Unexpected end of message at offset " + position + ".");
+        }
+    }
+
+    private IllegalArgumentException malformed(String type) {
+        return new IllegalArgumentException("Malformed " + type + " at offset " + position + ".");
+    }
+}
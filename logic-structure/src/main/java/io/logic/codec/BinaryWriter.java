@@ -0,0 +1,214 @@
+package io.logic.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A writer of the compact binary format of {@link BinaryCodec}.
+ * <p>
+ * Integral values are written as variable-length integers (signed values are zigzag encoded first, so small negative
+ * values stay short), floating point values are written as their fixed-width little-endian bits, and strings are
+ * deduplicated by a dictionary local to the message: the first occurrence of a string is written inline as its UTF-8
+ * bytes, and every later occurrence is written as the index of the first. {@link BinaryWriter} is not thread-safe.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class BinaryWriter {
+    private final Map<String, Integer> strings = new HashMap<>();
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Constructs a new empty {@link BinaryWriter}.
+     */
+    public BinaryWriter() {
+        this(64);
+    }
+
+    /**
+     * Constructs a new empty {@link BinaryWriter} with an initial capacity.
+     *
+     * @param capacity the initial capacity of the buffer in bytes
+     */
+    public BinaryWriter(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative, but was " + capacity + ".");
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Writes a boolean as a single byte.
+     *
+     * @param value the value to write
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Writes a byte as is.
+     *
+     * @param value the value to write
+     */
+    public void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[size++] = value;
+    }
+
+    /**
+     * Writes a short as a zigzag encoded variable-length integer.
+     *
+     * @param value the value to write
+     */
+    public void writeShort(short value) {
+        writeInt(value);
+    }
+
+    /**
+     * Writes a char as a variable-length integer.
+     *
+     * @param value the value to write
+     */
+    public void writeChar(char value) {
+        writeVarint(value);
+    }
+
+    /**
+     * Writes an int as a zigzag encoded variable-length integer.
+     *
+     * @param value the value to write
+     */
+    public void writeInt(int value) {
+        writeVarint(value << 1 ^ value >> 31);
+    }
+
+    /**
+     * Writes a long as a zigzag encoded variable-length integer.
+     *
+     * @param value the value to write
+     */
+    public void writeLong(long value) {
+        writeVarlong(value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Writes a float as its four little-endian bytes.
+     *
+     * @param value the value to write
+     */
+    public void writeFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        ensureCapacity(4);
+        for (int i = 0; i < 4; i++, bits >>>= 8) {
+            buffer[size++] = (byte) bits;
+        }
+    }
+
+    /**
+     * Writes a double as its eight little-endian bytes.
+     *
+     * @param value the value to write
+     */
+    public void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++, bits >>>= 8) {
+            buffer[size++] = (byte) bits;
+        }
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, which takes one byte for every seven significant bits.
+     *
+     * @param value the value to write, which is treated as unsigned
+     */
+    public void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes an unsigned variable-length long, which takes one byte for every seven significant bits.
+     *
+     * @param value the value to write, which is treated as unsigned
+     */
+    public void writeVarlong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a string through the dictionary of the message.
+     * <p>
+     * A string is written as {@code 0} followed by its length and UTF-8 bytes the first time it is written, and as its
+     * index in the dictionary plus one every time after.
+     *
+     * @param value the value to write
+     */
+    public void writeString(String value) {
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarint(index + 1);
+            return;
+        }
+        strings.put(value, strings.size());
+        writeVarint(0);
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a byte array as its length followed by its bytes.
+     *
+     * @param value the value to write
+     */
+    public void writeBytes(byte[] value) {
+        writeVarint(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    /**
+     * Represents the number of bytes written.
+     *
+     * @return the size of the message
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the bytes written.
+     *
+     * @return the message
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Discards the bytes written along with the dictionary, so the writer can write a new message with its buffer.
+     */
+    public void reset() {
+        strings.clear();
+        size = 0;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.length - size < bytes) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + bytes));
+        }
+    }
+}
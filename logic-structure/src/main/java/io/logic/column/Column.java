@@ -0,0 +1,343 @@
+package io.logic.column;
+
+import io.logic.structure.Atom;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A single member of every model instance within a {@link ColumnStore}, stored contiguously outside of the heap.
+ * <p>
+ * Values are stored in direct {@link ByteBuffer}s of {@link Column#PAGE_SIZE} rows, using the native byte order and the
+ * width of the member type. Members of a reference type (e.g. {@link String} or an enum) are dictionary encoded: each
+ * distinct value is stored once on the heap, and the column stores its {@code int} code.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public abstract class Column<T> {
+    static final int PAGE_SHIFT = 16;
+    /**
+     * The number of rows within each page of a column.
+     */
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int EQUALS = 0;
+    static final int NOT_EQUALS = 1;
+    static final int LESS_THAN = 2;
+    static final int LESS_THAN_EQUALS = 3;
+    static final int GREATER_THAN = 4;
+    static final int GREATER_THAN_EQUALS = 5;
+    private final String name;
+    private final int width;
+    private final List<ByteBuffer> pages = new ArrayList<>();
+
+    Column(String name, int width) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.width = width;
+    }
+
+    /**
+     * Creates a column of a {@code boolean} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> booleans(String name, Predicate<? super T> accessor) {
+        Objects.requireNonNull(accessor, "accessor");
+        return new IntegralColumn<>(name, IntegralColumn.Kind.BOOLEAN, element -> accessor.test(element) ? 1 : 0);
+    }
+
+    /**
+     * Creates a column of a {@code byte} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> bytes(String name, ToIntFunction<? super T> accessor) {
+        Objects.requireNonNull(accessor, "accessor");
+        return new IntegralColumn<>(name, IntegralColumn.Kind.BYTE, accessor::applyAsInt);
+    }
+
+    /**
+     * Creates a column of a {@code short} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> shorts(String name, ToIntFunction<? super T> accessor) {
+        Objects.requireNonNull(accessor, "accessor");
+        return new IntegralColumn<>(name, IntegralColumn.Kind.SHORT, accessor::applyAsInt);
+    }
+
+    /**
+     * Creates a column of a {@code char} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> chars(String name, ToIntFunction<? super T> accessor) {
+        Objects.requireNonNull(accessor, "accessor");
+        return new IntegralColumn<>(name, IntegralColumn.Kind.CHAR, accessor::applyAsInt);
+    }
+
+    /**
+     * Creates a column of an {@code int} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> ints(String name, ToIntFunction<? super T> accessor) {
+        Objects.requireNonNull(accessor, "accessor");
+        return new IntegralColumn<>(name, IntegralColumn.Kind.INT, accessor::applyAsInt);
+    }
+
+    /**
+     * Creates a column of a {@code long} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> longs(String name, ToLongFunction<? super T> accessor) {
+        return new IntegralColumn<>(name, IntegralColumn.Kind.LONG, Objects.requireNonNull(accessor, "accessor"));
+    }
+
+    /**
+     * Creates a column of a {@code float} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> floats(String name, ToDoubleFunction<? super T> accessor) {
+        return new FloatingColumn<>(name, false, Objects.requireNonNull(accessor, "accessor"));
+    }
+
+    /**
+     * Creates a column of a {@code double} member.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> doubles(String name, ToDoubleFunction<? super T> accessor) {
+        return new FloatingColumn<>(name, true, Objects.requireNonNull(accessor, "accessor"));
+    }
+
+    /**
+     * Creates a dictionary encoded column of a member of a reference type.
+     * <p>
+     * Each distinct value of the member is kept on the heap, so dictionary encoding suits members with a moderate
+     * number of distinct values (e.g. names, categories and enums) far better than unique identifiers.
+     *
+     * @param name     the name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new column
+     */
+    public static <T> Column<T> dictionary(String name, Function<? super T, ?> accessor) {
+        return new DictionaryColumn<>(name, Objects.requireNonNull(accessor, "accessor"));
+    }
+
+    /**
+     * Represents the name of the member stored within the column.
+     *
+     * @return the name of the member
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + "]";
+    }
+
+    /**
+     * Stores the member of the element at the next row, which must be the row after the last stored row.
+     */
+    abstract void append(T element, int row);
+
+    /**
+     * Reads the boxed member value at the row.
+     */
+    abstract Object get(int row);
+
+    /**
+     * Compiles an atom tested on this member into a filter over the pages of the column.
+     */
+    abstract PageFilter compile(Atom atom);
+
+    /**
+     * Finds the page holding the row, allocating it if the row is the first of a new page.
+     */
+    ByteBuffer page(int row) {
+        int page = row >>> PAGE_SHIFT;
+        if (page == pages.size()) {
+            pages.add(ByteBuffer.allocateDirect(width << PAGE_SHIFT).order(ByteOrder.nativeOrder()));
+        }
+        return pages.get(page);
+    }
+
+    ByteBuffer getPage(int page) {
+        return pages.get(page);
+    }
+
+    /**
+     * Drops the pages of the column, so their memory is returned once they are garbage collected.
+     */
+    void release() {
+        pages.clear();
+    }
+
+    /**
+     * Tests the leaf predicate of the atom on every row of the page, one boxed value at a time.
+     */
+    PageFilter test(Atom atom) {
+        Predicate<Object> predicate = atom.getPredicate();
+        return (page, rows, mask) -> {
+            int base = page << PAGE_SHIFT;
+            for (int word = 0, words = words(rows); word < words; word++) {
+                long bits = 0;
+                for (int i = word << 6, end = Math.min(rows, i + 64); i < end; i++) {
+                    bits |= predicate.test(get(base + i)) ? 1L << i : 0;
+                }
+                mask[word] = bits;
+            }
+        };
+    }
+
+    static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    static Integer operator(String name) {
+        switch (name) {
+            case "Equals":
+                return EQUALS;
+            case "NotEquals":
+                return NOT_EQUALS;
+            case "LessThan":
+                return LESS_THAN;
+            case "LessThanEquals":
+                return LESS_THAN_EQUALS;
+            case "GreaterThan":
+                return GREATER_THAN;
+            case "GreaterThanEquals":
+                return GREATER_THAN_EQUALS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Selects the decoded values of a page which compare to the operand, with one tight loop per operator.
+     */
+    static void compare(long[] values, int rows, int operator, long operand, long[] mask) {
+        for (int word = 0, words = words(rows); word < words; word++) {
+            long bits = 0;
+            int i = word << 6;
+            int end = Math.min(rows, i + 64);
+            switch (operator) {
+                case EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] == operand ? 1L << i : 0;
+                    }
+                    break;
+                case NOT_EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] != operand ? 1L << i : 0;
+                    }
+                    break;
+                case LESS_THAN:
+                    for (; i < end; i++) {
+                        bits |= values[i] < operand ? 1L << i : 0;
+                    }
+                    break;
+                case LESS_THAN_EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] <= operand ? 1L << i : 0;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (; i < end; i++) {
+                        bits |= values[i] > operand ? 1L << i : 0;
+                    }
+                    break;
+                default:
+                    for (; i < end; i++) {
+                        bits |= values[i] >= operand ? 1L << i : 0;
+                    }
+                    break;
+            }
+            mask[word] = bits;
+        }
+    }
+
+    /**
+     * Selects the decoded values of a page which compare to the operand, with the semantics of the primitive operators
+     * (e.g. {@code NaN} is not equal to itself).
+     */
+    static void compare(double[] values, int rows, int operator, double operand, long[] mask) {
+        for (int word = 0, words = words(rows); word < words; word++) {
+            long bits = 0;
+            int i = word << 6;
+            int end = Math.min(rows, i + 64);
+            switch (operator) {
+                case EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] == operand ? 1L << i : 0;
+                    }
+                    break;
+                case NOT_EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] != operand ? 1L << i : 0;
+                    }
+                    break;
+                case LESS_THAN:
+                    for (; i < end; i++) {
+                        bits |= values[i] < operand ? 1L << i : 0;
+                    }
+                    break;
+                case LESS_THAN_EQUALS:
+                    for (; i < end; i++) {
+                        bits |= values[i] <= operand ? 1L << i : 0;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (; i < end; i++) {
+                        bits |= values[i] > operand ? 1L << i : 0;
+                    }
+                    break;
+                default:
+                    for (; i < end; i++) {
+                        bits |= values[i] >= operand ? 1L << i : 0;
+                    }
+                    break;
+            }
+            mask[word] = bits;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package io.logic.column;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * An append-only store of model instances, which keeps each member in its own off-heap {@link Column} and answers
+ * queries by scanning only the columns the predicate reads.
+ * <p>
+ * A predicate is decomposed into an {@link Expression} and compiled into filters which select the matching rows a page
+ * of {@link Column#PAGE_SIZE} rows at a time. Mixins with known semantics on primitive members (e.g. {@code Equals},
+ * {@code LessThan}, {@code In}) are evaluated with tight loops over the decoded page, atoms on dictionary encoded members
+ * are evaluated once per distinct value, and any other atom is tested on the boxed member value of each row. The right
+ * operand of {@code And} and {@code Or} is skipped for a page which the left operand already decides.
+ * <p>
+ * Queries must be decomposable into atoms of the stored members; a predicate tested on the whole model instance cannot
+ * be answered without materializing it, and is rejected. Rows are identified by the order in which they were added.
+ * <p>
+ * The pages of the columns are direct buffers, whose memory is only returned to the operating system once the buffers
+ * are garbage collected, and counts against {@code -XX:MaxDirectMemorySize} until then. A store which is no longer
+ * needed should be {@link ColumnStore#close() closed}, which drops its pages right away instead of when the store itself
+ * becomes unreachable. {@link ColumnStore} is not thread-safe.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class ColumnStore<T> implements AutoCloseable {
+    private final List<Column<T>> columns;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int size;
+    private boolean closed;
+
+    /**
+     * Constructs a new, empty {@link ColumnStore} of the specified columns.
+     *
+     * @param columns the columns of the stored members
+     */
+    protected ColumnStore(Collection<Column<T>> columns) {
+        this.columns = ImmutableList.copyOf(columns);
+        for (int i = 0; i < this.columns.size(); i++) {
+            if (positions.put(this.columns.get(i).getName(), i) != null) {
+                throw new IllegalArgumentException("Duplicate column for member " + this.columns.get(i).getName() + ".");
+            }
+        }
+    }
+
+    /**
+     * Appends the members of the model instance as a new row.
+     *
+     * @param element the model instance to store
+     * @return the row of the model instance
+     */
+    public int add(T element) {
+        Objects.requireNonNull(element, "element");
+        checkOpen();
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Column store is full.");
+        }
+        for (Column<T> column : columns) {
+            column.append(element, size);
+        }
+        return size++;
+    }
+
+    /**
+     * Appends the members of each of the model instances as new rows.
+     *
+     * @param elements the model instances to store
+     */
+    public void addAll(Iterable<? extends T> elements) {
+        elements.forEach(this::add);
+    }
+
+    /**
+     * Represents the number of rows within the store.
+     *
+     * @return the number of stored model instances
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Represents the columns of the store.
+     *
+     * @return the columns of the stored members
+     */
+    public List<Column<T>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Reads the boxed value of the member at the specified row.
+     *
+     * @param member the name of the member
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    public Object get(String member, int row) {
+        Integer position = positions.get(member);
+        if (position == null) {
+            throw new IllegalArgumentException("No column for member " + member + ".");
+        }
+        return getValue(position, row);
+    }
+
+    /**
+     * Finds the rows of the model instances which match the predicate.
+     *
+     * @param predicate the query predicate
+     * @return the matching rows, in ascending order
+     */
+    public int[] scan(Predicate<? super T> predicate) {
+        int[][] rows = {new int[16]};
+        int[] count = new int[1];
+        forEach(predicate, row -> {
+            if (count[0] == rows[0].length) {
+                rows[0] = Arrays.copyOf(rows[0], rows[0].length << 1);
+            }
+            rows[0][count[0]++] = row;
+        });
+        return Arrays.copyOf(rows[0], count[0]);
+    }
+
+    /**
+     * Counts the model instances which match the predicate.
+     *
+     * @param predicate the query predicate
+     * @return the number of matching rows
+     */
+    public int count(Predicate<? super T> predicate) {
+        int[] count = new int[1];
+        forEach(predicate, row -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Visits the rows of the model instances which match the predicate, in ascending order.
+     *
+     * @param predicate the query predicate
+     * @param consumer  the consumer of the matching rows
+     */
+    public void forEach(Predicate<? super T> predicate, IntConsumer consumer) {
+        checkOpen();
+        PageFilter filter = compile(Expression.of(predicate));
+        long[] mask = new long[Column.PAGE_SIZE >>> 6];
+        for (int page = 0, pages = (size + Column.PAGE_SIZE - 1) >>> Column.PAGE_SHIFT; page < pages; page++) {
+            int base = page << Column.PAGE_SHIFT;
+            int rows = Math.min(Column.PAGE_SIZE, size - base);
+            filter.filter(page, rows, mask);
+            for (int word = 0, words = Column.words(rows); word < words; word++) {
+                for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+                    consumer.accept(base + (word << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the value of the {@code boolean} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected boolean getBoolean(int column, int row) {
+        return ((IntegralColumn<T>) column(column, row)).getLong(row) != 0;
+    }
+
+    /**
+     * Reads the value of the {@code byte} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected byte getByte(int column, int row) {
+        return (byte) ((IntegralColumn<T>) column(column, row)).getLong(row);
+    }
+
+    /**
+     * Reads the value of the {@code short} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected short getShort(int column, int row) {
+        return (short) ((IntegralColumn<T>) column(column, row)).getLong(row);
+    }
+
+    /**
+     * Reads the value of the {@code char} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected char getChar(int column, int row) {
+        return (char) ((IntegralColumn<T>) column(column, row)).getLong(row);
+    }
+
+    /**
+     * Reads the value of the {@code int} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected int getInt(int column, int row) {
+        return (int) ((IntegralColumn<T>) column(column, row)).getLong(row);
+    }
+
+    /**
+     * Reads the value of the {@code long} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected long getLong(int column, int row) {
+        return ((IntegralColumn<T>) column(column, row)).getLong(row);
+    }
+
+    /**
+     * Reads the value of the {@code float} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected float getFloat(int column, int row) {
+        return (float) ((FloatingColumn<T>) column(column, row)).getDouble(row);
+    }
+
+    /**
+     * Reads the value of the {@code double} member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected double getDouble(int column, int row) {
+        return ((FloatingColumn<T>) column(column, row)).getDouble(row);
+    }
+
+    /**
+     * Reads the boxed value of the member stored within the column at the specified row.
+     *
+     * @param column the position of the column
+     * @param row    the row of the model instance
+     * @return the value of the member
+     */
+    protected Object getValue(int column, int row) {
+        return column(column, row).get(row);
+    }
+
+    /**
+     * Closes the store, dropping the pages of every column. A closed store can no longer be added to or queried.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        columns.forEach(Column::release);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Column store is closed.");
+        }
+    }
+
+    private Column<T> column(int column, int row) {
+        checkOpen();
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for size " + size + ".");
+        }
+        return columns.get(column);
+    }
+
+    private PageFilter compile(Expression expression) {
+        return expression.accept(new ExpressionVisitor<PageFilter>() {
+            @Override
+            public PageFilter visit(Expression.And and) {
+                return combine(and.getLeft().accept(this), and.getRight().accept(this), true);
+            }
+
+            @Override
+            public PageFilter visit(Expression.Or or) {
+                return combine(or.getLeft().accept(this), or.getRight().accept(this), false);
+            }
+
+            @Override
+            public PageFilter visit(Expression.Not not) {
+                PageFilter operand = not.getOperand().accept(this);
+                return (page, rows, mask) -> {
+                    operand.filter(page, rows, mask);
+                    for (int word = 0, words = Column.words(rows); word < words; word++) {
+                        mask[word] = ~mask[word] & valid(word, rows);
+                    }
+                };
+            }
+
+            @Override
+            public PageFilter visit(Expression.Test test) {
+                Atom atom = test.getAtom();
+                if (atom.getPath().isEmpty()) {
+                    throw new IllegalArgumentException("Cannot scan columns for a predicate of the whole model instance: " + atom.getPredicate() + ".");
+                }
+                Integer position = positions.get(atom.getPath().get(0));
+                if (position == null) {
+                    throw new IllegalArgumentException("No column for member " + atom.getPath().get(0) + ".");
+                }
+                return columns.get(position).compile(atom);
+            }
+
+            @Override
+            public PageFilter visit(Expression.Constant constant) {
+                boolean value = constant.isValue();
+                return (page, rows, mask) -> {
+                    for (int word = 0, words = Column.words(rows); word < words; word++) {
+                        mask[word] = value ? valid(word, rows) : 0;
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Combines two filters with {@code And} (or {@code Or}), skipping the right filter when the left filter selects no
+     * rows (or every row) of the page.
+     */
+    private static PageFilter combine(PageFilter left, PageFilter right, boolean and) {
+        long[] other = new long[Column.PAGE_SIZE >>> 6];
+        return (page, rows, mask) -> {
+            left.filter(page, rows, mask);
+            int words = Column.words(rows);
+            boolean decided = true;
+            for (int word = 0; word < words && decided; word++) {
+                decided = mask[word] == (and ? 0 : valid(word, rows));
+            }
+            if (decided) {
+                return;
+            }
+            right.filter(page, rows, other);
+            for (int word = 0; word < words; word++) {
+                mask[word] = and ? mask[word] & other[word] : mask[word] | other[word];
+            }
+        };
+    }
+
+    /**
+     * Represents the bits of the word which correspond to rows of the page.
+     */
+    private static long valid(int word, int rows) {
+        int remaining = rows - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+}
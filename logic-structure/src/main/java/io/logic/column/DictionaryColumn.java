@@ -0,0 +1,114 @@
+package io.logic.column;
+
+import io.logic.structure.Atom;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A dictionary encoded {@link Column} of a member of a reference type.
+ * <p>
+ * Every distinct value is assigned an {@code int} code in the order it is first stored, and the column stores the code
+ * of each row ({@code -1} for {@code null}). An atom is tested once per distinct value instead of once per row, and the
+ * rows are then selected by looking up their code.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class DictionaryColumn<T> extends Column<T> {
+    private final Function<? super T, ?> accessor;
+    private final List<Object> values = new ArrayList<>();
+    private final Map<Object, Integer> codes = new HashMap<>();
+    private boolean nullable;
+
+    DictionaryColumn(String name, Function<? super T, ?> accessor) {
+        super(name, 4);
+        this.accessor = accessor;
+    }
+
+    @Override
+    void append(T element, int row) {
+        Object value = accessor.apply(element);
+        int code = -1;
+        if (value == null) {
+            nullable = true;
+        } else {
+            code = codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+        page(row).putInt((row & (PAGE_SIZE - 1)) << 2, code);
+    }
+
+    @Override
+    Object get(int row) {
+        int code = getPage(row >>> PAGE_SHIFT).getInt((row & (PAGE_SIZE - 1)) << 2);
+        return code < 0 ? null : values.get(code);
+    }
+
+    @Override
+    PageFilter compile(Atom atom) {
+        //matches[code + 1] represents whether the value of the code matches, with null at index 0
+        boolean[] matches = new boolean[values.size() + 1];
+        if (atom.getPath().size() == 1 && atom.isHashable()) {
+            Integer code = codes.get(atom.getParameters().get("value"));
+            if (code != null) {
+                matches[code + 1] = true;
+            }
+        } else if (atom.getPath().size() == 1 && "In".equals(atom.getName()) && isHashable((Collection<?>) atom.getParameters().get("values"))) {
+            for (Object value : (Collection<?>) atom.getParameters().get("values")) {
+                Integer code = codes.get(value);
+                if (code != null) {
+                    matches[code + 1] = true;
+                }
+            }
+        } else {
+            List<Function<Object, Object>> accessors = atom.getAccessors().subList(1, atom.getAccessors().size());
+            if (nullable) {
+                matches[0] = test(atom, accessors, null);
+            }
+            for (int code = 0; code < values.size(); code++) {
+                matches[code + 1] = test(atom, accessors, values.get(code));
+            }
+        }
+        int[] rowCodes = new int[PAGE_SIZE];
+        return (page, rows, mask) -> {
+            ByteBuffer buffer = getPage(page);
+            for (int i = 0; i < rows; i++) {
+                rowCodes[i] = buffer.getInt(i << 2);
+            }
+            for (int word = 0, words = words(rows); word < words; word++) {
+                long bits = 0;
+                for (int i = word << 6, end = Math.min(rows, i + 64); i < end; i++) {
+                    bits |= matches[rowCodes[i] + 1] ? 1L << i : 0;
+                }
+                mask[word] = bits;
+            }
+        };
+    }
+
+    /**
+     * Tests the atom on a member value, resolving the rest of its path from the member.
+     */
+    private static boolean test(Atom atom, List<Function<Object, Object>> accessors, Object member) {
+        Object value = member;
+        for (Function<Object, Object> accessor : accessors) {
+            value = accessor.apply(value);
+        }
+        return atom.getPredicate().test(value);
+    }
+
+    /**
+     * Tests whether every value of an {@code In} set can be looked up by hash with the same semantics as the set.
+     */
+    private static boolean isHashable(Collection<?> values) {
+        return values.stream().allMatch(value -> value != null && !(value instanceof Float) && !(value instanceof Double) && !value.getClass().isArray());
+    }
+}
@@ -0,0 +1,73 @@
+package io.logic.column;
+
+import io.logic.structure.Atom;
+
+import java.nio.ByteBuffer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A {@link Column} of a {@code float} or {@code double} member, which scans the comparison mixins over pages decoded
+ * into {@code double}s.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class FloatingColumn<T> extends Column<T> {
+    private final boolean doubles;
+    private final ToDoubleFunction<? super T> accessor;
+
+    FloatingColumn(String name, boolean doubles, ToDoubleFunction<? super T> accessor) {
+        super(name, doubles ? 8 : 4);
+        this.doubles = doubles;
+        this.accessor = accessor;
+    }
+
+    @Override
+    void append(T element, int row) {
+        double value = accessor.applyAsDouble(element);
+        int index = row & (PAGE_SIZE - 1);
+        if (doubles) {
+            page(row).putDouble(index << 3, value);
+        } else {
+            page(row).putFloat(index << 2, (float) value);
+        }
+    }
+
+    double getDouble(int row) {
+        ByteBuffer page = getPage(row >>> PAGE_SHIFT);
+        int index = row & (PAGE_SIZE - 1);
+        return doubles ? page.getDouble(index << 3) : page.getFloat(index << 2);
+    }
+
+    @Override
+    Object get(int row) {
+        double value = getDouble(row);
+        return doubles ? (Object) value : (Object) (float) value;
+    }
+
+    @Override
+    PageFilter compile(Atom atom) {
+        Integer operator = operator(atom.getName());
+        Object value = atom.getParameters().get("value");
+        //float values widen to double exactly, so comparing the widened values matches comparing the floats
+        if (atom.getPath().size() != 1 || operator == null || !(value instanceof Float || value instanceof Double)) {
+            return test(atom);
+        }
+        double operand = ((Number) value).doubleValue();
+        double[] values = new double[PAGE_SIZE];
+        return (page, rows, mask) -> {
+            ByteBuffer buffer = getPage(page);
+            if (doubles) {
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getDouble(i << 3);
+                }
+            } else {
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getFloat(i << 2);
+                }
+            }
+            compare(values, rows, operator, operand, mask);
+        };
+    }
+}
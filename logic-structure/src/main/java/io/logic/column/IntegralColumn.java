@@ -0,0 +1,180 @@
+package io.logic.column;
+
+import io.logic.structure.Atom;
+import io.logic.structure.IntegralOperands;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Column} of an integral member ({@code boolean}, {@code byte}, {@code short}, {@code char}, {@code int} or
+ * {@code long}), which scans the comparison mixins over pages decoded into {@code long}s.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class IntegralColumn<T> extends Column<T> {
+    private final Kind kind;
+    private final ToLongFunction<? super T> accessor;
+
+    IntegralColumn(String name, Kind kind, ToLongFunction<? super T> accessor) {
+        super(name, kind.width);
+        this.kind = kind;
+        this.accessor = accessor;
+    }
+
+    @Override
+    void append(T element, int row) {
+        long value = accessor.applyAsLong(element);
+        ByteBuffer page = page(row);
+        int index = row & (PAGE_SIZE - 1);
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                page.put(index, (byte) value);
+                break;
+            case SHORT:
+                page.putShort(index << 1, (short) value);
+                break;
+            case CHAR:
+                page.putChar(index << 1, (char) value);
+                break;
+            case INT:
+                page.putInt(index << 2, (int) value);
+                break;
+            default:
+                page.putLong(index << 3, value);
+                break;
+        }
+    }
+
+    long getLong(int row) {
+        ByteBuffer page = getPage(row >>> PAGE_SHIFT);
+        int index = row & (PAGE_SIZE - 1);
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                return page.get(index);
+            case SHORT:
+                return page.getShort(index << 1);
+            case CHAR:
+                return page.getChar(index << 1);
+            case INT:
+                return page.getInt(index << 2);
+            default:
+                return page.getLong(index << 3);
+        }
+    }
+
+    @Override
+    Object get(int row) {
+        long value = getLong(row);
+        switch (kind) {
+            case BOOLEAN:
+                return value != 0;
+            case BYTE:
+                return (byte) value;
+            case SHORT:
+                return (short) value;
+            case CHAR:
+                return (char) value;
+            case INT:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+
+    @Override
+    PageFilter compile(Atom atom) {
+        if (atom.getPath().size() != 1 || atom.isOpaque()) {
+            return test(atom);
+        }
+        if (kind == Kind.BOOLEAN && ("True".equals(atom.getName()) || "False".equals(atom.getName()))) {
+            return compare(EQUALS, "True".equals(atom.getName()) ? 1 : 0);
+        }
+        if ("In".equals(atom.getName())) {
+            long[] values = IntegralOperands.toLongs((Collection<?>) atom.getParameters().get("values"));
+            return values == null ? test(atom) : in(values);
+        }
+        Integer operator = operator(atom.getName());
+        Long operand = IntegralOperands.toLong(atom.getParameters().get("value"));
+        if (operator == null || operand == null || kind == Kind.BOOLEAN && operator > NOT_EQUALS) {
+            return test(atom);
+        }
+        return compare(operator, operand);
+    }
+
+    private PageFilter compare(int operator, long operand) {
+        long[] values = new long[PAGE_SIZE];
+        return (page, rows, mask) -> {
+            decode(page, rows, values);
+            compare(values, rows, operator, operand, mask);
+        };
+    }
+
+    private PageFilter in(long[] set) {
+        long[] values = new long[PAGE_SIZE];
+        return (page, rows, mask) -> {
+            decode(page, rows, values);
+            for (int word = 0, words = words(rows); word < words; word++) {
+                long bits = 0;
+                for (int i = word << 6, end = Math.min(rows, i + 64); i < end; i++) {
+                    bits |= Arrays.binarySearch(set, values[i]) >= 0 ? 1L << i : 0;
+                }
+                mask[word] = bits;
+            }
+        };
+    }
+
+    /**
+     * Decodes the rows of the page into {@code long}s, with one tight loop per member width.
+     */
+    private void decode(int page, int rows, long[] values) {
+        ByteBuffer buffer = getPage(page);
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.get(i);
+                }
+                break;
+            case SHORT:
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getShort(i << 1);
+                }
+                break;
+            case CHAR:
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getChar(i << 1);
+                }
+                break;
+            case INT:
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getInt(i << 2);
+                }
+                break;
+            default:
+                for (int i = 0; i < rows; i++) {
+                    values[i] = buffer.getLong(i << 3);
+                }
+                break;
+        }
+    }
+
+    /**
+     * The integral member types, along with their width in bytes.
+     */
+    enum Kind {
+        BOOLEAN(1), BYTE(1), SHORT(2), CHAR(2), INT(4), LONG(8);
+
+        private final int width;
+
+        Kind(int width) {
+            this.width = width;
+        }
+    }
+}
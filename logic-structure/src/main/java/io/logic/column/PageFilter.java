@@ -0,0 +1,24 @@
+package io.logic.column;
+
+/**
+ * A predicate compiled against the columns of a {@link ColumnStore}, which selects the matching rows of a page at a
+ * time.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@FunctionalInterface
+interface PageFilter {
+    /**
+     * Selects the matching rows of the page, setting bit {@code i % 64} of {@code mask[i / 64]} if row {@code i} of the
+     * page matches.
+     * <p>
+     * Implementations overwrite the first {@code ceil(rows / 64)} words of the mask, and leave the bits past the last
+     * row clear.
+     *
+     * @param page the index of the page
+     * @param rows the number of rows within the page
+     * @param mask the selection of matching rows
+     */
+    void filter(int page, int rows, long[] mask);
+}
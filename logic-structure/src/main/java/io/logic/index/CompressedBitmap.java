@@ -0,0 +1,620 @@
+package io.logic.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative {@code int} ids, in the style of <a href="https://roaringbitmap.org/">Roaring</a>
+ * bitmaps.
+ * <p>
+ * The id space is split into chunks of {@code 65536} ids keyed by the high 16 bits of each id. Each non-empty chunk is
+ * stored in the smallest of three containers: a sorted array of the low 16 bits (sparse chunks), a plain bitmap (dense
+ * chunks), or a list of runs of consecutive ids (clustered chunks). Set operations are evaluated chunk by chunk, so
+ * intersecting a sparse bitmap with a dense one only touches the chunks they share.
+ * <p>
+ * Set operations never modify their operands and return a new bitmap.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class CompressedBitmap {
+    private static final Container[] NO_CONTAINERS = new Container[0];
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    CompressedBitmap() {
+        this(new char[0], NO_CONTAINERS, 0);
+    }
+
+    private CompressedBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Adds the id to the bitmap.
+     *
+     * @param id the id to add
+     */
+    void add(int id) {
+        char key = (char) (id >>> 16);
+        int index = find(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) id);
+    }
+
+    /**
+     * Removes the id from the bitmap.
+     *
+     * @param id the id to remove
+     */
+    void remove(int id) {
+        int index = find((char) (id >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) id);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    void clear() {
+        keys = new char[0];
+        containers = NO_CONTAINERS;
+        size = 0;
+    }
+
+    boolean contains(int id) {
+        int index = find((char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every id of the bitmap to the consumer in ascending order.
+     *
+     * @param consumer the consumer of the ids
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Converts every container into its smallest representation, which turns chunks of consecutive ids into runs.
+     */
+    void optimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].toBitmap().optimize();
+        }
+    }
+
+    CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new char[Math.min(size, other.size)], new Container[Math.min(size, other.size)], 0);
+        for (int i = 0, j = 0; i < size && j < other.size; ) {
+            if (keys[i] == other.keys[j]) {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new char[size + other.size], new Container[size + other.size], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i++]);
+            } else if (i == size || other.keys[j] < keys[i]) {
+                result.append(other.keys[j], other.containers[j++]);
+            } else {
+                result.append(keys[i], containers[i++].or(other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new char[size], new Container[size], 0);
+        for (int i = 0, j = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            result.append(keys[i], j < other.size && other.keys[j] == keys[i] ? containers[i].andNot(other.containers[j]) : containers[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the union of every bitmap, accumulating each chunk in a plain bitmap instead of merging the bitmaps one
+     * pair at a time.
+     *
+     * @param bitmaps the bitmaps to union
+     * @return the union of the bitmaps
+     */
+    static CompressedBitmap union(Collection<CompressedBitmap> bitmaps) {
+        if (bitmaps.size() <= 2) {
+            CompressedBitmap result = new CompressedBitmap();
+            for (CompressedBitmap bitmap : bitmaps) {
+                result = result.or(bitmap);
+            }
+            return result;
+        }
+        BitmapContainer[] chunks = new BitmapContainer[0];
+        for (CompressedBitmap bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.size; i++) {
+                int key = bitmap.keys[i];
+                if (key >= chunks.length) {
+                    chunks = Arrays.copyOf(chunks, Math.max(key + 1, chunks.length * 2));
+                }
+                if (chunks[key] == null) {
+                    chunks[key] = new BitmapContainer();
+                }
+                chunks[key].orInPlace(bitmap.containers[i]);
+            }
+        }
+        CompressedBitmap result = new CompressedBitmap();
+        for (int key = 0; key < chunks.length; key++) {
+            if (chunks[key] != null) {
+                result.append((char) key, chunks[key].optimize());
+            }
+        }
+        return result;
+    }
+
+    private void append(char key, Container container) {
+        if (container.cardinality() == 0) {
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, size * 2));
+        }
+        keys[size] = key;
+        containers[size++] = container;
+    }
+
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, size * 2));
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private int find(char key) {
+        //ids are mostly added in ascending order, so the last chunk is checked first
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    /**
+     * A set of the low 16 bits of the ids within a chunk.
+     * <p>
+     * Containers are treated as immutable by set operations, but {@link Container#add(char)} and
+     * {@link Container#remove(char)} may modify the container in place and return it.
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract BitmapContainer toBitmap();
+
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            return toBitmap().andBitmap(other.toBitmap()).optimize();
+        }
+
+        Container or(Container other) {
+            BitmapContainer result = toBitmap().copy();
+            result.orInPlace(other);
+            return result.optimize();
+        }
+
+        Container andNot(Container other) {
+            return toBitmap().andNotBitmap(other.toBitmap()).optimize();
+        }
+    }
+
+    /**
+     * A container of at most {@link ArrayContainer#MAX_SIZE} sorted values.
+     */
+    private static final class ArrayContainer extends Container {
+        private static final int MAX_SIZE = 4096;
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = cardinality == 0 || values[cardinality - 1] < value ? -cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_SIZE) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_SIZE, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int size = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0, j = 0; i < cardinality && j < array.cardinality; ) {
+                    if (values[i] == array.values[j]) {
+                        result[size++] = values[i];
+                        i++;
+                        j++;
+                    } else if (values[i] < array.values[j]) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[size++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, size);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (!(other instanceof ArrayContainer) || cardinality + other.cardinality() > MAX_SIZE) {
+                return super.or(other);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                    result[size++] = values[i++];
+                } else if (i == cardinality || array.values[j] < values[i]) {
+                    result[size++] = array.values[j++];
+                } else {
+                    result[size++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, size);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[size++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, size);
+        }
+    }
+
+    /**
+     * A container of every value of the chunk as a plain bitmap of {@code 65536} bits.
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long word = words[value >>> 6];
+            long updated = word | (1L << value);
+            if (word != updated) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long word = words[value >>> 6];
+            long updated = word & ~(1L << value);
+            if (word != updated) {
+                words[value >>> 6] = updated;
+                cardinality--;
+            }
+            return cardinality <= ArrayContainer.MAX_SIZE ? toArray() : this;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+
+        private BitmapContainer copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        private void orInPlace(Container other) {
+            if (other instanceof BitmapContainer) {
+                long[] otherWords = ((BitmapContainer) other).words;
+                int cardinality = 0;
+                for (int i = 0; i < words.length; i++) {
+                    words[i] |= otherWords[i];
+                    cardinality += Long.bitCount(words[i]);
+                }
+                this.cardinality = cardinality;
+            } else {
+                other.forEach(0, value -> add((char) value));
+            }
+        }
+
+        private BitmapContainer andBitmap(BitmapContainer other) {
+            long[] result = new long[words.length];
+            int cardinality = 0;
+            for (int i = 0; i < words.length; i++) {
+                result[i] = words[i] & other.words[i];
+                cardinality += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, cardinality);
+        }
+
+        private BitmapContainer andNotBitmap(BitmapContainer other) {
+            long[] result = new long[words.length];
+            int cardinality = 0;
+            for (int i = 0; i < words.length; i++) {
+                result[i] = words[i] & ~other.words[i];
+                cardinality += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, cardinality);
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int[] size = {0};
+            forEach(0, value -> values[size[0]++] = (char) value);
+            return new ArrayContainer(values, size[0]);
+        }
+
+        /**
+         * Converts the bitmap into the smallest of the three container representations.
+         *
+         * @return the smallest container with the same values
+         */
+        private Container optimize() {
+            int runs = 0;
+            long previous = 0;
+            for (long word : words) {
+                //a run starts at every set bit whose preceding bit (across word boundaries) is clear
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            int arrayBytes = 2 * cardinality;
+            int runBytes = 4 * runs;
+            if (runBytes < Math.min(arrayBytes, 8192)) {
+                return toRuns(runs);
+            }
+            return cardinality <= ArrayContainer.MAX_SIZE ? toArray() : this;
+        }
+
+        private RunContainer toRuns(int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            int end = -2;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int value = (i << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (value == end + 1) {
+                        lengths[run]++;
+                    } else {
+                        starts[++run] = (char) value;
+                    }
+                    end = value;
+                }
+            }
+            return new RunContainer(starts, lengths, cardinality);
+        }
+    }
+
+    /**
+     * A container of runs of consecutive values, each stored as its first value and its length minus one.
+     */
+    private static final class RunContainer extends Container {
+        private final char[] starts;
+        private final char[] lengths;
+        private final int cardinality;
+
+        private RunContainer(char[] starts, char[] lengths, int cardinality) {
+            this.starts = starts;
+            this.lengths = lengths;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            int index = Arrays.binarySearch(starts, value);
+            if (index >= 0) {
+                return true;
+            }
+            int run = -index - 2;
+            return run >= 0 && value - starts[run] <= lengths[run];
+        }
+
+        @Override
+        Container add(char value) {
+            return contains(value) ? this : toBitmap().add(value);
+        }
+
+        @Override
+        Container remove(char value) {
+            return contains(value) ? toBitmap().remove(value) : this;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < starts.length; i++) {
+                for (int value = starts[i], end = starts[i] + lengths[i]; value <= end; value++) {
+                    consumer.accept(high | value);
+                }
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            long[] words = new long[1024];
+            for (int i = 0; i < starts.length; i++) {
+                int start = starts[i];
+                int end = start + lengths[i] + 1; //exclusive
+                int first = start >>> 6;
+                int last = (end - 1) >>> 6;
+                if (first == last) {
+                    words[first] |= (-1L >>> (64 - (end - start))) << start;
+                } else {
+                    words[first] |= -1L << start;
+                    for (int word = first + 1; word < last; word++) {
+                        words[word] = -1L;
+                    }
+                    words[last] |= -1L >>> (63 - ((end - 1) & 63));
+                }
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+}
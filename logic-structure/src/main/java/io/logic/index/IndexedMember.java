@@ -0,0 +1,78 @@
+package io.logic.index;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A representation of a member of a model which is indexed by a {@link LogicIndex}.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class IndexedMember<T> {
+    private final String name;
+    private final Function<? super T, ?> accessor;
+    private final boolean sorted;
+
+    private IndexedMember(String name, Function<? super T, ?> accessor, boolean sorted) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.accessor = Objects.requireNonNull(accessor, "accessor");
+        this.sorted = sorted;
+    }
+
+    /**
+     * Creates an {@link IndexedMember} which is indexed by a hash index, supporting equality lookups.
+     *
+     * @param name     the logic name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new hash {@link IndexedMember}
+     */
+    public static <T> IndexedMember<T> hash(String name, Function<? super T, ?> accessor) {
+        return new IndexedMember<>(name, accessor, false);
+    }
+
+    /**
+     * Creates an {@link IndexedMember} which is indexed by a sorted index, supporting equality and range lookups.
+     * <p>
+     * The member values must implement {@link Comparable}.
+     *
+     * @param name     the logic name of the member
+     * @param accessor the member accessor
+     * @param <T>      the type of the model
+     * @return a new sorted {@link IndexedMember}
+     */
+    public static <T> IndexedMember<T> sorted(String name, Function<? super T, ? extends Comparable<?>> accessor) {
+        return new IndexedMember<>(name, accessor, true);
+    }
+
+    /**
+     * Represents the logic name of the member, which matches the path of the member in an
+     * {@link io.logic.structure.Atom}.
+     *
+     * @return the logic name of the member
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Reads the member value from the model instance.
+     *
+     * @param object the model instance
+     * @return the member value
+     */
+    public Object get(T object) {
+        return accessor.apply(object);
+    }
+
+    /**
+     * Represents whether the member is indexed by a sorted index, which supports range lookups.
+     *
+     * @return {@code true} if the index is sorted
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+}
@@ -0,0 +1,173 @@
+package io.logic.index;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A continuously maintained, read-only view of the elements of a {@link LogicIndex} which match a predicate.
+ * <p>
+ * The view is populated with a query when it is created, and from then on only the elements which are added to,
+ * replaced within, or removed from the index are tested against the predicate, so the cost of keeping the view current
+ * is proportional to the rate of change rather than to the size of the index. {@link Listener}s are notified whenever
+ * an element enters or leaves the view.
+ * <p>
+ * A view holds on to its matches until it is {@link LiveView#close() closed}. Like {@link LogicIndex}, it is not
+ * thread-safe, and listeners are notified on the thread which modified the index.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class LiveView<T> extends AbstractSet<T> implements AutoCloseable {
+    private final Predicate<? super T> predicate;
+    private final Set<T> matches;
+    private final List<Listener<? super T>> listeners = new CopyOnWriteArrayList<>();
+    private final Consumer<? super LiveView<T>> detach;
+    private boolean closed;
+
+    LiveView(Predicate<? super T> predicate, Iterable<? extends T> matches, Consumer<? super LiveView<T>> detach) {
+        this.predicate = predicate;
+        this.matches = new LinkedHashSet<>();
+        matches.forEach(this.matches::add);
+        this.detach = detach;
+    }
+
+    /**
+     * Represents the predicate which the elements of the view match.
+     *
+     * @return the predicate of the view
+     */
+    public Predicate<? super T> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Registers a {@link Listener} to be notified of the elements which enter or leave the view.
+     *
+     * @param listener the listener to register
+     */
+    public void addListener(Listener<? super T> listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Unregisters a {@link Listener} from the view.
+     *
+     * @param listener the listener to unregister
+     */
+    public void removeListener(Listener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Tests whether the view has been closed, and no longer follows the changes to the index.
+     *
+     * @return {@code true} if the view is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops following the changes to the index. The view keeps the matches it had when it was closed.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            detach.accept(this);
+        }
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return matches.contains(element);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableSet(matches).iterator();
+    }
+
+    @Override
+    public int size() {
+        return matches.size();
+    }
+
+    void added(T element) {
+        if (predicate.test(element) && matches.add(element)) {
+            listeners.forEach(listener -> listener.onEnter(element));
+        }
+    }
+
+    void removed(T element) {
+        if (matches.remove(element)) {
+            listeners.forEach(listener -> listener.onLeave(element));
+        }
+    }
+
+    void replaced(T previous, T current) {
+        boolean matched = matches.remove(previous);
+        boolean matching = predicate.test(current) && matches.add(current);
+        if (matched && matching) {
+            listeners.forEach(listener -> listener.onUpdate(previous, current));
+        } else if (matched) {
+            listeners.forEach(listener -> listener.onLeave(previous));
+        } else if (matching) {
+            listeners.forEach(listener -> listener.onEnter(current));
+        }
+    }
+
+    void cleared() {
+        List<T> removed = new ArrayList<>(matches);
+        matches.clear();
+        removed.forEach(element -> listeners.forEach(listener -> listener.onLeave(element)));
+    }
+
+    /**
+     * A listener of the elements which enter or leave a {@link LiveView}.
+     *
+     * @param <T> the type of the model
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public interface Listener<T> {
+        /**
+         * Notifies the listener of an element which now matches the predicate of the view.
+         *
+         * @param element the element which entered the view
+         */
+        void onEnter(T element);
+
+        /**
+         * Notifies the listener of an element which no longer matches the predicate of the view, or was removed from
+         * the index.
+         *
+         * @param element the element which left the view
+         */
+        void onLeave(T element);
+
+        /**
+         * Notifies the listener of an element of the view which was replaced within the index by an element which also
+         * matches the predicate of the view.
+         * <p>
+         * By default, the previous element leaves the view and then the current element enters it.
+         *
+         * @param previous the element which was replaced
+         * @param current  the element which replaced it
+         */
+        default void onUpdate(T previous, T current) {
+            onLeave(previous);
+            onEnter(current);
+        }
+    }
+}
@@ -0,0 +1,758 @@
+package io.logic.index;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * An in-memory collection of model instances which maintains secondary indexes on members of the model, and answers
+ * predicate queries with index lookups.
+ * <p>
+ * Queries decompose the predicate into an {@link Expression} and evaluate it as bitmap operations over the ids of the
+ * elements before any element is touched. Every {@code Equals} and {@code In} atom on an indexed member, and every
+ * {@code LessThan}, {@code LessThanEquals}, {@code GreaterThan} and {@code GreaterThanEquals} atom on a sorted member,
+ * is resolved to the {@link CompressedBitmap} of the elements it matches. {@code And} intersects the bitmaps of its
+ * operands, {@code Or} unions them and {@code Not} takes the complement, so a predicate made only of indexed atoms is
+ * answered without testing a single element.
+ * <p>
+ * Which conjuncts are looked up and which are tested on the candidates is decided by a cost-based {@link QueryPlan},
+ * using the {@link MemberStatistics} of the indexed members to estimate how many elements each atom matches. Conjuncts
+ * are looked up in order of selectivity while the lookup is cheaper than testing the conjunct on the remaining
+ * candidates, and the rest are tested in the order that rejects candidates with the least work, so the cost of a query
+ * does not depend on the order of its {@code and(...)} chain. Atoms on members which are not indexed are estimated with
+ * fixed default selectivities.
+ * <p>
+ * Since ids of equal member values are stored as compressed bitmaps, low-cardinality members (e.g. booleans, enums or
+ * status strings) make compact indexes which are cheap to combine. {@link #optimize()} compresses clustered ids into
+ * runs.
+ * <p>
+ * Floating point values are never looked up ({@code ==} disagrees with {@link Object#equals(Object)} and
+ * {@link Comparable#compareTo(Object)} for {@code NaN} and {@code -0.0}), and {@code null} member values are not indexed
+ * since no lookup can match them. A sorted member whose values are ordered inconsistently with equals (e.g.
+ * {@link java.math.BigDecimal} {@code 1.0} and {@code 1.00}) is still used for range lookups, but is no longer used for
+ * {@code Equals} and {@code In} lookups once it holds two such values, until the index is cleared.
+ * <p>
+ * Elements are compared by {@link Object#equals(Object)} and must not change the values of indexed members while they
+ * are in the collection. {@link LogicIndex} is not thread-safe.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class LogicIndex<T> extends AbstractCollection<T> {
+    //costs are relative to testing one atom on one element
+    private static final double LOOKUP_COST = 1;
+    private static final double BITMAP_COST = 0.05;
+    private static final double DEFAULT_EQUALS_SELECTIVITY = 0.1;
+    private static final double DEFAULT_RANGE_SELECTIVITY = 1d / 3;
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+    private final Map<String, MemberIndex<T>> indexes;
+    private final List<T> elements = new ArrayList<>();
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final Deque<Integer> free = new ArrayDeque<>();
+    private final CompressedBitmap live = new CompressedBitmap();
+    private final List<LiveView<T>> views = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new empty {@link LogicIndex} which indexes the specified members.
+     *
+     * @param members the indexed members of the model
+     */
+    protected LogicIndex(Collection<IndexedMember<T>> members) {
+        ImmutableMap.Builder<String, MemberIndex<T>> indexes = ImmutableMap.builder();
+        members.forEach(member -> indexes.put(member.getName(), new MemberIndex<>(member)));
+        this.indexes = indexes.build();
+    }
+
+    /**
+     * Finds every element which matches the predicate, using the secondary indexes to avoid testing elements which
+     * cannot match.
+     *
+     * @param predicate the query predicate
+     * @return the matching elements
+     */
+    public List<T> query(Predicate<? super T> predicate) {
+        QueryPlan plan = plan(Expression.of(Objects.requireNonNull(predicate, "predicate")));
+        CompressedBitmap ids = live;
+        for (Expression lookup : plan.getLookups()) {
+            CompressedBitmap candidates = evaluate(lookup).ids;
+            if (candidates != live) {
+                ids = ids == live ? candidates : ids.and(candidates);
+            }
+            if (ids.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        List<T> matches = new ArrayList<>();
+        if (plan.getFilters().isEmpty()) {
+            //the indexes resolved the whole predicate, so no element needs to be tested
+            ids.forEach(id -> matches.add(elements.get(id)));
+            return matches;
+        }
+        //every candidate matches the conjuncts resolved by the indexes, so only the filters are tested
+        Expression filter = plan.getFilters().stream().reduce(Expression::and).get();
+        ids.forEach(id -> {
+            T element = elements.get(id);
+            if (filter.test(element)) {
+                matches.add(element);
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Determines the {@link QueryPlan} which {@link LogicIndex#query(Predicate)} would use to answer the predicate.
+     *
+     * @param predicate the query predicate
+     * @return the plan of the query
+     */
+    public QueryPlan plan(Predicate<? super T> predicate) {
+        return plan(Expression.of(Objects.requireNonNull(predicate, "predicate")));
+    }
+
+    /**
+     * Creates a {@link LiveView} of the elements which match the predicate, which is kept current as elements are
+     * added to, {@link LogicIndex#replace(Object, Object) replaced} within, or removed from the index until it is closed.
+     *
+     * @param predicate the predicate of the view
+     * @return a new view of the matching elements
+     */
+    public LiveView<T> view(Predicate<? super T> predicate) {
+        LiveView<T> view = new LiveView<>(predicate, query(predicate), views::remove);
+        views.add(view);
+        return view;
+    }
+
+    /**
+     * Replaces an element with another (e.g. an updated copy of an immutable element), reusing its place within the
+     * index.
+     * <p>
+     * Each {@link LiveView} only tests the replacement, and notifies its listeners of an update instead of a leave and
+     * an enter if both elements match.
+     *
+     * @param previous the element to replace
+     * @param current  the element to replace it with
+     * @return {@code true} if the element was replaced, or {@code false} if the index does not contain {@code previous}
+     * or already contains {@code current}
+     */
+    public boolean replace(T previous, T current) {
+        Objects.requireNonNull(current, "current");
+        Integer id = ids.get(previous);
+        if (id == null || ids.containsKey(current)) {
+            return false;
+        }
+        T replaced = elements.set(id, current);
+        ids.remove(replaced);
+        ids.put(current, id);
+        indexes.values().forEach(index -> {
+            index.remove(id, replaced);
+            index.add(id, current);
+        });
+        views.forEach(view -> view.replaced(replaced, current));
+        return true;
+    }
+
+    /**
+     * Collects the {@link MemberStatistics} of each indexed member, keyed by the logic name of the member.
+     *
+     * @return the statistics of the indexed members
+     */
+    public Map<String, MemberStatistics> getStatistics() {
+        ImmutableMap.Builder<String, MemberStatistics> statistics = ImmutableMap.builder();
+        indexes.forEach((name, index) -> statistics.put(name, index.statistics(size())));
+        return statistics.build();
+    }
+
+    /**
+     * Compresses the secondary indexes, storing ids of elements with the same member value in runs where that is
+     * smaller (e.g. after adding elements sorted by a low-cardinality member).
+     */
+    public void optimize() {
+        live.optimize();
+        indexes.values().forEach(MemberIndex::optimize);
+    }
+
+    @Override
+    public boolean add(T element) {
+        Objects.requireNonNull(element, "element");
+        if (ids.containsKey(element)) {
+            return false;
+        }
+        Integer reused = free.poll();
+        int id;
+        if (reused == null) {
+            id = elements.size();
+            elements.add(element);
+        } else {
+            id = reused;
+            elements.set(id, element);
+        }
+        ids.put(element, id);
+        live.add(id);
+        indexes.values().forEach(index -> index.add(id, element));
+        views.forEach(view -> view.added(element));
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        Integer id = ids.remove(element);
+        if (id == null) {
+            return false;
+        }
+        T removed = elements.set(id, null);
+        live.remove(id);
+        indexes.values().forEach(index -> index.remove(id, removed));
+        free.push(id);
+        views.forEach(view -> view.removed(removed));
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return ids.containsKey(element);
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        ids.clear();
+        free.clear();
+        live.clear();
+        indexes.values().forEach(MemberIndex::clear);
+        views.forEach(LiveView::cleared);
+    }
+
+    @Override
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = advance(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = advance(next + 1);
+                return elements.get(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                LogicIndex.this.remove(elements.get(last));
+                last = -1;
+            }
+
+            private int advance(int index) {
+                while (index < elements.size() && elements.get(index) == null) {
+                    index++;
+                }
+                return index;
+            }
+        };
+    }
+
+    private QueryPlan plan(Expression expression) {
+        int count = size();
+        List<Access> accesses = new ArrayList<>();
+        for (Expression conjunct : conjuncts(expression)) {
+            accesses.add(access(conjunct, count));
+        }
+        //the most selective lookups are intersected first, and each narrows the candidates the next one is weighed against
+        accesses.sort(Comparator.comparingDouble((Access access) -> access.candidates).thenComparingDouble(access -> access.cost));
+        List<QueryPlan.Step> lookups = new ArrayList<>();
+        List<Access> filters = new ArrayList<>();
+        double rows = count;
+        double cost = 0;
+        for (Access access : accesses) {
+            double lookupCost = access.cost + (lookups.isEmpty() ? 0 : Math.min(rows, count * access.candidates) * BITMAP_COST);
+            if ((access.exact || access.candidates < 1) && lookupCost <= rows * access.atoms) {
+                rows *= access.candidates;
+                cost += lookupCost;
+                lookups.add(new QueryPlan.Step(access.expression, access.candidates, rows, lookupCost));
+                if (!access.exact) {
+                    filters.add(access);
+                }
+            } else {
+                filters.add(access);
+            }
+        }
+        //a filter which rejects many candidates for little work is tested first
+        filters.sort(Comparator.comparingDouble(access -> access.atoms / Math.max(1e-9, 1 - access.selectivity)));
+        List<QueryPlan.Step> steps = new ArrayList<>();
+        for (Access filter : filters) {
+            double filterCost = rows * filter.atoms;
+            rows *= filter.selectivity;
+            cost += filterCost;
+            steps.add(new QueryPlan.Step(filter.expression, filter.selectivity, rows, filterCost));
+        }
+        double matches = count;
+        for (Access access : accesses) {
+            matches *= access.selectivity;
+        }
+        return new QueryPlan(count, lookups, steps, matches, cost);
+    }
+
+    /**
+     * Estimates the selectivity of the expression, and the cost and result of evaluating it with index lookups,
+     * mirroring {@link LogicIndex#evaluate(Expression)}.
+     */
+    private Access access(Expression expression, int count) {
+        return expression.accept(new ExpressionVisitor<Access>() {
+            @Override
+            public Access visit(Expression.And and) {
+                Access left = and.getLeft().accept(this);
+                Access right = and.getRight().accept(this);
+                return new Access(and, left.selectivity * right.selectivity, left.candidates * right.candidates,
+                        left.exact && right.exact, left.cost + right.cost, left.atoms + right.atoms);
+            }
+
+            @Override
+            public Access visit(Expression.Or or) {
+                Access left = or.getLeft().accept(this);
+                Access right = or.getRight().accept(this);
+                double selectivity = left.selectivity + right.selectivity - left.selectivity * right.selectivity;
+                int atoms = left.atoms + right.atoms;
+                if (left.candidates == 1 && !left.exact || right.candidates == 1 && !right.exact) {
+                    return new Access(or, selectivity, 1, false, left.cost, atoms);
+                }
+                return new Access(or, selectivity, left.candidates + right.candidates - left.candidates * right.candidates,
+                        left.exact && right.exact, left.cost + right.cost + count * (left.candidates + right.candidates) * BITMAP_COST, atoms);
+            }
+
+            @Override
+            public Access visit(Expression.Not not) {
+                Access operand = not.getOperand().accept(this);
+                return operand.exact ?
+                        new Access(not, 1 - operand.selectivity, 1 - operand.candidates, true, operand.cost + count * BITMAP_COST, operand.atoms) :
+                        new Access(not, 1 - operand.selectivity, 1, false, operand.cost, operand.atoms);
+            }
+
+            @Override
+            public Access visit(Expression.Test test) {
+                Atom atom = test.getAtom();
+                double selectivity = estimate(atom, count);
+                if (!isLookup(atom)) {
+                    return new Access(test, selectivity, 1, false, 0, 1);
+                }
+                double cost = count * selectivity * BITMAP_COST;
+                if ("In".equals(atom.getName())) {
+                    cost += ((Collection<?>) atom.getParameters().get("values")).size() * LOOKUP_COST;
+                } else if (isRange(atom)) {
+                    //every distinct value within the range is collected
+                    cost += index(atom).statistics(count).getDistinctCount() * selectivity * LOOKUP_COST;
+                } else {
+                    cost += LOOKUP_COST;
+                }
+                return new Access(test, selectivity, selectivity, true, cost, 1);
+            }
+
+            @Override
+            public Access visit(Expression.Constant constant) {
+                return new Access(constant, constant.isValue() ? 1 : 0, constant.isValue() ? 1 : 0, true, 0, 0);
+            }
+        });
+    }
+
+    /**
+     * Estimates the fraction of elements which match the atom, using the statistics of the member if it is indexed.
+     */
+    private double estimate(Atom atom, int count) {
+        MemberIndex<T> index = index(atom);
+        Object value = atom.getParameters().get("value");
+        if (index == null) {
+            switch (atom.getName()) {
+                case "Equals":
+                case "IdentityEquals":
+                    return DEFAULT_EQUALS_SELECTIVITY;
+                case "NotEquals":
+                    return 1 - DEFAULT_EQUALS_SELECTIVITY;
+                case "In":
+                    return Math.min(1, ((Collection<?>) atom.getParameters().get("values")).size() * DEFAULT_EQUALS_SELECTIVITY);
+                case "LessThan":
+                case "LessThanEquals":
+                case "GreaterThan":
+                case "GreaterThanEquals":
+                    return DEFAULT_RANGE_SELECTIVITY;
+                default:
+                    return DEFAULT_SELECTIVITY;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        MemberStatistics statistics = index.statistics(count);
+        try {
+            switch (atom.getName()) {
+                case "Equals":
+                    return isIndexable(value) ? (double) index.get(value).cardinality() / count : statistics.estimateEquals();
+                case "NotEquals":
+                    return Math.max(0, 1 - statistics.getNullFraction() -
+                            (isIndexable(value) ? (double) index.get(value).cardinality() / count : statistics.estimateEquals()));
+                case "In": {
+                    double selectivity = 0;
+                    for (Object element : (Collection<?>) atom.getParameters().get("values")) {
+                        selectivity += isIndexable(element) ? (double) index.get(element).cardinality() / count : statistics.estimateEquals();
+                    }
+                    return Math.min(1, selectivity);
+                }
+                case "LessThan":
+                    return range(statistics.estimateRange(null, false, value, false));
+                case "LessThanEquals":
+                    return range(statistics.estimateRange(null, false, value, true));
+                case "GreaterThan":
+                    return range(statistics.estimateRange(value, false, null, false));
+                case "GreaterThanEquals":
+                    return range(statistics.estimateRange(value, true, null, false));
+                default:
+                    return DEFAULT_SELECTIVITY;
+            }
+        } catch (ClassCastException e) {
+            return DEFAULT_SELECTIVITY; //a value of a different type than the member cannot be compared to the histogram
+        }
+    }
+
+    private static double range(double selectivity) {
+        return Double.isNaN(selectivity) ? DEFAULT_RANGE_SELECTIVITY : selectivity;
+    }
+
+    private Candidates evaluate(Expression expression) {
+        return expression.accept(new ExpressionVisitor<Candidates>() {
+            @Override
+            public Candidates visit(Expression.And and) {
+                Candidates left = and.getLeft().accept(this);
+                if (left.ids.isEmpty()) {
+                    return left;
+                }
+                Candidates right = and.getRight().accept(this);
+                CompressedBitmap ids = left.ids == live ? right.ids : right.ids == live ? left.ids : left.ids.and(right.ids);
+                return new Candidates(ids, left.exact && right.exact);
+            }
+
+            @Override
+            public Candidates visit(Expression.Or or) {
+                Candidates left = or.getLeft().accept(this);
+                if (left.ids == live) {
+                    return left.exact ? left : new Candidates(live, false);
+                }
+                Candidates right = or.getRight().accept(this);
+                if (right.ids == live) {
+                    return right.exact ? right : new Candidates(live, false);
+                }
+                return new Candidates(left.ids.or(right.ids), left.exact && right.exact);
+            }
+
+            @Override
+            public Candidates visit(Expression.Not not) {
+                Candidates operand = not.getOperand().accept(this);
+                //the complement of a superset of the matches is not a superset of the non-matches
+                return operand.exact ? new Candidates(live.andNot(operand.ids), true) : new Candidates(live, false);
+            }
+
+            @Override
+            public Candidates visit(Expression.Test test) {
+                CompressedBitmap ids = lookup(test.getAtom());
+                return ids == null ? new Candidates(live, false) : new Candidates(ids, true);
+            }
+
+            @Override
+            public Candidates visit(Expression.Constant constant) {
+                return new Candidates(constant.isValue() ? live : new CompressedBitmap(), true);
+            }
+        });
+    }
+
+    private CompressedBitmap lookup(Atom atom) {
+        if (!isLookup(atom)) {
+            return null;
+        }
+        MemberIndex<T> index = index(atom);
+        Object value = atom.getParameters().get("value");
+        switch (atom.getName()) {
+            case "Equals":
+                return index.get(value);
+            case "In": {
+                Collection<?> values = (Collection<?>) atom.getParameters().get("values");
+                List<CompressedBitmap> ids = new ArrayList<>(values.size());
+                for (Object element : values) {
+                    ids.add(index.get(element));
+                }
+                return CompressedBitmap.union(ids);
+            }
+            case "LessThan":
+                return index.range(null, false, value, false);
+            case "LessThanEquals":
+                return index.range(null, false, value, true);
+            case "GreaterThan":
+                return index.range(value, false, null, false);
+            case "GreaterThanEquals":
+                return index.range(value, true, null, false);
+            default:
+                throw new IllegalStateException("Unsupported lookup: " + atom.getName());
+        }
+    }
+
+    private boolean isLookup(Atom atom) {
+        MemberIndex<T> index = index(atom);
+        if (index == null) {
+            return false;
+        }
+        switch (atom.getName()) {
+            case "Equals":
+                return index.isConsistent() && isIndexable(atom.getParameters().get("value"));
+            case "In":
+                return index.isConsistent() && ((Collection<?>) atom.getParameters().get("values")).stream().allMatch(LogicIndex::isIndexable);
+            case "LessThan":
+            case "LessThanEquals":
+            case "GreaterThan":
+            case "GreaterThanEquals":
+                return index.isSorted() && isIndexable(atom.getParameters().get("value"));
+            default:
+                return false;
+        }
+    }
+
+    private MemberIndex<T> index(Atom atom) {
+        return atom.getPath().size() == 1 ? indexes.get(atom.getPath().get(0)) : null;
+    }
+
+    private static List<Expression> conjuncts(Expression expression) {
+        List<Expression> conjuncts = new ArrayList<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression next = pending.pop();
+            if (next instanceof Expression.And) {
+                pending.push(((Expression.And) next).getRight());
+                pending.push(((Expression.And) next).getLeft());
+            } else {
+                conjuncts.add(next);
+            }
+        }
+        return conjuncts;
+    }
+
+    private static boolean isRange(Atom atom) {
+        switch (atom.getName()) {
+            case "LessThan":
+            case "LessThanEquals":
+            case "GreaterThan":
+            case "GreaterThanEquals":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isIndexable(Object value) {
+        return value != null && !(value instanceof Float) && !(value instanceof Double) && !value.getClass().isArray();
+    }
+
+    /**
+     * A set of candidate element ids, which is {@code exact} if it contains exactly the matching elements.
+     */
+    private static final class Candidates {
+        private final CompressedBitmap ids;
+        private final boolean exact;
+
+        private Candidates(CompressedBitmap ids, boolean exact) {
+            this.ids = ids;
+            this.exact = exact;
+        }
+    }
+
+    /**
+     * The estimated selectivity of an expression, and the estimated fraction of elements, exactness and cost of the
+     * candidates its index lookups produce.
+     */
+    private static final class Access {
+        private final Expression expression;
+        private final double selectivity;
+        private final double candidates;
+        private final boolean exact;
+        private final double cost;
+        private final int atoms;
+
+        private Access(Expression expression, double selectivity, double candidates, boolean exact, double cost, int atoms) {
+            this.expression = expression;
+            this.selectivity = selectivity;
+            this.candidates = candidates;
+            this.exact = exact;
+            this.cost = cost;
+            this.atoms = atoms;
+        }
+    }
+
+    /**
+     * A secondary index of the element ids for each value of a member.
+     *
+     * @param <T> the type of the model
+     */
+    private static final class MemberIndex<T> {
+        private static final int BUCKETS = 32;
+        private final IndexedMember<T> member;
+        private final Map<Object, CompressedBitmap> postings;
+        private int nulls;
+        private List<MemberStatistics.Bucket> histogram;
+        private int changes;
+        //whether every value posted under a key of a sorted index is equal to the key, not only ordered the same
+        private boolean consistent = true;
+
+        private MemberIndex(IndexedMember<T> member) {
+            this.member = member;
+            this.postings = member.isSorted() ? new TreeMap<>() : new HashMap<>();
+        }
+
+        private boolean isSorted() {
+            return member.isSorted();
+        }
+
+        private boolean isConsistent() {
+            return consistent;
+        }
+
+        private void add(int id, T element) {
+            Object value = member.get(element);
+            changes++;
+            if (value == null) {
+                nulls++;
+            } else {
+                if (member.isSorted() && consistent && postings.containsKey(value) && !value.equals(sorted().floorKey(value))) {
+                    consistent = false;
+                }
+                postings.computeIfAbsent(value, key -> new CompressedBitmap()).add(id);
+            }
+        }
+
+        private void remove(int id, T element) {
+            Object value = member.get(element);
+            changes++;
+            if (value == null) {
+                nulls--;
+                return;
+            }
+            CompressedBitmap ids = postings.get(value);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(value);
+                }
+            }
+        }
+
+        private void clear() {
+            postings.clear();
+            nulls = 0;
+            histogram = null;
+            changes = 0;
+            consistent = true;
+        }
+
+        /**
+         * Collects the statistics of the member, rebuilding the histogram once a tenth of the elements have changed
+         * since it was last built.
+         */
+        private MemberStatistics statistics(int count) {
+            if (!member.isSorted()) {
+                return MemberStatistics.of(member.getName(), count, nulls, postings.size(), ImmutableList.of());
+            }
+            if (histogram == null || changes > Math.max(BUCKETS, count / 10)) {
+                histogram = histogram(count - nulls);
+                changes = 0;
+            }
+            return MemberStatistics.of(member.getName(), count, nulls, postings.size(), histogram);
+        }
+
+        private List<MemberStatistics.Bucket> histogram(int values) {
+            ImmutableList.Builder<MemberStatistics.Bucket> buckets = ImmutableList.builder();
+            int depth = Math.max(1, (values + BUCKETS - 1) / BUCKETS);
+            Object lower = null;
+            Object upper = null;
+            int size = 0;
+            for (Map.Entry<Object, CompressedBitmap> entry : postings.entrySet()) {
+                if (lower == null) {
+                    lower = entry.getKey();
+                }
+                upper = entry.getKey();
+                size += entry.getValue().cardinality();
+                if (size >= depth) {
+                    buckets.add(MemberStatistics.Bucket.of(lower, upper, size));
+                    lower = null;
+                    size = 0;
+                }
+            }
+            if (lower != null) {
+                buckets.add(MemberStatistics.Bucket.of(lower, upper, size));
+            }
+            return buckets.build();
+        }
+
+        private void optimize() {
+            postings.values().forEach(CompressedBitmap::optimize);
+        }
+
+        private CompressedBitmap get(Object value) {
+            try {
+                CompressedBitmap ids = postings.get(value);
+                //a sorted index finds the key which compares equal to the value, which may not be equal to the value
+                if (ids == null || member.isSorted() && !value.equals(sorted().floorKey(value))) {
+                    return new CompressedBitmap();
+                }
+                return ids;
+            } catch (ClassCastException e) {
+                return new CompressedBitmap(); //a value of a different type than the member is never equal to a member value
+            }
+        }
+
+        private CompressedBitmap range(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+            NavigableMap<Object, CompressedBitmap> sorted = sorted();
+            try {
+                NavigableMap<Object, CompressedBitmap> range = lower == null ?
+                        upper == null ? sorted : sorted.headMap(upper, upperInclusive) :
+                        upper == null ? sorted.tailMap(lower, lowerInclusive) : sorted.subMap(lower, lowerInclusive, upper, upperInclusive);
+                return CompressedBitmap.union(range.values());
+            } catch (ClassCastException e) {
+                return new CompressedBitmap(); //a value of a different type than the member cannot be compared to a member value
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private NavigableMap<Object, CompressedBitmap> sorted() {
+            return (NavigableMap<Object, CompressedBitmap>) postings;
+        }
+    }
+}
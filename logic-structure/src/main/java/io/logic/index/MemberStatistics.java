@@ -0,0 +1,178 @@
+package io.logic.index;
+
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Enclosing;
+import org.immutables.value.Value.Immutable;
+
+import java.util.List;
+
+/**
+ * A summary of the values of an indexed member within a {@link LogicIndex}, used to estimate the selectivity of the
+ * atoms tested on the member.
+ * <p>
+ * Counts are maintained incrementally as elements are added and removed. The histogram of a sorted member is an
+ * equi-depth histogram (each bucket holds roughly the same number of elements) which is rebuilt once enough elements
+ * have changed since it was last built, so it may lag slightly behind the contents of the index.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Enclosing
+@Immutable
+@ImmutableLogicStyle
+public interface MemberStatistics {
+    //Immutables factory stub to hide immutable class dependency
+    static MemberStatistics of(String name, int count, int nullCount, int distinctCount, List<? extends Bucket> histogram) {
+        return ImmutableMemberStatistics.of(name, count, nullCount, distinctCount, histogram);
+    }
+
+    /**
+     * Represents the logic name of the member.
+     *
+     * @return the logic name of the member
+     */
+    String getName();
+
+    /**
+     * Represents the number of elements within the index.
+     *
+     * @return the number of elements
+     */
+    int getCount();
+
+    /**
+     * Represents the number of elements whose member value is {@code null}.
+     *
+     * @return the number of {@code null} member values
+     */
+    int getNullCount();
+
+    /**
+     * Represents the number of distinct non-{@code null} member values.
+     *
+     * @return the number of distinct member values
+     */
+    int getDistinctCount();
+
+    /**
+     * Represents the equi-depth histogram of the member values in ascending order.
+     * <p>
+     * The histogram is empty for members which are not {@link IndexedMember#isSorted() sorted}.
+     *
+     * @return the histogram buckets of the member values
+     */
+    List<Bucket> getHistogram();
+
+    /**
+     * Determines the fraction of elements whose member value is {@code null}.
+     *
+     * @return the fraction of {@code null} member values
+     */
+    default double getNullFraction() {
+        return getCount() == 0 ? 0 : (double) getNullCount() / getCount();
+    }
+
+    /**
+     * Estimates the fraction of elements whose member value is equal to an unknown value, assuming every distinct
+     * value is equally frequent.
+     *
+     * @return the estimated selectivity of an equality test
+     */
+    default double estimateEquals() {
+        return getDistinctCount() == 0 ? 0 : (1 - getNullFraction()) / getDistinctCount();
+    }
+
+    /**
+     * Estimates the fraction of elements whose member value is within the range, using the histogram.
+     * <p>
+     * A {@code null} bound leaves that side of the range unbounded. Values within a bucket are assumed to be uniformly
+     * distributed between its bounds if they are numbers, and to be half below any value within the bucket otherwise.
+     *
+     * @param lower          the lower bound of the range, or {@code null}
+     * @param lowerInclusive {@code true} if the lower bound is within the range
+     * @param upper          the upper bound of the range, or {@code null}
+     * @param upperInclusive {@code true} if the upper bound is within the range
+     * @return the estimated selectivity of the range, or {@code NaN} if the member has no histogram
+     */
+    default double estimateRange(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+        if (getHistogram().isEmpty()) {
+            return Double.NaN;
+        }
+        double below = lower == null ? 0 : estimateBelow(lower, !lowerInclusive);
+        double above = upper == null ? getCount() - getNullCount() : estimateBelow(upper, upperInclusive);
+        return getCount() == 0 ? 0 : Math.max(0, above - below) / getCount();
+    }
+
+    /**
+     * Estimates the number of elements whose member value is below the value, using the histogram.
+     *
+     * @param value     the value to compare against
+     * @param inclusive {@code true} if elements whose member value is equal to the value are counted
+     * @return the estimated number of elements below the value
+     */
+    @SuppressWarnings("unchecked")
+    default double estimateBelow(Object value, boolean inclusive) {
+        double rows = 0;
+        for (Bucket bucket : getHistogram()) {
+            int lower = ((Comparable<Object>) value).compareTo(bucket.getLowerBound());
+            int upper = ((Comparable<Object>) value).compareTo(bucket.getUpperBound());
+            if (upper > 0 || upper == 0 && inclusive) {
+                rows += bucket.getCount();
+            } else if (lower > 0 || lower == 0 && inclusive) {
+                rows += bucket.getCount() * bucket.fractionBelow(value);
+                break;
+            } else {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * A range of member values within the histogram, and the number of elements whose values are within it.
+     */
+    @Immutable
+    interface Bucket {
+        //Immutables factory stub to hide immutable class dependency
+        static Bucket of(Object lowerBound, Object upperBound, int count) {
+            return ImmutableMemberStatistics.Bucket.of(lowerBound, upperBound, count);
+        }
+
+        /**
+         * Represents the smallest member value within the bucket.
+         *
+         * @return the inclusive lower bound of the bucket
+         */
+        Object getLowerBound();
+
+        /**
+         * Represents the largest member value within the bucket.
+         *
+         * @return the inclusive upper bound of the bucket
+         */
+        Object getUpperBound();
+
+        /**
+         * Represents the number of elements whose member value is within the bucket.
+         *
+         * @return the number of elements within the bucket
+         */
+        int getCount();
+
+        /**
+         * Estimates the fraction of the elements within the bucket whose member value is below the value.
+         *
+         * @param value the value within the bucket
+         * @return the estimated fraction of the bucket below the value
+         */
+        default double fractionBelow(Object value) {
+            if (value instanceof Number && getLowerBound() instanceof Number && getUpperBound() instanceof Number) {
+                double lower = ((Number) getLowerBound()).doubleValue();
+                double upper = ((Number) getUpperBound()).doubleValue();
+                double fraction = (((Number) value).doubleValue() - lower) / (upper - lower);
+                return upper > lower && !Double.isNaN(fraction) ? Math.min(1, Math.max(0, fraction)) : 0.5;
+            }
+            return 0.5;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.logic.index;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The plan a {@link LogicIndex} chose to answer a query, along with the estimates it was chosen by.
+ * <p>
+ * A plan intersects the index lookups of some of the top-level conjuncts of the predicate (or scans every element if
+ * no lookup is worth its cost), and then tests the remaining conjuncts on the candidates, in order, stopping at the first
+ * conjunct a candidate does not match. Lookups which only narrow the candidates without resolving their conjunct
+ * exactly are also tested as filters.
+ * <p>
+ * Costs are relative units, where testing one atom on one element costs {@code 1}.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class QueryPlan {
+    private final int count;
+    private final List<Step> lookups;
+    private final List<Step> filters;
+    private final double estimatedRows;
+    private final double estimatedCost;
+
+    QueryPlan(int count, List<Step> lookups, List<Step> filters, double estimatedRows, double estimatedCost) {
+        this.count = count;
+        this.lookups = ImmutableList.copyOf(lookups);
+        this.filters = ImmutableList.copyOf(filters);
+        this.estimatedRows = estimatedRows;
+        this.estimatedCost = estimatedCost;
+    }
+
+    /**
+     * Represents the conjuncts which are looked up in the indexes, in the order they are intersected.
+     *
+     * @return the conjuncts resolved with index lookups
+     */
+    public List<Expression> getLookups() {
+        return lookups.stream().map(Step::getExpression).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Represents the conjuncts which are tested on every candidate, in the order they are tested.
+     *
+     * @return the conjuncts tested on the candidates
+     */
+    public List<Expression> getFilters() {
+        return filters.stream().map(Step::getExpression).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Tests whether the plan tests every element of the index, since no lookup was worth its cost.
+     *
+     * @return {@code true} if the plan scans every element
+     */
+    public boolean isScan() {
+        return lookups.isEmpty();
+    }
+
+    /**
+     * Represents the estimated number of matching elements.
+     *
+     * @return the estimated number of matches
+     */
+    public double getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Represents the estimated cost of the plan.
+     *
+     * @return the estimated cost of the plan
+     */
+    public double getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    /**
+     * Describes the plan one step per line (e.g. {@code Lookup Make Equals(Ford) [selectivity=0.0200 rows=400 cost=21.0]}).
+     *
+     * @return a human-readable description of the plan
+     */
+    public String explain() {
+        StringBuilder builder = new StringBuilder();
+        if (isScan()) {
+            builder.append(String.format(Locale.ROOT, "Scan [rows=%d]%n", count));
+        }
+        for (Step lookup : lookups) {
+            builder.append(String.format(Locale.ROOT, "Lookup %s [selectivity=%.4f rows=%.0f cost=%.1f]%n",
+                    describe(lookup.getExpression()), lookup.getSelectivity(), lookup.getRows(), lookup.getCost()));
+        }
+        for (Step filter : filters) {
+            builder.append(String.format(Locale.ROOT, "Filter %s [selectivity=%.4f rows=%.0f cost=%.1f]%n",
+                    describe(filter.getExpression()), filter.getSelectivity(), filter.getRows(), filter.getCost()));
+        }
+        return builder.append(String.format(Locale.ROOT, "Estimated %.0f of %d rows, cost %.1f", estimatedRows, count, estimatedCost)).toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+    private static String describe(Expression expression) {
+        return expression.accept(new ExpressionVisitor<String>() {
+            @Override
+            public String visit(Expression.And and) {
+                return "(" + and.getLeft().accept(this) + " and " + and.getRight().accept(this) + ")";
+            }
+
+            @Override
+            public String visit(Expression.Or or) {
+                return "(" + or.getLeft().accept(this) + " or " + or.getRight().accept(this) + ")";
+            }
+
+            @Override
+            public String visit(Expression.Not not) {
+                return "not " + not.getOperand().accept(this);
+            }
+
+            @Override
+            public String visit(Expression.Test test) {
+                Atom atom = test.getAtom();
+                String name = atom.isOpaque() ? atom.getPredicate().toString() : atom.getName() + (atom.getParameters().size() == 1 ?
+                        "(" + atom.getParameters().values().iterator().next() + ")" :
+                        atom.getParameters().entrySet().stream().map(String::valueOf).collect(Collectors.joining(", ", "(", ")")));
+                return atom.getPath().isEmpty() ? name : String.join(".", atom.getPath()) + " " + name;
+            }
+
+            @Override
+            public String visit(Expression.Constant constant) {
+                return String.valueOf(constant.isValue());
+            }
+        });
+    }
+
+    /**
+     * A conjunct of the plan, with the estimated fraction of elements it matches, the estimated number of candidates
+     * after it is applied, and its estimated cost.
+     */
+    static final class Step {
+        private final Expression expression;
+        private final double selectivity;
+        private final double rows;
+        private final double cost;
+
+        Step(Expression expression, double selectivity, double rows, double cost) {
+            this.expression = expression;
+            this.selectivity = selectivity;
+            this.rows = rows;
+            this.cost = cost;
+        }
+
+        Expression getExpression() {
+            return expression;
+        }
+
+        double getSelectivity() {
+            return selectivity;
+        }
+
+        double getRows() {
+            return rows;
+        }
+
+        double getCost() {
+            return cost;
+        }
+    }
+}
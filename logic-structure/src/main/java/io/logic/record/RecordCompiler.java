@@ -0,0 +1,338 @@
+package io.logic.record;
+
+import io.logic.structure.Atom;
+import io.logic.structure.IntegralOperands;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Compiles an {@link Expression} into a {@link RecordFilter} which tests the atoms on the bytes of each record.
+ * <p>
+ * {@code And} and {@code Or} short-circuit, so a record is only decoded as far as the atoms it needs. The comparison
+ * mixins on numeric fields compare the primitive read from the field, {@code Equals}, {@code NotEquals} and {@code In}
+ * on text fields compare the encoded bytes of the value with the bytes of the field, and any other atom is tested on the
+ * decoded member value.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class RecordCompiler {
+    private RecordCompiler() {
+    }
+
+    /**
+     * Compiles the expression into a filter of the records of the layout.
+     *
+     * @param expression the decomposed query predicate
+     * @param layout     the layout of the records
+     * @return a new filter of the records
+     * @throws IllegalArgumentException if an atom tests a member which the records do not hold
+     */
+    static RecordFilter compile(Expression expression, RecordLayout layout) {
+        return expression.accept(new ExpressionVisitor<RecordFilter>() {
+            @Override
+            public RecordFilter visit(Expression.And and) {
+                RecordFilter left = and.getLeft().accept(this);
+                RecordFilter right = and.getRight().accept(this);
+                return (buffer, offset) -> left.test(buffer, offset) && right.test(buffer, offset);
+            }
+
+            @Override
+            public RecordFilter visit(Expression.Or or) {
+                RecordFilter left = or.getLeft().accept(this);
+                RecordFilter right = or.getRight().accept(this);
+                return (buffer, offset) -> left.test(buffer, offset) || right.test(buffer, offset);
+            }
+
+            @Override
+            public RecordFilter visit(Expression.Not not) {
+                RecordFilter operand = not.getOperand().accept(this);
+                return (buffer, offset) -> !operand.test(buffer, offset);
+            }
+
+            @Override
+            public RecordFilter visit(Expression.Test test) {
+                Atom atom = test.getAtom();
+                if (atom.getPath().isEmpty()) {
+                    throw new IllegalArgumentException("Cannot scan records for a predicate of the whole model instance: " + atom.getPredicate() + ".");
+                }
+                String name = String.join(".", atom.getPath());
+                RecordLayout.Field field = layout.getField(name)
+                        .orElseThrow(() -> new IllegalArgumentException("No field for member " + name + "."));
+                return compile(atom, field);
+            }
+
+            @Override
+            public RecordFilter visit(Expression.Constant constant) {
+                boolean value = constant.isValue();
+                return (buffer, offset) -> value;
+            }
+        });
+    }
+
+    /**
+     * Decodes the member value held within the field of the record.
+     *
+     * @param buffer the buffer holding the record, in the byte order of the layout
+     * @param offset the offset of the first byte of the record
+     * @param field  the field of the member
+     * @return the boxed member value
+     */
+    static Object read(ByteBuffer buffer, int offset, RecordLayout.Field field) {
+        int position = offset + field.getOffset();
+        switch (field.getEncoding()) {
+            case INTEGER:
+                switch (field.getWidth()) {
+                    case 1:
+                        return buffer.get(position);
+                    case 2:
+                        return buffer.getShort(position);
+                    case 4:
+                        return buffer.getInt(position);
+                    default:
+                        return buffer.getLong(position);
+                }
+            case FLOAT:
+                return field.getWidth() == 4 ? (Object) buffer.getFloat(position) : (Object) buffer.getDouble(position);
+            case BOOLEAN:
+                return buffer.get(position) != 0;
+            case CHAR:
+                return buffer.getChar(position);
+            default:
+                byte[] bytes = new byte[length(buffer, position, field.getWidth())];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(position + i);
+                }
+                return new String(bytes, charset(field.getEncoding()));
+        }
+    }
+
+    private static RecordFilter compile(Atom atom, RecordLayout.Field field) {
+        switch (field.getEncoding()) {
+            case INTEGER:
+            case BOOLEAN:
+            case CHAR:
+                return compileIntegral(atom, field);
+            case FLOAT:
+                return compileFloating(atom, field);
+            default:
+                return compileText(atom, field);
+        }
+    }
+
+    private static RecordFilter compileIntegral(Atom atom, RecordLayout.Field field) {
+        LongReader reader = integralReader(field);
+        int position = field.getOffset();
+        if (field.getEncoding() == RecordLayout.Encoding.BOOLEAN && ("True".equals(atom.getName()) || "False".equals(atom.getName()))) {
+            boolean expected = "True".equals(atom.getName());
+            return (buffer, offset) -> (reader.read(buffer, offset + position) != 0) == expected;
+        }
+        if ("In".equals(atom.getName())) {
+            long[] values = IntegralOperands.toLongs((Collection<?>) atom.getParameters().get("values"));
+            if (values != null) {
+                return (buffer, offset) -> Arrays.binarySearch(values, reader.read(buffer, offset + position)) >= 0;
+            }
+        }
+        Long operand = IntegralOperands.toLong(atom.getParameters().get("value"));
+        if (operand == null || field.getEncoding() == RecordLayout.Encoding.BOOLEAN && !"Equals".equals(atom.getName()) && !"NotEquals".equals(atom.getName())) {
+            return decoding(atom, field);
+        }
+        long value = field.getEncoding() == RecordLayout.Encoding.BOOLEAN ? (operand != 0 ? 1 : 0) : operand;
+        switch (atom.getName()) {
+            case "Equals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) == value;
+            case "NotEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) != value;
+            case "LessThan":
+                return (buffer, offset) -> reader.read(buffer, offset + position) < value;
+            case "LessThanEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) <= value;
+            case "GreaterThan":
+                return (buffer, offset) -> reader.read(buffer, offset + position) > value;
+            case "GreaterThanEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) >= value;
+            default:
+                return decoding(atom, field);
+        }
+    }
+
+    private static RecordFilter compileFloating(Atom atom, RecordLayout.Field field) {
+        Object operand = atom.getParameters().get("value");
+        if (!(operand instanceof Float || operand instanceof Double)) {
+            return decoding(atom, field);
+        }
+        //float values widen to double exactly, so comparing the widened values matches comparing the floats
+        double value = ((Number) operand).doubleValue();
+        int position = field.getOffset();
+        DoubleReader reader = field.getWidth() == 4 ? (buffer, index) -> buffer.getFloat(index) : ByteBuffer::getDouble;
+        switch (atom.getName()) {
+            case "Equals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) == value;
+            case "NotEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) != value;
+            case "LessThan":
+                return (buffer, offset) -> reader.read(buffer, offset + position) < value;
+            case "LessThanEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) <= value;
+            case "GreaterThan":
+                return (buffer, offset) -> reader.read(buffer, offset + position) > value;
+            case "GreaterThanEquals":
+                return (buffer, offset) -> reader.read(buffer, offset + position) >= value;
+            default:
+                return decoding(atom, field);
+        }
+    }
+
+    private static RecordFilter compileText(Atom atom, RecordLayout.Field field) {
+        String name = atom.getName();
+        Collection<?> values;
+        if ("Equals".equals(name) || "NotEquals".equals(name)) {
+            values = Arrays.asList(atom.getParameters().get("value"));
+        } else if ("In".equals(name)) {
+            values = (Collection<?>) atom.getParameters().get("values");
+        } else {
+            return decoding(atom, field);
+        }
+        List<byte[]> encoded = new ArrayList<>();
+        for (Object value : values) {
+            if (!(value instanceof String) || ((String) value).indexOf('\uFFFD') >= 0) {
+                return decoding(atom, field); //replacement characters may be decoded from bytes which differ from their encoding
+            }
+            byte[] bytes = encode((String) value, field);
+            if (bytes != null) {
+                encoded.add(bytes);
+            }
+        }
+        int position = field.getOffset();
+        int width = field.getWidth();
+        byte[][] candidates = encoded.toArray(new byte[0][]);
+        RecordFilter equals = (buffer, offset) -> {
+            for (byte[] candidate : candidates) {
+                if (matches(buffer, offset + position, width, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+        return "NotEquals".equals(name) ? (buffer, offset) -> !equals.test(buffer, offset) : equals;
+    }
+
+    /**
+     * Tests the leaf predicate of the atom on the decoded member value.
+     */
+    private static RecordFilter decoding(Atom atom, RecordLayout.Field field) {
+        Predicate<Object> predicate = atom.getPredicate();
+        return (buffer, offset) -> predicate.test(read(buffer, offset, field));
+    }
+
+    /**
+     * Encodes the text the way a field holds it, or returns {@code null} if no field value decodes to the text.
+     */
+    private static byte[] encode(String value, RecordLayout.Field field) {
+        if (!value.isEmpty() && isPadding(value.charAt(value.length() - 1))) {
+            return null; //trailing padding is removed when decoding
+        }
+        CharsetEncoder encoder = charset(field.getEncoding()).newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            ByteBuffer buffer = encoder.encode(CharBuffer.wrap(value));
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes.length > field.getWidth() ? null : bytes;
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(ByteBuffer buffer, int position, int width, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(position + i) != expected[i]) {
+                return false;
+            }
+        }
+        for (int i = expected.length; i < width; i++) {
+            if (!isPadding((char) buffer.get(position + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines the number of bytes of text within the field, excluding the trailing padding.
+     */
+    private static int length(ByteBuffer buffer, int position, int width) {
+        int length = width;
+        while (length > 0 && isPadding((char) buffer.get(position + length - 1))) {
+            length--;
+        }
+        return length;
+    }
+
+    private static boolean isPadding(char c) {
+        return c == ' ' || c == '\0';
+    }
+
+    private static Charset charset(RecordLayout.Encoding encoding) {
+        switch (encoding) {
+            case ASCII:
+                return StandardCharsets.US_ASCII;
+            case LATIN_1:
+                return StandardCharsets.ISO_8859_1;
+            case UTF_8:
+                return StandardCharsets.UTF_8;
+            default:
+                throw new IllegalArgumentException(encoding + " is not a text encoding.");
+        }
+    }
+
+    private static LongReader integralReader(RecordLayout.Field field) {
+        switch (field.getEncoding()) {
+            case BOOLEAN:
+                return (buffer, index) -> buffer.get(index) != 0 ? 1 : 0;
+            case CHAR:
+                return ByteBuffer::getChar;
+            default:
+                switch (field.getWidth()) {
+                    case 1:
+                        return ByteBuffer::get;
+                    case 2:
+                        return ByteBuffer::getShort;
+                    case 4:
+                        return ByteBuffer::getInt;
+                    default:
+                        return ByteBuffer::getLong;
+                }
+        }
+    }
+
+    /**
+     * Reads an integral field as a {@code long}.
+     */
+    @FunctionalInterface
+    private interface LongReader {
+        long read(ByteBuffer buffer, int index);
+    }
+
+    /**
+     * Reads a floating point field as a {@code double}.
+     */
+    @FunctionalInterface
+    private interface DoubleReader {
+        double read(ByteBuffer buffer, int index);
+    }
+}
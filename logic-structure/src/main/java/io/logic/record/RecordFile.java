@@ -0,0 +1,158 @@
+package io.logic.record;
+
+import io.logic.structure.Expression;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * A read-only file of fixed-width records described by a {@link RecordLayout}, which evaluates predicates of the model
+ * directly against the memory-mapped bytes of each record.
+ * <p>
+ * A predicate is decomposed into an {@link Expression} and compiled against the layout once per scan, and each record
+ * is then tested in place: no model instance is constructed, and only the fields of the atoms a record needs are read.
+ * The file is mapped a segment of up to {@code 1 GiB} at a time, so files larger than a single mapping can be scanned.
+ * A trailing partial record is ignored.
+ * <p>
+ * Queries must be decomposable into atoms of the members held by the layout. {@link RecordFile} is not thread-safe.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class RecordFile<T> implements AutoCloseable {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private final FileChannel channel;
+    private final RecordLayout layout;
+    private final long size;
+    private final int segmentRecords;
+    private long segmentIndex = -1;
+    private ByteBuffer segment;
+
+    private RecordFile(FileChannel channel, RecordLayout layout) throws IOException {
+        this.channel = channel;
+        this.layout = layout;
+        this.size = channel.size() / layout.getRecordSize();
+        this.segmentRecords = (int) Math.max(1, SEGMENT_SIZE / layout.getRecordSize());
+    }
+
+    /**
+     * Opens the file of records for reading.
+     *
+     * @param path   the path of the file
+     * @param layout the layout of the records within the file
+     * @param <T>    the type of the model
+     * @return a new {@link RecordFile}
+     * @throws IOException if the file cannot be opened
+     */
+    public static <T> RecordFile<T> open(Path path, RecordLayout layout) throws IOException {
+        Objects.requireNonNull(layout, "layout");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new RecordFile<>(channel, layout);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Represents the layout of the records within the file.
+     *
+     * @return the layout of the records
+     */
+    public RecordLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Represents the number of records within the file.
+     *
+     * @return the number of records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Decodes the value of the member held within the specified record.
+     *
+     * @param member the logic name of the member, with nested member names joined by {@code .}
+     * @param record the index of the record
+     * @return the boxed value of the member
+     */
+    public Object get(String member, long record) {
+        RecordLayout.Field field = layout.getField(member)
+                .orElseThrow(() -> new IllegalArgumentException("No field for member " + member + "."));
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record " + record + " is out of bounds for size " + size + ".");
+        }
+        ByteBuffer buffer = segment(record / segmentRecords);
+        return RecordCompiler.read(buffer, (int) (record % segmentRecords) * layout.getRecordSize(), field);
+    }
+
+    /**
+     * Visits the indexes of the records which match the predicate, in ascending order.
+     *
+     * @param predicate the query predicate
+     * @param consumer  the consumer of the matching record indexes
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    public void forEach(Predicate<? super T> predicate, LongConsumer consumer) {
+        RecordFilter filter = RecordCompiler.compile(Expression.of(predicate), layout);
+        int recordSize = layout.getRecordSize();
+        for (long index = 0, segments = (size + segmentRecords - 1) / segmentRecords; index < segments; index++) {
+            ByteBuffer buffer = segment(index);
+            long base = index * segmentRecords;
+            int records = (int) Math.min(segmentRecords, size - base);
+            for (int record = 0, offset = 0; record < records; record++, offset += recordSize) {
+                if (filter.test(buffer, offset)) {
+                    consumer.accept(base + record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the records which match the predicate.
+     *
+     * @param predicate the query predicate
+     * @return the number of matching records
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    public long count(Predicate<? super T> predicate) {
+        long[] count = new long[1];
+        forEach(predicate, record -> count[0]++);
+        return count[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the segment of the file, keeping the most recently mapped segment for reuse.
+     */
+    private ByteBuffer segment(long index) {
+        if (index != segmentIndex) {
+            long position = index * segmentRecords * layout.getRecordSize();
+            long length = Math.min((long) segmentRecords, size - index * segmentRecords) * layout.getRecordSize();
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(layout.getByteOrder());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segmentIndex = index;
+        }
+        return segment;
+    }
+}
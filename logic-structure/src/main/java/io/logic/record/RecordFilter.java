@@ -0,0 +1,21 @@
+package io.logic.record;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A predicate compiled against a {@link RecordLayout}, which tests the bytes of a record in place.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@FunctionalInterface
+interface RecordFilter {
+    /**
+     * Tests the record which starts at the offset of the buffer.
+     *
+     * @param buffer the buffer holding the record, in the byte order of the layout
+     * @param offset the offset of the first byte of the record
+     * @return {@code true} if the record matches
+     */
+    boolean test(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,200 @@
+package io.logic.record;
+
+import com.google.common.base.Preconditions;
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Enclosing;
+import org.immutables.value.Value.Immutable;
+
+import java.nio.ByteOrder;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A description of a binary file of fixed-width records, mapping the members of a model to the bytes of each record
+ * which hold them.
+ * <p>
+ * Fields are named by the logic name of the member they hold, with the names along the path of a nested member joined
+ * by {@code .} (e.g. {@code Engine.Cylinders}), so the atoms of a predicate can be tested on the bytes of a record
+ * without constructing the model.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Enclosing
+@Immutable
+@ImmutableLogicStyle
+public interface RecordLayout {
+    //Immutables builder stub to hide immutable class dependency
+    static Builder builder() {
+        return ImmutableRecordLayout.builder();
+    }
+
+    //Immutables factory stub to hide immutable class dependency
+    static RecordLayout of(int recordSize, ByteOrder byteOrder, Iterable<? extends Field> fields) {
+        return ImmutableRecordLayout.of(recordSize, byteOrder, fields);
+    }
+
+    /**
+     * Represents the number of bytes within each record.
+     *
+     * @return the size of a record
+     */
+    int getRecordSize();
+
+    /**
+     * Represents the byte order of the numeric fields.
+     *
+     * @return the byte order of the records
+     */
+    ByteOrder getByteOrder();
+
+    /**
+     * Represents the fields of each record.
+     *
+     * @return the fields of the records
+     */
+    List<Field> getFields();
+
+    /**
+     * Finds the field which holds the member.
+     *
+     * @param name the logic name of the member, with nested member names joined by {@code .}
+     * @return the field of the member, or {@link Optional#empty()} if the records do not hold the member
+     */
+    default Optional<Field> getField(String name) {
+        return getFields().stream().filter(field -> field.getName().equals(name)).findFirst();
+    }
+
+    /**
+     * An <a href="https://github.com/immutables/immutables">Immutables</a> precondition {@link Check} that ensures
+     * every field has a width its encoding supports, lies within the record, and is named uniquely.
+     */
+    @Check
+    default void checkFields() {
+        Preconditions.checkState(getRecordSize() > 0, "Record size must be positive, but was %s.", getRecordSize());
+        Set<String> names = new HashSet<>();
+        for (Field field : getFields()) {
+            Preconditions.checkState(names.add(field.getName()), "Duplicate field for member %s.", field.getName());
+            Preconditions.checkState(field.getOffset() >= 0 && field.getWidth() > 0 && field.getOffset() + field.getWidth() <= getRecordSize(),
+                    "Field %s does not lie within a record of %s bytes.", field.getName(), getRecordSize());
+            Preconditions.checkState(field.getEncoding().supports(field.getWidth()),
+                    "Field %s cannot be %s bytes wide with the %s encoding.", field.getName(), field.getWidth(), field.getEncoding());
+        }
+    }
+
+    /**
+     * A member of the model held within a contiguous range of the bytes of each record.
+     */
+    @Immutable
+    interface Field {
+        //Immutables factory stub to hide immutable class dependency
+        static Field of(String name, int offset, int width, Encoding encoding) {
+            return ImmutableRecordLayout.Field.of(name, offset, width, encoding);
+        }
+
+        /**
+         * Represents the logic name of the member held within the field, with nested member names joined by {@code .}.
+         *
+         * @return the name of the member
+         */
+        String getName();
+
+        /**
+         * Represents the offset of the field from the start of a record.
+         *
+         * @return the offset of the field in bytes
+         */
+        int getOffset();
+
+        /**
+         * Represents the number of bytes within the field.
+         *
+         * @return the width of the field in bytes
+         */
+        int getWidth();
+
+        /**
+         * Represents how the member value is encoded within the field.
+         *
+         * @return the encoding of the field
+         */
+        Encoding getEncoding();
+    }
+
+    /**
+     * The encodings of a member value within a field, and the member types they decode to.
+     */
+    enum Encoding {
+        /**
+         * A two's complement integer of 1, 2, 4 or 8 bytes, which decodes to a {@code byte}, {@code short}, {@code int}
+         * or {@code long} member respectively.
+         */
+        INTEGER,
+        /**
+         * An IEEE 754 floating point number of 4 or 8 bytes, which decodes to a {@code float} or {@code double} member
+         * respectively.
+         */
+        FLOAT,
+        /**
+         * A single byte which decodes to a {@code boolean} member, {@code true} unless it is zero.
+         */
+        BOOLEAN,
+        /**
+         * A UTF-16 code unit of 2 bytes, which decodes to a {@code char} member.
+         */
+        CHAR,
+        /**
+         * US-ASCII text padded with trailing spaces or {@code NUL} bytes, which decodes to a {@link String} member.
+         */
+        ASCII,
+        /**
+         * ISO-8859-1 text padded with trailing spaces or {@code NUL} bytes, which decodes to a {@link String} member.
+         */
+        LATIN_1,
+        /**
+         * UTF-8 text padded with trailing spaces or {@code NUL} bytes, which decodes to a {@link String} member.
+         */
+        UTF_8;
+
+        /**
+         * Tests whether a field of the encoding can be the specified number of bytes wide.
+         *
+         * @param width the width of the field in bytes
+         * @return {@code true} if the encoding supports the width
+         */
+        public boolean supports(int width) {
+            switch (this) {
+                case INTEGER:
+                    return width == 1 || width == 2 || width == 4 || width == 8;
+                case FLOAT:
+                    return width == 4 || width == 8;
+                case BOOLEAN:
+                    return width == 1;
+                case CHAR:
+                    return width == 2;
+                default:
+                    return width > 0;
+            }
+        }
+    }
+
+    //Immutables builder stub to hide immutable class dependency
+    interface Builder {
+        Builder setRecordSize(int recordSize);
+
+        Builder setByteOrder(ByteOrder byteOrder);
+
+        Builder addField(Field field);
+
+        Builder addFields(Field... fields);
+
+        Builder setFields(Iterable<? extends Field> fields);
+
+        Builder addAllFields(Iterable<? extends Field> fields);
+
+        RecordLayout build();
+    }
+}
@@ -0,0 +1,125 @@
+package io.logic.structure;
+
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Auxiliary;
+import org.immutables.value.Value.Immutable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A representation of an indivisible test within a {@link LogicPredicate}.
+ * <p>
+ * An {@link Atom} is a leaf predicate (a mixin, or any opaque {@link Predicate}) reached by following a path of member
+ * predicates from the root of the predicate tree (e.g. {@code whenMake(isEqualTo("Ford"))} is the atom
+ * {@code Equals{value=Ford}} at the path {@code [Make]}).
+ * <p>
+ * Two atoms are equal when their paths and leaf predicates are equal. The accessors, name and parameters are derived
+ * from the path and leaf predicate, so they do not participate in equality.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Immutable
+@ImmutableLogicStyle
+public interface Atom {
+    //Immutables factory stub to hide immutable class dependency
+    @SuppressWarnings("unchecked")
+    static Atom of(List<String> path, List<? extends Function<?, ?>> accessors, Predicate<?> predicate, String name, Map<String, ?> parameters) {
+        return ImmutableAtom.of(path, (List<Function<Object, Object>>) accessors, (Predicate<Object>) predicate, name, (Map<String, Object>) parameters);
+    }
+
+    /**
+     * Represents the logic names of the members that lead from the root model to the value tested by the leaf predicate.
+     * <p>
+     * An empty path represents a mixin of the root model.
+     *
+     * @return the member path of the atom
+     */
+    List<String> getPath();
+
+    /**
+     * Represents the member accessors that correspond to each element of {@link Atom#getPath()}.
+     *
+     * @return the member accessors of the atom
+     */
+    @Auxiliary
+    List<Function<Object, Object>> getAccessors();
+
+    /**
+     * Represents the leaf predicate tested against the value at the end of the path.
+     *
+     * @return the leaf predicate
+     */
+    Predicate<Object> getPredicate();
+
+    /**
+     * Represents the mixin name of the leaf predicate (e.g. {@code Equals}, {@code LessThan}).
+     * <p>
+     * Leaf predicates which do not implement {@link LogicPredicate} are opaque and have an empty name.
+     *
+     * @return the mixin name of the leaf predicate
+     */
+    @Auxiliary
+    String getName();
+
+    /**
+     * Represents the mixin parameter values of the leaf predicate, keyed by parameter name.
+     *
+     * @return the mixin parameters of the leaf predicate
+     */
+    @Auxiliary
+    Map<String, Object> getParameters();
+
+    /**
+     * Tests whether the leaf predicate is opaque, meaning nothing is known about it besides {@link Predicate#test(Object)}.
+     *
+     * @return {@code true} if the leaf predicate is not a mixin of a {@link LogicPredicate}
+     */
+    default boolean isOpaque() {
+        return getName().isEmpty();
+    }
+
+    /**
+     * Tests whether the atom is an {@code Equals} test whose value can be used as a hash key with the same semantics as
+     * the test itself.
+     * <p>
+     * Floating point values ({@code ==} differs from {@link Object#equals(Object)} for {@code NaN} and {@code -0.0})
+     * and arrays (compared by content) are excluded.
+     *
+     * @return {@code true} if the atom can be resolved with a hash lookup of {@link Atom#resolve(Object)}
+     */
+    default boolean isHashable() {
+        if (!"Equals".equals(getName())) {
+            return false;
+        }
+        Object value = getParameters().get("value");
+        return value != null && !(value instanceof Float) && !(value instanceof Double) && !value.getClass().isArray();
+    }
+
+    /**
+     * Reads the value at the end of the member path from the specified model instance.
+     *
+     * @param object the model instance
+     * @return the value tested by the leaf predicate
+     */
+    default Object resolve(Object object) {
+        Object value = object;
+        for (Function<Object, Object> accessor : getAccessors()) {
+            value = accessor.apply(value);
+        }
+        return value;
+    }
+
+    /**
+     * Tests the atom against the specified model instance.
+     *
+     * @param object the model instance
+     * @return {@code true} if the leaf predicate matches the value at the end of the member path
+     */
+    default boolean test(Object object) {
+        return getPredicate().test(resolve(object));
+    }
+}
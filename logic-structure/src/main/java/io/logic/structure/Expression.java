@@ -0,0 +1,327 @@
+package io.logic.structure;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Enclosing;
+import org.immutables.value.Value.Immutable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A boolean expression over {@link Atom}, which represents the structure of a {@link LogicPredicate} with every member
+ * predicate flattened into the atoms it tests.
+ * <p>
+ * {@code whenMake(isEqualTo("Ford").or(isEqualTo("Honda"))).and(whenModel(isNotEmpty()))} is represented as
+ * {@code ([Make] Equals{Ford} || [Make] Equals{Honda}) && [Model] NonEmpty}. Flattening is valid since member accessors
+ * are expected to be pure (reading a member twice produces equal values).
+ * <p>
+ * Expressions are values, so structurally equal sub-expressions can be shared and used as keys when compiling rules.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Enclosing
+@ImmutableLogicStyle
+public interface Expression {
+    /**
+     * Decomposes the specified predicate into an {@link Expression}.
+     * <p>
+     * Predicates which do not implement {@link LogicPredicate} (or member predicates whose hierarchy does not) are
+     * represented as opaque atoms.
+     *
+     * @param predicate the predicate to decompose
+     * @return a new {@link Expression} that represents the predicate
+     */
+    static Expression of(Predicate<?> predicate) {
+        return ExpressionDecomposer.decompose(predicate, ImmutableList.of(), ImmutableList.of());
+    }
+
+    /**
+     * Creates an {@link Expression} that represents the constant value.
+     *
+     * @param value the constant value
+     * @return a constant expression
+     */
+    static Constant constant(boolean value) {
+        return ImmutableExpression.Constant.of(value);
+    }
+
+    /**
+     * Creates an {@link Expression} that tests the atom.
+     *
+     * @param atom the atom to test
+     * @return an atom expression
+     */
+    static Test test(Atom atom) {
+        return ImmutableExpression.Test.of(atom);
+    }
+
+    /**
+     * Creates the conjunction of the two expressions, folding any constant operands.
+     *
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the simplified conjunction
+     */
+    static Expression and(Expression left, Expression right) {
+        if (left instanceof Constant) {
+            return ((Constant) left).isValue() ? right : left;
+        }
+        if (right instanceof Constant) {
+            return ((Constant) right).isValue() ? left : right;
+        }
+        return ImmutableExpression.And.of(left, right);
+    }
+
+    /**
+     * Creates the disjunction of the two expressions, folding any constant operands.
+     *
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the simplified disjunction
+     */
+    static Expression or(Expression left, Expression right) {
+        if (left instanceof Constant) {
+            return ((Constant) left).isValue() ? left : right;
+        }
+        if (right instanceof Constant) {
+            return ((Constant) right).isValue() ? right : left;
+        }
+        return ImmutableExpression.Or.of(left, right);
+    }
+
+    /**
+     * Creates the negation of the expression, folding constants and double negation.
+     *
+     * @param operand the expression to negate
+     * @return the simplified negation
+     */
+    static Expression not(Expression operand) {
+        if (operand instanceof Constant) {
+            return constant(!((Constant) operand).isValue());
+        }
+        if (operand instanceof Not) {
+            return ((Not) operand).getOperand();
+        }
+        return ImmutableExpression.Not.of(operand);
+    }
+
+    /**
+     * Evaluates the expression against a model instance.
+     *
+     * @param object the model instance
+     * @return the result of the expression
+     */
+    boolean test(Object object);
+
+    /**
+     * Substitutes the known values of atoms into the expression and folds the result.
+     *
+     * @param values the known atom values
+     * @return the simplified expression, or {@code this} if none of the atoms are present
+     */
+    Expression assign(Map<Atom, Boolean> values);
+
+    /**
+     * Collects every distinct atom of the expression, in left-to-right evaluation order.
+     *
+     * @return the atoms of the expression
+     */
+    default Set<Atom> atoms() {
+        ImmutableSet.Builder<Atom> builder = ImmutableSet.builder();
+        accept(new ExpressionVisitor<Void>() {
+            @Override
+            public Void visit(And and) {
+                and.getLeft().accept(this);
+                return and.getRight().accept(this);
+            }
+
+            @Override
+            public Void visit(Or or) {
+                or.getLeft().accept(this);
+                return or.getRight().accept(this);
+            }
+
+            @Override
+            public Void visit(Not not) {
+                return not.getOperand().accept(this);
+            }
+
+            @Override
+            public Void visit(Test test) {
+                builder.add(test.getAtom());
+                return null;
+            }
+
+            @Override
+            public Void visit(Constant constant) {
+                return null;
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Collects the atoms that must be {@code true} for the expression to be {@code true}, meaning the atoms tested
+     * directly by a top-level chain of conjunctions.
+     * <p>
+     * Indexes can use any required atom as the key of the expression, since no instance which fails the atom can
+     * match the expression.
+     *
+     * @return the required atoms of the expression, in left-to-right evaluation order
+     */
+    default Set<Atom> requiredAtoms() {
+        ImmutableSet.Builder<Atom> builder = ImmutableSet.builder();
+        accept(new ExpressionVisitor<Void>() {
+            @Override
+            public Void visit(And and) {
+                and.getLeft().accept(this);
+                return and.getRight().accept(this);
+            }
+
+            @Override
+            public Void visit(Or or) {
+                return null;
+            }
+
+            @Override
+            public Void visit(Not not) {
+                return null;
+            }
+
+            @Override
+            public Void visit(Test test) {
+                builder.add(test.getAtom());
+                return null;
+            }
+
+            @Override
+            public Void visit(Constant constant) {
+                return null;
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Accepts a {@link ExpressionVisitor} to visit an implementation of {@link Expression}.
+     *
+     * @param visitor the visitor to accept
+     * @param <R>     the return type of the visitation of an implementation class
+     * @return the value the visitor produces after visiting an implementation class
+     */
+    <R> R accept(ExpressionVisitor<R> visitor);
+
+    @Immutable
+    interface And extends Expression {
+        Expression getLeft();
+
+        Expression getRight();
+
+        @Override
+        default boolean test(Object object) {
+            return getLeft().test(object) && getRight().test(object);
+        }
+
+        @Override
+        default Expression assign(Map<Atom, Boolean> values) {
+            Expression left = getLeft().assign(values);
+            Expression right = getRight().assign(values);
+            return left == getLeft() && right == getRight() ? this : Expression.and(left, right);
+        }
+
+        @Override
+        default <R> R accept(ExpressionVisitor<R> visitor) {
+            return visitor.visit(this);
+        }
+    }
+
+    @Immutable
+    interface Or extends Expression {
+        Expression getLeft();
+
+        Expression getRight();
+
+        @Override
+        default boolean test(Object object) {
+            return getLeft().test(object) || getRight().test(object);
+        }
+
+        @Override
+        default Expression assign(Map<Atom, Boolean> values) {
+            Expression left = getLeft().assign(values);
+            Expression right = getRight().assign(values);
+            return left == getLeft() && right == getRight() ? this : Expression.or(left, right);
+        }
+
+        @Override
+        default <R> R accept(ExpressionVisitor<R> visitor) {
+            return visitor.visit(this);
+        }
+    }
+
+    @Immutable
+    interface Not extends Expression {
+        Expression getOperand();
+
+        @Override
+        default boolean test(Object object) {
+            return !getOperand().test(object);
+        }
+
+        @Override
+        default Expression assign(Map<Atom, Boolean> values) {
+            Expression operand = getOperand().assign(values);
+            return operand == getOperand() ? this : Expression.not(operand);
+        }
+
+        @Override
+        default <R> R accept(ExpressionVisitor<R> visitor) {
+            return visitor.visit(this);
+        }
+    }
+
+    @Immutable
+    interface Test extends Expression {
+        Atom getAtom();
+
+        @Override
+        default boolean test(Object object) {
+            return getAtom().test(object);
+        }
+
+        @Override
+        default Expression assign(Map<Atom, Boolean> values) {
+            Boolean value = values.get(getAtom());
+            return value == null ? this : Expression.constant(value);
+        }
+
+        @Override
+        default <R> R accept(ExpressionVisitor<R> visitor) {
+            return visitor.visit(this);
+        }
+    }
+
+    @Immutable
+    interface Constant extends Expression {
+        boolean isValue();
+
+        @Override
+        default boolean test(Object object) {
+            return isValue();
+        }
+
+        @Override
+        default Expression assign(Map<Atom, Boolean> values) {
+            return this;
+        }
+
+        @Override
+        default <R> R accept(ExpressionVisitor<R> visitor) {
+            return visitor.visit(this);
+        }
+    }
+}
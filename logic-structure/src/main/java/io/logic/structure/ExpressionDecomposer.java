@@ -0,0 +1,71 @@
+package io.logic.structure;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of {@link StructureVisitor} which converts a {@link LogicPredicate} into an {@link Expression},
+ * accumulating the member path from the root model as member predicates are visited.
+ *
+ * @param <T> the type of the input to the visited predicate
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class ExpressionDecomposer<T> implements StructureVisitor<T, Expression> {
+    private final List<String> path;
+    private final List<Function<?, ?>> accessors;
+
+    private ExpressionDecomposer(List<String> path, List<Function<?, ?>> accessors) {
+        this.path = path;
+        this.accessors = accessors;
+    }
+
+    /**
+     * Decomposes the predicate found at the specified member path into an {@link Expression}.
+     *
+     * @param predicate the predicate to decompose
+     * @param path      the member path leading to the predicate
+     * @param accessors the member accessors leading to the predicate
+     * @param <T>       the type of the input to the predicate
+     * @return a new {@link Expression} that represents the predicate
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Expression decompose(Predicate<T> predicate, List<String> path, List<Function<?, ?>> accessors) {
+        if (predicate instanceof LogicPredicate) {
+            return ((LogicPredicate<T>) predicate).decompose(new ExpressionDecomposer<>(path, accessors));
+        }
+        return Expression.test(Atom.of(path, accessors, predicate, "", ImmutableMap.of()));
+    }
+
+    @Override
+    public Expression visitAnd(LogicPredicate<T> left, LogicPredicate<T> right) {
+        return Expression.and(left.decompose(this), right.decompose(this));
+    }
+
+    @Override
+    public Expression visitOr(LogicPredicate<T> left, LogicPredicate<T> right) {
+        return Expression.or(left.decompose(this), right.decompose(this));
+    }
+
+    @Override
+    public Expression visitNot(LogicPredicate<T> predicate) {
+        return Expression.not(predicate.decompose(this));
+    }
+
+    @Override
+    public <V> Expression visitMember(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate) {
+        return decompose(predicate,
+                ImmutableList.<String>builder().addAll(path).add(name).build(),
+                ImmutableList.<Function<?, ?>>builder().addAll(accessors).add(accessor).build());
+    }
+
+    @Override
+    public Expression visitMixin(String name, Map<String, Object> parameters, LogicPredicate<T> mixin) {
+        return Expression.test(Atom.of(path, accessors, mixin, name, parameters));
+    }
+}
@@ -0,0 +1,51 @@
+package io.logic.structure;
+
+/**
+ * A representation of a <a href="https://en.wikipedia.org/wiki/Visitor_pattern">visitor</a> to the {@link Expression}
+ * class hierarchy.
+ *
+ * @param <R> the type of value returned from visiting an implementation class
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface ExpressionVisitor<R> {
+    /**
+     * Visits the conjunction implementation of {@link Expression}.
+     *
+     * @param and the expression to visit
+     * @return the value after visiting the expression
+     */
+    R visit(Expression.And and);
+
+    /**
+     * Visits the disjunction implementation of {@link Expression}.
+     *
+     * @param or the expression to visit
+     * @return the value after visiting the expression
+     */
+    R visit(Expression.Or or);
+
+    /**
+     * Visits the negation implementation of {@link Expression}.
+     *
+     * @param not the expression to visit
+     * @return the value after visiting the expression
+     */
+    R visit(Expression.Not not);
+
+    /**
+     * Visits the atom test implementation of {@link Expression}.
+     *
+     * @param test the expression to visit
+     * @return the value after visiting the expression
+     */
+    R visit(Expression.Test test);
+
+    /**
+     * Visits the constant implementation of {@link Expression}.
+     *
+     * @param constant the expression to visit
+     * @return the value after visiting the expression
+     */
+    R visit(Expression.Constant constant);
+}
@@ -0,0 +1,467 @@
+package io.logic.structure;
+
+import com.google.common.hash.HashCode;
+import com.google.gson.annotations.JsonAdapter;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A 128-bit structural fingerprint of a value, which is stable across JVMs, processes and releases.
+ * <p>
+ * A fingerprint is the 128-bit MurmurHash3 (x64 variant, seed zero) of a sequence of 64-bit words, which encode the
+ * fingerprint of a type name followed by the attributes of the value. Every word is hashed as its eight little-endian
+ * bytes, and each attribute is preceded by a word which tags its kind, so attributes of different kinds never encode
+ * the same words. The hash state after the type name is cached per type, and the words of the attributes are mixed
+ * into the hash as they are added without any intermediate buffer, so the fingerprint of a predicate costs a handful
+ * of multiplications per attribute.
+ * <p>
+ * Attributes are hashed by their content, rather than by {@link Object#hashCode()}, for every type whose content is
+ * well known:
+ * <ul>
+ * <li>primitives and their boxes, with floating point values hashed by their canonical bits</li>
+ * <li>strings (and any {@link CharSequence}) by their characters</li>
+ * <li>enums by their declaring class and name</li>
+ * <li>{@link Pattern} by its pattern and flags</li>
+ * <li>arrays, {@link java.util.List} and every other {@link Collection} by their elements, in order</li>
+ * <li>{@link Set} and {@link Map} by their elements, in any order</li>
+ * <li>{@link Optional} by its value</li>
+ * <li>{@link Fingerprinted} values by their own fingerprint, which is how nested predicates are hashed in constant
+ * time</li>
+ * </ul>
+ * Every other type is hashed by its class name and {@link Object#hashCode()}, so its fingerprint is only as stable as
+ * its {@link Object#hashCode()} (e.g. a {@link java.math.BigDecimal} is stable, while a type without its own
+ * {@link Object#hashCode()} is not even stable within a single JVM). Such types should implement {@link Fingerprinted}.
+ * <p>
+ * Equal values always have equal fingerprints. Fingerprints of unequal values collide with negligible probability, so
+ * a fingerprint can stand in for a value as a key to deduplicate rules and their results across a cluster, although it
+ * is not a cryptographic hash and must not be trusted with adversarial values. A fingerprint is serialized by Gson as
+ * its hexadecimal string.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@JsonAdapter(FingerprintTypeAdapter.class)
+public final class Fingerprint implements Fingerprinted {
+    private static final long NULL = 0;
+    private static final long BOOLEAN = 1;
+    private static final long CHAR = 2;
+    private static final long LONG = 3;
+    private static final long DOUBLE = 4;
+    private static final long STRING = 5;
+    private static final long ENUM = 6;
+    private static final long PATTERN = 7;
+    private static final long SEQUENCE = 8;
+    private static final long UNORDERED = 9;
+    private static final long OPTIONAL = 10;
+    private static final long FINGERPRINT = 11;
+    private static final long OTHER = 12;
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final int MAX_CACHED_TYPES = 1 << 16;
+    private static final Map<String, Builder> TYPES = new ConcurrentHashMap<>();
+    private final long low;
+    private final long high;
+
+    private Fingerprint(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Creates a new {@link Builder} for the fingerprint of a value of a type.
+     *
+     * @param type the stable name of the type of the value (e.g. the canonical name of a predicate implementation)
+     * @return a new builder
+     */
+    public static Builder builder(String type) {
+        Builder prefix = TYPES.get(Objects.requireNonNull(type, "type"));
+        if (prefix == null) {
+            Builder name = new Builder();
+            name.putString(type);
+            Fingerprint fingerprint = name.build();
+            prefix = new Builder();
+            prefix.putWord(fingerprint.low);
+            prefix.putWord(fingerprint.high);
+            if (TYPES.size() < MAX_CACHED_TYPES) {
+                TYPES.putIfAbsent(type, prefix);
+            }
+        }
+        return new Builder(prefix);
+    }
+
+    /**
+     * Computes the fingerprint of any value, by the rules of {@link Fingerprint}.
+     *
+     * @param value the value to fingerprint, which may be {@code null}
+     * @return the fingerprint of the value
+     */
+    public static Fingerprint of(Object value) {
+        if (value instanceof Fingerprinted) {
+            return ((Fingerprinted) value).getFingerprint();
+        }
+        return new Builder().add(value).build();
+    }
+
+    /**
+     * Parses a fingerprint from the hexadecimal string of {@link #toString()}.
+     *
+     * @param value the hexadecimal string of the fingerprint
+     * @return the fingerprint
+     * @throws IllegalArgumentException if the string is not the hexadecimal string of a fingerprint
+     */
+    public static Fingerprint fromString(String value) {
+        if (value.length() != 32) {
+            throw new IllegalArgumentException("Fingerprint must have 32 hexadecimal digits, but was \"" + value + "\".");
+        }
+        return fromBytes(HashCode.fromString(value).asBytes());
+    }
+
+    /**
+     * Creates a fingerprint from the bytes of {@link #toBytes()}.
+     *
+     * @param bytes the 16 bytes of the fingerprint
+     * @return the fingerprint
+     * @throws IllegalArgumentException if the array is not 16 bytes
+     */
+    public static Fingerprint fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Fingerprint must have 16 bytes, but was " + bytes.length + ".");
+        }
+        return new Fingerprint(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    /**
+     * Represents this fingerprint, so a fingerprint can be added as an attribute of another fingerprint as is.
+     *
+     * @return {@code this} fingerprint
+     */
+    @Override
+    public Fingerprint getFingerprint() {
+        return this;
+    }
+
+    /**
+     * Represents the low 64 bits of the fingerprint, which are the first eight bytes of {@link #toBytes()} in
+     * little-endian order.
+     *
+     * @return the low 64 bits
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Represents the high 64 bits of the fingerprint, which are the last eight bytes of {@link #toBytes()} in
+     * little-endian order.
+     *
+     * @return the high 64 bits
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Represents the fingerprint as 64 bits, for when a narrower key is sufficient.
+     *
+     * @return the low 64 bits
+     */
+    public long asLong() {
+        return low;
+    }
+
+    /**
+     * Represents the fingerprint as its 16 bytes.
+     *
+     * @return a new array of the bytes of the fingerprint
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[16];
+        writeLong(bytes, 0, low);
+        writeLong(bytes, 8, high);
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Fingerprint)) {
+            return false;
+        }
+        Fingerprint other = (Fingerprint) o;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) low;
+    }
+
+    /**
+     * Represents the fingerprint as the lowercase hexadecimal string of its 16 bytes.
+     *
+     * @return the hexadecimal string of the fingerprint
+     */
+    @Override
+    public String toString() {
+        return HashCode.fromBytes(toBytes()).toString();
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = value << 8 | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 0; i < 8; i++, value >>>= 8) {
+            bytes[offset + i] = (byte) value;
+        }
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * A builder of the {@link Fingerprint} of a value, which hashes the attributes of the value in the order they are
+     * added.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder {
+        private long h1;
+        private long h2;
+        private long pending;
+        private int words;
+
+        private Builder() {
+        }
+
+        private Builder(Builder prefix) {
+            this.h1 = prefix.h1;
+            this.h2 = prefix.h2;
+            this.pending = prefix.pending;
+            this.words = prefix.words;
+        }
+
+        /**
+         * Adds a boolean attribute.
+         *
+         * @param value the value of the attribute
+         * @return {@code this} builder
+         */
+        public Builder add(boolean value) {
+            putWord(BOOLEAN);
+            putWord(value ? 1 : 0);
+            return this;
+        }
+
+        /**
+         * Adds a char attribute.
+         *
+         * @param value the value of the attribute
+         * @return {@code this} builder
+         */
+        public Builder add(char value) {
+            putWord(CHAR);
+            putWord(value);
+            return this;
+        }
+
+        /**
+         * Adds an integral attribute (a byte, short, int or long).
+         *
+         * @param value the value of the attribute
+         * @return {@code this} builder
+         */
+        public Builder add(long value) {
+            putWord(LONG);
+            putWord(value);
+            return this;
+        }
+
+        /**
+         * Adds a floating point attribute (a float or double), by its canonical bits.
+         *
+         * @param value the value of the attribute
+         * @return {@code this} builder
+         */
+        public Builder add(double value) {
+            putWord(DOUBLE);
+            putWord(Double.doubleToLongBits(value));
+            return this;
+        }
+
+        /**
+         * Adds an attribute of any type, by the rules of {@link Fingerprint}.
+         *
+         * @param value the value of the attribute, which may be {@code null}
+         * @return {@code this} builder
+         */
+        public Builder add(Object value) {
+            if (value == null) {
+                putWord(NULL);
+            } else if (value instanceof Fingerprinted) {
+                Fingerprint fingerprint = ((Fingerprinted) value).getFingerprint();
+                putWord(FINGERPRINT);
+                putWord(fingerprint.low);
+                putWord(fingerprint.high);
+            } else if (value instanceof Boolean) {
+                add((boolean) (Boolean) value);
+            } else if (value instanceof Character) {
+                add((char) (Character) value);
+            } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+                add(((Number) value).longValue());
+            } else if (value instanceof Float || value instanceof Double) {
+                add(((Number) value).doubleValue());
+            } else if (value instanceof CharSequence) {
+                putWord(STRING);
+                putString((CharSequence) value);
+            } else if (value instanceof Enum) {
+                putWord(ENUM);
+                putString(((Enum<?>) value).getDeclaringClass().getName());
+                putString(((Enum<?>) value).name());
+            } else if (value instanceof Pattern) {
+                putWord(PATTERN);
+                putString(((Pattern) value).pattern());
+                putWord(((Pattern) value).flags());
+            } else if (value instanceof Optional) {
+                putWord(OPTIONAL);
+                add(((Optional<?>) value).orElse(null));
+            } else if (value instanceof Set) {
+                putUnordered((Set<?>) value);
+            } else if (value instanceof Map) {
+                putUnordered(((Map<?, ?>) value).entrySet());
+            } else if (value instanceof Map.Entry) {
+                putWord(SEQUENCE);
+                putWord(2);
+                add(((Map.Entry<?, ?>) value).getKey());
+                add(((Map.Entry<?, ?>) value).getValue());
+            } else if (value instanceof Collection) {
+                putWord(SEQUENCE);
+                putWord(((Collection<?>) value).size());
+                for (Object element : (Collection<?>) value) {
+                    add(element);
+                }
+            } else if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+                putWord(SEQUENCE);
+                putWord(bytes.length);
+                for (int i = 0; i < bytes.length; i += 8) {
+                    long word = 0;
+                    for (int j = Math.min(bytes.length - i, 8) - 1; j >= 0; j--) {
+                        word = word << 8 | (bytes[i + j] & 0xFFL);
+                    }
+                    putWord(word);
+                }
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                putWord(SEQUENCE);
+                putWord(length);
+                for (int i = 0; i < length; i++) {
+                    add(Array.get(value, i));
+                }
+            } else {
+                putWord(OTHER);
+                putString(value.getClass().getName());
+                putWord(value.hashCode());
+            }
+            return this;
+        }
+
+        /**
+         * Computes the fingerprint of the attributes added.
+         *
+         * @return the fingerprint
+         */
+        public Fingerprint build() {
+            long h1 = this.h1;
+            long h2 = this.h2;
+            if ((words & 1) != 0) {
+                long k1 = pending;
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= C2;
+                h1 ^= k1;
+            }
+            long length = (long) words << 3;
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = mix(h1);
+            h2 = mix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new Fingerprint(h1, h2);
+        }
+
+        private void putUnordered(Collection<?> elements) {
+            //the sum of the fingerprints of the elements is independent of the iteration order of the elements
+            long low = 0;
+            long high = 0;
+            for (Object element : elements) {
+                Fingerprint fingerprint = new Builder().add(element).build();
+                low += fingerprint.low;
+                high += fingerprint.high;
+            }
+            putWord(UNORDERED);
+            putWord(elements.size());
+            putWord(low);
+            putWord(high);
+        }
+
+        private void putString(CharSequence value) {
+            //four characters to a word
+            int length = value.length();
+            putWord(length);
+            for (int i = 0; i < length; i += 4) {
+                long word = 0;
+                for (int j = Math.min(length - i, 4) - 1; j >= 0; j--) {
+                    word = word << 16 | value.charAt(i + j);
+                }
+                putWord(word);
+            }
+        }
+
+        private void putWord(long word) {
+            if ((words++ & 1) == 0) {
+                pending = word;
+                return;
+            }
+            long k1 = pending;
+            long k2 = word;
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+    }
+}
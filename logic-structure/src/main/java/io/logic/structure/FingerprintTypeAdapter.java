@@ -0,0 +1,42 @@
+package io.logic.structure;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * A {@link TypeAdapter} which serializes a {@link Fingerprint} as its hexadecimal string.
+ * <p>
+ * {@code "4b1f9a0c2d..."}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class FingerprintTypeAdapter extends TypeAdapter<Fingerprint> {
+    @Override
+    public void write(JsonWriter out, Fingerprint value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.toString());
+    }
+
+    @Override
+    public Fingerprint read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String value = in.nextString();
+        try {
+            return Fingerprint.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Malformed fingerprint \"" + value + "\".", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.logic.structure;
+
+/**
+ * A value which carries a structural {@link Fingerprint} of itself.
+ * <p>
+ * Every generated logic predicate is {@link Fingerprinted}, and computes its fingerprint from the fingerprints of its
+ * attributes once it is first requested, so a predicate nested within another predicate contributes its fingerprint
+ * without being traversed again, and a predicate whose fingerprint is never requested never pays for it.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface Fingerprinted {
+    /**
+     * Represents the structural fingerprint of this value.
+     *
+     * @return the fingerprint of this value
+     */
+    Fingerprint getFingerprint();
+}
@@ -0,0 +1,59 @@
+package io.logic.structure;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Conversions of the parameters of an {@link Atom} on an integral member to the {@code long} operands of a compiled
+ * comparison, shared by the compilers of the off-heap column and record filters.
+ * <p>
+ * {@code byte}, {@code short}, {@code int} and {@code long} values convert to their value, {@code char} values to their
+ * code unit, and {@code boolean} values to {@code 1} or {@code 0}. Any other value has no operand, and the atom must
+ * then be tested on the decoded value instead.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class IntegralOperands {
+    private IntegralOperands() {
+    }
+
+    /**
+     * Converts the parameter value to its integral operand.
+     *
+     * @param value the parameter value
+     * @return the operand, or {@code null} if the value is not integral
+     */
+    public static Long toLong(Object value) {
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Character) {
+            return (long) (Character) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1L : 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Converts the parameter values to their integral operands, sorted for {@link Arrays#binarySearch(long[], long)}.
+     *
+     * @param values the parameter values
+     * @return the sorted operands, or {@code null} if any value is not integral
+     */
+    public static long[] toLongs(Collection<?> values) {
+        long[] longs = new long[values.size()];
+        int i = 0;
+        for (Object value : values) {
+            Long operand = toLong(value);
+            if (operand == null) {
+                return null;
+            }
+            longs[i++] = operand;
+        }
+        Arrays.sort(longs);
+        return longs;
+    }
+}
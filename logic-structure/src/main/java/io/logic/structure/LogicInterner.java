@@ -0,0 +1,71 @@
+package io.logic.structure;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * An opt-in, process-wide pool of canonical predicate instances (hash-consing).
+ * <p>
+ * Every generated predicate implementation passes through {@link LogicInterner#intern(Object)} when it is constructed,
+ * whether by a factory method (e.g. {@code whenMake(...)}, {@code isEqualTo(...)}, {@code and(...)}), a builder, or
+ * deserialization with Gson or {@link io.logic.codec.BinaryCodecs}. While the pool is disabled, which is the default,
+ * a predicate is returned as is. Once {@link LogicInterner#enable()} is called, a predicate equal to one which is still
+ * in use is replaced by the instance in use, so equal predicates share memory and comparing them with
+ * {@link Object#equals(Object)} is a reference check in the common case. Since operands are interned before the
+ * predicates which use them, interning a predicate compares its operands by reference, so it costs a lookup of its
+ * precomputed hash code regardless of the size of the tree.
+ * <p>
+ * The pool only holds weak references to its instances, so a predicate which is no longer referenced outside of the
+ * pool is still garbage collected. {@link LogicInterner} is thread-safe.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class LogicInterner {
+    private static volatile Interner<Object> interner;
+
+    private LogicInterner() {
+    }
+
+    /**
+     * Enables the pool, so every predicate constructed from now on is canonical. Enabling an enabled pool has no
+     * effect.
+     */
+    public static synchronized void enable() {
+        if (interner == null) {
+            interner = Interners.newWeakInterner();
+        }
+    }
+
+    /**
+     * Disables the pool and releases its instances, so every predicate constructed from now on is returned as is.
+     */
+    public static synchronized void disable() {
+        interner = null;
+    }
+
+    /**
+     * Determines whether the pool is enabled.
+     *
+     * @return {@code true} if predicates are interned
+     */
+    public static boolean isEnabled() {
+        return interner != null;
+    }
+
+    /**
+     * Returns the canonical instance of the value while the pool is enabled, or the value as is.
+     * <p>
+     * The value must be immutable, with an {@link Object#equals(Object)} which only holds for instances of its own
+     * class.
+     *
+     * @param value the value to intern
+     * @param <T>   the type of the value
+     * @return the canonical instance equal to the value, which is the value itself if there is none yet
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T intern(T value) {
+        Interner<Object> interner = LogicInterner.interner;
+        return interner == null ? value : (T) interner.intern(value);
+    }
+}
@@ -0,0 +1,45 @@
+package io.logic.structure;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Predicate} which exposes its own structure to generic algorithms.
+ * <p>
+ * Every predicate hierarchy generated with the visitor pattern enabled implements {@link LogicPredicate}, which allows
+ * code that has no compile-time knowledge of the generated types (e.g. rule compilers, indexes, planners) to walk the
+ * predicate tree and discover the {@code And}, {@code Or}, and {@code Not} combinators, member predicates, and mixins
+ * it is composed of.
+ *
+ * @param <T> the type of the input to the predicate
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface LogicPredicate<T> extends Predicate<T> {
+    /**
+     * Accepts a {@link StructureVisitor} to visit the structural component this predicate represents.
+     * <p>
+     * Implementations are responsible for forwarding calls to the respective {@code StructureVisitor#visit*(...)} method
+     * for their kind of predicate, in the same manner as the generated visitor {@code accept(...)} methods.
+     *
+     * @param visitor the visitor to accept
+     * @param <R>     the return type of the visitation
+     * @return the value the visitor produces after visiting this predicate
+     */
+    <R> R decompose(StructureVisitor<T, R> visitor);
+
+    /**
+     * Collects the members this predicate reads, as paths of logic names from the root model (e.g. {@code [Make]}, or
+     * {@code [Engine, Cylinders]} for a member of a nested logic model).
+     * <p>
+     * A mixin, or a member predicate which does not implement {@link LogicPredicate}, reads the whole value at its path
+     * (an empty path is the whole model), and nested paths below it are not listed. Every other member of the model can
+     * be left unloaded when testing the predicate, which allows fetching only the columns a query needs.
+     *
+     * @return the member paths this predicate reads, in left-to-right evaluation order
+     */
+    default Set<List<String>> getReferencedMembers() {
+        return MemberDependencies.of(this);
+    }
+}
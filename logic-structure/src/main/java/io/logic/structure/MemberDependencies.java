@@ -0,0 +1,102 @@
+package io.logic.structure;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of {@link StructureVisitor} which collects the member paths a {@link LogicPredicate} reads,
+ * accumulating the member path from the root model as member predicates are visited.
+ * <p>
+ * A mixin, or a predicate which does not implement {@link LogicPredicate}, reads the whole value at its path, so it
+ * covers every nested member below that path.
+ *
+ * @param <T> the type of the input to the visited predicate
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class MemberDependencies<T> implements StructureVisitor<T, Void> {
+    private final List<String> path;
+    private final Set<List<String>> members;
+
+    private MemberDependencies(List<String> path, Set<List<String>> members) {
+        this.path = path;
+        this.members = members;
+    }
+
+    /**
+     * Collects the member paths the predicate reads, dropping any path which is nested below another path of the set.
+     *
+     * @param predicate the predicate to analyze
+     * @return the member paths the predicate reads, in left-to-right evaluation order
+     */
+    static Set<List<String>> of(Predicate<?> predicate) {
+        Set<List<String>> members = new LinkedHashSet<>();
+        collect(predicate, ImmutableList.of(), members);
+        List<List<String>> shortestFirst = new ArrayList<>(members);
+        shortestFirst.sort(Comparator.comparingInt(List::size));
+        Set<List<String>> covered = new LinkedHashSet<>();
+        for (List<String> member : shortestFirst) {
+            if (covered.stream().noneMatch(prefix -> isPrefix(prefix, member))) {
+                covered.add(member);
+            }
+        }
+        //a path takes the place of the first path it covers, so it is listed when it is first read
+        return members.stream()
+                .map(member -> covered.stream().filter(prefix -> isPrefix(prefix, member)).findFirst().get())
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> path) {
+        return prefix.size() <= path.size() && path.subList(0, prefix.size()).equals(prefix);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void collect(Predicate<T> predicate, List<String> path, Set<List<String>> members) {
+        if (predicate instanceof LogicPredicate) {
+            ((LogicPredicate<T>) predicate).decompose(new MemberDependencies<>(path, members));
+        } else {
+            members.add(path);
+        }
+    }
+
+    @Override
+    public Void visitAnd(LogicPredicate<T> left, LogicPredicate<T> right) {
+        left.decompose(this);
+        right.decompose(this);
+        return null;
+    }
+
+    @Override
+    public Void visitOr(LogicPredicate<T> left, LogicPredicate<T> right) {
+        left.decompose(this);
+        right.decompose(this);
+        return null;
+    }
+
+    @Override
+    public Void visitNot(LogicPredicate<T> predicate) {
+        predicate.decompose(this);
+        return null;
+    }
+
+    @Override
+    public <V> Void visitMember(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate) {
+        collect(predicate, ImmutableList.<String>builder().addAll(path).add(name).build(), members);
+        return null;
+    }
+
+    @Override
+    public Void visitMixin(String name, Map<String, Object> parameters, LogicPredicate<T> mixin) {
+        members.add(path);
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package io.logic.structure;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A representation of a <a href="https://en.wikipedia.org/wiki/Visitor_pattern">visitor</a> to the structure of any
+ * {@link LogicPredicate}.
+ * <p>
+ * Unlike the generated {@code *Visitor} interfaces, which have a {@code visit} method for every nested predicate class of
+ * a single predicate hierarchy, {@link StructureVisitor} collapses every predicate hierarchy into the same five kinds of
+ * predicates so the same algorithm can be applied to the predicates of any logic model.
+ *
+ * @param <T> the type of the input to the visited predicate
+ * @param <R> the type of value returned from visiting a predicate
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface StructureVisitor<T, R> {
+    /**
+     * Visits the {@code And} predicate of a predicate hierarchy.
+     *
+     * @param left  the left operand of the conjunction
+     * @param right the right operand of the conjunction
+     * @return the value after visiting the predicate
+     */
+    R visitAnd(LogicPredicate<T> left, LogicPredicate<T> right);
+
+    /**
+     * Visits the {@code Or} predicate of a predicate hierarchy.
+     *
+     * @param left  the left operand of the disjunction
+     * @param right the right operand of the disjunction
+     * @return the value after visiting the predicate
+     */
+    R visitOr(LogicPredicate<T> left, LogicPredicate<T> right);
+
+    /**
+     * Visits the {@code Not} predicate of a predicate hierarchy.
+     *
+     * @param predicate the negated predicate
+     * @return the value after visiting the predicate
+     */
+    R visitNot(LogicPredicate<T> predicate);
+
+    /**
+     * Visits a member predicate (a field or method of the model) of a predicate hierarchy.
+     * <p>
+     * The member predicate is logically equivalent to {@code predicate.test(accessor.apply(t))}. The member predicate
+     * will implement {@link LogicPredicate} as long as the predicate hierarchy of the member type has the visitor
+     * pattern enabled.
+     *
+     * @param name      the logic name of the member (the member predicate class name)
+     * @param accessor  the function that reads the member from an instance of the model
+     * @param predicate the predicate tested against the member value
+     * @param <V>       the type of the member value
+     * @return the value after visiting the predicate
+     */
+    <V> R visitMember(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate);
+
+    /**
+     * Visits a mixin predicate of a predicate hierarchy, including the standard {@code Equals}, {@code NotEquals},
+     * {@code IdentityEquals}, {@code IdentityNotEquals}, and {@code HashCode} predicates.
+     *
+     * @param name       the name of the mixin (the mixin predicate class name)
+     * @param parameters the parameter values of the mixin, keyed by parameter name
+     * @param mixin      the mixin predicate itself
+     * @return the value after visiting the predicate
+     */
+    R visitMixin(String name, Map<String, Object> parameters, LogicPredicate<T> mixin);
+}
@@ -0,0 +1,179 @@
+package io.logic.codec;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryCodecsTest {
+    private final BinaryCodecs codecs = BinaryCodecs.builder().build();
+
+    @Test
+    public void primitivesRoundTrip() {
+        assertRoundTrip(Boolean.class, true, false);
+        assertRoundTrip(Byte.class, Byte.MIN_VALUE, (byte) 0, Byte.MAX_VALUE);
+        assertRoundTrip(Short.class, Short.MIN_VALUE, (short) -1, Short.MAX_VALUE);
+        assertRoundTrip(Character.class, '\0', 'é', '￿');
+        assertRoundTrip(Integer.class, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE);
+        assertRoundTrip(Long.class, Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE);
+        assertRoundTrip(Float.class, Float.NaN, Float.NEGATIVE_INFINITY, -0.0f, Float.MIN_VALUE, Float.MAX_VALUE);
+        assertRoundTrip(Double.class, Double.NaN, Double.POSITIVE_INFINITY, -0.0, Double.MIN_VALUE, Double.MAX_VALUE);
+        assertEquals(42, (int) codecs.decode(int.class, codecs.encode(int.class, 42)));
+    }
+
+    @Test
+    public void stringsRoundTrip() {
+        assertRoundTrip(String.class, "", "Ford", "quote \" and é", "🚗");
+        assertEquals("Ford", codecs.decode(CharSequence.class, codecs.encode(CharSequence.class, new StringBuilder("Ford"))));
+    }
+
+    @Test
+    public void repeatedStringsAreWrittenOnce() {
+        BinaryCodec<List<String>> codec = codecs.get(new TypeToken<List<String>>() {});
+        List<String> repeated = Collections.nCopies(100, "a string which is repeated");
+        BinaryWriter out = new BinaryWriter();
+        codec.write(out, repeated);
+        assertTrue(out.size() < 2 * 100 + "a string which is repeated".length() + 2);
+        assertEquals(repeated, codec.read(new BinaryReader(out.toByteArray())));
+    }
+
+    @Test
+    public void patternsKeepTheirFlags() {
+        Pattern pattern = Pattern.compile("^M.*", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        Pattern decoded = codecs.decode(Pattern.class, codecs.encode(Pattern.class, pattern));
+        assertEquals(pattern.pattern(), decoded.pattern());
+        assertEquals(pattern.flags(), decoded.flags());
+    }
+
+    @Test
+    public void enumsRoundTripByName() {
+        assertRoundTrip(RetentionPolicy.class, RetentionPolicy.values());
+    }
+
+    @Test
+    public void arraysRoundTrip() {
+        assertArrayEquals(new byte[]{-1, 0, 1}, codecs.decode(byte[].class, codecs.encode(byte[].class, new byte[]{-1, 0, 1})));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 0, 7}, codecs.decode(int[].class, codecs.encode(int[].class, new int[]{Integer.MIN_VALUE, 0, 7})));
+        assertArrayEquals(new char[]{'a', '￿'}, codecs.decode(char[].class, codecs.encode(char[].class, new char[]{'a', '￿'})));
+        assertArrayEquals(new String[]{"a", "b", "a"}, codecs.decode(String[].class, codecs.encode(String[].class, new String[]{"a", "b", "a"})));
+    }
+
+    @Test
+    public void collectionsKeepTheirOrder() {
+        BinaryCodec<Set<String>> sets = codecs.get(new TypeToken<Set<String>>() {});
+        BinaryWriter out = new BinaryWriter();
+        sets.write(out, ImmutableSet.of("z", "a", "m"));
+        assertEquals(Arrays.asList("z", "a", "m"), new ArrayList<>(sets.read(new BinaryReader(out.toByteArray()))));
+        BinaryCodec<List<Integer>> lists = codecs.get(new TypeToken<List<Integer>>() {});
+        out.reset();
+        lists.write(out, ImmutableList.of(3, 1, 3));
+        assertEquals(Arrays.asList(3, 1, 3), lists.read(new BinaryReader(out.toByteArray())));
+    }
+
+    @Test
+    public void registeredCodecsTakePrecedence() {
+        BinaryCodecs codecs = BinaryCodecs.builder()
+                .addCodec(String.class, BinaryCodec.of((out, value) -> out.writeString(value.toUpperCase()), BinaryReader::readString))
+                .build();
+        assertEquals("FORD", codecs.decode(String.class, codecs.encode(String.class, "Ford")));
+    }
+
+    @Test
+    public void codecsResolveTheirOwnType() {
+        BinaryCodecs codecs = BinaryCodecs.builder().addFactory(new NodeCodecFactory()).build();
+        Node tree = new Node("root", Arrays.asList(new Node("left", Collections.emptyList()),
+                new Node("right", Collections.singletonList(new Node("leaf", Collections.emptyList())))));
+        assertEquals(tree, codecs.decode(Node.class, codecs.encode(Node.class, tree)));
+    }
+
+    @Test
+    public void unregisteredTypesFailWhenUsed() {
+        BinaryCodec<Object> codec = codecs.get(Object.class);
+        try {
+            codec.write(new BinaryWriter(), new Object());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("No binary codec is registered for java.lang.Object.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void trailingBytesAreRejected() {
+        byte[] message = codecs.encode(Integer.class, 42);
+        byte[] padded = Arrays.copyOf(message, message.length + 1);
+        try {
+            codecs.decode(Integer.class, padded);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unexpected 1 bytes after the end of the message.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void truncatedMessagesAreRejected() {
+        byte[] message = codecs.encode(String[].class, new String[]{"Ford", "Chevy"});
+        for (int length = 0; length < message.length; length++) {
+            try {
+                codecs.decode(String[].class, Arrays.copyOf(message, length));
+                fail("Truncated to " + length + " bytes.");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @SafeVarargs
+    private final <T> void assertRoundTrip(Class<T> type, T... values) {
+        for (T value : values) {
+            assertEquals(value, codecs.decode(type, codecs.encode(type, value)));
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final List<Node> children;
+
+        private Node(String name, List<Node> children) {
+            this.name = name;
+            this.children = children;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node && name.equals(((Node) o).name) && children.equals(((Node) o).children);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + children.hashCode();
+        }
+    }
+
+    private static final class NodeCodecFactory implements BinaryCodecFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> BinaryCodec<T> create(BinaryCodecs codecs, Type type) {
+            if (type != Node.class) {
+                return null;
+            }
+            BinaryCodec<List<Node>> children = codecs.get(new TypeToken<List<Node>>() {});
+            return (BinaryCodec<T>) BinaryCodec.<Node>of((out, value) -> {
+                out.writeString(value.name);
+                children.write(out, value.children);
+            }, in -> new Node(in.readString(), children.read(in)));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.logic.index;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedBitmapTest {
+    private static final int CHUNK = 1 << 16;
+
+    @Test
+    public void containsTheAddedIds() {
+        Random random = new Random(1);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(4 * CHUNK);
+            bitmap.add(id);
+            expected.set(id);
+        }
+        assertBitmap(expected, bitmap);
+        for (int i = 0; i < 10_000; i++) {
+            int id = random.nextInt(4 * CHUNK);
+            bitmap.remove(id);
+            expected.clear(id);
+        }
+        assertBitmap(expected, bitmap);
+    }
+
+    @Test
+    public void chunksSwitchBetweenContainers() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        //past the array container limit into a bitmap container, and back down by removal
+        for (int id = 0; id < 10_000; id += 2) {
+            bitmap.add(id);
+            expected.set(id);
+        }
+        assertBitmap(expected, bitmap);
+        for (int id = 0; id < 9_000; id += 2) {
+            bitmap.remove(id);
+            expected.clear(id);
+        }
+        assertBitmap(expected, bitmap);
+        //consecutive ids become runs once optimized
+        for (int id = CHUNK; id < 3 * CHUNK; id++) {
+            bitmap.add(id);
+            expected.set(id);
+        }
+        bitmap.optimize();
+        assertBitmap(expected, bitmap);
+        bitmap.remove(CHUNK + 5);
+        bitmap.add(3 * CHUNK - 1);
+        bitmap.add(3 * CHUNK);
+        expected.clear(CHUNK + 5);
+        expected.set(3 * CHUNK);
+        assertBitmap(expected, bitmap);
+    }
+
+    @Test
+    public void removingTheLastIdOfAChunkDropsIt() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(5);
+        bitmap.add(CHUNK + 5);
+        bitmap.remove(5);
+        bitmap.remove(CHUNK + 5);
+        assertTrue(bitmap.isEmpty());
+        bitmap.add(7);
+        bitmap.clear();
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(7));
+    }
+
+    @Test
+    public void setOperationsMatchBitSets() {
+        Random random = new Random(1);
+        for (int round = 0; round < 30; round++) {
+            BitSet left = randomIds(random);
+            BitSet right = randomIds(random);
+            CompressedBitmap leftBitmap = bitmap(left, random.nextBoolean());
+            CompressedBitmap rightBitmap = bitmap(right, random.nextBoolean());
+            BitSet and = (BitSet) left.clone();
+            and.and(right);
+            BitSet or = (BitSet) left.clone();
+            or.or(right);
+            BitSet andNot = (BitSet) left.clone();
+            andNot.andNot(right);
+            assertBitmap(and, leftBitmap.and(rightBitmap));
+            assertBitmap(or, leftBitmap.or(rightBitmap));
+            assertBitmap(andNot, leftBitmap.andNot(rightBitmap));
+            assertBitmap(left, leftBitmap);
+            assertBitmap(right, rightBitmap);
+        }
+    }
+
+    @Test
+    public void unionMatchesPairwiseOr() {
+        Random random = new Random(1);
+        for (int count = 0; count < 6; count++) {
+            List<CompressedBitmap> bitmaps = new ArrayList<>();
+            BitSet expected = new BitSet();
+            for (int i = 0; i < count; i++) {
+                BitSet ids = randomIds(random);
+                bitmaps.add(bitmap(ids, random.nextBoolean()));
+                expected.or(ids);
+            }
+            assertBitmap(expected, CompressedBitmap.union(bitmaps));
+        }
+        assertTrue(CompressedBitmap.union(Arrays.asList(new CompressedBitmap(), new CompressedBitmap(), new CompressedBitmap())).isEmpty());
+    }
+
+    /**
+     * Creates ids spread over a few chunks, each chunk sparse, dense or made of runs.
+     */
+    private static BitSet randomIds(Random random) {
+        BitSet ids = new BitSet();
+        for (int chunk = 0; chunk < 4; chunk++) {
+            int base = chunk * CHUNK;
+            switch (random.nextInt(4)) {
+                case 0:
+                    for (int i = random.nextInt(100); i > 0; i--) {
+                        ids.set(base + random.nextInt(CHUNK));
+                    }
+                    break;
+                case 1:
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.set(base + random.nextInt(CHUNK));
+                    }
+                    break;
+                case 2:
+                    for (int i = random.nextInt(20); i > 0; i--) {
+                        int start = base + random.nextInt(CHUNK - 1_000);
+                        ids.set(start, start + random.nextInt(1_000));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return ids;
+    }
+
+    private static CompressedBitmap bitmap(BitSet ids, boolean optimize) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        ids.stream().forEach(bitmap::add);
+        if (optimize) {
+            bitmap.optimize();
+        }
+        return bitmap;
+    }
+
+    private static void assertBitmap(BitSet expected, CompressedBitmap bitmap) {
+        BitSet actual = new BitSet();
+        List<Integer> order = new ArrayList<>();
+        bitmap.forEach(id -> {
+            actual.set(id);
+            order.add(id);
+        });
+        assertEquals(expected, actual);
+        assertEquals(expected.cardinality(), order.size());
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(order.get(i - 1) < order.get(i));
+        }
+        assertEquals(expected.cardinality(), bitmap.cardinality());
+        assertEquals(expected.isEmpty(), bitmap.isEmpty());
+        for (int id = expected.nextSetBit(0); id >= 0; id = expected.nextSetBit(id + 1)) {
+            assertTrue(bitmap.contains(id));
+        }
+        for (int id = expected.nextClearBit(0); id < 5 * CHUNK; id = expected.nextClearBit(id + 1)) {
+            assertFalse(bitmap.contains(id));
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io.logic.index;
+
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.LogicPredicate;
+import io.logic.structure.StructureVisitor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LiveViewTest {
+    private static final Predicate<Task> OPEN = status(equalTo("Open"));
+
+    @Test
+    public void startsWithTheMatchesOfTheIndex() {
+        TaskIndex index = new TaskIndex();
+        Task first = new Task(1, "Open");
+        index.addAll(Arrays.asList(first, new Task(2, "Done")));
+        assertEquals(Collections.singleton(first), index.view(OPEN));
+    }
+
+    @Test
+    public void listenersFollowTheChanges() {
+        TaskIndex index = new TaskIndex();
+        LiveView<Task> view = index.view(OPEN);
+        List<String> events = new ArrayList<>();
+        view.addListener(new Listener(events));
+        Task open = new Task(1, "Open");
+        Task done = new Task(2, "Done");
+        index.add(open);
+        index.add(done);
+        Task reopened = new Task(2, "Open");
+        index.replace(done, reopened);
+        Task renamed = new Task(1, "Open", "renamed");
+        index.replace(open, renamed);
+        Task closed = new Task(1, "Done", "renamed");
+        index.replace(renamed, closed);
+        index.remove(reopened);
+        index.add(open);
+        index.clear();
+        assertEquals(Arrays.asList("enter 1 Open", "enter 2 Open", "update 1 Open -> 1 Open renamed", "leave 1 Open renamed",
+                "leave 2 Open", "enter 1 Open", "leave 1 Open"), events);
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    public void closedViewsKeepTheirMatches() {
+        TaskIndex index = new TaskIndex();
+        Task open = new Task(1, "Open");
+        index.add(open);
+        LiveView<Task> view = index.view(OPEN);
+        List<String> events = new ArrayList<>();
+        view.addListener(new Listener(events));
+        view.close();
+        assertTrue(view.isClosed());
+        index.add(new Task(2, "Open"));
+        index.remove(open);
+        assertEquals(Collections.singleton(open), view);
+        assertEquals(Collections.emptyList(), events);
+        view.close();
+    }
+
+    @Test
+    public void removedListenersAreNotNotified() {
+        TaskIndex index = new TaskIndex();
+        LiveView<Task> view = index.view(OPEN);
+        List<String> events = new ArrayList<>();
+        Listener listener = new Listener(events);
+        view.addListener(listener);
+        view.removeListener(listener);
+        index.add(new Task(1, "Open"));
+        assertEquals(Collections.emptyList(), events);
+        assertEquals(1, view.size());
+    }
+
+    @Test
+    public void viewsAreReadOnly() {
+        TaskIndex index = new TaskIndex();
+        index.add(new Task(1, "Open"));
+        LiveView<Task> view = index.view(OPEN);
+        try {
+            view.add(new Task(2, "Open"));
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            view.iterator().remove();
+            fail();
+        } catch (UnsupportedOperationException | IllegalStateException ignored) {
+        }
+        assertEquals(1, view.size());
+    }
+
+    @Test
+    public void viewsMatchLikeQueryingTheIndex() {
+        Random random = new Random(1);
+        TaskIndex index = new TaskIndex();
+        LiveView<Task> open = index.view(OPEN);
+        LiveView<Task> done = index.view(status(equalTo("Done")));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Task task = new Task(random.nextInt(200), random.nextBoolean() ? "Open" : "Done", Integer.toString(random.nextInt(3)));
+            int operation = random.nextInt(4);
+            if (operation == 0 && !tasks.isEmpty()) {
+                index.remove(tasks.remove(random.nextInt(tasks.size())));
+            } else if (operation == 1 && !tasks.isEmpty()) {
+                int replaced = random.nextInt(tasks.size());
+                if (index.replace(tasks.get(replaced), task)) {
+                    tasks.set(replaced, task);
+                }
+            } else if (index.add(task)) {
+                tasks.add(task);
+            }
+            if (random.nextInt(1_000) == 0) {
+                index.clear();
+                tasks.clear();
+            }
+        }
+        assertEquals(new HashSet<>(index.query(OPEN)), open);
+        assertEquals(index.stream().filter(task -> task.status.equals("Done")).collect(Collectors.toSet()), done);
+        assertFalse(open.isEmpty());
+    }
+
+    private static Predicate<Task> status(Predicate<Object> predicate) {
+        return new Member<>("Status", Task::getStatus, predicate);
+    }
+
+    private static Mixin equalTo(Object value) {
+        return new Mixin("Equals", value, element -> Objects.equals(element, value));
+    }
+
+    private static final class Listener implements LiveView.Listener<Task> {
+        private final List<String> events;
+
+        private Listener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onEnter(Task element) {
+            events.add("enter " + element);
+        }
+
+        @Override
+        public void onLeave(Task element) {
+            events.add("leave " + element);
+        }
+
+        @Override
+        public void onUpdate(Task previous, Task current) {
+            events.add("update " + previous + " -> " + current);
+        }
+    }
+
+    private static final class Task {
+        private final int id;
+        private final String status;
+        private final String title;
+
+        private Task(int id, String status) {
+            this(id, status, "");
+        }
+
+        private Task(int id, String status, String title) {
+            this.id = id;
+            this.status = status;
+            this.title = title;
+        }
+
+        private String getStatus() {
+            return status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Task && id == ((Task) o).id && status.equals(((Task) o).status) && title.equals(((Task) o).title);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, status, title);
+        }
+
+        @Override
+        public String toString() {
+            return (id + " " + status + " " + title).trim();
+        }
+    }
+
+    private static final class TaskIndex extends LogicIndex<Task> {
+        private TaskIndex() {
+            super(Collections.singletonList(IndexedMember.hash("Status", Task::getStatus)));
+        }
+    }
+
+    private static final class Member<T, V> implements LogicPredicate<T> {
+        private final String name;
+        private final Function<? super T, ? extends V> accessor;
+        private final Predicate<V> predicate;
+
+        private Member(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate) {
+            this.name = name;
+            this.accessor = accessor;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitMember(name, accessor, predicate);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return predicate.test(accessor.apply(t));
+        }
+    }
+
+    private static final class Mixin implements LogicPredicate<Object> {
+        private final String name;
+        private final Object value;
+        private final Predicate<Object> predicate;
+
+        private Mixin(String name, Object value, Predicate<Object> predicate) {
+            this.name = name;
+            this.value = value;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<Object, R> visitor) {
+            return visitor.visitMixin(name, ImmutableMap.of("value", value), this);
+        }
+
+        @Override
+        public boolean test(Object o) {
+            return predicate.test(o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Mixin && name.equals(((Mixin) o).name) && value.equals(((Mixin) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, value);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.logic.index;
+
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.LogicPredicate;
+import io.logic.structure.StructureVisitor;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogicIndexTest {
+    private static final BigDecimal ONE = new BigDecimal("1.0");
+    private static final BigDecimal ONE_SCALED = new BigDecimal("1.00");
+    private static final BigDecimal TWO = new BigDecimal("2.0");
+
+    @Test
+    public void sortedEqualsLookupRequiresEqualValues() {
+        ItemIndex index = new ItemIndex();
+        Item one = new Item("a", ONE);
+        index.add(one);
+        assertEquals(Collections.singletonList(one), index.query(price(equalTo(ONE))));
+        assertEquals(Collections.emptyList(), index.query(price(equalTo(ONE_SCALED))));
+        assertEquals(1, index.plan(price(equalTo(ONE_SCALED))).getLookups().size());
+    }
+
+    @Test
+    public void sortedValuesInconsistentWithEqualsAreTestedInsteadOfLookedUp() {
+        ItemIndex index = new ItemIndex();
+        Item one = new Item("a", ONE);
+        Item scaled = new Item("b", ONE_SCALED);
+        Item two = new Item("c", TWO);
+        index.addAll(Arrays.asList(one, scaled, two));
+        assertEquals(Collections.singletonList(scaled), index.query(price(equalTo(ONE_SCALED))));
+        assertEquals(Collections.singletonList(one), index.query(price(equalTo(ONE))));
+        assertTrue(index.plan(price(equalTo(ONE))).getLookups().isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(one, scaled)), new HashSet<>(index.query(price(lessThan(TWO)))));
+        assertEquals(1, index.plan(price(lessThan(TWO))).getLookups().size());
+        index.clear();
+        for (int i = 0; i < 100; i++) {
+            index.add(new Item("item" + i, BigDecimal.valueOf(i)));
+        }
+        assertEquals(1, index.plan(price(equalTo(ONE))).getLookups().size());
+    }
+
+    @Test
+    public void rangeOfAnotherTypeMatchesNothing() {
+        ItemIndex index = new ItemIndex();
+        index.add(new Item("a", ONE));
+        assertEquals(Collections.emptyList(), index.query(price(lessThan("2.0"))));
+    }
+
+    @Test
+    public void equalsOfAnotherTypeMatchesNothing() {
+        ItemIndex index = new ItemIndex();
+        index.add(new Item("a", ONE));
+        assertEquals(Collections.emptyList(), index.query(price(equalTo("1.0"))));
+    }
+
+    @Test
+    public void clearResetsTheStatistics() {
+        ItemIndex index = new ItemIndex();
+        for (int i = 0; i < 100; i++) {
+            index.add(new Item("item" + i, BigDecimal.valueOf(i)));
+        }
+        index.clear();
+        for (int i = 0; i < 10; i++) {
+            index.add(new Item("item" + i, BigDecimal.valueOf(i + 1000)));
+        }
+        MemberStatistics statistics = index.getStatistics().get("Price");
+        assertEquals(10, statistics.getCount());
+        assertEquals(10, statistics.getDistinctCount());
+        assertEquals(0, statistics.estimateRange(null, false, BigDecimal.valueOf(1000), false), 0);
+        assertEquals(1, statistics.estimateRange(BigDecimal.valueOf(1000), true, null, false), 0);
+    }
+
+    private static Predicate<Item> price(Predicate<Object> predicate) {
+        return new Member<>("Price", Item::getPrice, predicate);
+    }
+
+    private static Mixin equalTo(Object value) {
+        return new Mixin("Equals", value, element -> Objects.equals(element, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Mixin lessThan(Comparable<?> value) {
+        return new Mixin("LessThan", value, element -> ((Comparable<Object>) element).compareTo(value) < 0);
+    }
+
+    private static final class Item {
+        private final String name;
+        private final BigDecimal price;
+
+        private Item(String name, BigDecimal price) {
+            this.name = name;
+            this.price = price;
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private BigDecimal getPrice() {
+            return price;
+        }
+    }
+
+    private static final class ItemIndex extends LogicIndex<Item> {
+        private ItemIndex() {
+            super(Arrays.asList(IndexedMember.hash("Name", Item::getName), IndexedMember.sorted("Price", Item::getPrice)));
+        }
+    }
+
+    private static final class Member<T, V> implements LogicPredicate<T> {
+        private final String name;
+        private final Function<? super T, ? extends V> accessor;
+        private final Predicate<V> predicate;
+
+        private Member(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate) {
+            this.name = name;
+            this.accessor = accessor;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitMember(name, accessor, predicate);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return predicate.test(accessor.apply(t));
+        }
+    }
+
+    private static final class Mixin implements LogicPredicate<Object> {
+        private final String name;
+        private final Object value;
+        private final Predicate<Object> predicate;
+
+        private Mixin(String name, Object value, Predicate<Object> predicate) {
+            this.name = name;
+            this.value = value;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<Object, R> visitor) {
+            return visitor.visitMixin(name, ImmutableMap.of("value", value), this);
+        }
+
+        @Override
+        public boolean test(Object o) {
+            return predicate.test(o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Mixin && name.equals(((Mixin) o).name) && value.equals(((Mixin) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, value);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package io.logic.record;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.logic.structure.LogicPredicate;
+import io.logic.structure.StructureVisitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RecordFileTest {
+    private static final String[] SYMBOLS = {"AAPL", "IBM", "MSFT", "GOOG"};
+    private static final String[] VENUES = {"NYSE", "Bórsa", "", "LSE"};
+    private static final RecordLayout LAYOUT = RecordLayout.builder()
+            .setRecordSize(28)
+            .setByteOrder(ByteOrder.LITTLE_ENDIAN)
+            .addFields(RecordLayout.Field.of("Id", 0, 4, RecordLayout.Encoding.INTEGER),
+                    RecordLayout.Field.of("Price", 4, 8, RecordLayout.Encoding.FLOAT),
+                    RecordLayout.Field.of("Active", 12, 1, RecordLayout.Encoding.BOOLEAN),
+                    RecordLayout.Field.of("Symbol", 13, 6, RecordLayout.Encoding.ASCII),
+                    RecordLayout.Field.of("Venue", 19, 8, RecordLayout.Encoding.UTF_8))
+            .build();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsTheMembersOfEachRecord() throws IOException {
+        List<Trade> trades = Arrays.asList(new Trade(7, 1.5, true, "IBM", "Bórsa"), new Trade(-1, Double.NaN, false, "", ""));
+        try (RecordFile<Trade> file = RecordFile.open(write(trades), LAYOUT)) {
+            assertEquals(2, file.size());
+            assertEquals(7, file.get("Id", 0));
+            assertEquals(1.5, file.get("Price", 0));
+            assertEquals(true, file.get("Active", 0));
+            assertEquals("IBM", file.get("Symbol", 0));
+            assertEquals("Bórsa", file.get("Venue", 0));
+            assertEquals(Double.NaN, file.get("Price", 1));
+            assertEquals("", file.get("Symbol", 1));
+        }
+    }
+
+    @Test
+    public void scansMatchLikeTestingEveryModel() throws IOException {
+        Random random = new Random(1);
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            trades.add(new Trade(random.nextInt(20) - 10, random.nextInt(10) == 0 ? Double.NaN : random.nextInt(20) / 2.0,
+                    random.nextBoolean(), SYMBOLS[random.nextInt(SYMBOLS.length)], VENUES[random.nextInt(VENUES.length)]));
+        }
+        try (RecordFile<Trade> file = RecordFile.open(write(trades), LAYOUT)) {
+            for (int i = 0; i < 500; i++) {
+                LogicPredicate<Trade> predicate = predicate(random, 3);
+                List<Long> expected = new ArrayList<>();
+                for (int record = 0; record < trades.size(); record++) {
+                    if (predicate.test(trades.get(record))) {
+                        expected.add((long) record);
+                    }
+                }
+                List<Long> actual = new ArrayList<>();
+                file.forEach(predicate, actual::add);
+                assertEquals(expected, actual);
+                assertEquals(expected.size(), file.count(predicate));
+            }
+        }
+    }
+
+    @Test
+    public void textLongerThanTheFieldMatchesNothing() throws IOException {
+        try (RecordFile<Trade> file = RecordFile.open(write(Collections.singletonList(new Trade(1, 1, true, "GOOGLE", "NYSE"))), LAYOUT)) {
+            assertEquals(1, file.count(symbol(equalTo("GOOGLE"))));
+            assertEquals(0, file.count(symbol(equalTo("GOOGLE!"))));
+            assertEquals(0, file.count(symbol(equalTo("GOOG"))));
+            assertEquals(0, file.count(symbol(equalTo("GOOGLE "))));
+            assertEquals(1, file.count(symbol(notEqualTo("GOOGLE!"))));
+        }
+    }
+
+    @Test
+    public void unknownMembersAreRejected() throws IOException {
+        try (RecordFile<Trade> file = RecordFile.open(write(Collections.emptyList()), LAYOUT)) {
+            try {
+                file.count(new Member<>("Quantity", trade -> 0, equalTo(1)));
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("No field for member Quantity.", e.getMessage());
+            }
+            try {
+                file.get("Id", 0);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                assertEquals("Record 0 is out of bounds for size 0.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void layoutsAreChecked() {
+        assertRejected("Field Price does not lie within a record of 8 bytes.",
+                () -> RecordLayout.of(8, ByteOrder.BIG_ENDIAN, Collections.singletonList(RecordLayout.Field.of("Price", 4, 8, RecordLayout.Encoding.FLOAT))));
+        assertRejected("Field Id cannot be 3 bytes wide with the INTEGER encoding.",
+                () -> RecordLayout.of(8, ByteOrder.BIG_ENDIAN, Collections.singletonList(RecordLayout.Field.of("Id", 0, 3, RecordLayout.Encoding.INTEGER))));
+        assertRejected("Duplicate field for member Id.",
+                () -> RecordLayout.of(8, ByteOrder.BIG_ENDIAN, Arrays.asList(RecordLayout.Field.of("Id", 0, 4, RecordLayout.Encoding.INTEGER),
+                        RecordLayout.Field.of("Id", 4, 4, RecordLayout.Encoding.INTEGER))));
+    }
+
+    private static void assertRejected(String message, Runnable runnable) {
+        try {
+            runnable.run();
+            fail(message);
+        } catch (IllegalStateException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    private Path write(List<Trade> trades) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(trades.size() * LAYOUT.getRecordSize()).order(LAYOUT.getByteOrder());
+        for (int i = 0; i < trades.size(); i++) {
+            Trade trade = trades.get(i);
+            int offset = i * LAYOUT.getRecordSize();
+            buffer.putInt(offset, trade.id);
+            buffer.putDouble(offset + 4, trade.price);
+            buffer.put(offset + 12, (byte) (trade.active ? 1 : 0));
+            putText(buffer, offset + 13, 6, trade.symbol.getBytes(StandardCharsets.US_ASCII), (byte) ' ');
+            putText(buffer, offset + 19, 8, trade.venue.getBytes(StandardCharsets.UTF_8), (byte) 0);
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    private static void putText(ByteBuffer buffer, int position, int width, byte[] text, byte padding) {
+        for (int i = 0; i < width; i++) {
+            buffer.put(position + i, i < text.length ? text[i] : padding);
+        }
+    }
+
+    private static LogicPredicate<Trade> predicate(Random random, int depth) {
+        switch (depth == 0 ? random.nextInt(8) : random.nextInt(11)) {
+            case 0:
+                return id(equalTo(random.nextInt(20) - 10));
+            case 1:
+                return id(lessThan(random.nextInt(20) - 10));
+            case 2:
+                return id(in(ImmutableSet.of(random.nextInt(20) - 10, random.nextInt(20) - 10)));
+            case 3:
+                return price(greaterThanEquals(random.nextInt(20) / 2.0));
+            case 4:
+                return new Member<>("Active", trade -> trade.active, bool(random.nextBoolean()));
+            case 5:
+                return symbol(random.nextBoolean() ? equalTo(SYMBOLS[random.nextInt(SYMBOLS.length)]) : notEqualTo(SYMBOLS[random.nextInt(SYMBOLS.length)]));
+            case 6:
+                return new Member<>("Venue", trade -> trade.venue, in(ImmutableSet.of(VENUES[random.nextInt(VENUES.length)], "Bórsa")));
+            case 7:
+                //opaque predicates are tested on the decoded value
+                return new Member<>("Venue", trade -> trade.venue, (Predicate<String>) venue -> venue.startsWith("B"));
+            case 8:
+                return new And<>(predicate(random, depth - 1), predicate(random, depth - 1));
+            case 9:
+                return new Or<>(predicate(random, depth - 1), predicate(random, depth - 1));
+            default:
+                return new Not<>(predicate(random, depth - 1));
+        }
+    }
+
+    private static LogicPredicate<Trade> id(Predicate<Object> predicate) {
+        return new Member<>("Id", trade -> trade.id, predicate);
+    }
+
+    private static LogicPredicate<Trade> price(Predicate<Object> predicate) {
+        return new Member<>("Price", trade -> trade.price, predicate);
+    }
+
+    private static LogicPredicate<Trade> symbol(Predicate<Object> predicate) {
+        return new Member<>("Symbol", trade -> trade.symbol, predicate);
+    }
+
+    private static Mixin equalTo(Object value) {
+        return new Mixin("Equals", ImmutableMap.of("value", value), element -> Objects.equals(element, value));
+    }
+
+    private static Mixin notEqualTo(Object value) {
+        return new Mixin("NotEquals", ImmutableMap.of("value", value), element -> !Objects.equals(element, value));
+    }
+
+    private static Mixin lessThan(int value) {
+        return new Mixin("LessThan", ImmutableMap.of("value", value), element -> (Integer) element < value);
+    }
+
+    //NaN fails the comparison, like the primitive comparison the records are tested with
+    private static Mixin greaterThanEquals(double value) {
+        return new Mixin("GreaterThanEquals", ImmutableMap.of("value", value), element -> (Double) element >= value);
+    }
+
+    private static Mixin bool(boolean value) {
+        return new Mixin(value ? "True" : "False", ImmutableMap.of(), element -> (Boolean) element == value);
+    }
+
+    private static Mixin in(Set<?> values) {
+        return new Mixin("In", ImmutableMap.of("values", values), values::contains);
+    }
+
+    private static final class Trade {
+        private final int id;
+        private final double price;
+        private final boolean active;
+        private final String symbol;
+        private final String venue;
+
+        private Trade(int id, double price, boolean active, String symbol, String venue) {
+            this.id = id;
+            this.price = price;
+            this.active = active;
+            this.symbol = symbol;
+            this.venue = venue;
+        }
+    }
+
+    private static final class Member<T, V> implements LogicPredicate<T> {
+        private final String name;
+        private final Function<? super T, ? extends V> accessor;
+        private final Predicate<V> predicate;
+
+        private Member(String name, Function<? super T, ? extends V> accessor, Predicate<V> predicate) {
+            this.name = name;
+            this.accessor = accessor;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitMember(name, accessor, predicate);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return predicate.test(accessor.apply(t));
+        }
+    }
+
+    private static final class And<T> implements LogicPredicate<T> {
+        private final LogicPredicate<T> left;
+        private final LogicPredicate<T> right;
+
+        private And(LogicPredicate<T> left, LogicPredicate<T> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitAnd(left, right);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return left.test(t) && right.test(t);
+        }
+    }
+
+    private static final class Or<T> implements LogicPredicate<T> {
+        private final LogicPredicate<T> left;
+        private final LogicPredicate<T> right;
+
+        private Or(LogicPredicate<T> left, LogicPredicate<T> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitOr(left, right);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return left.test(t) || right.test(t);
+        }
+    }
+
+    private static final class Not<T> implements LogicPredicate<T> {
+        private final LogicPredicate<T> operand;
+
+        private Not(LogicPredicate<T> operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<T, R> visitor) {
+            return visitor.visitNot(operand);
+        }
+
+        @Override
+        public boolean test(T t) {
+            return !operand.test(t);
+        }
+    }
+
+    private static final class Mixin implements LogicPredicate<Object> {
+        private final String name;
+        private final Map<String, Object> parameters;
+        private final Predicate<Object> predicate;
+
+        private Mixin(String name, Map<String, Object> parameters, Predicate<Object> predicate) {
+            this.name = name;
+            this.parameters = parameters;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public <R> R decompose(StructureVisitor<Object, R> visitor) {
+            return visitor.visitMixin(name, parameters, this);
+        }
+
+        @Override
+        public boolean test(Object o) {
+            return predicate.test(o);
+        }
+    }
+}
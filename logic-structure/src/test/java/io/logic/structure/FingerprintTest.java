@@ -0,0 +1,73 @@
+package io.logic.structure;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class FingerprintTest {
+    @Test
+    public void fingerprintsAreMurmurHash3OfTheirWords() {
+        //"Type" is one length word followed by one word of four characters
+        HashCode type = Hashing.murmur3_128().newHasher()
+                .putLong(4)
+                .putLong('T' | 'y' << 16 | (long) 'p' << 32 | (long) 'e' << 48)
+                .hash();
+        Hasher attributes = Hashing.murmur3_128().newHasher()
+                .putBytes(type.asBytes())
+                .putLong(3).putLong(42)
+                .putLong(1).putLong(1)
+                .putLong(4).putLong(Double.doubleToLongBits(0.5));
+        Fingerprint fingerprint = Fingerprint.builder("Type").add(42L).add(true).add(0.5).build();
+        assertArrayEquals(attributes.hash().asBytes(), fingerprint.toBytes());
+        //an odd number of words ends with a partial block
+        assertArrayEquals(Hashing.murmur3_128().newHasher().putBytes(type.asBytes()).putLong(0).hash().asBytes(),
+                Fingerprint.builder("Type").add((Object) null).build().toBytes());
+    }
+
+    @Test
+    public void fingerprintsAreStable() {
+        assertEquals("22a54104c23492fa045aba77ef0c90dd", Fingerprint.builder("io.logic.StringPredicate.Equals").add("Ford").build().toString());
+        assertEquals("df0ea3a92070b2df09529ae354091485", Fingerprint.builder("io.logic.IntPredicate.In").add(ImmutableSet.of(1, 2, 3)).build().toString());
+        assertEquals("d24f9fb41c8f36a811cebfe59c9b8fe1", Fingerprint.of(Arrays.asList("a", 'b', 3, 4.0, Pattern.compile("x+", Pattern.CASE_INSENSITIVE), Optional.empty(), new byte[]{1, 2, 3})).toString());
+    }
+
+    @Test
+    public void unorderedCollectionsIgnoreTheirOrder() {
+        assertEquals(Fingerprint.of(new LinkedHashSet<>(Arrays.asList(1, 2, 3))), Fingerprint.of(new LinkedHashSet<>(Arrays.asList(3, 1, 2))));
+        assertEquals(Fingerprint.of(ImmutableMap.of("a", 1, "b", 2)), Fingerprint.of(ImmutableMap.of("b", 2, "a", 1)));
+        assertNotEquals(Fingerprint.of(Arrays.asList(1, 2, 3)), Fingerprint.of(Arrays.asList(3, 1, 2)));
+    }
+
+    @Test
+    public void attributesOfDifferentKindsDiffer() {
+        assertNotEquals(Fingerprint.of(1), Fingerprint.of(1.0));
+        assertNotEquals(Fingerprint.of(1), Fingerprint.of(true));
+        assertNotEquals(Fingerprint.of("a"), Fingerprint.of('a'));
+        assertNotEquals(Fingerprint.of(Arrays.asList("ab", "c")), Fingerprint.of(Arrays.asList("a", "bc")));
+        assertEquals(Fingerprint.of(1), Fingerprint.of(1L));
+        assertEquals(Fingerprint.of((byte) 1), Fingerprint.of((short) 1));
+    }
+
+    @Test
+    public void fingerprintsRoundTrip() {
+        Fingerprint fingerprint = Fingerprint.of("round trip");
+        assertEquals(fingerprint, Fingerprint.fromString(fingerprint.toString()));
+        assertEquals(fingerprint, Fingerprint.fromBytes(fingerprint.toBytes()));
+        Gson gson = new Gson();
+        assertEquals('"' + fingerprint.toString() + '"', gson.toJson(fingerprint));
+        assertEquals(fingerprint, gson.fromJson(gson.toJson(fingerprint), Fingerprint.class));
+    }
+}
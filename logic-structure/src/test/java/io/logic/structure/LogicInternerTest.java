@@ -0,0 +1,60 @@
+package io.logic.structure;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LogicInternerTest {
+    @After
+    public void disable() {
+        LogicInterner.disable();
+    }
+
+    @Test
+    public void disabledPoolReturnsValuesAsIs() {
+        assertFalse(LogicInterner.isEnabled());
+        String value = new String("Ford");
+        assertSame(value, LogicInterner.intern(value));
+        assertNotSame(value, LogicInterner.intern(new String("Ford")));
+    }
+
+    @Test
+    public void enabledPoolReturnsCanonicalInstances() {
+        LogicInterner.enable();
+        LogicInterner.enable();
+        assertTrue(LogicInterner.isEnabled());
+        String value = new String("Ford");
+        assertSame(value, LogicInterner.intern(value));
+        assertSame(value, LogicInterner.intern(new String("Ford")));
+        assertEquals("Chevy", LogicInterner.intern(new String("Chevy")));
+        assertNotSame(value, LogicInterner.intern(new String("Chevy")));
+    }
+
+    @Test
+    public void disablingReleasesTheCanonicalInstances() {
+        LogicInterner.enable();
+        String value = LogicInterner.intern(new String("Ford"));
+        LogicInterner.disable();
+        LogicInterner.enable();
+        assertNotSame(value, LogicInterner.intern(new String("Ford")));
+    }
+
+    @Test
+    public void unreferencedInstancesAreCollected() throws InterruptedException {
+        LogicInterner.enable();
+        WeakReference<String> reference = new WeakReference<>(LogicInterner.intern(new String("Ford")));
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+}
@@ -0,0 +1,208 @@
+package io.logic;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import com.google.gson.annotations.JsonAdapter;
+import io.logic.structure.Fingerprint;
+import io.logic.structure.Fingerprinted;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * A compact, probabilistic set of values for membership predicates over very large value sets (e.g. blocklists of tens
+ * of millions of values), backed by a {@link BloomFilter}.
+ * <p>
+ * A filter never reports a member as absent, but may report a non-member as present with the configured false positive
+ * probability. An optional exact fallback (e.g. a lookup into an off-heap or remote store) can be attached with
+ * {@link MembershipFilter#withFallback(Predicate)} to confirm values the filter reports as present, so only false
+ * positives (and true members) pay for the exact check.
+ * <p>
+ * Filters serialize with {@link com.google.gson.Gson} as the filter bits encoded in Base64, so they can be shipped
+ * together with the predicates that use them. The exact fallback is a local resource and is not serialized, so a filter
+ * is decoded without its fallback. Since the fallback changes the result of the filter, two filters are only equal if
+ * they share the same fallback instance (or neither has one). A filter without a fallback has the same
+ * {@link Fingerprint} as its copy on every node it is shipped to, while the fingerprint of a filter with a fallback
+ * includes a random value drawn once per fallback instance, so it is only shared by equal filters within this JVM and
+ * never deduplicates against a filter with another (or no) fallback.
+ *
+ * @param <T> the type of the filtered values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@JsonAdapter(MembershipFilterTypeAdapter.class)
+public final class MembershipFilter<T> implements Predicate<T>, Fingerprinted {
+    private static final LoadingCache<Object, Long> FALLBACK_NONCES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(fallback -> ThreadLocalRandom.current().nextLong()));
+    private final Kind kind;
+    private final BloomFilter<T> filter;
+    private final Predicate<? super T> fallback;
+    private volatile Fingerprint fingerprint;
+
+    MembershipFilter(Kind kind, BloomFilter<T> filter, Predicate<? super T> fallback) {
+        this.kind = kind;
+        this.filter = filter;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a {@link MembershipFilter} of the string values.
+     *
+     * @param values                   the members of the filter
+     * @param falsePositiveProbability the desired probability of reporting a non-member as present
+     * @return a new {@link MembershipFilter}
+     */
+    public static MembershipFilter<CharSequence> ofStrings(Iterable<? extends CharSequence> values, double falsePositiveProbability) {
+        return create(Kind.STRING, values, falsePositiveProbability);
+    }
+
+    /**
+     * Creates a {@link MembershipFilter} of the long values.
+     *
+     * @param values                   the members of the filter
+     * @param falsePositiveProbability the desired probability of reporting a non-member as present
+     * @return a new {@link MembershipFilter}
+     */
+    public static MembershipFilter<Long> ofLongs(Iterable<Long> values, double falsePositiveProbability) {
+        return create(Kind.LONG, values, falsePositiveProbability);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> MembershipFilter<T> create(Kind kind, Iterable<? extends T> values, double falsePositiveProbability) {
+        Objects.requireNonNull(values, "values");
+        long expectedInsertions = 0;
+        for (T ignored : values) {
+            expectedInsertions++;
+        }
+        BloomFilter<T> filter = BloomFilter.create((Funnel<T>) kind.getFunnel(), Math.max(expectedInsertions, 1), falsePositiveProbability);
+        values.forEach(filter::put);
+        return new MembershipFilter<>(kind, filter, null);
+    }
+
+    /**
+     * Creates a copy of the filter which confirms every value the filter reports as present with the exact fallback.
+     *
+     * @param fallback the exact membership test
+     * @return a new {@link MembershipFilter} with the exact fallback
+     */
+    public MembershipFilter<T> withFallback(Predicate<? super T> fallback) {
+        return new MembershipFilter<>(kind, filter, Objects.requireNonNull(fallback, "fallback"));
+    }
+
+    /**
+     * Represents the exact membership test used to confirm values the filter reports as present.
+     *
+     * @return the exact fallback, if any
+     */
+    public Optional<Predicate<? super T>> getFallback() {
+        return Optional.ofNullable(fallback);
+    }
+
+    /**
+     * Represents the probability that the filter reports a non-member as present, given the values inserted.
+     *
+     * @return the expected false positive probability
+     */
+    public double getExpectedFalsePositiveProbability() {
+        return filter.expectedFpp();
+    }
+
+    /**
+     * Tests whether the value is a member of the filter.
+     * <p>
+     * Without a fallback, {@code true} means the value is a member with the false positive probability of the filter.
+     * With a fallback, the result is exact.
+     *
+     * @param value the value to test
+     * @return {@code true} if the value might be (or, with a fallback, is) a member
+     */
+    @Override
+    public boolean test(T value) {
+        return value != null && filter.mightContain(value) && (fallback == null || fallback.test(value));
+    }
+
+    /**
+     * Represents the structural fingerprint of the filter, which is computed from the kind, the filter bits and the
+     * random value of the fallback, if any, the first time it is requested.
+     *
+     * @return the fingerprint of the filter
+     */
+    @Override
+    public Fingerprint getFingerprint() {
+        Fingerprint fingerprint = this.fingerprint;
+        if (fingerprint == null) {
+            ByteArrayOutputStream bits = new ByteArrayOutputStream();
+            try {
+                filter.writeTo(bits);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Fingerprint.Builder builder = Fingerprint.builder(MembershipFilter.class.getName()).add(kind).add(bits.toByteArray());
+            if (fallback != null) {
+                builder.add(FALLBACK_NONCES.getUnchecked(fallback).longValue());
+            }
+            fingerprint = builder.build();
+            this.fingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    BloomFilter<T> getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MembershipFilter)) {
+            return false;
+        }
+        MembershipFilter<?> other = (MembershipFilter<?>) o;
+        return kind == other.kind && filter.equals(other.filter) && fallback == other.fallback;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(kind, filter) + System.identityHashCode(fallback);
+    }
+
+    @Override
+    public String toString() {
+        return "MembershipFilter{kind=" + kind + ", fpp=" + filter.expectedFpp() + (fallback == null ? "" : ", fallback=" + fallback) + "}";
+    }
+
+    /**
+     * The kinds of values a {@link MembershipFilter} supports, which determine how values are hashed.
+     */
+    enum Kind {
+        STRING(Funnels.stringFunnel(StandardCharsets.UTF_8)),
+        LONG(Funnels.longFunnel());
+
+        private final Funnel<?> funnel;
+
+        Kind(Funnel<?> funnel) {
+            this.funnel = funnel;
+        }
+
+        Funnel<?> getFunnel() {
+            return funnel;
+        }
+    }
+}
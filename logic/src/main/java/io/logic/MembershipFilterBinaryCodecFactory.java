@@ -0,0 +1,63 @@
+package io.logic;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.reflect.TypeToken;
+import io.logic.codec.BinaryCodec;
+import io.logic.codec.BinaryCodecFactory;
+import io.logic.codec.BinaryCodecs;
+import io.logic.codec.BinaryReader;
+import io.logic.codec.BinaryWriter;
+import org.immutables.metainf.Metainf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link BinaryCodecFactory} which encodes a {@link MembershipFilter} as its kind and the serialized filter bits, as
+ * {@link MembershipFilterTypeAdapter} does for JSON.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Metainf.Service
+public final class MembershipFilterBinaryCodecFactory implements BinaryCodecFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> BinaryCodec<T> create(BinaryCodecs codecs, Type type) {
+        if (TypeToken.of(type).getRawType() != MembershipFilter.class) {
+            return null;
+        }
+        return (BinaryCodec<T>) BinaryCodec.<MembershipFilter<?>>of((out, value) -> write(out, value), MembershipFilterBinaryCodecFactory::read);
+    }
+
+    private static void write(BinaryWriter out, MembershipFilter<?> value) {
+        ByteArrayOutputStream bits = new ByteArrayOutputStream();
+        try {
+            value.getFilter().writeTo(bits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.writeString(value.getKind().name());
+        out.writeBytes(bits.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MembershipFilter<?> read(BinaryReader in) {
+        MembershipFilter.Kind kind = MembershipFilter.Kind.valueOf(in.readString());
+        byte[] bits = in.readBytes();
+        //the bits start with the strategy, the number of hash functions, and the number of longs which follow
+        if (bits.length < 6 || ByteBuffer.wrap(bits, 2, 4).getInt() * 8L != bits.length - 6) {
+            throw new IllegalArgumentException("Malformed MembershipFilter bits.");
+        }
+        try {
+            return new MembershipFilter<>(kind, BloomFilter.readFrom(new ByteArrayInputStream(bits), (Funnel<Object>) kind.getFunnel()), null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed MembershipFilter bits.", e);
+        }
+    }
+}
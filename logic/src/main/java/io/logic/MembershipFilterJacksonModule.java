@@ -0,0 +1,99 @@
+package io.logic;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import io.logic.jackson.ModuleMirror;
+import org.immutables.metainf.Metainf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * A {@link ModuleMirror} which serializes a {@link MembershipFilter} as its kind and the Base64 encoded filter bits, as
+ * {@link MembershipFilterTypeAdapter} does for Gson.
+ * <p>
+ * {@code {"kind":"STRING","bits":"AQMAAAAC..."}}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Metainf.Service
+public final class MembershipFilterJacksonModule implements ModuleMirror {
+    @SuppressWarnings("unchecked")
+    private final Module delegate = new SimpleModule(MembershipFilter.class.getName())
+            .addSerializer((Class<MembershipFilter<?>>) (Class<?>) MembershipFilter.class, new Serializer())
+            .addDeserializer((Class<MembershipFilter<?>>) (Class<?>) MembershipFilter.class, new Deserializer());
+
+    @Override
+    public Module getModule() {
+        return delegate;
+    }
+
+    private static final class Serializer extends StdSerializer<MembershipFilter<?>> {
+        private static final long serialVersionUID = 1L;
+        private Serializer() {
+            super(MembershipFilter.class, false);
+        }
+
+        @Override
+        public void serialize(MembershipFilter<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ByteArrayOutputStream bits = new ByteArrayOutputStream();
+            value.getFilter().writeTo(bits);
+            gen.writeStartObject(value);
+            gen.writeStringField("kind", value.getKind().name());
+            gen.writeStringField("bits", Base64.getEncoder().encodeToString(bits.toByteArray()));
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class Deserializer extends StdDeserializer<MembershipFilter<?>> {
+        private static final long serialVersionUID = 1L;
+        private Deserializer() {
+            super(MembershipFilter.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public MembershipFilter<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (MembershipFilter<?>) ctxt.handleUnexpectedToken(MembershipFilter.class, p);
+            }
+            MembershipFilter.Kind kind = null;
+            byte[] bits = null;
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                switch (name) {
+                    case "kind":
+                        kind = MembershipFilter.Kind.valueOf(p.getValueAsString());
+                        break;
+                    case "bits":
+                        bits = Base64.getDecoder().decode(p.getValueAsString());
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            if (kind == null || bits == null) {
+                return ctxt.reportInputMismatch(this, "MembershipFilter requires both \"kind\" and \"bits\".");
+            }
+            //the bits start with the strategy, the number of hash functions, and the number of longs which follow
+            if (bits.length < 6 || ByteBuffer.wrap(bits, 2, 4).getInt() * 8L != bits.length - 6) {
+                return ctxt.reportInputMismatch(this, "Malformed MembershipFilter bits.");
+            }
+            return new MembershipFilter<>(kind, BloomFilter.readFrom(new ByteArrayInputStream(bits), (Funnel<Object>) kind.getFunnel()), null);
+        }
+    }
+}
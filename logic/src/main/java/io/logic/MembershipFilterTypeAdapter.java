@@ -0,0 +1,67 @@
+package io.logic;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * A {@link TypeAdapter} which serializes a {@link MembershipFilter} as its kind and the Base64 encoded filter bits.
+ * <p>
+ * {@code {"kind":"STRING","bits":"AQMAAAAC..."}}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class MembershipFilterTypeAdapter extends TypeAdapter<MembershipFilter<?>> {
+    @Override
+    public void write(JsonWriter out, MembershipFilter<?> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        ByteArrayOutputStream bits = new ByteArrayOutputStream();
+        value.getFilter().writeTo(bits);
+        out.beginObject();
+        out.name("kind").value(value.getKind().name());
+        out.name("bits").value(Base64.getEncoder().encodeToString(bits.toByteArray()));
+        out.endObject();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MembershipFilter<?> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MembershipFilter.Kind kind = null;
+        byte[] bits = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "kind":
+                    kind = MembershipFilter.Kind.valueOf(in.nextString());
+                    break;
+                case "bits":
+                    bits = Base64.getDecoder().decode(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (kind == null || bits == null) {
+            throw new JsonParseException("MembershipFilter requires both \"kind\" and \"bits\".");
+        }
+        return new MembershipFilter<>(kind, BloomFilter.readFrom(new ByteArrayInputStream(bits), (Funnel<Object>) kind.getFunnel()), null);
+    }
+}
@@ -0,0 +1,377 @@
+package io.logic.async;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An evaluator of a predicate whose expensive members are resolved asynchronously by {@link BulkLoader}s, batching the
+ * loads of many model instances into a single loader call.
+ * <p>
+ * The predicate is decomposed into an {@link Expression} once. Testing a model instance first tests every atom which
+ * does not read an asynchronous member, folding the expression after each one, so the result is known without loading
+ * anything whenever the local members decide it. Otherwise, the instance waits for the member of the next atom the
+ * expression depends on, and the member is loaded for every waiting instance at once. Each loaded value resolves every
+ * atom of its member, and members are loaded one at a time, so a member is only loaded while the predicate still depends
+ * on it.
+ * <p>
+ * Waiting instances are dispatched to the loaders once the instances waiting for a member reach the maximum batch size,
+ * once the first of them has waited for the maximum delay, by {@link AsyncEvaluator#flush()}, and whenever an earlier
+ * batch completes (so instances which need a second member are batched together as well). Batches which reach the
+ * maximum delay are dispatched on the scheduler, so loaders are expected to return their futures without blocking.
+ * {@link AsyncEvaluator} is thread-safe.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class AsyncEvaluator<T> {
+    private final Predicate<? super T> predicate;
+    private final Expression expression;
+    private final Map<String, BulkLoader<? super T, ?>> loaders;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, List<Evaluation>> pending = new LinkedHashMap<>();
+    private final AtomicLong loadCount = new AtomicLong();
+
+    private AsyncEvaluator(Predicate<? super T> predicate, Map<String, BulkLoader<? super T, ?>> loaders, int maxBatchSize,
+                           Duration maxDelay, ScheduledExecutorService scheduler) {
+        this.predicate = predicate;
+        this.expression = Expression.of(predicate);
+        this.loaders = ImmutableMap.copyOf(loaders);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates a new {@link Builder} for an {@link AsyncEvaluator}.
+     *
+     * @param <T> the type of the model
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Represents the predicate evaluated by the evaluator.
+     *
+     * @return the predicate of the evaluator
+     */
+    public Predicate<? super T> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Tests the model instance, loading its asynchronous members in the next batches if the local members do not decide
+     * the result.
+     *
+     * @param object the model instance
+     * @return a future of the result, which completes once the members it depends on are loaded
+     */
+    public CompletableFuture<Boolean> test(T object) {
+        Evaluation evaluation = new Evaluation(Objects.requireNonNull(object, "object"));
+        evaluation.advance();
+        return evaluation.future;
+    }
+
+    /**
+     * Tests every model instance and dispatches the loads they need.
+     *
+     * @param objects the model instances
+     * @return a future of the results, in the order of the model instances
+     */
+    public CompletableFuture<List<Boolean>> testAll(Collection<? extends T> objects) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(objects.size());
+        for (T object : objects) {
+            futures.add(test(object));
+        }
+        flush();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).collect(ImmutableList.toImmutableList()));
+    }
+
+    /**
+     * Dispatches every waiting model instance to the loader of the member it waits for.
+     */
+    public void flush() {
+        Map<String, List<Evaluation>> batches;
+        synchronized (pending) {
+            batches = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        batches.forEach(this::dispatch);
+    }
+
+    /**
+     * Represents the number of loader calls made by the evaluator.
+     *
+     * @return the number of batches loaded
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    private void enqueue(String member, Evaluation evaluation) {
+        List<Evaluation> full = null;
+        List<Evaluation> started = null;
+        synchronized (pending) {
+            List<Evaluation> batch = pending.computeIfAbsent(member, ignored -> new ArrayList<>());
+            batch.add(evaluation);
+            if (batch.size() >= maxBatchSize) {
+                full = pending.remove(member);
+            } else if (batch.size() == 1) {
+                started = batch;
+            }
+        }
+        if (full != null) {
+            dispatch(member, full);
+        } else if (started != null) {
+            List<Evaluation> batch = started;
+            scheduler.schedule(() -> expire(member, batch), maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Dispatches the batch once its first instance has waited for the maximum delay, unless it was dispatched already.
+     */
+    private void expire(String member, List<Evaluation> batch) {
+        synchronized (pending) {
+            if (pending.get(member) != batch) {
+                return;
+            }
+            pending.remove(member);
+        }
+        dispatch(member, batch);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(String member, List<Evaluation> batch) {
+        BulkLoader<T, ?> loader = (BulkLoader<T, ?>) loaders.get(member);
+        List<T> objects = new ArrayList<>(batch.size());
+        for (Evaluation evaluation : batch) {
+            objects.add(evaluation.object);
+        }
+        loadCount.incrementAndGet();
+        CompletableFuture<? extends List<?>> future;
+        try {
+            future = Objects.requireNonNull(loader.load(objects), "Loader of " + member + " returned null.");
+        } catch (RuntimeException e) {
+            batch.forEach(evaluation -> evaluation.future.completeExceptionally(e));
+            return;
+        }
+        future.whenComplete((values, failure) -> {
+            if (failure == null && values == null) {
+                failure = new NullPointerException("Loader of " + member + " completed with null.");
+            } else if (failure == null && values.size() != batch.size()) {
+                failure = new IllegalStateException("Loader of " + member + " returned " + values.size() + " values for " + batch.size() + " instances.");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure == null) {
+                    batch.get(i).resolve(member, values.get(i));
+                } else {
+                    batch.get(i).future.completeExceptionally(failure);
+                }
+            }
+            flush();
+        });
+    }
+
+    private boolean isLoaded(Atom atom) {
+        return !atom.getPath().isEmpty() && loaders.containsKey(atom.getPath().get(0));
+    }
+
+    /**
+     * The partially evaluated expression of a single model instance.
+     */
+    private final class Evaluation {
+        private final T object;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private Expression remaining = expression;
+
+        private Evaluation(T object) {
+            this.object = object;
+        }
+
+        /**
+         * Tests the local atoms until the expression folds to a constant or only depends on asynchronous members, in
+         * which case it waits for the member of the first remaining atom.
+         */
+        private void advance() {
+            try {
+                while (!(remaining instanceof Expression.Constant)) {
+                    Atom next = null;
+                    for (Atom atom : remaining.atoms()) {
+                        if (!isLoaded(atom)) {
+                            next = atom;
+                            break;
+                        }
+                    }
+                    if (next == null) {
+                        enqueue(remaining.atoms().iterator().next().getPath().get(0), this);
+                        return;
+                    }
+                    remaining = remaining.assign(ImmutableMap.of(next, next.test(object)));
+                }
+                future.complete(((Expression.Constant) remaining).isValue());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Tests every remaining atom of the member on its loaded value, resolving the rest of their paths from the value.
+         */
+        private void resolve(String member, Object value) {
+            try {
+                Map<Atom, Boolean> values = new HashMap<>();
+                for (Atom atom : remaining.atoms()) {
+                    if (isLoaded(atom) && atom.getPath().get(0).equals(member)) {
+                        Object resolved = value;
+                        for (Function<Object, Object> accessor : atom.getAccessors().subList(1, atom.getAccessors().size())) {
+                            resolved = accessor.apply(resolved);
+                        }
+                        values.put(atom, atom.getPredicate().test(resolved));
+                    }
+                }
+                remaining = remaining.assign(values);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            advance();
+        }
+    }
+
+    /**
+     * The scheduler of batches which reach the maximum delay, unless the builder sets one.
+     */
+    private static final class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "logic-async-evaluator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A builder for {@link AsyncEvaluator}.
+     *
+     * @param <T> the type of the model
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T> {
+        private final Map<String, BulkLoader<? super T, ?>> loaders = new LinkedHashMap<>();
+        private Predicate<? super T> predicate;
+        private int maxBatchSize;
+        private Duration maxDelay = Duration.ofMillis(10);
+        private ScheduledExecutorService scheduler;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the predicate to evaluate.
+         *
+         * @param predicate the predicate of the evaluator
+         * @return {@code this} builder
+         */
+        public Builder<T> setPredicate(Predicate<? super T> predicate) {
+            this.predicate = Objects.requireNonNull(predicate, "predicate");
+            return this;
+        }
+
+        /**
+         * Adds the loader of a member of the model, so the member is never read from the model instance directly.
+         *
+         * @param member the logic name of the member (e.g. {@code RiskScore})
+         * @param loader the loader of the member values
+         * @return {@code this} builder
+         */
+        public Builder<T> addLoader(String member, BulkLoader<? super T, ?> loader) {
+            Objects.requireNonNull(member, "member");
+            Objects.requireNonNull(loader, "loader");
+            if (loaders.putIfAbsent(member, loader) != null) {
+                throw new IllegalArgumentException("Duplicate loader for member " + member + ".");
+            }
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of model instances loaded by a single loader call, which must be set.
+         *
+         * @param maxBatchSize the maximum size of a batch
+         * @return {@code this} builder
+         */
+        public Builder<T> setMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Maximum batch size must be positive, but was " + maxBatchSize + ".");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a model instance waits for a smaller batch to fill before the batch is dispatched, which
+         * is 10 milliseconds by default.
+         *
+         * @param maxDelay the maximum delay of a batch
+         * @return {@code this} builder
+         */
+        public Builder<T> setMaxDelay(Duration maxDelay) {
+            if (Objects.requireNonNull(maxDelay, "maxDelay").isNegative()) {
+                throw new IllegalArgumentException("Maximum delay must not be negative, but was " + maxDelay + ".");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ScheduledExecutorService} which dispatches batches once they reach the maximum delay, which is
+         * a single shared daemon thread by default.
+         *
+         * @param scheduler the scheduler of delayed batches
+         * @return {@code this} builder
+         */
+        public Builder<T> setScheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Creates the {@link AsyncEvaluator}.
+         *
+         * @return a new {@link AsyncEvaluator}
+         * @throws IllegalStateException if the predicate or the maximum batch size is not set
+         */
+        public AsyncEvaluator<T> build() {
+            if (predicate == null) {
+                throw new IllegalStateException("Predicate must be set.");
+            }
+            if (maxBatchSize == 0) {
+                throw new IllegalStateException("Maximum batch size must be set.");
+            }
+            return new AsyncEvaluator<>(predicate, loaders, maxBatchSize, maxDelay, scheduler == null ? DefaultScheduler.INSTANCE : scheduler);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.logic.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A loader of the value of a member for many model instances in a single call (e.g. one request to a remote cache tier
+ * or one {@code IN} query), used by {@link AsyncEvaluator} to resolve members which are expensive to read.
+ *
+ * @param <T> the type of the model
+ * @param <V> the type of the member value
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface BulkLoader<T, V> {
+    /**
+     * Creates a {@link BulkLoader} which resolves each model instance individually, combining the futures of a batch.
+     *
+     * @param resolver the function which resolves the member value of a single model instance
+     * @param <T>      the type of the model
+     * @param <V>      the type of the member value
+     * @return a new {@link BulkLoader}
+     */
+    static <T, V> BulkLoader<T, V> individually(Function<? super T, ? extends CompletableFuture<? extends V>> resolver) {
+        Objects.requireNonNull(resolver, "resolver");
+        return objects -> {
+            List<CompletableFuture<? extends V>> futures = new ArrayList<>(objects.size());
+            for (T object : objects) {
+                futures.add(resolver.apply(object));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                List<V> values = new ArrayList<>(futures.size());
+                for (CompletableFuture<? extends V> future : futures) {
+                    values.add(future.join());
+                }
+                return values;
+            });
+        };
+    }
+
+    /**
+     * Loads the member values of the model instances.
+     *
+     * @param objects the model instances to load the member of
+     * @return a future of the member values, in the order of the model instances
+     */
+    CompletableFuture<? extends List<? extends V>> load(List<T> objects);
+}
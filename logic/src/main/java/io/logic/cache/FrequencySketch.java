@@ -0,0 +1,105 @@
+package io.logic.cache;
+
+/**
+ * A count-min sketch which estimates how often each key has been accessed recently, used as the admission filter of a
+ * {@link PredicateCache} (see <a href="https://arxiv.org/abs/1512.00727">TinyLFU</a>).
+ * <p>
+ * Counters are 4 bits wide and packed sixteen to a {@code long}. Each key increments one counter in each of four
+ * {@code long}s, choosing the same group of four counters within every one of them, and its frequency is the smallest
+ * of the four. The table holds one {@code long} per expected entry, and is grown (and its counts dropped) once the
+ * cache holds more entries than that. Once the number of increments reaches ten times the size of the table, every
+ * counter is halved, so the estimates favor recent accesses.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MINIMUM_WIDTH = 16;
+    private static final int MAXIMUM_WIDTH = 1 << 26;
+    private long[] table;
+    private int mask;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        allocate(expectedEntries);
+    }
+
+    /**
+     * Grows the sketch to estimate the frequencies of the expected number of entries, if it is too small to.
+     *
+     * @param expectedEntries the number of entries the sketch should distinguish
+     */
+    void ensureCapacity(long expectedEntries) {
+        if (expectedEntries > table.length && table.length < MAXIMUM_WIDTH) {
+            allocate(expectedEntries);
+        }
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= increment(index(hash, i), start + i);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, (int) (table[index(hash, i)] >>> ((start + i) << 2)) & 0xf);
+        }
+        return frequency;
+    }
+
+    private void allocate(long expectedEntries) {
+        int width = (int) Math.min(MAXIMUM_WIDTH, Math.max(MINIMUM_WIDTH, Long.highestOneBit(expectedEntries - 1) << 1));
+        this.table = new long[width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+        this.additions = 0;
+    }
+
+    /**
+     * Increments the counter at the position within the {@code long} at the index, unless it is saturated.
+     */
+    private boolean increment(int index, int position) {
+        int offset = position << 2;
+        long counter = 0xfL << offset;
+        if ((table[index] & counter) == counter) {
+            return false;
+        }
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        //each odd counter loses half an increment, which the four counters of a key share
+        additions = (additions >>> 1) - (odd >>> 2);
+    }
+
+    private int index(int hash, int i) {
+        long index = (hash + SEEDS[i]) * SEEDS[i];
+        index += index >>> 32;
+        return (int) index & mask;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9e3779b9;
+        return hash ^ hash >>> 15;
+    }
+}
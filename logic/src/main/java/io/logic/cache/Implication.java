@@ -0,0 +1,203 @@
+package io.logic.cache;
+
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+
+import java.util.Collection;
+
+/**
+ * A conservative decision procedure for implication between two {@link Expression}s.
+ * <p>
+ * {@link Implication#implies(Expression, Expression)} only returns {@code true} when every model instance which matches
+ * the first expression is guaranteed to match the second. It reasons about the structure of {@code And}, {@code Or}
+ * and {@code Not}, and about the values of the standard mixins ({@code Equals}, {@code NotEquals}, {@code In},
+ * {@code LessThan}, {@code LessThanEquals}, {@code GreaterThan} and {@code GreaterThanEquals}) tested on the same member
+ * (e.g. {@code isLessThan(10)} implies {@code isLessThan(20)}). Every other atom only implies itself.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class Implication {
+    private Implication() {
+    }
+
+    /**
+     * Determines whether the first expression is known to imply the second.
+     *
+     * @param antecedent the expression which is assumed to match
+     * @param consequent the expression which must then match
+     * @return {@code true} if every match of {@code antecedent} is proven to match {@code consequent}
+     */
+    static boolean implies(Expression antecedent, Expression consequent) {
+        if (antecedent.equals(consequent)) {
+            return true;
+        }
+        if (consequent instanceof Expression.Constant) {
+            return ((Expression.Constant) consequent).isValue() || antecedent instanceof Expression.Constant && !((Expression.Constant) antecedent).isValue();
+        }
+        if (antecedent instanceof Expression.Constant) {
+            return !((Expression.Constant) antecedent).isValue();
+        }
+        //decompose the consequent conjunctions and antecedent disjunctions first, since both sides must then hold
+        if (consequent instanceof Expression.And) {
+            Expression.And and = (Expression.And) consequent;
+            return implies(antecedent, and.getLeft()) && implies(antecedent, and.getRight());
+        }
+        if (antecedent instanceof Expression.Or) {
+            Expression.Or or = (Expression.Or) antecedent;
+            return implies(or.getLeft(), consequent) && implies(or.getRight(), consequent);
+        }
+        if (antecedent instanceof Expression.And) {
+            Expression.And and = (Expression.And) antecedent;
+            if (implies(and.getLeft(), consequent) || implies(and.getRight(), consequent)) {
+                return true;
+            }
+        }
+        if (consequent instanceof Expression.Or) {
+            Expression.Or or = (Expression.Or) consequent;
+            if (implies(antecedent, or.getLeft()) || implies(antecedent, or.getRight())) {
+                return true;
+            }
+        }
+        if (antecedent instanceof Expression.Not && consequent instanceof Expression.Not) {
+            //!a implies !b when b implies a
+            return implies(((Expression.Not) consequent).getOperand(), ((Expression.Not) antecedent).getOperand());
+        }
+        if (antecedent instanceof Expression.Test && consequent instanceof Expression.Test) {
+            return implies(((Expression.Test) antecedent).getAtom(), ((Expression.Test) consequent).getAtom());
+        }
+        return false;
+    }
+
+    private static boolean implies(Atom antecedent, Atom consequent) {
+        if (antecedent.isOpaque() || consequent.isOpaque() || !antecedent.getPath().equals(consequent.getPath())) {
+            return false;
+        }
+        Object value = antecedent.getParameters().get("value");
+        if ("In".equals(antecedent.getName())) {
+            Collection<?> values = (Collection<?>) antecedent.getParameters().get("values");
+            if ("In".equals(consequent.getName())) {
+                return ((Collection<?>) consequent.getParameters().get("values")).containsAll(values);
+            }
+            //a value which is equal to an element of the set is also == to it, unless it is NaN (which compare rejects)
+            return values.stream().allMatch(element -> impliesValue("Equals", element, consequent));
+        }
+        return impliesValue(antecedent.getName(), value, consequent);
+    }
+
+    private static boolean impliesValue(String name, Object value, Atom consequent) {
+        Object other = consequent.getParameters().get("value");
+        if ("In".equals(consequent.getName())) {
+            //In uses Object#equals, which disagrees with == for -0.0, so floating point values are never proven members
+            return "Equals".equals(name) && !isFloatingPoint(value) &&
+                    ((Collection<?>) consequent.getParameters().get("values")).contains(value);
+        }
+        if ("Equals".equals(name) && isEquality(consequent.getName()) && !(isFloatingPoint(value) && isFloatingPoint(other))) {
+            //Equals and NotEquals use Object#equals, which may disagree with compareTo (e.g. BigDecimal 1.0 and 1.00)
+            if (value == null || other == null || value.getClass().isArray() || other.getClass().isArray()) {
+                return false;
+            }
+            return value.equals(other) == "Equals".equals(consequent.getName());
+        }
+        Integer comparison = compare(value, other);
+        if (comparison == null) {
+            return false;
+        }
+        int c = comparison;
+        switch (name) {
+            case "Equals":
+                switch (consequent.getName()) {
+                    case "Equals":
+                        return c == 0;
+                    case "NotEquals":
+                        return c != 0;
+                    case "LessThan":
+                        return c < 0;
+                    case "LessThanEquals":
+                        return c <= 0;
+                    case "GreaterThan":
+                        return c > 0;
+                    case "GreaterThanEquals":
+                        return c >= 0;
+                    default:
+                        return false;
+                }
+            case "LessThan":
+                switch (consequent.getName()) {
+                    case "LessThan":
+                    case "LessThanEquals":
+                        return c <= 0;
+                    case "NotEquals":
+                        return c <= 0; //every match is below value, so none is equal to other >= value
+                    default:
+                        return false;
+                }
+            case "LessThanEquals":
+                switch (consequent.getName()) {
+                    case "LessThan":
+                    case "NotEquals":
+                        return c < 0;
+                    case "LessThanEquals":
+                        return c <= 0;
+                    default:
+                        return false;
+                }
+            case "GreaterThan":
+                switch (consequent.getName()) {
+                    case "GreaterThan":
+                    case "GreaterThanEquals":
+                    case "NotEquals":
+                        return c >= 0;
+                    default:
+                        return false;
+                }
+            case "GreaterThanEquals":
+                switch (consequent.getName()) {
+                    case "GreaterThan":
+                    case "NotEquals":
+                        return c > 0;
+                    case "GreaterThanEquals":
+                        return c >= 0;
+                    default:
+                        return false;
+                }
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Compares two mixin values the way the comparison mixins do, or returns {@code null} if they cannot be compared.
+     * Only the range mixins compare values, so the values of the equality mixins are only compared this way when they
+     * are floating point values, which the primitive equality mixins compare with {@code ==}.
+     * <p>
+     * Floating point values are compared numerically (so {@code -0.0} equals {@code 0.0}), and {@code NaN} is never
+     * compared since it fails every comparison mixin.
+     */
+    @SuppressWarnings("unchecked")
+    private static Integer compare(Object value, Object other) {
+        if (value == null || other == null) {
+            return null;
+        }
+        if (isFloatingPoint(value) && isFloatingPoint(other)) {
+            double left = ((Number) value).doubleValue();
+            double right = ((Number) other).doubleValue();
+            if (Double.isNaN(left) || Double.isNaN(right)) {
+                return null;
+            }
+            return left < right ? -1 : left > right ? 1 : 0;
+        }
+        if (value.getClass() != other.getClass() || !(value instanceof Comparable) || value.getClass().isArray()) {
+            return null;
+        }
+        return Integer.signum(((Comparable<Object>) value).compareTo(other));
+    }
+
+    private static boolean isEquality(String name) {
+        return "Equals".equals(name) || "NotEquals".equals(name);
+    }
+
+    private static boolean isFloatingPoint(Object value) {
+        return value instanceof Float || value instanceof Double;
+    }
+}
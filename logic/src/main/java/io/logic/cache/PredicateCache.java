@@ -0,0 +1,340 @@
+package io.logic.cache;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Expression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of query results keyed by the query predicate, which answers queries it has not seen from the cached
+ * result of a broader query.
+ * <p>
+ * A lookup first checks for an entry of an equal predicate. On a miss, the predicate is decomposed into an
+ * {@link Expression}, and if it is proven to imply the predicate of a cached entry (e.g. a query for
+ * {@code whenMake(isEqualTo("Ford")).and(whenYear(isLessThan(2010)))} implies a cached query for
+ * {@code whenYear(isLessThan(2020))}), every match of the query is within the cached result, which is filtered by the
+ * predicate instead of running the query. The smallest such result is used, and the filtered result is cached as well.
+ * <p>
+ * Entries are weighed by the number of elements in their result (plus one for the entry itself), and the total weight
+ * is bounded by a W-TinyLFU policy: new entries enter a small LRU window, and an entry leaving the window is only
+ * admitted into the main LRU region if it has been looked up more often than each of the least recently used entries
+ * it would evict, according to a {@link FrequencySketch} of recent lookups. Nothing is evicted from the main region
+ * unless the entry is admitted. This keeps one-off queries from flushing the frequently used results.
+ * <p>
+ * Results are cached as immutable lists, and must be {@link PredicateCache#invalidateAll() invalidated} when the queried
+ * data changes. {@link PredicateCache} is thread-safe. Loaders, implication proofs and the filtering of broader results
+ * run outside of its lock, and a result which was loaded or derived while the cache was invalidated is returned but not
+ * cached.
+ *
+ * @param <T> the type of the model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class PredicateCache<T> {
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<Predicate<? super T>, Entry<T>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Predicate<? super T>, Entry<T>> main = new LinkedHashMap<>(16, 0.75f, true);
+    //every entry of both regions, scanned for broader results without holding the lock
+    private final Map<Predicate<? super T>, Entry<T>> entries = new ConcurrentHashMap<>();
+    private long windowWeight;
+    private long mainWeight;
+    private long hitCount;
+    private long derivedHitCount;
+    private long missCount;
+    private long generation;
+
+    private PredicateCache(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight = Math.max(1, maximumWeight / 100);
+        this.sketch = new FrequencySketch(0);
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link PredicateCache}.
+     *
+     * @param <T> the type of the model
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Finds the result of the query, either from the cache or by loading it and caching it.
+     *
+     * @param predicate the query predicate
+     * @param loader    the function which runs the query on a miss
+     * @return the elements which match the predicate
+     */
+    public List<T> get(Predicate<? super T> predicate, Function<? super Predicate<? super T>, ? extends Collection<? extends T>> loader) {
+        long generation;
+        synchronized (this) {
+            generation = this.generation;
+        }
+        Optional<List<T>> cached = getIfPresent(predicate);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Entry<T> entry = new Entry<>(predicate, Expression.of(predicate), ImmutableList.copyOf(loader.apply(predicate)));
+        synchronized (this) {
+            if (generation == this.generation) {
+                insert(entry);
+            }
+        }
+        return entry.results;
+    }
+
+    /**
+     * Finds the result of the query within the cache, from an entry of an equal predicate or by filtering the result of
+     * a broader one.
+     *
+     * @param predicate the query predicate
+     * @return the elements which match the predicate, or {@link Optional#empty()} if the cache cannot answer the query
+     */
+    public Optional<List<T>> getIfPresent(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        long generation;
+        synchronized (this) {
+            sketch.increment(predicate);
+            Entry<T> entry = lookup(predicate);
+            if (entry != null) {
+                hitCount++;
+                return Optional.of(entry.results);
+            }
+            generation = this.generation;
+        }
+        Expression expression = Expression.of(predicate);
+        Entry<T> superset = null;
+        for (Entry<T> candidate : entries.values()) {
+            if ((superset == null || candidate.results.size() < superset.results.size()) && Implication.implies(expression, candidate.expression)) {
+                superset = candidate;
+            }
+        }
+        if (superset == null) {
+            synchronized (this) {
+                missCount++;
+            }
+            return Optional.empty();
+        }
+        Entry<T> derived = new Entry<>(predicate, expression, superset.results.stream().filter(predicate).collect(ImmutableList.toImmutableList()));
+        synchronized (this) {
+            derivedHitCount++;
+            if (generation == this.generation) {
+                lookup(superset.predicate);
+                insert(derived);
+            }
+        }
+        return Optional.of(derived.results);
+    }
+
+    /**
+     * Caches the result of the query, replacing any result of an equal predicate.
+     *
+     * @param predicate the query predicate
+     * @param results   the elements which match the predicate
+     */
+    public void put(Predicate<? super T> predicate, Collection<? extends T> results) {
+        Entry<T> entry = new Entry<>(Objects.requireNonNull(predicate, "predicate"), Expression.of(predicate), ImmutableList.copyOf(results));
+        synchronized (this) {
+            sketch.increment(predicate);
+            insert(entry);
+        }
+    }
+
+    /**
+     * Removes the result of the query from the cache.
+     *
+     * @param predicate the query predicate
+     */
+    public synchronized void invalidate(Predicate<? super T> predicate) {
+        generation++;
+        remove(predicate);
+    }
+
+    /**
+     * Removes every result from the cache.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        window.clear();
+        main.clear();
+        entries.clear();
+        windowWeight = 0;
+        mainWeight = 0;
+    }
+
+    /**
+     * Determines the number of cached results.
+     *
+     * @return the number of entries within the cache
+     */
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /**
+     * Determines the total weight of the cached results.
+     *
+     * @return the weight of the entries within the cache
+     */
+    public synchronized long getWeight() {
+        return windowWeight + mainWeight;
+    }
+
+    /**
+     * Represents the number of lookups answered by an entry of an equal predicate.
+     *
+     * @return the number of exact hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Represents the number of lookups answered by filtering the result of a broader predicate.
+     *
+     * @return the number of derived hits
+     */
+    public synchronized long getDerivedHitCount() {
+        return derivedHitCount;
+    }
+
+    /**
+     * Represents the number of lookups the cache could not answer.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private Entry<T> lookup(Predicate<? super T> predicate) {
+        Entry<T> entry = window.get(predicate);
+        return entry == null ? main.get(predicate) : entry;
+    }
+
+    private void insert(Entry<T> entry) {
+        remove(entry.predicate);
+        if (entry.weight > maximumWeight - windowMaximumWeight) {
+            return; //the entry could never be admitted into the main region
+        }
+        window.put(entry.predicate, entry);
+        windowWeight += entry.weight;
+        entries.put(entry.predicate, entry);
+        sketch.ensureCapacity(entries.size());
+        Iterator<Entry<T>> iterator = window.values().iterator();
+        while (windowWeight > windowMaximumWeight) {
+            Entry<T> candidate = iterator.next();
+            iterator.remove();
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+    }
+
+    /**
+     * Admits the candidate leaving the window into the main region if it is used more often than each of the least
+     * recently used entries it would displace, which are only evicted once the candidate is admitted.
+     */
+    private void admit(Entry<T> candidate) {
+        long excess = mainWeight + candidate.weight - (maximumWeight - windowMaximumWeight);
+        if (excess > 0) {
+            int frequency = sketch.frequency(candidate.predicate);
+            List<Entry<T>> victims = new ArrayList<>();
+            //the candidate is never heavier than the main region, so the main region holds enough victims
+            for (Iterator<Entry<T>> iterator = main.values().iterator(); excess > 0; ) {
+                Entry<T> victim = iterator.next();
+                if (frequency <= sketch.frequency(victim.predicate)) {
+                    entries.remove(candidate.predicate);
+                    return;
+                }
+                victims.add(victim);
+                excess -= victim.weight;
+            }
+            victims.forEach(victim -> remove(victim.predicate));
+        }
+        main.put(candidate.predicate, candidate);
+        mainWeight += candidate.weight;
+    }
+
+    private void remove(Predicate<? super T> predicate) {
+        Entry<T> entry = window.remove(predicate);
+        if (entry != null) {
+            windowWeight -= entry.weight;
+        }
+        entry = main.remove(predicate);
+        if (entry != null) {
+            mainWeight -= entry.weight;
+        }
+        entries.remove(predicate);
+    }
+
+    /**
+     * A cached query result, along with the decomposed query predicate used to prove implication.
+     */
+    private static final class Entry<T> {
+        private final Predicate<? super T> predicate;
+        private final Expression expression;
+        private final List<T> results;
+        private final long weight;
+
+        private Entry(Predicate<? super T> predicate, Expression expression, List<T> results) {
+            this.predicate = predicate;
+            this.expression = expression;
+            this.results = results;
+            this.weight = results.size() + 1L;
+        }
+    }
+
+    /**
+     * A builder for {@link PredicateCache}.
+     *
+     * @param <T> the type of the model
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T> {
+        private long maximumWeight = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum total weight of the cached results, where each result weighs the number of elements within
+         * it plus one.
+         *
+         * @param maximumWeight the maximum weight of the cache
+         * @return {@code this} builder
+         */
+        public Builder<T> setMaximumWeight(long maximumWeight) {
+            if (maximumWeight < 2) {
+                throw new IllegalArgumentException("Maximum weight must be at least 2, but was " + maximumWeight + ".");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Creates the {@link PredicateCache}.
+         *
+         * @return a new {@link PredicateCache}
+         */
+        public PredicateCache<T> build() {
+            if (maximumWeight < 0) {
+                throw new IllegalStateException("Maximum weight must be set.");
+            }
+            return new PredicateCache<>(maximumWeight);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.logic.cep;
+
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Immutable;
+
+import java.util.List;
+
+/**
+ * A representation of a sequence of events which matched a {@link SequencePattern}, paired with the outcome of the
+ * pattern.
+ *
+ * @param <E> the type of the events
+ * @param <V> the type of the pattern outcome
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Immutable
+@ImmutableLogicStyle
+public interface SequenceMatch<E, V> {
+    //Immutables factory stub to hide immutable class dependency
+    static <E, V> SequenceMatch<E, V> of(V value, List<E> events) {
+        return ImmutableSequenceMatch.of(value, events);
+    }
+
+    /**
+     * Represents the outcome of the matching pattern.
+     *
+     * @return the pattern outcome
+     */
+    V getValue();
+
+    /**
+     * Represents the event of each step of the pattern, in sequence order.
+     *
+     * @return the matched events
+     */
+    List<E> getEvents();
+}
@@ -0,0 +1,517 @@
+package io.logic.cep;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.dag.RuleDag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A complex event processor which matches a stream of events against many {@link SequencePattern}s at once.
+ * <p>
+ * The step predicates of every pattern are compiled into a single {@link RuleDag}, so equal step predicates (and
+ * structurally equal sub-predicates of different steps) are evaluated once per event, however many patterns use them.
+ * The patterns themselves are compiled into a shared NFA: patterns with the same key function form a trie of their
+ * steps, so patterns which start with the same steps share the partial matches of their common prefix.
+ * <p>
+ * Partial matches are held per key and advance according to the {@link SequencePattern.Selection} of their patterns
+ * (patterns only share partial matches if they share both the key function and the selection). A partial match is
+ * evicted once the time window of every pattern it can still complete has passed, and the state of a key is evicted as
+ * a whole once all of its partial matches have expired.
+ * <p>
+ * With {@link SequencePattern.Selection#SKIP_TILL_ANY_MATCH}, the partial matches of a key grow exponentially with the
+ * number of its events matching the steps within a time window, so the time window alone does not bound memory.
+ * {@link Builder#setMaxPartialMatchesPerKey(int)} bounds the partial matches of every key, dropping the oldest ones
+ * (which would expire first) once a key exceeds it.
+ * <p>
+ * Events must be processed in non-decreasing timestamp order. {@link SequenceMatcher} is not thread-safe.
+ *
+ * @param <E> the type of the events
+ * @param <V> the type of the pattern outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class SequenceMatcher<E, V> {
+    static final Function<Object, Object> UNKEYED = event -> Boolean.TRUE;
+    private final RuleDag<E, Integer> steps;
+    private final int stepCount;
+    private final List<Trie<E, V>> tries;
+    private final ToLongFunction<? super E> timestamp;
+    private long time = Long.MIN_VALUE;
+    private long partialMatchCount;
+
+    private SequenceMatcher(RuleDag<E, Integer> steps, int stepCount, List<Trie<E, V>> tries, ToLongFunction<? super E> timestamp) {
+        this.steps = steps;
+        this.stepCount = stepCount;
+        this.tries = tries;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link SequenceMatcher}.
+     *
+     * @param <E> the type of the events
+     * @param <V> the type of the pattern outcomes
+     * @return a new builder
+     */
+    public static <E, V> Builder<E, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Processes the next event of the stream.
+     *
+     * @param event the event
+     * @return every sequence completed by the event
+     * @throws IllegalArgumentException if the event is older than an event already processed
+     */
+    public List<SequenceMatch<E, V>> process(E event) {
+        List<SequenceMatch<E, V>> matches = new ArrayList<>();
+        process(event, matches::add);
+        return matches;
+    }
+
+    /**
+     * Processes the next event of the stream, passing every sequence completed by the event to the consumer.
+     * <p>
+     * An event which matches no step is skipped, except that it discards the partial matches of its key for patterns with
+     * {@link SequencePattern.Selection#STRICT_CONTIGUITY}.
+     *
+     * @param event    the event
+     * @param consumer the consumer of the completed sequences
+     * @throws IllegalArgumentException if the event is older than an event already processed
+     */
+    public void process(E event, Consumer<? super SequenceMatch<E, V>> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        long now = timestamp.applyAsLong(event);
+        advanceTo(now);
+        boolean[] matched = new boolean[stepCount];
+        boolean any = false;
+        for (Integer step : steps.match(event)) {
+            matched[step] = true;
+            any = true;
+        }
+        for (Trie<E, V> trie : tries) {
+            if (!any && trie.selection != SequencePattern.Selection.STRICT_CONTIGUITY) {
+                continue;
+            }
+            Object key = trie.key.apply(event);
+            if (key != null) {
+                partialMatchCount += trie.process(key, event, now, matched, consumer);
+            }
+        }
+    }
+
+    /**
+     * Advances the time of the stream without an event, evicting every partial match which can no longer complete.
+     *
+     * @param time the current time, in the unit of the event timestamps
+     * @throws IllegalArgumentException if the time is older than an event already processed
+     */
+    public void advanceTo(long time) {
+        if (time < this.time) {
+            throw new IllegalArgumentException("Time " + time + " is older than the current time " + this.time + ".");
+        }
+        this.time = time;
+        for (Trie<E, V> trie : tries) {
+            partialMatchCount -= trie.evict(time);
+        }
+    }
+
+    /**
+     * Represents the number of partial matches held by the matcher, including partial matches which have expired but
+     * have not been evicted yet.
+     *
+     * @return the number of partial matches
+     */
+    public long getPartialMatchCount() {
+        return partialMatchCount;
+    }
+
+    /**
+     * Represents the number of partial matches dropped because their key exceeded the maximum number of partial
+     * matches.
+     *
+     * @return the number of dropped partial matches
+     */
+    public long getDroppedPartialMatchCount() {
+        long dropped = 0;
+        for (Trie<E, V> trie : tries) {
+            dropped += trie.dropped;
+        }
+        return dropped;
+    }
+
+    /**
+     * A sequence of events matching the steps of a trie node, linked from the last event back to the first.
+     */
+    private static final class Partial<E> {
+        private final long start;
+        private final E event;
+        private final Partial<E> previous;
+        //the children of its node this partial match has been extended into, with skip-till-next-match
+        private BitSet consumed;
+
+        private Partial(long start, E event, Partial<E> previous) {
+            this.start = start;
+            this.event = event;
+            this.previous = previous;
+        }
+
+        private boolean consume(int child) {
+            if (consumed == null) {
+                consumed = new BitSet();
+            } else if (consumed.get(child)) {
+                return false;
+            }
+            consumed.set(child);
+            return true;
+        }
+
+        private boolean isConsumed(int children) {
+            return consumed != null && consumed.cardinality() == children;
+        }
+
+        private List<E> events(int length) {
+            Object[] events = new Object[length];
+            Partial<E> partial = this;
+            for (int i = length - 1; i >= 0; i--) {
+                events[i] = partial.event;
+                partial = partial.previous;
+            }
+            @SuppressWarnings("unchecked")
+            List<E> list = (List<E>) ImmutableList.copyOf(events);
+            return list;
+        }
+    }
+
+    /**
+     * A state of the NFA: the steps from the root of a trie, along with the patterns those steps complete.
+     */
+    private static final class Node<V> {
+        private final int step;
+        private final int depth;
+        private final int ordinal;
+        private final Map<Integer, Node<V>> children = new LinkedHashMap<>();
+        private final List<V> outcomes = new ArrayList<>();
+        private final List<Long> windows = new ArrayList<>();
+        private long window;
+        private int slot = -1;
+
+        private Node(int step, int depth, int ordinal) {
+            this.step = step;
+            this.depth = depth;
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * The partial matches of a single key, in one list per stateful node.
+     */
+    private static final class KeyState<E> {
+        private final List<List<Partial<E>>> partials;
+        private long updated;
+        private int size;
+
+        private KeyState(int slots) {
+            this.partials = new ArrayList<>(slots);
+            for (int i = 0; i < slots; i++) {
+                partials.add(new ArrayList<>());
+            }
+        }
+    }
+
+    /**
+     * The patterns of a single key function and selection, compiled into a trie of their steps.
+     */
+    private static final class Trie<E, V> {
+        private final Function<? super E, ?> key;
+        private final SequencePattern.Selection selection;
+        private final Node<V> root = new Node<>(-1, 0, 0);
+        //keys in order of their last update, so the keys which expire first are always the eldest
+        private final LinkedHashMap<Object, KeyState<E>> states = new LinkedHashMap<>();
+        private List<Node<V>> stateful;
+        private long window;
+        private int maxPartials;
+        private long dropped;
+
+        private Trie(Function<? super E, ?> key, SequencePattern.Selection selection) {
+            this.key = key;
+            this.selection = selection;
+        }
+
+        private void add(List<Integer> steps, long within, V outcome) {
+            Node<V> node = root;
+            for (int step : steps) {
+                Node<V> parent = node;
+                node = node.children.computeIfAbsent(step, ignored -> new Node<>(step, parent.depth + 1, parent.children.size()));
+                node.window = Math.max(node.window, within);
+            }
+            node.outcomes.add(outcome);
+            node.windows.add(within);
+            window = Math.max(window, within);
+        }
+
+        /**
+         * Assigns a slot to every non-root node which has children, deepest first, so each event extends the partial
+         * matches of deeper nodes before creating the ones it extends into.
+         */
+        private void seal(int maxPartials) {
+            this.maxPartials = maxPartials;
+            List<Node<V>> nodes = new ArrayList<>();
+            collect(root, nodes);
+            nodes.sort(Comparator.comparingInt((Node<V> node) -> node.depth).reversed());
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.get(i).slot = i;
+            }
+            stateful = nodes;
+        }
+
+        private void collect(Node<V> node, List<Node<V>> nodes) {
+            for (Node<V> child : node.children.values()) {
+                if (!child.children.isEmpty()) {
+                    nodes.add(child);
+                }
+                collect(child, nodes);
+            }
+        }
+
+        /**
+         * Advances the partial matches of the key with the event, returning the change in the number of partial
+         * matches.
+         */
+        private long process(Object key, E event, long now, boolean[] matched, Consumer<? super SequenceMatch<E, V>> consumer) {
+            KeyState<E> state = states.get(key);
+            long before = state == null ? 0 : state.size;
+            boolean updated = false;
+            if (state != null) {
+                for (Node<V> node : stateful) {
+                    List<Partial<E>> partials = state.partials.get(node.slot);
+                    if (partials.isEmpty()) {
+                        continue;
+                    }
+                    state.size -= expire(partials, now, node.window);
+                    for (Node<V> child : node.children.values()) {
+                        if (matched[child.step]) {
+                            for (Partial<E> partial : partials) {
+                                if (selection != SequencePattern.Selection.SKIP_TILL_NEXT_MATCH || partial.consume(child.ordinal)) {
+                                    state = advance(key, state, child, new Partial<>(partial.start, event, partial), now, consumer);
+                                    updated |= !child.children.isEmpty();
+                                }
+                            }
+                        }
+                    }
+                    if (selection == SequencePattern.Selection.STRICT_CONTIGUITY) {
+                        state.size -= partials.size();
+                        partials.clear();
+                    } else if (selection == SequencePattern.Selection.SKIP_TILL_NEXT_MATCH) {
+                        int children = node.children.size();
+                        int size = partials.size();
+                        partials.removeIf(partial -> partial.isConsumed(children));
+                        state.size -= size - partials.size();
+                    }
+                }
+            }
+            for (Node<V> child : root.children.values()) {
+                if (matched[child.step]) {
+                    state = advance(key, state, child, new Partial<>(now, event, null), now, consumer);
+                    updated |= !child.children.isEmpty();
+                }
+            }
+            if (state == null) {
+                return 0;
+            }
+            if (state.size > maxPartials) {
+                drop(state, state.size - maxPartials);
+            }
+            if (state.size == 0) {
+                states.remove(key);
+            } else if (updated) {
+                state.updated = now;
+                states.remove(key);
+                states.put(key, state);
+            }
+            return state.size - before;
+        }
+
+        private KeyState<E> advance(Object key, KeyState<E> state, Node<V> node, Partial<E> partial, long now,
+                                    Consumer<? super SequenceMatch<E, V>> consumer) {
+            for (int i = 0; i < node.outcomes.size(); i++) {
+                if (now - partial.start <= node.windows.get(i)) {
+                    consumer.accept(SequenceMatch.of(node.outcomes.get(i), partial.events(node.depth)));
+                }
+            }
+            if (node.children.isEmpty()) {
+                return state;
+            }
+            if (state == null) {
+                state = new KeyState<>(stateful.size());
+                states.put(key, state);
+            }
+            state.partials.get(node.slot).add(partial);
+            state.size++;
+            return state;
+        }
+
+        /**
+         * Drops the oldest partial matches of the key.
+         */
+        private void drop(KeyState<E> state, int excess) {
+            long[] starts = new long[state.size];
+            int i = 0;
+            for (List<Partial<E>> partials : state.partials) {
+                for (Partial<E> partial : partials) {
+                    starts[i++] = partial.start;
+                }
+            }
+            Arrays.sort(starts);
+            long threshold = starts[excess - 1];
+            //partial matches which start at the threshold are only dropped until the excess is reached
+            int ties = 0;
+            for (int j = excess - 1; j >= 0 && starts[j] == threshold; j--) {
+                ties++;
+            }
+            for (List<Partial<E>> partials : state.partials) {
+                int kept = 0;
+                for (Partial<E> partial : partials) {
+                    boolean drop = partial.start < threshold || partial.start == threshold && ties-- > 0;
+                    if (!drop) {
+                        partials.set(kept++, partial);
+                    }
+                }
+                partials.subList(kept, partials.size()).clear();
+            }
+            state.size -= excess;
+            dropped += excess;
+        }
+
+        private static <E> int expire(List<Partial<E>> partials, long now, long window) {
+            int kept = 0;
+            for (Partial<E> partial : partials) {
+                if (now - partial.start <= window) {
+                    partials.set(kept++, partial);
+                }
+            }
+            int expired = partials.size() - kept;
+            partials.subList(kept, partials.size()).clear();
+            return expired;
+        }
+
+        /**
+         * Evicts the keys whose partial matches have all expired, returning the number of evicted partial matches.
+         */
+        private long evict(long now) {
+            long evicted = 0;
+            Iterator<KeyState<E>> iterator = states.values().iterator();
+            while (iterator.hasNext()) {
+                KeyState<E> state = iterator.next();
+                if (now - state.updated <= window) {
+                    break;
+                }
+                evicted += state.size;
+                iterator.remove();
+            }
+            return evicted;
+        }
+    }
+
+    /**
+     * A builder for {@link SequenceMatcher}.
+     *
+     * @param <E> the type of the events
+     * @param <V> the type of the pattern outcomes
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<E, V> {
+        private final RuleDag.Builder<E, Integer> steps = RuleDag.builder();
+        private final Map<Predicate<? super E>, Integer> stepIds = new HashMap<>();
+        private final Map<Function<? super E, ?>, Map<SequencePattern.Selection, Trie<E, V>>> tries = new IdentityHashMap<>();
+        private ToLongFunction<? super E> timestamp;
+        private int maxPartialMatchesPerKey = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the function which reads the timestamp of an event, in the unit of {@link java.time.Duration#toMillis()} (e.g.
+         * epoch milliseconds).
+         *
+         * @param timestamp the timestamp function of the events
+         * @return {@code this} builder
+         */
+        public Builder<E, V> setTimestamp(ToLongFunction<? super E> timestamp) {
+            this.timestamp = Objects.requireNonNull(timestamp, "timestamp");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of partial matches held for a key, beyond which the oldest partial matches of the key
+         * are dropped (and the sequences they would have completed are not matched). The partial matches of patterns
+         * with different key functions or selections are bounded separately. The number is unbounded by default.
+         *
+         * @param maxPartialMatchesPerKey the maximum number of partial matches of a key
+         * @return {@code this} builder
+         */
+        public Builder<E, V> setMaxPartialMatchesPerKey(int maxPartialMatchesPerKey) {
+            if (maxPartialMatchesPerKey < 1) {
+                throw new IllegalArgumentException("Maximum partial matches per key must be positive, but was " + maxPartialMatchesPerKey + ".");
+            }
+            this.maxPartialMatchesPerKey = maxPartialMatchesPerKey;
+            return this;
+        }
+
+        /**
+         * Adds a pattern to the matcher.
+         *
+         * @param pattern the pattern to match
+         * @param outcome the outcome of the pattern
+         * @return {@code this} builder
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<E, V> addPattern(SequencePattern<E> pattern, V outcome) {
+            Objects.requireNonNull(pattern, "pattern");
+            Objects.requireNonNull(outcome, "outcome");
+            List<Integer> ids = new ArrayList<>();
+            for (Predicate<? super E> step : pattern.getSteps()) {
+                ids.add(stepIds.computeIfAbsent(step, ignored -> {
+                    steps.addRule((Predicate<E>) step, stepIds.size());
+                    return stepIds.size();
+                }));
+            }
+            tries.computeIfAbsent(pattern.getKey(), ignored -> new EnumMap<>(SequencePattern.Selection.class))
+                    .computeIfAbsent(pattern.getSelection(), selection -> new Trie<>(pattern.getKey(), selection))
+                    .add(ids, pattern.getWithin().toMillis(), outcome);
+            return this;
+        }
+
+        /**
+         * Creates the {@link SequenceMatcher}.
+         *
+         * @return a new {@link SequenceMatcher}
+         */
+        public SequenceMatcher<E, V> build() {
+            if (timestamp == null) {
+                throw new IllegalStateException("Timestamp must be set.");
+            }
+            List<Trie<E, V>> built = new ArrayList<>();
+            tries.values().forEach(selections -> built.addAll(selections.values()));
+            built.forEach(trie -> trie.seal(maxPartialMatchesPerKey));
+            return new SequenceMatcher<>(steps.build(), stepIds.size(), built, timestamp);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.logic.cep;
+
+import com.google.common.base.Preconditions;
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A pattern of a sequence of events, where each step of the sequence is an event matching the predicate of the step
+ * (e.g. an {@code EventPredicate}), following the event of the previous step within the time window of the pattern.
+ * <p>
+ * Events only form a sequence if they have an equal key (e.g. the account of the event), so a pattern like
+ * "a failed login then a withdrawal within 5 minutes on the same account" is the steps
+ * {@code whenType(isEqualTo("LOGIN_FAILED"))} and {@code whenType(isEqualTo("WITHDRAWAL"))}, keyed by
+ * {@code Event::getAccount}, within 5 minutes. Events with a {@code null} key never match a keyed pattern. Patterns
+ * without a key match sequences of any events. The {@link Selection} of the pattern decides which of the events
+ * matching a step extend a sequence.
+ *
+ * @param <E> the type of the events
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Immutable
+@ImmutableLogicStyle
+public interface SequencePattern<E> {
+    //Immutables builder stub to hide immutable class dependency
+    static <E> Builder<E> builder() {
+        return ImmutableSequencePattern.builder();
+    }
+
+    /**
+     * Represents the predicates of the events of each step, in sequence order.
+     *
+     * @return the steps of the pattern
+     */
+    List<Predicate<? super E>> getSteps();
+
+    /**
+     * Represents the maximum time between the first and the last event of a sequence.
+     *
+     * @return the time window of the pattern
+     */
+    Duration getWithin();
+
+    /**
+     * Represents the function which reads the key that every event of a sequence must share.
+     * <p>
+     * Patterns which share the same key function instance share their partial matches, so patterns with a common
+     * prefix of steps are only advanced once per event.
+     *
+     * @return the key function of the pattern
+     */
+    @Default
+    default Function<? super E, ?> getKey() {
+        return SequenceMatcher.UNKEYED;
+    }
+
+    /**
+     * Represents how events matching the next step extend the partial sequences of the pattern.
+     *
+     * @return the selection strategy of the pattern, which is {@link Selection#SKIP_TILL_ANY_MATCH} by default
+     */
+    @Default
+    default Selection getSelection() {
+        return Selection.SKIP_TILL_ANY_MATCH;
+    }
+
+    /**
+     * An <a href="https://github.com/immutables/immutables">Immutables</a> precondition {@link Check} that ensures
+     * the pattern has at least one step and a non-negative time window.
+     */
+    @Check
+    default void checkPattern() {
+        Preconditions.checkState(!getSteps().isEmpty(), "Pattern must have at least one step.");
+        Preconditions.checkState(!getWithin().isNegative(), "Time window must not be negative, but was %s.", getWithin());
+    }
+
+    //Immutables builder stub to hide immutable class dependency
+    interface Builder<E> {
+        Builder<E> addStep(Predicate<? super E> step);
+
+        Builder<E> setWithin(Duration within);
+
+        Builder<E> setKey(Function<? super E, ?> key);
+
+        Builder<E> setSelection(Selection selection);
+
+        SequencePattern<E> build();
+    }
+
+    /**
+     * A strategy which decides which events extend a partial sequence of a pattern.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    enum Selection {
+        /**
+         * Every event matching the next step extends a partial sequence into a new one, while the partial sequence keeps
+         * waiting for other events, so every combination of matching events is found. A key holds a partial sequence
+         * for every combination of its events within the time window, which grows exponentially with those events.
+         */
+        SKIP_TILL_ANY_MATCH,
+        /**
+         * Only the first event matching the next step extends a partial sequence, and events which do not match it are
+         * skipped. A key holds at most one partial sequence per pattern for each of its events within the time window.
+         */
+        SKIP_TILL_NEXT_MATCH,
+        /**
+         * A partial sequence is only extended by the next event of its key, and is discarded if that event does not match
+         * the next step. A key holds at most one partial sequence per step of its patterns.
+         */
+        STRICT_CONTIGUITY
+    }
+}
@@ -0,0 +1,237 @@
+package io.logic.dag;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A rule set compiled into a hash-consed DAG, where structurally equal sub-predicates across every rule are merged
+ * into a single node.
+ * <p>
+ * Rules that share sub-predicates (e.g. the same {@code whenCountry(isEqualTo("US")).and(whenActive(isTrue()))} prefix)
+ * share the nodes that represent them, and {@link RuleDag#match(Object)} evaluates every node at most once per model
+ * instance by memoizing node results in a per-evaluation bitset. Member predicates are flattened into their atoms
+ * (see {@link Expression}), so sharing also happens between atoms nested inside different member predicates.
+ * <p>
+ * Evaluation short-circuits exactly like the original predicates, so a node is only evaluated when one of the rules
+ * that reaches it needs its result.
+ *
+ * @param <T> the type of the model being matched
+ * @param <V> the type of the rule outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class RuleDag<T, V> {
+    private static final byte AND = 0;
+    private static final byte OR = 1;
+    private static final byte NOT = 2;
+    private static final byte TEST = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private final byte[] kinds;
+    private final int[] lefts;
+    private final int[] rights;
+    private final Atom[] atoms;
+    private final int[] roots;
+    private final List<V> outcomes;
+
+    private RuleDag(byte[] kinds, int[] lefts, int[] rights, Atom[] atoms, int[] roots, List<V> outcomes) {
+        this.kinds = kinds;
+        this.lefts = lefts;
+        this.rights = rights;
+        this.atoms = atoms;
+        this.roots = roots;
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link RuleDag}.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the rule outcomes
+     * @return a new builder
+     */
+    public static <T, V> Builder<T, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Matches the model instance against every rule.
+     *
+     * @param object the model instance
+     * @return the outcomes of every matching rule, in the order the rules were added
+     */
+    public List<V> match(T object) {
+        List<V> matches = new ArrayList<>();
+        match(object, matches::add);
+        return matches;
+    }
+
+    /**
+     * Matches the model instance against every rule, passing the outcome of every matching rule to the consumer in the
+     * order the rules were added.
+     *
+     * @param object   the model instance
+     * @param consumer the consumer of the outcomes of matching rules
+     */
+    public void match(T object, Consumer<? super V> consumer) {
+        int words = (kinds.length + 63) >>> 6;
+        long[] evaluated = new long[words];
+        long[] results = new long[words];
+        for (int i = 0; i < roots.length; i++) {
+            if (evaluate(roots[i], object, evaluated, results)) {
+                consumer.accept(outcomes.get(i));
+            }
+        }
+    }
+
+    /**
+     * Represents the number of distinct nodes in the DAG after merging structurally equal sub-predicates.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return kinds.length;
+    }
+
+    private boolean evaluate(int node, Object object, long[] evaluated, long[] results) {
+        int word = node >>> 6;
+        long bit = 1L << node;
+        if ((evaluated[word] & bit) != 0) {
+            return (results[word] & bit) != 0;
+        }
+        boolean result;
+        switch (kinds[node]) {
+            case AND:
+                result = evaluate(lefts[node], object, evaluated, results) && evaluate(rights[node], object, evaluated, results);
+                break;
+            case OR:
+                result = evaluate(lefts[node], object, evaluated, results) || evaluate(rights[node], object, evaluated, results);
+                break;
+            case NOT:
+                result = !evaluate(lefts[node], object, evaluated, results);
+                break;
+            case TEST:
+                result = atoms[node].test(object);
+                break;
+            default:
+                result = kinds[node] == TRUE;
+        }
+        evaluated[word] |= bit;
+        if (result) {
+            results[word] |= bit;
+        }
+        return result;
+    }
+
+    /**
+     * A builder for {@link RuleDag}.
+     * <p>
+     * Nodes are interned bottom-up: an atom is interned by its structural value, and a combinator is interned by its
+     * kind and the ids of its already interned operands, so checking whether a node already exists never compares more
+     * than one level of the tree.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the rule outcomes
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T, V> {
+        private final Map<Object, Integer> interned = new HashMap<>();
+        private final List<Byte> kinds = new ArrayList<>();
+        private final List<Integer> lefts = new ArrayList<>();
+        private final List<Integer> rights = new ArrayList<>();
+        private final List<Atom> atoms = new ArrayList<>();
+        private final List<Integer> roots = new ArrayList<>();
+        private final ImmutableList.Builder<V> outcomes = ImmutableList.builder();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule to the DAG.
+         *
+         * @param predicate the condition of the rule
+         * @param outcome   the outcome of the rule
+         * @return {@code this} builder
+         */
+        public Builder<T, V> addRule(Predicate<T> predicate, V outcome) {
+            roots.add(intern(Expression.of(Objects.requireNonNull(predicate, "predicate"))));
+            outcomes.add(Objects.requireNonNull(outcome, "outcome"));
+            return this;
+        }
+
+        /**
+         * Builds the {@link RuleDag} from every rule added so far.
+         *
+         * @return a new {@link RuleDag}
+         */
+        public RuleDag<T, V> build() {
+            int size = kinds.size();
+            byte[] kinds = new byte[size];
+            int[] lefts = new int[size];
+            int[] rights = new int[size];
+            for (int i = 0; i < size; i++) {
+                kinds[i] = this.kinds.get(i);
+                lefts[i] = this.lefts.get(i);
+                rights[i] = this.rights.get(i);
+            }
+            return new RuleDag<>(kinds, lefts, rights, atoms.toArray(new Atom[0]),
+                    roots.stream().mapToInt(Integer::intValue).toArray(), outcomes.build());
+        }
+
+        private int intern(Expression expression) {
+            return expression.accept(new ExpressionVisitor<Integer>() {
+                @Override
+                public Integer visit(Expression.And and) {
+                    return node(AND, and.getLeft().accept(this), and.getRight().accept(this), null);
+                }
+
+                @Override
+                public Integer visit(Expression.Or or) {
+                    return node(OR, or.getLeft().accept(this), or.getRight().accept(this), null);
+                }
+
+                @Override
+                public Integer visit(Expression.Not not) {
+                    return node(NOT, not.getOperand().accept(this), -1, null);
+                }
+
+                @Override
+                public Integer visit(Expression.Test test) {
+                    return node(TEST, -1, -1, test.getAtom());
+                }
+
+                @Override
+                public Integer visit(Expression.Constant constant) {
+                    return node(constant.isValue() ? TRUE : FALSE, -1, -1, null);
+                }
+            });
+        }
+
+        private int node(byte kind, int left, int right, Atom atom) {
+            Object key = atom != null ? atom : Arrays.asList(kind, left, right);
+            Integer existing = interned.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int id = kinds.size();
+            kinds.add(kind);
+            lefts.add(left);
+            rights.add(right);
+            atoms.add(atom);
+            interned.put(key, id);
+            return id;
+        }
+    }
+}
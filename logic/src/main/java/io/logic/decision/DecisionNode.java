@@ -0,0 +1,120 @@
+package io.logic.decision;
+
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A representation of a node within a compiled {@link DecisionTree}.
+ * <p>
+ * Evaluation walks from the root node by repeatedly calling {@link DecisionNode#next(Object)} until a {@link Leaf} is
+ * reached, which avoids deep recursion for tall trees.
+ *
+ * @param <V> the type of the rule outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+abstract class DecisionNode<V> {
+    /**
+     * Selects the next node to visit for the specified model instance.
+     *
+     * @param object the model instance being routed
+     * @return the next node to visit
+     */
+    abstract DecisionNode<V> next(Object object);
+
+    /**
+     * A terminal node which holds the outcome of the first matching rule, if any rule matched.
+     *
+     * @param <V> the type of the rule outcomes
+     */
+    static final class Leaf<V> extends DecisionNode<V> {
+        final Optional<V> outcome;
+
+        Leaf(Optional<V> outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        DecisionNode<V> next(Object object) {
+            return this;
+        }
+    }
+
+    /**
+     * A binary node which tests a single atom.
+     *
+     * @param <V> the type of the rule outcomes
+     */
+    static final class Test<V> extends DecisionNode<V> {
+        final Atom atom;
+        final DecisionNode<V> whenTrue;
+        final DecisionNode<V> whenFalse;
+
+        Test(Atom atom, DecisionNode<V> whenTrue, DecisionNode<V> whenFalse) {
+            this.atom = atom;
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+        }
+
+        @Override
+        DecisionNode<V> next(Object object) {
+            return atom.test(object) ? whenTrue : whenFalse;
+        }
+    }
+
+    /**
+     * A multi-way node which reads a member once and resolves every {@code Equals} atom on that member with a single
+     * hash lookup.
+     *
+     * @param <V> the type of the rule outcomes
+     */
+    static final class Switch<V> extends DecisionNode<V> {
+        final Atom member;
+        final Map<Object, DecisionNode<V>> cases;
+        final DecisionNode<V> otherwise;
+
+        Switch(Atom member, Map<Object, DecisionNode<V>> cases, DecisionNode<V> otherwise) {
+            this.member = member;
+            this.cases = cases;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        DecisionNode<V> next(Object object) {
+            Object value = member.resolve(object);
+            DecisionNode<V> next = value == null ? null : cases.get(value);
+            return next == null ? otherwise : next;
+        }
+    }
+
+    /**
+     * A node which evaluates the remaining rules in order, used once the compilation budget has been exhausted.
+     *
+     * @param <V> the type of the rule outcomes
+     */
+    static final class Sequence<V> extends DecisionNode<V> {
+        final List<Expression> conditions;
+        final List<Leaf<V>> outcomes;
+        final Leaf<V> otherwise;
+
+        Sequence(List<Expression> conditions, List<Leaf<V>> outcomes, Leaf<V> otherwise) {
+            this.conditions = conditions;
+            this.outcomes = outcomes;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        DecisionNode<V> next(Object object) {
+            for (int i = 0; i < conditions.size(); i++) {
+                if (conditions.get(i).test(object)) {
+                    return outcomes.get(i);
+                }
+            }
+            return otherwise;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.logic.decision;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Expression;
+import io.logic.structure.LogicPredicate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A first-match routing table compiled into a decision DAG.
+ * <p>
+ * Rules are added in priority order as pairs of a predicate and an outcome. {@link DecisionTree#route(Object)} returns
+ * the outcome of the first rule whose predicate matches, exactly as if every rule were tested top-to-bottom, but along
+ * any path of the compiled DAG each atom of the rule predicates (e.g. {@code whenMake(isEqualTo("Ford"))}) is tested at
+ * most once, and {@code Equals} tests on the same member across many rules are resolved with a single hash lookup.
+ * <p>
+ * Predicates that implement {@link LogicPredicate} are decomposed into their atoms; any other {@link Predicate} is
+ * treated as a single opaque atom.
+ * <p>
+ * Member values which are {@code null} never match an {@code Equals} test that has been compiled into a hash lookup,
+ * whereas the original predicate would throw a {@link NullPointerException}.
+ *
+ * @param <T> the type of the model being routed
+ * @param <V> the type of the rule outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class DecisionTree<T, V> {
+    private final DecisionNode<V> root;
+    private final int size;
+
+    private DecisionTree(DecisionNode<V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link DecisionTree}.
+     *
+     * @param <T> the type of the model being routed
+     * @param <V> the type of the rule outcomes
+     * @return a new builder
+     */
+    public static <T, V> Builder<T, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Routes the model instance to the outcome of the first matching rule.
+     *
+     * @param object the model instance to route
+     * @return the outcome of the first matching rule, or {@link Optional#empty()} if no rule matches
+     */
+    public Optional<V> route(T object) {
+        DecisionNode<V> node = root;
+        while (!(node instanceof DecisionNode.Leaf)) {
+            node = node.next(object);
+        }
+        return ((DecisionNode.Leaf<V>) node).outcome;
+    }
+
+    /**
+     * Represents the number of test and switch nodes in the compiled decision DAG.
+     *
+     * @return the number of decision nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A builder for {@link DecisionTree}.
+     *
+     * @param <T> the type of the model being routed
+     * @param <V> the type of the rule outcomes
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T, V> {
+        private final ImmutableList.Builder<Expression> conditions = ImmutableList.builder();
+        private final ImmutableList.Builder<V> outcomes = ImmutableList.builder();
+        private int maxNodes = 1 << 16;
+        private int maxDepth = 256;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule with a lower priority than every rule added before it.
+         *
+         * @param predicate the condition of the rule
+         * @param outcome   the outcome of the rule
+         * @return {@code this} builder
+         */
+        public Builder<T, V> addRule(Predicate<T> predicate, V outcome) {
+            conditions.add(Expression.of(Objects.requireNonNull(predicate, "predicate")));
+            outcomes.add(Objects.requireNonNull(outcome, "outcome"));
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of decision nodes to create. Once exhausted, the remaining rules at a node are
+         * evaluated in order.
+         *
+         * @param maxNodes the maximum number of decision nodes
+         * @return {@code this} builder
+         */
+        public Builder<T, V> setMaxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum depth of the decision DAG. Beyond this depth, the remaining rules at a node are evaluated in
+         * order.
+         *
+         * @param maxDepth the maximum depth of the decision DAG
+         * @return {@code this} builder
+         */
+        public Builder<T, V> setMaxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Compiles the rules into a {@link DecisionTree}.
+         *
+         * @return a new {@link DecisionTree}
+         */
+        public DecisionTree<T, V> build() {
+            List<V> outcomes = this.outcomes.build();
+            DecisionTreeCompiler<V> compiler = new DecisionTreeCompiler<>(outcomes, maxNodes, maxDepth);
+            DecisionNode<V> root = compiler.compile(conditions.build());
+            return new DecisionTree<>(root, compiler.getNodeCount());
+        }
+    }
+}
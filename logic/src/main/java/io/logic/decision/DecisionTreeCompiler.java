@@ -0,0 +1,180 @@
+package io.logic.decision;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A compiler which converts an ordered list of rule conditions into a decision DAG of {@link DecisionNode}.
+ * <p>
+ * Compilation is a recursive case split: the state of each node is the ordered list of rules that can still match,
+ * with every atom already tested on the path from the root substituted into the rule conditions. Rules whose condition
+ * folds to {@code false} are dropped, and a rule whose condition folds to {@code true} ends the split (along with every
+ * rule after it, since only the first match is returned). Equal states are compiled once and shared, which turns the
+ * tree into a DAG.
+ * <p>
+ * The atom to split on is the first untested atom of the first remaining rule. If that atom is an {@code Equals} test
+ * on a member that other remaining rules also test with {@code Equals}, a {@link DecisionNode.Switch} is created to
+ * resolve all of them with a single hash lookup, instead of a chain of binary tests.
+ *
+ * @param <V> the type of the rule outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class DecisionTreeCompiler<V> {
+    private final List<DecisionNode.Leaf<V>> outcomes;
+    private final DecisionNode.Leaf<V> unmatched = new DecisionNode.Leaf<>(Optional.empty());
+    private final Map<List<Candidate>, DecisionNode<V>> compiled = new HashMap<>();
+    private final int maxNodes;
+    private final int maxDepth;
+    private int nodes;
+
+    DecisionTreeCompiler(List<V> outcomes, int maxNodes, int maxDepth) {
+        ImmutableList.Builder<DecisionNode.Leaf<V>> leaves = ImmutableList.builder();
+        outcomes.forEach(outcome -> leaves.add(new DecisionNode.Leaf<>(Optional.of(outcome))));
+        this.outcomes = leaves.build();
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Compiles the rule conditions, in priority order, into the root of a decision DAG.
+     *
+     * @param conditions the rule conditions
+     * @return the root node of the decision DAG
+     */
+    DecisionNode<V> compile(List<Expression> conditions) {
+        ImmutableList.Builder<Candidate> candidates = ImmutableList.builder();
+        for (int i = 0; i < conditions.size(); i++) {
+            candidates.add(new Candidate(i, conditions.get(i)));
+        }
+        return compile(candidates.build(), 0);
+    }
+
+    /**
+     * Represents the number of test and switch nodes created during compilation.
+     *
+     * @return the number of decision nodes
+     */
+    int getNodeCount() {
+        return nodes;
+    }
+
+    private DecisionNode<V> compile(List<Candidate> candidates, int depth) {
+        ImmutableList.Builder<Candidate> builder = ImmutableList.builder();
+        boolean empty = true;
+        for (Candidate candidate : candidates) {
+            Expression condition = candidate.condition;
+            if (condition instanceof Expression.Constant) {
+                if (!((Expression.Constant) condition).isValue()) {
+                    continue;
+                }
+                if (empty) {
+                    return outcomes.get(candidate.index);
+                }
+                builder.add(candidate);
+                break; //nothing after an unconditional match is reachable
+            }
+            builder.add(candidate);
+            empty = false;
+        }
+        if (empty) {
+            return unmatched;
+        }
+        List<Candidate> remaining = builder.build();
+        DecisionNode<V> existing = compiled.get(remaining);
+        if (existing != null) {
+            return existing;
+        }
+        DecisionNode<V> node = nodes >= maxNodes || depth >= maxDepth ? sequence(remaining) : split(remaining, depth);
+        compiled.put(remaining, node);
+        return node;
+    }
+
+    private DecisionNode<V> split(List<Candidate> remaining, int depth) {
+        nodes++;
+        Atom atom = remaining.get(0).condition.atoms().iterator().next();
+        if (atom.isHashable()) {
+            Map<Object, Atom> cases = new LinkedHashMap<>();
+            for (Candidate candidate : remaining) {
+                for (Atom other : candidate.condition.atoms()) {
+                    if (other.getPath().equals(atom.getPath()) && other.isHashable()) {
+                        cases.putIfAbsent(other.getParameters().get("value"), other);
+                    }
+                }
+            }
+            if (cases.size() > 1) {
+                Map<Atom, Boolean> none = new HashMap<>();
+                cases.values().forEach(other -> none.put(other, false));
+                ImmutableMap.Builder<Object, DecisionNode<V>> branches = ImmutableMap.builder();
+                cases.forEach((value, match) -> {
+                    Map<Atom, Boolean> values = new HashMap<>(none);
+                    values.put(match, true);
+                    branches.put(value, compile(assign(remaining, values), depth + 1));
+                });
+                return new DecisionNode.Switch<>(atom, branches.build(), compile(assign(remaining, none), depth + 1));
+            }
+        }
+        return new DecisionNode.Test<>(atom,
+                compile(assign(remaining, ImmutableMap.of(atom, true)), depth + 1),
+                compile(assign(remaining, ImmutableMap.of(atom, false)), depth + 1));
+    }
+
+    private DecisionNode<V> sequence(List<Candidate> remaining) {
+        ImmutableList.Builder<Expression> conditions = ImmutableList.builder();
+        ImmutableList.Builder<DecisionNode.Leaf<V>> leaves = ImmutableList.builder();
+        remaining.forEach(candidate -> {
+            conditions.add(candidate.condition);
+            leaves.add(outcomes.get(candidate.index));
+        });
+        return new DecisionNode.Sequence<>(conditions.build(), leaves.build(), unmatched);
+    }
+
+    private List<Candidate> assign(List<Candidate> candidates, Map<Atom, Boolean> values) {
+        List<Candidate> assigned = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Expression condition = candidate.condition.assign(values);
+            assigned.add(condition == candidate.condition ? candidate : new Candidate(candidate.index, condition));
+        }
+        return assigned;
+    }
+
+    /**
+     * A rule that can still match at a node of the decision DAG.
+     */
+    private static final class Candidate {
+        private final int index;
+        private final Expression condition;
+
+        private Candidate(int index, Expression condition) {
+            this.index = index;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Candidate)) {
+                return false;
+            }
+            Candidate other = (Candidate) o;
+            return index == other.index && condition.equals(other.condition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(index, condition);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package io.logic.join;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An equi-join between the instances of two models, executed as a hash join.
+ * <p>
+ * The join condition is an equality between one or more members of each side (e.g. the id of an order and the order id
+ * of a payment), along with a predicate for each side (e.g. {@code OrderPredicate} and {@code PaymentPredicate}) and an
+ * optional condition between the two sides. The side predicates are pushed below the join: each side is filtered before
+ * the join, so only matching instances are hashed or probed. The smaller filtered side is then hashed by its key, and
+ * every instance of the other side probes the table, so a join costs time linear in the size of its inputs and output
+ * instead of the product of the input sizes.
+ * <p>
+ * Keys are compared with {@link Object#equals(Object)} (as the {@code Equals} mixin of reference members does), and
+ * instances with a {@code null} key never match, as in SQL. Outer joins emit the instances of the outer side which pass
+ * their side predicate but match nothing, with {@code null} for the other side. {@link HashJoin} is immutable and
+ * thread-safe.
+ *
+ * @param <L> the type of the left model
+ * @param <R> the type of the right model
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class HashJoin<L, R> {
+    private final List<Function<? super L, ?>> leftKeys;
+    private final List<Function<? super R, ?>> rightKeys;
+    private final Predicate<? super L> leftFilter;
+    private final Predicate<? super R> rightFilter;
+    private final BiPredicate<? super L, ? super R> condition;
+    private final Type type;
+
+    private HashJoin(List<Function<? super L, ?>> leftKeys, List<Function<? super R, ?>> rightKeys, Predicate<? super L> leftFilter,
+                     Predicate<? super R> rightFilter, BiPredicate<? super L, ? super R> condition, Type type) {
+        this.leftKeys = ImmutableList.copyOf(leftKeys);
+        this.rightKeys = ImmutableList.copyOf(rightKeys);
+        this.leftFilter = leftFilter;
+        this.rightFilter = rightFilter;
+        this.condition = condition;
+        this.type = type;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link HashJoin}.
+     *
+     * @param <L> the type of the left model
+     * @param <R> the type of the right model
+     * @return a new builder
+     */
+    public static <L, R> Builder<L, R> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Represents the kind of join, which determines the unmatched instances the join emits.
+     *
+     * @return the type of the join
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Joins the instances of both sides, passing every joined pair to the consumer.
+     *
+     * @param left     the instances of the left side
+     * @param right    the instances of the right side
+     * @param consumer the consumer of the joined pairs, which receives {@code null} for the missing side of an unmatched
+     *                 instance of an outer join
+     */
+    public void forEach(Iterable<? extends L> left, Iterable<? extends R> right, BiConsumer<? super L, ? super R> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        List<L> filteredLeft = filter(left, leftFilter);
+        List<R> filteredRight = filter(right, rightFilter);
+        boolean outerLeft = type == Type.LEFT || type == Type.FULL;
+        boolean outerRight = type == Type.RIGHT || type == Type.FULL;
+        if (filteredRight.size() <= filteredLeft.size()) {
+            join(filteredRight, rightKeys, filteredLeft, leftKeys, condition::test, outerRight, outerLeft, (r, l) -> consumer.accept(l, r));
+        } else {
+            join(filteredLeft, leftKeys, filteredRight, rightKeys, (r, l) -> condition.test(l, r), outerLeft, outerRight, consumer::accept);
+        }
+    }
+
+    /**
+     * Joins the instances of both sides, combining every joined pair into an output value.
+     *
+     * @param left     the instances of the left side
+     * @param right    the instances of the right side
+     * @param combiner the function which combines a joined pair, which receives {@code null} for the missing side of
+     *                 an unmatched instance of an outer join
+     * @param <O>      the type of the output values
+     * @return the combined pairs
+     */
+    public <O> List<O> join(Iterable<? extends L> left, Iterable<? extends R> right, BiFunction<? super L, ? super R, ? extends O> combiner) {
+        Objects.requireNonNull(combiner, "combiner");
+        List<O> output = new ArrayList<>();
+        forEach(left, right, (l, r) -> output.add(combiner.apply(l, r)));
+        return output;
+    }
+
+    /**
+     * Counts the joined pairs of the instances of both sides.
+     *
+     * @param left  the instances of the left side
+     * @param right the instances of the right side
+     * @return the number of joined pairs
+     */
+    public long count(Iterable<? extends L> left, Iterable<? extends R> right) {
+        long[] count = new long[1];
+        forEach(left, right, (l, r) -> count[0]++);
+        return count[0];
+    }
+
+    private static <T> List<T> filter(Iterable<? extends T> elements, Predicate<? super T> filter) {
+        Objects.requireNonNull(elements, "elements");
+        List<T> filtered = new ArrayList<>();
+        for (T element : elements) {
+            if (filter.test(element)) {
+                filtered.add(element);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Hashes the build side by its key and probes the table with every instance of the probe side.
+     */
+    private static <B, P> void join(List<B> build, List<Function<? super B, ?>> buildKeys, List<P> probe, List<Function<? super P, ?>> probeKeys,
+                                    BiPredicate<P, B> condition, boolean outerBuild, boolean outerProbe, BiConsumer<B, P> consumer) {
+        Table table = new Table(build.size());
+        //rows are chained in reverse, so each chain lists the rows of a key in their original order
+        for (int row = build.size() - 1; row >= 0; row--) {
+            Object key = key(build.get(row), buildKeys);
+            if (key != null) {
+                table.put(key, row);
+            }
+        }
+        boolean[] matched = outerBuild ? new boolean[build.size()] : null;
+        for (P element : probe) {
+            Object key = key(element, probeKeys);
+            boolean any = false;
+            for (int row = key == null ? -1 : table.get(key); row >= 0; row = table.next(row)) {
+                B candidate = build.get(row);
+                if (condition.test(element, candidate)) {
+                    any = true;
+                    if (matched != null) {
+                        matched[row] = true;
+                    }
+                    consumer.accept(candidate, element);
+                }
+            }
+            if (!any && outerProbe) {
+                consumer.accept(null, element);
+            }
+        }
+        if (matched != null) {
+            for (int row = 0; row < build.size(); row++) {
+                if (!matched[row]) {
+                    consumer.accept(build.get(row), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the join key of the instance, which is {@code null} if any member of the key is {@code null}.
+     */
+    private static <T> Object key(T element, List<Function<? super T, ?>> keys) {
+        if (keys.size() == 1) {
+            return keys.get(0).apply(element);
+        }
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            if ((values[i] = keys.get(i).apply(element)) == null) {
+                return null;
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * The kind of a join.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public enum Type {
+        /**
+         * Emits only the matched pairs.
+         */
+        INNER,
+        /**
+         * Emits the matched pairs and the unmatched instances of the left side.
+         */
+        LEFT,
+        /**
+         * Emits the matched pairs and the unmatched instances of the right side.
+         */
+        RIGHT,
+        /**
+         * Emits the matched pairs and the unmatched instances of both sides.
+         */
+        FULL
+    }
+
+    /**
+     * An open-addressed hash table from the keys of the build side to the chain of rows which have the key.
+     */
+    private static final class Table {
+        private final Object[] keys;
+        private final int[] heads;
+        private final int[] next;
+        private final int mask;
+
+        private Table(int rows) {
+            int capacity = Integer.highestOneBit(Math.max(2, rows * 2 - 1)) << 1;
+            this.keys = new Object[capacity];
+            this.heads = new int[capacity];
+            this.next = new int[rows];
+            this.mask = capacity - 1;
+        }
+
+        private void put(Object key, int row) {
+            int slot = slot(key);
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                next[row] = -1;
+            } else {
+                next[row] = heads[slot];
+            }
+            heads[slot] = row;
+        }
+
+        private int get(Object key) {
+            int slot = slot(key);
+            return keys[slot] == null ? -1 : heads[slot];
+        }
+
+        private int next(int row) {
+            return next[row];
+        }
+
+        private int slot(Object key) {
+            int hash = key.hashCode() * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * A builder for {@link HashJoin}.
+     *
+     * @param <L> the type of the left model
+     * @param <R> the type of the right model
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<L, R> {
+        private final List<Function<? super L, ?>> leftKeys = new ArrayList<>();
+        private final List<Function<? super R, ?>> rightKeys = new ArrayList<>();
+        private Predicate<? super L> leftFilter = left -> true;
+        private Predicate<? super R> rightFilter = right -> true;
+        private BiPredicate<? super L, ? super R> condition = (left, right) -> true;
+        private Type type = Type.INNER;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an equality between a member of each side to the join condition.
+         *
+         * @param leftKey  the accessor of the member of the left side
+         * @param rightKey the accessor of the member of the right side
+         * @return {@code this} builder
+         */
+        public Builder<L, R> on(Function<? super L, ?> leftKey, Function<? super R, ?> rightKey) {
+            leftKeys.add(Objects.requireNonNull(leftKey, "leftKey"));
+            rightKeys.add(Objects.requireNonNull(rightKey, "rightKey"));
+            return this;
+        }
+
+        /**
+         * Sets the predicate the instances of the left side must match, which is tested before the join.
+         *
+         * @param leftFilter the predicate of the left side
+         * @return {@code this} builder
+         */
+        public Builder<L, R> setLeftFilter(Predicate<? super L> leftFilter) {
+            this.leftFilter = Objects.requireNonNull(leftFilter, "leftFilter");
+            return this;
+        }
+
+        /**
+         * Sets the predicate the instances of the right side must match, which is tested before the join.
+         *
+         * @param rightFilter the predicate of the right side
+         * @return {@code this} builder
+         */
+        public Builder<L, R> setRightFilter(Predicate<? super R> rightFilter) {
+            this.rightFilter = Objects.requireNonNull(rightFilter, "rightFilter");
+            return this;
+        }
+
+        /**
+         * Sets the condition between the two sides which a pair with equal keys must also match to be joined.
+         *
+         * @param condition the residual join condition
+         * @return {@code this} builder
+         */
+        public Builder<L, R> setCondition(BiPredicate<? super L, ? super R> condition) {
+            this.condition = Objects.requireNonNull(condition, "condition");
+            return this;
+        }
+
+        /**
+         * Sets the kind of join, which is {@link Type#INNER} by default.
+         *
+         * @param type the type of the join
+         * @return {@code this} builder
+         */
+        public Builder<L, R> setType(Type type) {
+            this.type = Objects.requireNonNull(type, "type");
+            return this;
+        }
+
+        /**
+         * Creates the {@link HashJoin}.
+         *
+         * @return a new {@link HashJoin}
+         */
+        public HashJoin<L, R> build() {
+            if (leftKeys.isEmpty()) {
+                throw new IllegalStateException("At least one equality between the members of both sides must be set.");
+            }
+            return new HashJoin<>(leftKeys, rightKeys, leftFilter, rightFilter, condition, type);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 @Include(value = boolean.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "True",
                 factoryName = "isTrue",
                 expression = "b"
@@ -10,7 +10,7 @@
         )})
 )
 @Include(value = byte.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = byte.class),
@@ -33,7 +33,7 @@
         )})
 )
 @Include(value = short.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = short.class),
@@ -56,7 +56,7 @@
         )})
 )
 @Include(value = int.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = int.class),
@@ -79,7 +79,7 @@
         )})
 )
 @Include(value = long.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = long.class),
@@ -99,10 +99,15 @@
                 factoryName = "isGreaterThanEqualTo",
                 parameters = @Parameter(name = "value", type = long.class),
                 expression = "l >= getValue()"
+        ), @Mixin(
+                name = "MemberOf",
+                factoryName = "isMemberOf",
+                parameters = @Parameter(name = "filter", type = MembershipFilter.class, typeArguments = Long.class),
+                expression = "getFilter().test(l)"
         )})
 )
 @Include(value = float.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = float.class),
@@ -125,7 +130,7 @@
         )})
 )
 @Include(value = double.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = double.class),
@@ -148,7 +153,7 @@
         )})
 )
 @Include(value = char.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "LessThan",
                 factoryName = "isLessThan",
                 parameters = @Parameter(name = "value", type = char.class),
@@ -181,7 +186,7 @@
         )})
 )
 @Include(value = String.class,
-        logic = @Logic(mixins = {@Mixin(
+        logic = @Logic(jackson = true, mixins = {@Mixin(
                 name = "EqualsIgnoreCase",
                 factoryName = "isEqualToIgnoreCase",
                 parameters = @Parameter(name = "value", type = String.class),
@@ -204,6 +209,50 @@
                 factoryName = "contains",
                 parameters = @Parameter(name = "value", type = String.class),
                 expression = "string.contains(getValue())"
+        ), @Mixin(
+                name = "MemberOf",
+                factoryName = "isMemberOf",
+                parameters = @Parameter(name = "filter", type = MembershipFilter.class, typeArguments = CharSequence.class),
+                expression = "getFilter().test(string)"
+        )})
+)
+@Include(value = CharSequence.class,
+        logic = @Logic(jackson = true, mixins = {@Mixin(
+                name = "ContentEquals",
+                factoryName = "isContentEqualTo",
+                parameters = @Parameter(name = "value", type = String.class),
+                expression = "$T.contentEquals(charSequence, getValue())",
+                arguments = @Argument(type = CharSequences.class)
+        ), @Mixin(
+                name = "EqualsIgnoreCase",
+                factoryName = "isEqualToIgnoreCase",
+                parameters = @Parameter(name = "value", type = String.class),
+                expression = "$T.equalsIgnoreCase(charSequence, getValue())",
+                arguments = @Argument(type = CharSequences.class)
+        ), @Mixin(
+                name = "Empty",
+                factoryName = "isEmpty",
+                expression = "charSequence.length() == 0"
+        ), @Mixin(
+                name = "NonEmpty",
+                factoryName = "isNotEmpty",
+                expression = "charSequence.length() != 0"
+        ), @Mixin(
+                name = "Matches",
+                factoryName = "matches",
+                parameters = @Parameter(name = "pattern", type = Pattern.class),
+                expression = "getPattern().matcher(charSequence).matches()"
+        ), @Mixin(
+                name = "Contains",
+                factoryName = "contains",
+                parameters = @Parameter(name = "value", type = String.class),
+                expression = "$T.indexOf(charSequence, getValue()) >= 0",
+                arguments = @Argument(type = CharSequences.class)
+        ), @Mixin(
+                name = "MemberOf",
+                factoryName = "isMemberOf",
+                parameters = @Parameter(name = "filter", type = MembershipFilter.class, typeArguments = CharSequence.class),
+                expression = "getFilter().test(charSequence)"
         )})
 )
 package io.logic;
@@ -212,5 +261,6 @@ import io.logic.Logic.Include;
 import io.logic.Logic.Mixin;
 import io.logic.Logic.Mixin.Argument;
 import io.logic.Logic.Mixin.Parameter;
+import io.logic.text.CharSequences;
 
 import java.util.regex.Pattern;
\ No newline at end of file
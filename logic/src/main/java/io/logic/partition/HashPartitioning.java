@@ -0,0 +1,40 @@
+package io.logic.partition;
+
+import java.util.BitSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link Partitioning} which assigns values to partitions by hash.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class HashPartitioning implements Partitioning {
+    private final int partitionCount;
+    private final ToIntFunction<Object> hash;
+
+    HashPartitioning(int partitionCount, ToIntFunction<Object> hash) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive.");
+        }
+        this.partitionCount = partitionCount;
+        this.hash = hash;
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    @Override
+    public int partitionOf(Object value) {
+        return Math.floorMod(hash.applyAsInt(value), partitionCount);
+    }
+
+    @Override
+    public BitSet partitionsBetween(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+        BitSet partitions = new BitSet(partitionCount);
+        partitions.set(0, partitionCount);
+        return partitions;
+    }
+}
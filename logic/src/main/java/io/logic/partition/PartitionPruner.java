@@ -0,0 +1,224 @@
+package io.logic.partition;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.ExpressionVisitor;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * An analysis which determines the partitions that can contain matches of a predicate, given the {@link Partitioning}
+ * of a member of the model.
+ * <p>
+ * Predicates are decomposed into an {@link Expression}, and each {@code Equals}, {@code LessThan},
+ * {@code LessThanEquals}, {@code GreaterThan} and {@code GreaterThanEquals} atom tested on the partitioning member is
+ * resolved to the partitions that can contain its values. {@code And} intersects the partitions of its operands,
+ * {@code Or} unions them, and {@code Not} is pushed down to the atoms (e.g. {@code !(id < 10)} is {@code id >= 10}).
+ * Every other atom can match in any partition.
+ * <p>
+ * The result is conservative: a partition outside of the result never contains a match, but a partition within the
+ * result is not guaranteed to contain one.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class PartitionPruner {
+    private final List<String> path;
+    private final Partitioning partitioning;
+
+    private PartitionPruner(List<String> path, Partitioning partitioning) {
+        this.path = path;
+        this.partitioning = partitioning;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link PartitionPruner}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Determines the partitions that can contain model instances which match the predicate.
+     *
+     * @param predicate the predicate to analyze
+     * @return the partitions that can contain matches
+     */
+    public BitSet prune(Predicate<?> predicate) {
+        return prune(Expression.of(Objects.requireNonNull(predicate, "predicate")), false);
+    }
+
+    private BitSet prune(Expression expression, boolean negated) {
+        return expression.accept(new ExpressionVisitor<BitSet>() {
+            @Override
+            public BitSet visit(Expression.And and) {
+                //!(a && b) is !a || !b
+                return negated ? union(and.getLeft(), and.getRight()) : intersection(and.getLeft(), and.getRight());
+            }
+
+            @Override
+            public BitSet visit(Expression.Or or) {
+                //!(a || b) is !a && !b
+                return negated ? intersection(or.getLeft(), or.getRight()) : union(or.getLeft(), or.getRight());
+            }
+
+            @Override
+            public BitSet visit(Expression.Not not) {
+                return prune(not.getOperand(), !negated);
+            }
+
+            @Override
+            public BitSet visit(Expression.Test test) {
+                return negated ? pruneNegated(test.getAtom()) : prune(test.getAtom());
+            }
+
+            @Override
+            public BitSet visit(Expression.Constant constant) {
+                return constant.isValue() != negated ? all() : new BitSet(partitioning.getPartitionCount());
+            }
+
+            private BitSet intersection(Expression left, Expression right) {
+                BitSet partitions = prune(left, negated);
+                if (!partitions.isEmpty()) {
+                    partitions.and(prune(right, negated));
+                }
+                return partitions;
+            }
+
+            private BitSet union(Expression left, Expression right) {
+                BitSet partitions = prune(left, negated);
+                partitions.or(prune(right, negated));
+                return partitions;
+            }
+        });
+    }
+
+    private BitSet prune(Atom atom) {
+        Object value = atom.getParameters().get("value");
+        if (!atom.getPath().equals(path) || value == null) {
+            return all();
+        }
+        switch (atom.getName()) {
+            case "Equals":
+                if (isFloatingPoint(value)) {
+                    return partitioning.partitionsBetween(lower(value), true, upper(value), true);
+                }
+                BitSet partitions = new BitSet(partitioning.getPartitionCount());
+                partitions.set(partitioning.partitionOf(value));
+                return partitions;
+            case "LessThan":
+                return partitioning.partitionsBetween(null, false, upper(value), false);
+            case "LessThanEquals":
+                return partitioning.partitionsBetween(null, false, upper(value), true);
+            case "GreaterThan":
+                return partitioning.partitionsBetween(lower(value), false, null, false);
+            case "GreaterThanEquals":
+                return partitioning.partitionsBetween(lower(value), true, null, false);
+            default:
+                return all();
+        }
+    }
+
+    private BitSet pruneNegated(Atom atom) {
+        Object value = atom.getParameters().get("value");
+        //NaN fails every comparison, so the negation of a floating point comparison also matches NaN
+        if (!atom.getPath().equals(path) || value == null || isFloatingPoint(value)) {
+            return all();
+        }
+        switch (atom.getName()) {
+            case "LessThan":
+                return partitioning.partitionsBetween(value, true, null, false);
+            case "LessThanEquals":
+                return partitioning.partitionsBetween(value, false, null, false);
+            case "GreaterThan":
+                return partitioning.partitionsBetween(null, false, value, true);
+            case "GreaterThanEquals":
+                return partitioning.partitionsBetween(null, false, value, false);
+            default:
+                return all();
+        }
+    }
+
+    private BitSet all() {
+        BitSet partitions = new BitSet(partitioning.getPartitionCount());
+        partitions.set(0, partitioning.getPartitionCount());
+        return partitions;
+    }
+
+    private static boolean isFloatingPoint(Object value) {
+        return value instanceof Float || value instanceof Double;
+    }
+
+    //-0.0 == 0.0 for the comparison mixins, but -0.0 is ordered before 0.0 by compareTo, so zero bounds are widened
+    private static Object lower(Object value) {
+        if (value instanceof Double && (Double) value == 0) {
+            return -0.0d;
+        }
+        if (value instanceof Float && (Float) value == 0) {
+            return -0.0f;
+        }
+        return value;
+    }
+
+    private static Object upper(Object value) {
+        if (value instanceof Double && (Double) value == 0) {
+            return 0.0d;
+        }
+        if (value instanceof Float && (Float) value == 0) {
+            return 0.0f;
+        }
+        return value;
+    }
+
+    /**
+     * A builder for {@link PartitionPruner}.
+     *
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder {
+        private List<String> path;
+        private Partitioning partitioning;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the logic names of the members that lead from the root model to the partitioning member (e.g.
+         * {@code "CustomerId"}, or {@code "Account", "Region"} for a nested member).
+         *
+         * @param path the member path of the partitioning member
+         * @return {@code this} builder
+         */
+        public Builder setPath(String... path) {
+            this.path = ImmutableList.copyOf(path);
+            return this;
+        }
+
+        /**
+         * Sets the {@link Partitioning} of the partitioning member values.
+         *
+         * @param partitioning the partitioning of member values
+         * @return {@code this} builder
+         */
+        public Builder setPartitioning(Partitioning partitioning) {
+            this.partitioning = Objects.requireNonNull(partitioning, "partitioning");
+            return this;
+        }
+
+        /**
+         * Creates the {@link PartitionPruner}.
+         *
+         * @return a new {@link PartitionPruner}
+         */
+        public PartitionPruner build() {
+            return new PartitionPruner(Objects.requireNonNull(path, "path"), Objects.requireNonNull(partitioning, "partitioning"));
+        }
+    }
+}
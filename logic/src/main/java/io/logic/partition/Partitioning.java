@@ -0,0 +1,71 @@
+package io.logic.partition;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A representation of how the values of the partitioning member are assigned to partitions.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface Partitioning {
+    /**
+     * Creates a {@link Partitioning} which assigns each value to the partition of its hash.
+     * <p>
+     * Hash partitioning can only prune equality tests, since neighbouring values are spread across every partition.
+     *
+     * @param partitionCount the number of partitions
+     * @param hash           the hash function of member values
+     * @return a new hash {@link Partitioning}
+     */
+    static Partitioning hash(int partitionCount, ToIntFunction<Object> hash) {
+        return new HashPartitioning(partitionCount, hash);
+    }
+
+    /**
+     * Creates a {@link Partitioning} which assigns each value to the range of values containing it.
+     * <p>
+     * The {@code n} ascending boundaries split the member values into {@code n + 1} partitions, where partition
+     * {@code i} contains the values in {@code [boundaries[i - 1], boundaries[i])}. Boundaries must be of the same type
+     * as the member values (e.g. {@link Long} for a {@code long} member).
+     *
+     * @param boundaries the ascending partition boundaries
+     * @param <C>        the type of the member values
+     * @return a new range {@link Partitioning}
+     */
+    static <C extends Comparable<? super C>> Partitioning range(List<C> boundaries) {
+        return new RangePartitioning<>(ImmutableList.copyOf(boundaries));
+    }
+
+    /**
+     * Represents the number of partitions.
+     *
+     * @return the number of partitions
+     */
+    int getPartitionCount();
+
+    /**
+     * Determines the partition that contains the member value.
+     *
+     * @param value the member value
+     * @return the partition of the value
+     */
+    int partitionOf(Object value);
+
+    /**
+     * Determines the partitions that can contain member values within the range.
+     * <p>
+     * The result may be conservative and include partitions without any values in the range.
+     *
+     * @param lower          the lower bound of the range, or {@code null} if unbounded
+     * @param lowerInclusive whether the lower bound is part of the range
+     * @param upper          the upper bound of the range, or {@code null} if unbounded
+     * @param upperInclusive whether the upper bound is part of the range
+     * @return the partitions that can contain values within the range
+     */
+    BitSet partitionsBetween(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive);
+}
@@ -0,0 +1,57 @@
+package io.logic.partition;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Partitioning} which assigns values to partitions by the ranges between ascending boundaries.
+ *
+ * @param <C> the type of the member values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class RangePartitioning<C extends Comparable<? super C>> implements Partitioning {
+    private final List<C> boundaries;
+
+    RangePartitioning(List<C> boundaries) {
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (boundaries.get(i - 1).compareTo(boundaries.get(i)) >= 0) {
+                throw new IllegalArgumentException("Partition boundaries must be strictly ascending.");
+            }
+        }
+        this.boundaries = boundaries;
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return boundaries.size() + 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int partitionOf(Object value) {
+        int index = Collections.binarySearch(boundaries, (C) value);
+        //a value equal to a boundary starts the partition after it
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BitSet partitionsBetween(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+        BitSet partitions = new BitSet(getPartitionCount());
+        if (lower != null && upper != null) {
+            int comparison = ((C) lower).compareTo((C) upper);
+            if (comparison > 0 || comparison == 0 && !(lowerInclusive && upperInclusive)) {
+                return partitions;
+            }
+        }
+        int first = lower == null ? 0 : partitionOf(lower);
+        int last = upper == null ? boundaries.size() : partitionOf(upper);
+        if (upper != null && !upperInclusive && last > 0 && boundaries.get(last - 1).compareTo((C) upper) == 0) {
+            last--; //the exclusive upper bound is the first value of its partition
+        }
+        partitions.set(first, Math.max(first, last + 1));
+        return partitions;
+    }
+}
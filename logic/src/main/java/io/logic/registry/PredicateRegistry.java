@@ -0,0 +1,321 @@
+package io.logic.registry;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import io.logic.structure.LogicPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A concurrent registry of predicates which can be matched against model instances.
+ * <p>
+ * The registry state is an immutable snapshot composed of an indexed {@link RegistrySegment}, a small delta of entries
+ * registered since the segment was built, and the ids of entries removed since the segment was built. Matching reads
+ * the current snapshot with a single volatile read and never blocks or retries, regardless of how many threads are
+ * registering, removing, or swapping predicates.
+ * <p>
+ * Writers publish new snapshots with compare-and-set. Once the delta and removals outgrow the compaction threshold, a
+ * new segment is built from the live entries on the compaction {@link Executor} and published without blocking
+ * writers. {@link PredicateRegistry#replaceAll(Map)} swaps the entire rule set in a single atomic step, so a match never
+ * observes a mix of the old and new rule sets.
+ * <p>
+ * Predicates that implement {@link LogicPredicate} are indexed by an {@code Equals} test they require (e.g.
+ * {@code whenCountry(isEqualTo("US"))} in a chain of {@code and(...)}), so only the predicates whose key matches the
+ * member value of the instance are tested. Member values which are {@code null} never match an index key.
+ *
+ * @param <T> the type of the model being matched
+ * @param <V> the type of the registered values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class PredicateRegistry<T, V> {
+    private static final long[] NO_TOMBSTONES = new long[0];
+    private final AtomicReference<Snapshot<T, V>> state;
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Executor executor;
+    private final int compactionThreshold;
+
+    private PredicateRegistry(Executor executor, int compactionThreshold) {
+        this.state = new AtomicReference<>(new Snapshot<>(0, RegistrySegment.of(Collections.emptyList()), ImmutableList.of(), NO_TOMBSTONES));
+        this.executor = executor;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link PredicateRegistry}.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the registered values
+     * @return a new builder
+     */
+    public static <T, V> Builder<T, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Registers the predicate with the associated value.
+     *
+     * @param predicate the predicate to register
+     * @param value     the value to produce when the predicate matches
+     * @return the id of the registration, used for {@link PredicateRegistry#unregister(long)}
+     */
+    public long register(Predicate<T> predicate, V value) {
+        RegistryEntry<T, V> entry = createEntry(predicate, value);
+        Snapshot<T, V> current;
+        Snapshot<T, V> next;
+        do {
+            current = state.get();
+            next = new Snapshot<>(current.generation, current.segment,
+                    ImmutableList.<RegistryEntry<T, V>>builder().addAll(current.delta).add(entry).build(),
+                    current.tombstones);
+        } while (!state.compareAndSet(current, next));
+        scheduleCompaction(next);
+        return entry.id;
+    }
+
+    /**
+     * Removes the registration with the specified id.
+     *
+     * @param id the id of the registration
+     * @return {@code true} if the registration was present and has been removed
+     */
+    public boolean unregister(long id) {
+        Snapshot<T, V> current;
+        Snapshot<T, V> next;
+        do {
+            current = state.get();
+            if (!current.contains(id)) {
+                return false;
+            }
+            long[] tombstones = Arrays.copyOf(current.tombstones, current.tombstones.length + 1);
+            tombstones[tombstones.length - 1] = id;
+            Arrays.sort(tombstones);
+            next = new Snapshot<>(current.generation, current.segment, current.delta, tombstones);
+        } while (!state.compareAndSet(current, next));
+        scheduleCompaction(next);
+        return true;
+    }
+
+    /**
+     * Atomically replaces every registration with the specified rule set.
+     * <p>
+     * The new rule set is indexed before it is published, so matching threads switch from the old to the new rule set
+     * without observing a partially loaded state.
+     *
+     * @param rules the predicates to register with their associated values
+     * @return the ids of the new registrations, keyed by predicate
+     */
+    public Map<Predicate<T>, Long> replaceAll(Map<? extends Predicate<T>, ? extends V> rules) {
+        List<RegistryEntry<T, V>> entries = new ArrayList<>(rules.size());
+        ImmutableMap.Builder<Predicate<T>, Long> registrations = ImmutableMap.builder();
+        rules.forEach((predicate, value) -> {
+            RegistryEntry<T, V> entry = createEntry(predicate, value);
+            entries.add(entry);
+            registrations.put(predicate, entry.id);
+        });
+        RegistrySegment<T, V> segment = RegistrySegment.of(entries);
+        Snapshot<T, V> current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new Snapshot<>(current.generation + 1, segment, ImmutableList.of(), NO_TOMBSTONES)));
+        return registrations.build();
+    }
+
+    /**
+     * Matches the model instance against every registered predicate.
+     *
+     * @param object the model instance
+     * @return the values of every matching registration
+     */
+    public List<V> match(T object) {
+        List<V> matches = new ArrayList<>();
+        match(object, matches::add);
+        return matches;
+    }
+
+    /**
+     * Matches the model instance against every registered predicate, passing the value of every matching registration
+     * to the consumer.
+     *
+     * @param object   the model instance
+     * @param consumer the consumer of the values of matching registrations
+     */
+    public void match(T object, Consumer<? super V> consumer) {
+        Snapshot<T, V> snapshot = state.get();
+        snapshot.segment.match(object, snapshot.tombstones, consumer);
+        for (RegistryEntry<T, V> entry : snapshot.delta) {
+            if (!RegistrySegment.isRemoved(entry.id, snapshot.tombstones) && entry.matches(object)) {
+                consumer.accept(entry.value);
+            }
+        }
+    }
+
+    /**
+     * Represents the number of registrations.
+     *
+     * @return the number of registrations
+     */
+    public int size() {
+        Snapshot<T, V> snapshot = state.get();
+        return snapshot.segment.size() + snapshot.delta.size() - snapshot.tombstones.length;
+    }
+
+    /**
+     * Rebuilds the index segment from every live registration on the calling thread.
+     * <p>
+     * Registrations and removals made while compacting are carried over to the new snapshot, and another compaction is
+     * scheduled once this one finishes if they already reach the compaction threshold. If a compaction is already in
+     * progress, or the rule set is replaced while compacting, this method does nothing.
+     */
+    public void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Snapshot<T, V> compacted = state.get();
+            List<RegistryEntry<T, V>> entries = new ArrayList<>(compacted.segment.size() + compacted.delta.size());
+            Consumer<RegistryEntry<T, V>> live = entry -> {
+                if (!RegistrySegment.isRemoved(entry.id, compacted.tombstones)) {
+                    entries.add(entry);
+                }
+            };
+            compacted.segment.forEach(live);
+            compacted.delta.forEach(live);
+            RegistrySegment<T, V> segment = RegistrySegment.of(entries);
+            Snapshot<T, V> current;
+            Snapshot<T, V> next;
+            do {
+                current = state.get();
+                if (current.generation != compacted.generation) {
+                    return; //the rule set was replaced while compacting
+                }
+                //the delta is append-only and removals only grow between compactions of the same generation
+                List<RegistryEntry<T, V>> delta = current.delta.subList(compacted.delta.size(), current.delta.size());
+                long[] tombstones = Arrays.stream(current.tombstones)
+                        .filter(id -> !RegistrySegment.isRemoved(id, compacted.tombstones))
+                        .toArray();
+                next = new Snapshot<>(current.generation, segment, ImmutableList.copyOf(delta), tombstones);
+            } while (!state.compareAndSet(current, next));
+        } finally {
+            compacting.set(false);
+        }
+        //the threshold may have been crossed while compacting, when no other compaction could be scheduled
+        scheduleCompaction(state.get());
+    }
+
+    private RegistryEntry<T, V> createEntry(Predicate<T> predicate, V value) {
+        Objects.requireNonNull(predicate, "predicate");
+        Objects.requireNonNull(value, "value");
+        Atom key = predicate instanceof LogicPredicate ?
+                Expression.of(predicate).requiredAtoms().stream().filter(Atom::isHashable).findFirst().orElse(null) :
+                null;
+        return new RegistryEntry<>(ids.incrementAndGet(), predicate, value, key);
+    }
+
+    private void scheduleCompaction(Snapshot<T, V> snapshot) {
+        if (snapshot.delta.size() + snapshot.tombstones.length >= compactionThreshold && !compacting.get()) {
+            executor.execute(this::compact);
+        }
+    }
+
+    /**
+     * An immutable state of the registry.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the registered values
+     */
+    private static final class Snapshot<T, V> {
+        private final long generation;
+        private final RegistrySegment<T, V> segment;
+        private final List<RegistryEntry<T, V>> delta;
+        private final long[] tombstones;
+
+        private Snapshot(long generation, RegistrySegment<T, V> segment, List<RegistryEntry<T, V>> delta, long[] tombstones) {
+            this.generation = generation;
+            this.segment = segment;
+            this.delta = delta;
+            this.tombstones = tombstones;
+        }
+
+        private boolean contains(long id) {
+            if (RegistrySegment.isRemoved(id, tombstones)) {
+                return false;
+            }
+            if (segment.contains(id)) {
+                return true;
+            }
+            for (RegistryEntry<T, V> entry : delta) {
+                if (entry.id == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A builder for {@link PredicateRegistry}.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the registered values
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T, V> {
+        private Executor executor = ForkJoinPool.commonPool();
+        private int compactionThreshold = 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the {@link Executor} used for background compaction.
+         *
+         * @param executor the compaction executor
+         * @return {@code this} builder
+         */
+        public Builder<T, V> setExecutor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the number of registrations and removals since the last compaction which triggers a background
+         * compaction.
+         *
+         * @param compactionThreshold the compaction threshold, which must be positive
+         * @return {@code this} builder
+         */
+        public Builder<T, V> setCompactionThreshold(int compactionThreshold) {
+            if (compactionThreshold < 1) {
+                throw new IllegalArgumentException("Compaction threshold must be positive.");
+            }
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Creates an empty {@link PredicateRegistry}.
+         *
+         * @return a new {@link PredicateRegistry}
+         */
+        public PredicateRegistry<T, V> build() {
+            return new PredicateRegistry<>(executor, compactionThreshold);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.logic.registry;
+
+import io.logic.structure.Atom;
+
+import java.util.function.Predicate;
+
+/**
+ * A representation of a predicate registered in a {@link PredicateRegistry}.
+ * <p>
+ * The index key of the entry (an {@code Equals} atom which the predicate requires to be {@code true}) is computed once
+ * when the entry is registered, so building index segments never needs to decompose the predicate again.
+ *
+ * @param <T> the type of the model being matched
+ * @param <V> the type of the registered values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class RegistryEntry<T, V> {
+    final long id;
+    final Predicate<T> predicate;
+    final V value;
+    final Atom key;
+    final Object keyValue;
+
+    RegistryEntry(long id, Predicate<T> predicate, V value, Atom key) {
+        this.id = id;
+        this.predicate = predicate;
+        this.value = value;
+        this.key = key;
+        this.keyValue = key == null ? null : key.getParameters().get("value");
+    }
+
+    /**
+     * Tests the entry against the model instance, checking the index key before the full predicate.
+     *
+     * @param object the model instance
+     * @return {@code true} if the entry matches
+     */
+    boolean matches(T object) {
+        if (key != null) {
+            Object value = key.resolve(object);
+            if (value == null || !value.equals(keyValue)) {
+                return false;
+            }
+        }
+        return predicate.test(object);
+    }
+}
@@ -0,0 +1,171 @@
+package io.logic.registry;
+
+import io.logic.structure.Atom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, indexed segment of a {@link PredicateRegistry}.
+ * <p>
+ * Entries with an index key are bucketed by the value of their key within a hash index per member path, so matching
+ * a model instance reads each indexed member once and only tests the predicates in the bucket for that member value.
+ * Entries without an index key are tested one by one.
+ * <p>
+ * Segments are never modified after construction, so any number of threads can match against a segment without
+ * synchronization.
+ *
+ * @param <T> the type of the model being matched
+ * @param <V> the type of the registered values
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class RegistrySegment<T, V> {
+    private final Index<T, V>[] indexes;
+    private final RegistryEntry<T, V>[] scan;
+    private final long[] ids;
+
+    private RegistrySegment(Index<T, V>[] indexes, RegistryEntry<T, V>[] scan, long[] ids) {
+        this.indexes = indexes;
+        this.scan = scan;
+        this.ids = ids;
+    }
+
+    /**
+     * Builds a new segment that indexes the specified entries.
+     *
+     * @param entries the entries of the segment
+     * @param <T>     the type of the model being matched
+     * @param <V>     the type of the registered values
+     * @return a new {@link RegistrySegment}
+     */
+    static <T, V> RegistrySegment<T, V> of(Collection<RegistryEntry<T, V>> entries) {
+        Map<List<String>, Map<Object, List<RegistryEntry<T, V>>>> buckets = new LinkedHashMap<>();
+        Map<List<String>, Atom> members = new HashMap<>();
+        List<RegistryEntry<T, V>> scan = new ArrayList<>();
+        long[] ids = new long[entries.size()];
+        int i = 0;
+        for (RegistryEntry<T, V> entry : entries) {
+            ids[i++] = entry.id;
+            if (entry.key == null) {
+                scan.add(entry);
+                continue;
+            }
+            List<String> path = entry.key.getPath();
+            members.putIfAbsent(path, entry.key);
+            buckets.computeIfAbsent(path, p -> new HashMap<>())
+                    .computeIfAbsent(entry.keyValue, v -> new ArrayList<>())
+                    .add(entry);
+        }
+        Arrays.sort(ids);
+        Index<T, V>[] indexes = newIndexes(buckets.size());
+        int j = 0;
+        for (Map.Entry<List<String>, Map<Object, List<RegistryEntry<T, V>>>> bucket : buckets.entrySet()) {
+            Map<Object, RegistryEntry<T, V>[]> index = new HashMap<>();
+            bucket.getValue().forEach((value, bucketEntries) -> index.put(value, toArray(bucketEntries)));
+            indexes[j++] = new Index<>(members.get(bucket.getKey()), index);
+        }
+        return new RegistrySegment<>(indexes, toArray(scan), ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, V> RegistryEntry<T, V>[] toArray(List<RegistryEntry<T, V>> entries) {
+        return entries.toArray((RegistryEntry<T, V>[]) new RegistryEntry<?, ?>[entries.size()]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, V> Index<T, V>[] newIndexes(int length) {
+        return (Index<T, V>[]) new Index<?, ?>[length];
+    }
+
+    /**
+     * Tests whether the segment contains an entry with the specified id.
+     *
+     * @param id the id of the entry
+     * @return {@code true} if the segment contains the entry
+     */
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * Represents the number of entries within the segment (including entries removed after the segment was built).
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Visits every entry of the segment.
+     *
+     * @param consumer the consumer of each entry
+     */
+    void forEach(Consumer<RegistryEntry<T, V>> consumer) {
+        for (Index<T, V> index : indexes) {
+            index.buckets.values().forEach(bucket -> Arrays.stream(bucket).forEach(consumer));
+        }
+        Arrays.stream(scan).forEach(consumer);
+    }
+
+    /**
+     * Matches the model instance against every entry of the segment which has not been removed.
+     *
+     * @param object     the model instance
+     * @param tombstones the sorted ids of removed entries
+     * @param consumer   the consumer of the values of matching entries
+     */
+    void match(T object, long[] tombstones, Consumer<? super V> consumer) {
+        for (Index<T, V> index : indexes) {
+            Object value = index.member.resolve(object);
+            RegistryEntry<T, V>[] bucket = value == null ? null : index.buckets.get(value);
+            if (bucket == null) {
+                continue;
+            }
+            for (RegistryEntry<T, V> entry : bucket) {
+                if (!isRemoved(entry.id, tombstones) && entry.predicate.test(object)) {
+                    consumer.accept(entry.value);
+                }
+            }
+        }
+        for (RegistryEntry<T, V> entry : scan) {
+            if (!isRemoved(entry.id, tombstones) && entry.predicate.test(object)) {
+                consumer.accept(entry.value);
+            }
+        }
+    }
+
+    /**
+     * Tests whether the id is within the sorted ids of removed entries.
+     *
+     * @param id         the id of the entry
+     * @param tombstones the sorted ids of removed entries
+     * @return {@code true} if the entry has been removed
+     */
+    static boolean isRemoved(long id, long[] tombstones) {
+        return tombstones.length != 0 && Arrays.binarySearch(tombstones, id) >= 0;
+    }
+
+    /**
+     * A hash index over the values of a single member path.
+     *
+     * @param <T> the type of the model being matched
+     * @param <V> the type of the registered values
+     */
+    private static final class Index<T, V> {
+        private final Atom member;
+        private final Map<Object, RegistryEntry<T, V>[]> buckets;
+
+        private Index(Atom member, Map<Object, RegistryEntry<T, V>[]> buckets) {
+            this.member = member;
+            this.buckets = buckets;
+        }
+    }
+}
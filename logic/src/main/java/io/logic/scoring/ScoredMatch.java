@@ -0,0 +1,34 @@
+package io.logic.scoring;
+
+import io.logic.immutables.ImmutableLogicStyle;
+import org.immutables.value.Value.Immutable;
+
+/**
+ * A representation of a {@link WeightedRule} outcome paired with the score the rule achieved for a model instance.
+ *
+ * @param <V> the type of the rule outcome
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@Immutable
+@ImmutableLogicStyle
+public interface ScoredMatch<V> {
+    //Immutables factory stub to hide immutable class dependency
+    static <V> ScoredMatch<V> of(V value, double score) {
+        return ImmutableScoredMatch.of(value, score);
+    }
+
+    /**
+     * Represents the outcome of the matching rule.
+     *
+     * @return the rule outcome
+     */
+    V getValue();
+
+    /**
+     * Represents the sum of the weights of every weighted predicate of the rule that matched.
+     *
+     * @return the rule score
+     */
+    double getScore();
+}
@@ -0,0 +1,240 @@
+package io.logic.scoring;
+
+import com.google.common.collect.ImmutableList;
+import io.logic.structure.Expression;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * A set of {@link WeightedRule} which finds the k highest scoring rules for a model instance.
+ * <p>
+ * Rules are ordered by the upper bound of their score, and the weighted predicates of each rule are ordered by
+ * descending weight. While matching, the score of the k-th best rule found so far is the threshold a rule must reach to
+ * enter the result. Once the upper bound of the next rule falls below the threshold, it and every rule after it are
+ * skipped without being evaluated, and a rule stops being evaluated as soon as its partial score plus the weights it has
+ * left cannot reach the threshold (the same upper bound pruning WAND applies to posting lists).
+ * <p>
+ * Structurally equal predicates (see {@link Expression}) are shared between rules, and each is evaluated at most once
+ * per model instance. Rules with equal scores are ranked in the order they were added.
+ *
+ * @param <T> the type of the model being scored
+ * @param <V> the type of the rule outcomes
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class TopKMatcher<T, V> {
+    private static final int NONE = -1;
+    private final Expression[] predicates;
+    private final Rule<V>[] rules;
+
+    private TopKMatcher(Expression[] predicates, Rule<V>[] rules) {
+        this.predicates = predicates;
+        this.rules = rules;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link TopKMatcher}.
+     *
+     * @param <T> the type of the model being scored
+     * @param <V> the type of the rule outcomes
+     * @return a new builder
+     */
+    public static <T, V> Builder<T, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Finds the k highest scoring eligible rules for the model instance.
+     *
+     * @param object the model instance
+     * @param k      the maximum number of matches
+     * @return the outcomes and scores of the best rules, from the highest score to the lowest
+     */
+    public List<ScoredMatch<V>> match(T object, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative.");
+        }
+        if (k == 0) {
+            return ImmutableList.of();
+        }
+        int words = (predicates.length + 63) >>> 6;
+        long[] evaluated = new long[words];
+        long[] results = new long[words];
+        //the head of the queue is the worst match kept so far, which sets the threshold once the queue is full
+        PriorityQueue<Candidate<V>> best = new PriorityQueue<>(Math.min(k, rules.length) + 1, Candidate.worstFirst());
+        for (Rule<V> rule : rules) {
+            boolean full = best.size() == k;
+            if (full && rule.upperBound < best.peek().score) {
+                break; //rules are ordered by upper bound, so no later rule can reach the threshold
+            }
+            if (rule.filter != NONE && !evaluate(rule.filter, object, evaluated, results)) {
+                continue;
+            }
+            double score = 0;
+            double remaining = rule.upperBound;
+            boolean pruned = false;
+            for (int i = 0; i < rule.clauses.length; i++) {
+                if (full && !reaches(score + remaining, rule.index, best.peek())) {
+                    pruned = true;
+                    break;
+                }
+                double weight = rule.weights[i];
+                if (weight > 0) {
+                    remaining -= weight;
+                }
+                if (evaluate(rule.clauses[i], object, evaluated, results)) {
+                    score += weight;
+                }
+            }
+            if (pruned || full && !reaches(score, rule.index, best.peek())) {
+                continue;
+            }
+            best.add(new Candidate<>(rule.index, score, rule.outcome));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        List<Candidate<V>> ranked = new ArrayList<>(best);
+        ranked.sort(Candidate.<V>worstFirst().reversed());
+        ImmutableList.Builder<ScoredMatch<V>> matches = ImmutableList.builder();
+        ranked.forEach(candidate -> matches.add(ScoredMatch.of(candidate.outcome, candidate.score)));
+        return matches.build();
+    }
+
+    /**
+     * Represents the number of rules.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    private static boolean reaches(double score, int index, Candidate<?> threshold) {
+        return score > threshold.score || score == threshold.score && index < threshold.index;
+    }
+
+    private boolean evaluate(int predicate, Object object, long[] evaluated, long[] results) {
+        int word = predicate >>> 6;
+        long bit = 1L << predicate;
+        if ((evaluated[word] & bit) != 0) {
+            return (results[word] & bit) != 0;
+        }
+        boolean result = predicates[predicate].test(object);
+        evaluated[word] |= bit;
+        if (result) {
+            results[word] |= bit;
+        }
+        return result;
+    }
+
+    /**
+     * A compiled {@link WeightedRule}, with the ids of its shared predicates ordered by descending weight.
+     *
+     * @param <V> the type of the rule outcome
+     */
+    private static final class Rule<V> {
+        private final int index;
+        private final V outcome;
+        private final int filter;
+        private final int[] clauses;
+        private final double[] weights;
+        private final double upperBound;
+
+        private Rule(int index, V outcome, int filter, int[] clauses, double[] weights, double upperBound) {
+            this.index = index;
+            this.outcome = outcome;
+            this.filter = filter;
+            this.clauses = clauses;
+            this.weights = weights;
+            this.upperBound = upperBound;
+        }
+    }
+
+    /**
+     * A scored rule kept while matching.
+     *
+     * @param <V> the type of the rule outcome
+     */
+    private static final class Candidate<V> {
+        private final int index;
+        private final double score;
+        private final V outcome;
+
+        private Candidate(int index, double score, V outcome) {
+            this.index = index;
+            this.score = score;
+            this.outcome = outcome;
+        }
+
+        private static <V> Comparator<Candidate<V>> worstFirst() {
+            return Comparator.<Candidate<V>>comparingDouble(candidate -> candidate.score)
+                    .thenComparing(Comparator.<Candidate<V>>comparingInt(candidate -> candidate.index).reversed());
+        }
+    }
+
+    /**
+     * A builder for {@link TopKMatcher}.
+     *
+     * @param <T> the type of the model being scored
+     * @param <V> the type of the rule outcomes
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T, V> {
+        private final Map<Expression, Integer> interned = new HashMap<>();
+        private final List<Expression> predicates = new ArrayList<>();
+        private final List<Rule<V>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule to the matcher.
+         *
+         * @param rule the weighted rule
+         * @return {@code this} builder
+         */
+        public Builder<T, V> addRule(WeightedRule<T, V> rule) {
+            Objects.requireNonNull(rule, "rule");
+            List<Map.Entry<Integer, Double>> clauses = new ArrayList<>(rule.getWeights().size());
+            rule.getWeights().forEach((predicate, weight) -> clauses.add(new AbstractMap.SimpleImmutableEntry<>(intern(predicate), weight)));
+            clauses.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+            rules.add(new Rule<>(rules.size(), rule.getOutcome(),
+                    rule.getFilter().map(this::intern).orElse(NONE),
+                    clauses.stream().mapToInt(Map.Entry::getKey).toArray(),
+                    clauses.stream().mapToDouble(Map.Entry::getValue).toArray(),
+                    rule.getUpperBound()));
+            return this;
+        }
+
+        /**
+         * Builds the {@link TopKMatcher} from every rule added so far.
+         *
+         * @return a new {@link TopKMatcher}
+         */
+        @SuppressWarnings("unchecked")
+        public TopKMatcher<T, V> build() {
+            Rule<V>[] ordered = (Rule<V>[]) rules.toArray(new Rule<?>[0]);
+            //stable, so rules with equal upper bounds keep the order they were added
+            Arrays.sort(ordered, Comparator.<Rule<V>>comparingDouble(rule -> rule.upperBound).reversed());
+            return new TopKMatcher<>(predicates.toArray(new Expression[0]), ordered);
+        }
+
+        private int intern(Predicate<T> predicate) {
+            return interned.computeIfAbsent(Expression.of(predicate), expression -> {
+                predicates.add(expression);
+                return predicates.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.logic.scoring;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A representation of a rule scored by the sum of the weights of its matching predicates.
+ * <p>
+ * A rule is eligible for a model instance when its (optional) filter matches, and its score is the sum of the weights
+ * of every weighted predicate that matches. The upper bound of the score, the sum of every positive weight, allows
+ * {@link TopKMatcher} to skip rules which cannot outscore the current top-k.
+ *
+ * @param <T> the type of the model being scored
+ * @param <V> the type of the rule outcome
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class WeightedRule<T, V> {
+    private final V outcome;
+    private final Predicate<T> filter;
+    private final Map<Predicate<T>, Double> weights;
+
+    private WeightedRule(V outcome, Predicate<T> filter, Map<Predicate<T>, Double> weights) {
+        this.outcome = outcome;
+        this.filter = filter;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a {@link WeightedRule}.
+     *
+     * @param outcome the outcome of the rule
+     * @param <T>     the type of the model being scored
+     * @param <V>     the type of the rule outcome
+     * @return a new builder
+     */
+    public static <T, V> Builder<T, V> builder(V outcome) {
+        return new Builder<>(outcome);
+    }
+
+    /**
+     * Represents the outcome of the rule.
+     *
+     * @return the rule outcome
+     */
+    public V getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Represents the predicate that must match for the rule to be eligible.
+     *
+     * @return the rule filter, if any
+     */
+    public Optional<Predicate<T>> getFilter() {
+        return Optional.ofNullable(filter);
+    }
+
+    /**
+     * Represents the weight of every scored predicate of the rule.
+     *
+     * @return the weighted predicates
+     */
+    public Map<Predicate<T>, Double> getWeights() {
+        return weights;
+    }
+
+    /**
+     * Represents the highest score the rule can achieve, the sum of every positive weight.
+     *
+     * @return the upper bound of the rule score
+     */
+    public double getUpperBound() {
+        return weights.values().stream().mapToDouble(Double::doubleValue).filter(weight -> weight > 0).sum();
+    }
+
+    /**
+     * A builder for {@link WeightedRule}.
+     *
+     * @param <T> the type of the model being scored
+     * @param <V> the type of the rule outcome
+     * @author Ian Caffey
+     * @since 1.0
+     */
+    public static final class Builder<T, V> {
+        private final V outcome;
+        private final Map<Predicate<T>, Double> weights = new LinkedHashMap<>();
+        private Predicate<T> filter;
+
+        private Builder(V outcome) {
+            this.outcome = Objects.requireNonNull(outcome, "outcome");
+        }
+
+        /**
+         * Sets the predicate that must match for the rule to be eligible.
+         *
+         * @param filter the rule filter
+         * @return {@code this} builder
+         */
+        public Builder<T, V> setFilter(Predicate<T> filter) {
+            this.filter = Objects.requireNonNull(filter, "filter");
+            return this;
+        }
+
+        /**
+         * Adds a predicate which contributes the weight to the rule score when it matches, replacing the weight of an
+         * equal predicate added before.
+         *
+         * @param predicate the scored predicate
+         * @param weight    the weight of the predicate
+         * @return {@code this} builder
+         */
+        public Builder<T, V> putWeight(Predicate<T> predicate, double weight) {
+            weights.put(Objects.requireNonNull(predicate, "predicate"), weight);
+            return this;
+        }
+
+        /**
+         * Creates the {@link WeightedRule}.
+         *
+         * @return a new {@link WeightedRule}
+         */
+        public WeightedRule<T, V> build() {
+            return new WeightedRule<>(outcome, filter, ImmutableMap.copyOf(weights));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.logic.text;
+
+/**
+ * Allocation-free counterparts of the {@link String} methods used by the {@code StringPredicate} mixins, which accept
+ * any {@link CharSequence} and share the semantics of the {@link String} method they are named after.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class CharSequences {
+    private CharSequences() {
+    }
+
+    /**
+     * Tests whether the two sequences hold the same characters, as {@link String#contentEquals(CharSequence)}.
+     *
+     * @param sequence the sequence to test
+     * @param value    the expected characters, or {@code null}
+     * @return {@code true} if both sequences hold the same characters
+     */
+    public static boolean contentEquals(CharSequence sequence, CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = sequence.length();
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (sequence.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether the two sequences hold the same characters ignoring case, as {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param sequence the sequence to test
+     * @param value    the expected characters, or {@code null}
+     * @return {@code true} if both sequences hold the same characters ignoring case
+     */
+    public static boolean equalsIgnoreCase(CharSequence sequence, CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = sequence.length();
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char left = sequence.charAt(i);
+            char right = value.charAt(i);
+            if (left == right) {
+                continue;
+            }
+            char upperLeft = Character.toUpperCase(left);
+            char upperRight = Character.toUpperCase(right);
+            //some alphabets (e.g. Georgian) only agree on case in lower case
+            if (upperLeft != upperRight && Character.toLowerCase(upperLeft) != Character.toLowerCase(upperRight)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first occurrence of the value within the sequence, as {@link String#indexOf(String)}.
+     *
+     * @param sequence the sequence to search
+     * @param value    the characters to find
+     * @return the index of the first occurrence of the value, or {@code -1} if the sequence does not contain it
+     */
+    public static int indexOf(CharSequence sequence, CharSequence value) {
+        int length = value.length();
+        for (int start = 0, last = sequence.length() - length; start <= last; start++) {
+            int i = 0;
+            while (i < length && sequence.charAt(start + i) == value.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the hash code of the characters of the sequence, as {@link String#hashCode()}.
+     *
+     * @param sequence the sequence to hash
+     * @return the hash code a {@link String} of the same characters would have
+     */
+    public static int hashCode(CharSequence sequence) {
+        int hash = 0;
+        for (int i = 0, length = sequence.length(); i < length; i++) {
+            hash = 31 * hash + sequence.charAt(i);
+        }
+        return hash;
+    }
+}
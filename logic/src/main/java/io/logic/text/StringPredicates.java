@@ -0,0 +1,262 @@
+package io.logic.text;
+
+import io.logic.MembershipFilter;
+import io.logic.StringPredicate;
+import io.logic.StringPredicateVisitor;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+
+/**
+ * Bridges {@link StringPredicate} trees to text which is not held as a {@link String}.
+ * <p>
+ * Each bridge walks the tree once and returns a predicate with the same semantics as the {@link StringPredicate} had
+ * the text been a {@link String}: {@code Equals}, {@code NotEquals} and {@code In} compare the characters (or encoded
+ * bytes) of the text, {@code HashCode} tests the hash code of the equivalent {@link String}, and {@code IdentityEquals}
+ * only matches the identical {@link String} instance (so never a {@link StringBuilder} or a UTF-8 slice). Testing the
+ * bridged predicate does not allocate, except for {@code Bytes} (which needs the encoded array of the text) and
+ * {@code MemberOf} (which hands the text to the filter to hash, as a {@link String} if the filter has an exact
+ * fallback).
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class StringPredicates {
+    private StringPredicates() {
+    }
+
+    /**
+     * Bridges the predicate to {@link CharSequence} text (e.g. a {@link java.nio.CharBuffer} or {@link StringBuilder}).
+     *
+     * @param predicate the predicate to bridge
+     * @return a predicate which tests a sequence as the predicate would test a {@link String} of its characters
+     */
+    public static Predicate<CharSequence> forCharSequences(StringPredicate predicate) {
+        return predicate.accept(new CharSequenceBridge());
+    }
+
+    /**
+     * Bridges the predicate to text encoded as UTF-8 within a slice of a byte array.
+     *
+     * @param predicate the predicate to bridge
+     * @return a predicate which tests a slice as the predicate would test the {@link String} it decodes to
+     */
+    public static Utf8Predicate forUtf8(StringPredicate predicate) {
+        return predicate.accept(new Utf8Bridge());
+    }
+
+    private static boolean testMembership(MembershipFilter<CharSequence> filter, CharSequence text) {
+        return filter.test(filter.getFallback().isPresent() ? text.toString() : text);
+    }
+
+    /**
+     * Converts a {@link StringPredicate} into a predicate of {@link CharSequence} text.
+     */
+    private static final class CharSequenceBridge implements StringPredicateVisitor<Predicate<CharSequence>> {
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.And and) {
+            return and.getLeft().accept(this).and(and.getRight().accept(this));
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Or or) {
+            return or.getLeft().accept(this).or(or.getRight().accept(this));
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Not not) {
+            return not.getPredicate().accept(this).negate();
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.HashCode hashCode) {
+            return sequence -> hashCode.getPredicate().test(CharSequences.hashCode(sequence));
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Bytes bytes) {
+            Charset charset = Charset.defaultCharset();
+            return sequence -> bytes.getPredicate().test(sequence.toString().getBytes(charset));
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.EqualsIgnoreCase equalsIgnoreCase) {
+            return sequence -> CharSequences.equalsIgnoreCase(sequence, equalsIgnoreCase.getValue());
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Empty empty) {
+            return sequence -> sequence.length() == 0;
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.NonEmpty nonEmpty) {
+            return sequence -> sequence.length() != 0;
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Matches matches) {
+            ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> matches.getPattern().matcher(""));
+            return sequence -> matchers.get().reset(sequence).matches();
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Contains contains) {
+            return sequence -> CharSequences.indexOf(sequence, contains.getValue()) >= 0;
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.MemberOf memberOf) {
+            return sequence -> testMembership(memberOf.getFilter(), sequence);
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.Equals equals) {
+            return sequence -> CharSequences.contentEquals(sequence, equals.getValue());
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.NotEquals notEquals) {
+            return sequence -> !CharSequences.contentEquals(sequence, notEquals.getValue());
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.In in) {
+            //buckets the values by their hash code, so a lookup only compares the characters of colliding values
+            String[][] buckets = bucket(in.getValues());
+            return sequence -> {
+                String[] bucket = buckets[CharSequences.hashCode(sequence) & (buckets.length - 1)];
+                if (bucket != null) {
+                    for (String value : bucket) {
+                        if (CharSequences.contentEquals(sequence, value)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            };
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.IdentityEquals identityEquals) {
+            return sequence -> sequence == identityEquals.getValue();
+        }
+
+        @Override
+        public Predicate<CharSequence> visit(StringPredicate.IdentityNotEquals identityNotEquals) {
+            return sequence -> sequence != identityNotEquals.getValue();
+        }
+
+        private static String[][] bucket(Set<String> values) {
+            String[][] buckets = new String[Integer.highestOneBit(Math.max(1, values.size() * 2 - 1)) << 1][];
+            for (String value : values) {
+                int index = value.hashCode() & (buckets.length - 1);
+                String[] bucket = buckets[index];
+                if (bucket == null) {
+                    buckets[index] = new String[]{value};
+                } else {
+                    bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                    bucket[bucket.length - 1] = value;
+                    buckets[index] = bucket;
+                }
+            }
+            return buckets;
+        }
+    }
+
+    /**
+     * Converts a {@link StringPredicate} into a {@link Utf8Predicate}.
+     */
+    private static final class Utf8Bridge implements StringPredicateVisitor<Utf8Predicate> {
+        @Override
+        public Utf8Predicate visit(StringPredicate.And and) {
+            return and.getLeft().accept(this).and(and.getRight().accept(this));
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Or or) {
+            return or.getLeft().accept(this).or(or.getRight().accept(this));
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Not not) {
+            return not.getPredicate().accept(this).negate();
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.HashCode hashCode) {
+            return Utf8Predicate.whenHashCode(hashCode.getPredicate());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Bytes bytes) {
+            Charset charset = Charset.defaultCharset();
+            if (charset.equals(StandardCharsets.UTF_8)) {
+                //well-formed input re-encodes to itself
+                return (buffer, offset, length) -> bytes.getPredicate().test(Utf8.isWellFormed(buffer, offset, length)
+                        ? Arrays.copyOfRange(buffer, offset, offset + length)
+                        : new String(buffer, offset, length, StandardCharsets.UTF_8).getBytes(charset));
+            }
+            return (buffer, offset, length) -> bytes.getPredicate().test(new String(buffer, offset, length, StandardCharsets.UTF_8).getBytes(charset));
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.EqualsIgnoreCase equalsIgnoreCase) {
+            return Utf8Predicate.isEqualToIgnoreCase(equalsIgnoreCase.getValue());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Empty empty) {
+            return Utf8Predicate.isEmpty();
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.NonEmpty nonEmpty) {
+            return Utf8Predicate.isNotEmpty();
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Matches matches) {
+            return Utf8Predicate.matches(matches.getPattern());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Contains contains) {
+            return Utf8Predicate.contains(contains.getValue());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.MemberOf memberOf) {
+            return (buffer, offset, length) -> testMembership(memberOf.getFilter(), Utf8.decode(buffer, offset, length));
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.Equals equals) {
+            return Utf8Predicate.isEqualTo(equals.getValue());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.NotEquals notEquals) {
+            return Utf8Predicate.isNotEqualTo(notEquals.getValue());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.In in) {
+            return Utf8Predicate.isIn(in.getValues());
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.IdentityEquals identityEquals) {
+            return (buffer, offset, length) -> false;
+        }
+
+        @Override
+        public Utf8Predicate visit(StringPredicate.IdentityNotEquals identityNotEquals) {
+            return (buffer, offset, length) -> true;
+        }
+    }
+}
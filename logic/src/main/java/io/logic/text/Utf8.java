@@ -0,0 +1,170 @@
+package io.logic.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoding and decoding of UTF-8 text for {@link Utf8Predicate}.
+ * <p>
+ * Slices are decoded into a buffer which is reused by each thread, so decoding does not allocate once the buffer has
+ * grown to the longest slice decoded by the thread. Malformed input is replaced with {@code U+FFFD}, as
+ * {@link String#String(byte[], java.nio.charset.Charset)} does.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class Utf8 {
+    private static final ThreadLocal<Decoder> DECODERS = ThreadLocal.withInitial(Decoder::new);
+
+    private Utf8() {
+    }
+
+    /**
+     * Decodes the slice into the buffer of the current thread, which is only valid until the thread decodes again.
+     */
+    static CharBuffer decode(byte[] buffer, int offset, int length) {
+        return DECODERS.get().decode(buffer, offset, length);
+    }
+
+    /**
+     * Encodes the text, or returns {@code null} if a slice which decodes to the text may not hold its encoding (the
+     * text contains {@code U+FFFD}, which malformed input also decodes to, or an unpaired surrogate).
+     */
+    static byte[] encode(String value) {
+        if (value.indexOf('�') >= 0) {
+            return null;
+        }
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            ByteBuffer encoded = encoder.encode(CharBuffer.wrap(value));
+            byte[] bytes = new byte[encoded.remaining()];
+            encoded.get(bytes);
+            return bytes;
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    static boolean equals(byte[] buffer, int offset, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the encoded value within the slice. Since UTF-8 is self-synchronizing, a well-formed slice holds the
+     * encoding of a string exactly where its decoded characters contain the string.
+     */
+    static boolean contains(byte[] buffer, int offset, int length, byte[] value) {
+        for (int start = offset, last = offset + length - value.length; start <= last; start++) {
+            int i = 0;
+            while (i < value.length && buffer[start + i] == value[i]) {
+                i++;
+            }
+            if (i == value.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether the slice is well-formed UTF-8, as accepted by the decoder (no overlong forms, no encoded
+     * surrogates, and no code points above {@code U+10FFFF}).
+     */
+    static boolean isWellFormed(byte[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            int b = buffer[i];
+            if (b >= 0) {
+                i++;
+                continue;
+            }
+            b &= 0xFF;
+            int continuations;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuations = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuations = 2;
+                if (b == 0xE0) {
+                    min = 0xA0;
+                } else if (b == 0xED) {
+                    max = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuations = 3;
+                if (b == 0xF0) {
+                    min = 0x90;
+                } else if (b == 0xF4) {
+                    max = 0x8F;
+                }
+            } else {
+                return false;
+            }
+            if (end - i <= continuations) {
+                return false;
+            }
+            int second = buffer[i + 1] & 0xFF;
+            if (second < min || second > max) {
+                return false;
+            }
+            for (int j = 2; j <= continuations; j++) {
+                if ((buffer[i + j] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuations + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the bytes of the slice, consistently with {@link java.util.Arrays#hashCode(byte[])} of its encoding.
+     */
+    static int hashCode(byte[] buffer, int offset, int length) {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
+    /**
+     * A reusable UTF-8 decoder and output buffer of a single thread.
+     */
+    private static final class Decoder {
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private CharBuffer output = CharBuffer.allocate(64);
+
+        private CharBuffer decode(byte[] buffer, int offset, int length) {
+            if (output.capacity() < length) {
+                //UTF-8 never decodes to more UTF-16 code units than it has bytes
+                output = CharBuffer.allocate(Math.max(length, output.capacity() * 2));
+            }
+            output.clear();
+            decoder.reset();
+            decoder.decode(ByteBuffer.wrap(buffer, offset, length), output, true);
+            decoder.flush(output);
+            output.flip();
+            return output;
+        }
+    }
+}
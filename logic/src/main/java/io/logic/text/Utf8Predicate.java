@@ -0,0 +1,139 @@
+package io.logic.text;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A predicate of the text encoded as UTF-8 within a slice of a byte array, which tests the text the slice decodes to
+ * without allocating a {@link String} for it.
+ * <p>
+ * The factories mirror the {@link StringPredicate} mixins, with the semantics of testing
+ * {@code new String(buffer, offset, length, StandardCharsets.UTF_8)} (i.e. malformed input decodes to {@code U+FFFD}).
+ * Equality, containment and emptiness are tested directly on the encoded bytes. Predicates which need the characters
+ * (e.g. {@link Utf8Predicate#isEqualToIgnoreCase(String)} and {@link Utf8Predicate#matches(Pattern)}) decode the slice
+ * into a buffer which is reused by each thread. {@link StringPredicates#forUtf8(StringPredicate)} evaluates an existing
+ * {@link StringPredicate} as a {@link Utf8Predicate}.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface Utf8Predicate {
+    /**
+     * Tests the text encoded as UTF-8 within the slice.
+     *
+     * @param buffer the buffer which holds the text
+     * @param offset the index of the first byte of the text
+     * @param length the number of bytes of the text
+     * @return {@code true} if the text matches the predicate
+     */
+    boolean test(byte[] buffer, int offset, int length);
+
+    /**
+     * Tests the text encoded as UTF-8 within the whole array.
+     *
+     * @param buffer the encoded text
+     * @return {@code true} if the text matches the predicate
+     */
+    default boolean test(byte[] buffer) {
+        return test(buffer, 0, buffer.length);
+    }
+
+    default Utf8Predicate and(Utf8Predicate other) {
+        Objects.requireNonNull(other, "other");
+        return (buffer, offset, length) -> test(buffer, offset, length) && other.test(buffer, offset, length);
+    }
+
+    default Utf8Predicate or(Utf8Predicate other) {
+        Objects.requireNonNull(other, "other");
+        return (buffer, offset, length) -> test(buffer, offset, length) || other.test(buffer, offset, length);
+    }
+
+    default Utf8Predicate negate() {
+        return (buffer, offset, length) -> !test(buffer, offset, length);
+    }
+
+    static Utf8Predicate isEqualTo(String value) {
+        Objects.requireNonNull(value, "value");
+        byte[] encoded = Utf8.encode(value);
+        if (encoded == null) {
+            return (buffer, offset, length) -> CharSequences.contentEquals(Utf8.decode(buffer, offset, length), value);
+        }
+        return (buffer, offset, length) -> Utf8.equals(buffer, offset, length, encoded);
+    }
+
+    static Utf8Predicate isNotEqualTo(String value) {
+        return isEqualTo(value).negate();
+    }
+
+    static Utf8Predicate isIn(Set<String> values) {
+        List<byte[]> encoded = new ArrayList<>(values.size());
+        List<String> decoded = new ArrayList<>();
+        for (String value : values) {
+            byte[] bytes = Utf8.encode(value);
+            if (bytes == null) {
+                decoded.add(value);
+            } else {
+                encoded.add(bytes);
+            }
+        }
+        Utf8Set set = new Utf8Set(encoded);
+        if (decoded.isEmpty()) {
+            return set::contains;
+        }
+        return (buffer, offset, length) -> {
+            if (set.contains(buffer, offset, length)) {
+                return true;
+            }
+            CharSequence text = Utf8.decode(buffer, offset, length);
+            for (String value : decoded) {
+                if (CharSequences.contentEquals(text, value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    static Utf8Predicate isEqualToIgnoreCase(String value) {
+        Objects.requireNonNull(value, "value");
+        //each character encodes to at least one and at most three bytes, whatever its case
+        return (buffer, offset, length) -> length >= value.length() && length <= value.length() * 3
+                && CharSequences.equalsIgnoreCase(Utf8.decode(buffer, offset, length), value);
+    }
+
+    static Utf8Predicate isEmpty() {
+        return (buffer, offset, length) -> length == 0;
+    }
+
+    static Utf8Predicate isNotEmpty() {
+        return (buffer, offset, length) -> length != 0;
+    }
+
+    static Utf8Predicate matches(Pattern pattern) {
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return (buffer, offset, length) -> matchers.get().reset(Utf8.decode(buffer, offset, length)).matches();
+    }
+
+    static Utf8Predicate contains(String value) {
+        byte[] encoded = Utf8.encode(value);
+        if (encoded == null) {
+            return (buffer, offset, length) -> CharSequences.indexOf(Utf8.decode(buffer, offset, length), value) >= 0;
+        }
+        //a match within malformed input may be consumed by a replacement, so it is only trusted in well-formed input
+        return (buffer, offset, length) -> Utf8.contains(buffer, offset, length, encoded)
+                && (Utf8.isWellFormed(buffer, offset, length) || CharSequences.indexOf(Utf8.decode(buffer, offset, length), value) >= 0);
+    }
+
+    static Utf8Predicate whenHashCode(IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return (buffer, offset, length) -> predicate.test(CharSequences.hashCode(Utf8.decode(buffer, offset, length)));
+    }
+}
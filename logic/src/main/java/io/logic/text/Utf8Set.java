@@ -0,0 +1,43 @@
+package io.logic.text;
+
+import java.util.Arrays;
+
+/**
+ * An immutable open-addressed hash set of UTF-8 encoded strings, which looks up byte slices without copying them.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class Utf8Set {
+    private final byte[][] table;
+    private final int mask;
+
+    Utf8Set(Iterable<byte[]> values) {
+        int size = 0;
+        for (byte[] ignored : values) {
+            size++;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        this.table = new byte[capacity][];
+        this.mask = capacity - 1;
+        for (byte[] value : values) {
+            int index = Utf8.hashCode(value, 0, value.length) & mask;
+            while (table[index] != null && !Arrays.equals(table[index], value)) {
+                index = (index + 1) & mask;
+            }
+            table[index] = value;
+        }
+    }
+
+    boolean contains(byte[] buffer, int offset, int length) {
+        int index = Utf8.hashCode(buffer, offset, length) & mask;
+        byte[] value;
+        while ((value = table[index]) != null) {
+            if (Utf8.equals(buffer, offset, length, value)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+}
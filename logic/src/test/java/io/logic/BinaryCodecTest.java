@@ -0,0 +1,99 @@
+package io.logic;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapterFactory;
+import io.logic.codec.BinaryCodecs;
+import io.logic.gson.TypeAdapterFactoryMirror;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryCodecTest {
+    private static final BinaryCodecs CODECS = BinaryCodecs.builder()
+            .addFactories(Arrays.asList(new StringPredicateBinaryCodecFactory(), new IntPredicateBinaryCodecFactory(),
+                    new BytePredicateBinaryCodecFactory(), new ByteArrayPredicateBinaryCodecFactory(), new MembershipFilterBinaryCodecFactory()))
+            .build();
+    private static final Gson GSON = gson();
+
+    @Test
+    public void predicatesRoundTrip() {
+        StringPredicate predicate = StringPredicate.isEqualTo("Ford")
+                .and(StringPredicate.whenHashCode(IntPredicate.isIn(ImmutableSet.of(1, Integer.MIN_VALUE, Integer.MAX_VALUE))))
+                .or(ImmutableStringPredicate.Not.of(StringPredicate.isIn(ImmutableSet.of("x", "y\"z", "é"))));
+        assertEquals(predicate, CODECS.decode(StringPredicate.class, CODECS.encode(StringPredicate.class, predicate)));
+    }
+
+    @Test
+    public void everyAttributeRoundTrips() {
+        for (StringPredicate predicate : predicates()) {
+            byte[] message = CODECS.encode(StringPredicate.class, predicate);
+            StringPredicate decoded = CODECS.decode(StringPredicate.class, message);
+            assertEquals(GSON.toJson(predicate, StringPredicate.class), GSON.toJson(decoded, StringPredicate.class));
+            assertArrayEquals(message, CODECS.encode(StringPredicate.class, decoded));
+        }
+    }
+
+    @Test
+    public void membershipFiltersRoundTrip() {
+        MembershipFilter<CharSequence> filter = MembershipFilter.ofStrings(Arrays.asList("Ford", "Chevy"), 0.01);
+        StringPredicate decoded = CODECS.decode(StringPredicate.class, CODECS.encode(StringPredicate.class, StringPredicate.isMemberOf(filter)));
+        assertEquals(StringPredicate.isMemberOf(filter), decoded);
+        assertTrue(decoded.test("Ford"));
+    }
+
+    @Test
+    public void truncatedMessagesAreRejected() {
+        byte[] message = CODECS.encode(StringPredicate.class, StringPredicate.isEqualTo("Ford").and(StringPredicate.isNotEmpty()));
+        for (int length = 0; length < message.length; length++) {
+            try {
+                CODECS.decode(StringPredicate.class, Arrays.copyOf(message, length));
+                fail("Truncated to " + length + " bytes.");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    private static List<StringPredicate> predicates() {
+        List<StringPredicate> predicates = new ArrayList<>(Arrays.asList(
+                StringPredicate.isEqualTo("Ford"),
+                StringPredicate.matches(Pattern.compile("^M.*", Pattern.CASE_INSENSITIVE)),
+                StringPredicate.isEmpty().or(StringPredicate.isNotEmpty()),
+                StringPredicate.contains("F").and(StringPredicate.isEqualToIgnoreCase("FORD")),
+                StringPredicate.whenBytes(ByteArrayPredicate.whenIndex(2, BytePredicate.isEqualTo((byte) -7))
+                        .or(ByteArrayPredicate.isEqualTo(new byte[]{1, 2, 3})))));
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            StringPredicate predicate = StringPredicate.isEqualTo(Integer.toString(random.nextInt()));
+            for (int j = random.nextInt(8); j > 0; j--) {
+                StringPredicate other = predicates.get(random.nextInt(predicates.size()));
+                predicate = random.nextBoolean() ? predicate.and(other) : random.nextBoolean() ? predicate.or(other) : ImmutableStringPredicate.Not.of(predicate);
+            }
+            predicates.add(predicate);
+        }
+        return predicates;
+    }
+
+    private static Gson gson() {
+        GsonBuilder builder = new GsonBuilder();
+        for (TypeAdapterFactory factory : ServiceLoader.load(TypeAdapterFactory.class)) {
+            builder.registerTypeAdapterFactory(factory);
+        }
+        for (TypeAdapterFactoryMirror factory : Arrays.asList(new StringPredicateTypeAdapterFactory(), new IntPredicateTypeAdapterFactory(),
+                new BytePredicateTypeAdapterFactory(), new ByteArrayPredicateTypeAdapterFactory())) {
+            builder.registerTypeAdapterFactory(factory.getFactory());
+        }
+        return builder.create();
+    }
+}
@@ -0,0 +1,55 @@
+package io.logic;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.GsonBuilder;
+import io.logic.structure.Fingerprint;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class FingerprintTest {
+    @Test
+    public void equalPredicatesBuiltDifferentlyHaveEqualFingerprints() {
+        assertEquals(StringPredicate.isEqualTo("Ford").getFingerprint(),
+                ImmutableStringPredicate.Equals.builder().setValue(new String("Ford")).build().getFingerprint());
+        assertEquals(IntPredicate.isIn(ImmutableSet.of(1, 2, 3)).getFingerprint(),
+                IntPredicate.isIn(new LinkedHashSet<>(Arrays.asList(3, 2, 1))).getFingerprint());
+    }
+
+    @Test
+    public void fingerprintsAreStable() {
+        assertEquals("22a54104c23492fa045aba77ef0c90dd", StringPredicate.isEqualTo("Ford").getFingerprint().toString());
+        assertEquals("df0ea3a92070b2df09529ae354091485", IntPredicate.isIn(ImmutableSet.of(1, 2, 3)).getFingerprint().toString());
+    }
+
+    @Test
+    public void compositionsFingerprintTheirOperands() {
+        StringPredicate ford = StringPredicate.isEqualTo("Ford");
+        StringPredicate chevy = StringPredicate.isEqualTo("Chevy");
+        assertEquals(Fingerprint.builder("io.logic.StringPredicate.And").add(ford).add(chevy).build(), ford.and(chevy).getFingerprint());
+        assertEquals(Fingerprint.builder("io.logic.StringPredicate.Not").add(ford).build(),
+                ImmutableStringPredicate.Not.of(ford).getFingerprint());
+        assertNotEquals(ford.and(chevy).getFingerprint(), chevy.and(ford).getFingerprint());
+        assertNotEquals(ford.and(chevy).getFingerprint(), ford.or(chevy).getFingerprint());
+    }
+
+    @Test
+    public void differentPredicatesHaveDifferentFingerprints() {
+        assertNotEquals(StringPredicate.isEqualTo("Ford").getFingerprint(), StringPredicate.isNotEqualTo("Ford").getFingerprint());
+        assertNotEquals(StringPredicate.isEqualTo("Ford").getFingerprint(), StringPredicate.isEqualTo("Chevy").getFingerprint());
+        assertNotEquals(IntPredicate.isEqualTo(1).getFingerprint(), StringPredicate.isEqualTo("1").getFingerprint());
+    }
+
+    @Test
+    public void immutablesGsonAdaptersLeaveTheFingerprintOut() {
+        String json = new GsonBuilder().registerTypeAdapterFactory(new GsonAdaptersStringPredicate()).create()
+                .toJson(StringPredicate.isEqualTo("Ford"), StringPredicate.Equals.class);
+        assertEquals("{\"value\":\"Ford\"}", json);
+        assertFalse(json.contains("fingerprint"));
+    }
+}
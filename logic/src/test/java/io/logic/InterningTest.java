@@ -0,0 +1,84 @@
+package io.logic;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapterFactory;
+import io.logic.codec.BinaryCodecs;
+import io.logic.structure.LogicInterner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class InterningTest {
+    @Before
+    public void enable() {
+        LogicInterner.enable();
+    }
+
+    @After
+    public void disable() {
+        LogicInterner.disable();
+    }
+
+    @Test
+    public void equalPredicatesAreTheSameInstance() {
+        StringPredicate one = StringPredicate.isEqualTo(new String("Ford")).and(StringPredicate.isNotEmpty());
+        StringPredicate two = StringPredicate.isEqualTo(new String("Ford")).and(StringPredicate.isNotEmpty());
+        assertSame(one, two);
+        assertSame(StringPredicate.isEqualTo("Ford"), ((StringPredicate.And) one).getLeft());
+        assertSame(IntPredicate.isIn(ImmutableSet.of(1, 2)), ImmutableIntPredicate.In.builder().addValue(1).addValue(2).build());
+        assertNotSame(StringPredicate.isEqualTo("Ford"), StringPredicate.isEqualTo("Chevy"));
+    }
+
+    @Test
+    public void copiesAreInterned() {
+        StringPredicate.Equals ford = StringPredicate.isEqualTo("Ford");
+        assertSame(ford, ((ImmutableStringPredicate.Equals) StringPredicate.isEqualTo("Chevy")).withValue("Ford"));
+    }
+
+    @Test
+    public void deserializedPredicatesAreInterned() {
+        StringPredicate predicate = StringPredicate.isEqualTo("Ford").or(StringPredicate.whenHashCode(IntPredicate.isGreaterThan(0)));
+        GsonBuilder builder = new GsonBuilder().registerTypeAdapterFactory(new StringPredicateTypeAdapterFactory().getFactory())
+                .registerTypeAdapterFactory(new IntPredicateTypeAdapterFactory().getFactory());
+        for (TypeAdapterFactory factory : ServiceLoader.load(TypeAdapterFactory.class)) {
+            builder.registerTypeAdapterFactory(factory);
+        }
+        Gson gson = builder.create();
+        assertSame(predicate, gson.fromJson(gson.toJson(predicate, StringPredicate.class), StringPredicate.class));
+        BinaryCodecs codecs = BinaryCodecs.builder()
+                .addFactory(new StringPredicateBinaryCodecFactory())
+                .addFactory(new IntPredicateBinaryCodecFactory())
+                .build();
+        assertSame(predicate, codecs.decode(StringPredicate.class, codecs.encode(StringPredicate.class, predicate)));
+    }
+
+    @Test
+    public void membershipFiltersWithDifferentFallbacksAreNotMerged() {
+        MembershipFilter<Long> filter = MembershipFilter.ofLongs(ImmutableSet.of(1L, 2L), 0.01);
+        Predicate<Long> none = value -> false;
+        LongPredicate confirmed = LongPredicate.isMemberOf(filter.withFallback(none));
+        assertNotSame(confirmed, LongPredicate.isMemberOf(filter));
+        assertNotSame(confirmed, LongPredicate.isMemberOf(filter.withFallback(value -> true)));
+        assertSame(confirmed, LongPredicate.isMemberOf(filter.withFallback(none)));
+        assertFalse(LongPredicate.isMemberOf(filter).test(1L) == confirmed.test(1L));
+    }
+
+    @Test
+    public void predicatesBuiltWhileDisabledAreNotInterned() {
+        LogicInterner.disable();
+        StringPredicate one = StringPredicate.isEqualTo(new String("Ford"));
+        StringPredicate two = StringPredicate.isEqualTo(new String("Ford"));
+        assertEquals(one, two);
+        assertNotSame(one, two);
+    }
+}
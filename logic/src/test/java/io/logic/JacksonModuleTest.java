@@ -0,0 +1,137 @@
+package io.logic;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapterFactory;
+import io.logic.gson.TypeAdapterFactoryMirror;
+import io.logic.jackson.ModuleMirror;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JacksonModuleTest {
+    private static final ObjectMapper MAPPER = mapper();
+    private static final Gson GSON = gson();
+
+    @Test
+    public void predicatesRoundTrip() throws IOException {
+        StringPredicate predicate = StringPredicate.isEqualTo("Ford")
+                .and(StringPredicate.whenHashCode(IntPredicate.isIn(ImmutableSet.of(1, 2, 3))))
+                .or(ImmutableStringPredicate.Not.of(StringPredicate.isIn(ImmutableSet.of("x", "y\"z", "é"))));
+        assertEquals(predicate, MAPPER.readValue(MAPPER.writeValueAsString(predicate), StringPredicate.class));
+    }
+
+    @Test
+    public void writesTheJsonOfGson() throws JsonProcessingException {
+        for (StringPredicate predicate : predicates()) {
+            assertEquals(GSON.toJson(predicate, StringPredicate.class), MAPPER.writeValueAsString(predicate));
+        }
+    }
+
+    @Test
+    public void readsTheJsonOfGson() throws IOException {
+        for (StringPredicate predicate : predicates()) {
+            String json = GSON.toJson(predicate, StringPredicate.class);
+            assertEquals(json, GSON.toJson(MAPPER.readValue(json, StringPredicate.class), StringPredicate.class));
+        }
+    }
+
+    @Test
+    public void isReadByGson() throws IOException {
+        for (StringPredicate predicate : predicates()) {
+            String json = MAPPER.writeValueAsString(predicate);
+            assertEquals(json, MAPPER.writeValueAsString(GSON.fromJson(json, StringPredicate.class)));
+        }
+    }
+
+    @Test
+    public void readsTheDiscriminatorInAnyPosition() throws IOException {
+        assertEquals(StringPredicate.isEqualTo("Ford"), MAPPER.readValue("{\"value\":\"Ford\",\"type\":\"Equals\"}", StringPredicate.class));
+        assertEquals(ImmutableStringPredicate.Not.of(StringPredicate.isEmpty()),
+                MAPPER.readValue("{\"predicate\":{\"type\":\"Empty\"},\"unknown\":[1,{}],\"type\":\"Not\"}", StringPredicate.class));
+    }
+
+    @Test
+    public void membershipFiltersRoundTrip() throws IOException {
+        MembershipFilter<CharSequence> filter = MembershipFilter.ofStrings(Arrays.asList("Ford", "Chevy"), 0.01);
+        StringPredicate predicate = StringPredicate.isMemberOf(filter);
+        StringPredicate decoded = MAPPER.readValue(MAPPER.writeValueAsString(predicate), StringPredicate.class);
+        assertEquals(predicate, decoded);
+        assertTrue(decoded.test("Ford"));
+    }
+
+    @Test
+    public void readsNull() throws IOException {
+        assertNull(MAPPER.readValue("null", StringPredicate.class));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void unknownTypeIsRejected() throws IOException {
+        MAPPER.readValue("{\"type\":\"Unknown\"}", StringPredicate.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void missingAttributeIsRejected() throws IOException {
+        MAPPER.readValue("{\"type\":\"Not\"}", StringPredicate.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void missingTypeIsRejected() throws IOException {
+        MAPPER.readValue("{\"predicate\":{\"type\":\"Empty\"}}", StringPredicate.class);
+    }
+
+    private static List<StringPredicate> predicates() {
+        List<StringPredicate> predicates = new ArrayList<>(Arrays.asList(
+                StringPredicate.isEqualTo("Ford"),
+                StringPredicate.matches(Pattern.compile("^M.*", Pattern.CASE_INSENSITIVE)),
+                StringPredicate.isEmpty().or(StringPredicate.isNotEmpty()),
+                StringPredicate.contains("F").and(StringPredicate.isEqualToIgnoreCase("FORD")),
+                StringPredicate.whenBytes(ByteArrayPredicate.whenIndex(2, BytePredicate.isEqualTo((byte) -7))
+                        .or(ByteArrayPredicate.isEqualTo(new byte[]{1, 2, 3})))));
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            StringPredicate predicate = StringPredicate.isEqualTo(Integer.toString(random.nextInt()));
+            for (int j = random.nextInt(8); j > 0; j--) {
+                StringPredicate other = predicates.get(random.nextInt(predicates.size()));
+                predicate = random.nextBoolean() ? predicate.and(other) : random.nextBoolean() ? predicate.or(other) : ImmutableStringPredicate.Not.of(predicate);
+            }
+            predicates.add(predicate);
+        }
+        return predicates;
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        for (ModuleMirror module : Arrays.asList(new StringPredicateJacksonModule(), new IntPredicateJacksonModule(), new BytePredicateJacksonModule(),
+                new ByteArrayPredicateJacksonModule(), new MembershipFilterJacksonModule())) {
+            mapper.registerModule(module.getModule());
+        }
+        return mapper;
+    }
+
+    private static Gson gson() {
+        GsonBuilder builder = new GsonBuilder();
+        for (TypeAdapterFactory factory : ServiceLoader.load(TypeAdapterFactory.class)) {
+            builder.registerTypeAdapterFactory(factory);
+        }
+        for (TypeAdapterFactoryMirror factory : Arrays.asList(new StringPredicateTypeAdapterFactory(), new IntPredicateTypeAdapterFactory(),
+                new BytePredicateTypeAdapterFactory(), new ByteArrayPredicateTypeAdapterFactory())) {
+            builder.registerTypeAdapterFactory(factory.getFactory());
+        }
+        return builder.create();
+    }
+}
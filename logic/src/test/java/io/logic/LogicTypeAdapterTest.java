@@ -0,0 +1,182 @@
+package io.logic;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.typeadapters.RuntimeTypeAdapterFactory;
+import io.logic.gson.TypeAdapterFactoryMirror;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LogicTypeAdapterTest {
+    private static final List<Class<?>> HIERARCHIES = Arrays.asList(StringPredicate.class, IntPredicate.class, LongPredicate.class,
+            BytePredicate.class, ByteArrayPredicate.class, DoublePredicate.class, CharPredicate.class, BooleanPredicate.class);
+    private static final Gson BASELINE = baseline();
+    private static final Gson GSON = streaming();
+
+    @Test
+    public void writesTheJsonOfTheRuntimeTypeAdapterFactory() {
+        for (StringPredicate predicate : predicates()) {
+            assertEquals(BASELINE.toJson(predicate, StringPredicate.class), GSON.toJson(predicate, StringPredicate.class));
+        }
+    }
+
+    @Test
+    public void readsTheJsonOfTheRuntimeTypeAdapterFactory() {
+        for (StringPredicate predicate : predicates()) {
+            String json = BASELINE.toJson(predicate, StringPredicate.class);
+            assertEquals(json, BASELINE.toJson(GSON.fromJson(json, StringPredicate.class), StringPredicate.class));
+        }
+    }
+
+    @Test
+    public void isReadByTheRuntimeTypeAdapterFactory() {
+        for (StringPredicate predicate : predicates()) {
+            String json = GSON.toJson(predicate, StringPredicate.class);
+            assertEquals(json, GSON.toJson(BASELINE.fromJson(json, StringPredicate.class), StringPredicate.class));
+        }
+    }
+
+    @Test
+    public void readsMembersInAnyOrder() {
+        Random random = new Random(1);
+        for (StringPredicate predicate : predicates()) {
+            String json = GSON.toJson(predicate, StringPredicate.class);
+            JsonElement shuffled = shuffle(new JsonParser().parse(json), random);
+            assertEquals(json, GSON.toJson(GSON.fromJson(shuffled, StringPredicate.class), StringPredicate.class));
+        }
+    }
+
+    @Test
+    public void readsEqualPredicates() {
+        StringPredicate predicate = StringPredicate.isEqualTo("Ford").and(StringPredicate.whenHashCode(IntPredicate.isIn(ImmutableSet.of(1, 2, 3))));
+        assertEquals(predicate, GSON.fromJson(GSON.toJson(predicate, StringPredicate.class), StringPredicate.class));
+        assertEquals(predicate, GSON.fromJson(BASELINE.toJson(predicate, StringPredicate.class), StringPredicate.class));
+    }
+
+    @Test
+    public void readsNull() {
+        assertNull(GSON.fromJson("null", StringPredicate.class));
+        assertEquals("null", GSON.toJson(null, StringPredicate.class));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void unknownTypeIsRejected() {
+        GSON.fromJson("{\"type\":\"Unknown\"}", StringPredicate.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void missingAttributeIsRejected() {
+        GSON.fromJson("{\"type\":\"Not\"}", StringPredicate.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void missingTypeIsRejected() {
+        GSON.fromJson("{\"predicate\":{\"type\":\"IsEmpty\"}}", StringPredicate.class);
+    }
+
+    private static List<StringPredicate> predicates() {
+        StringPredicate ford = StringPredicate.isEqualTo("Ford");
+        List<StringPredicate> predicates = new ArrayList<>(Arrays.asList(
+                ford,
+                StringPredicate.isEqualTo("quote \" and é"),
+                StringPredicate.matches(Pattern.compile("^M.*", Pattern.CASE_INSENSITIVE)),
+                StringPredicate.isIn(ImmutableSet.of("x", "y", "z")),
+                StringPredicate.isEmpty().or(StringPredicate.isNotEmpty()),
+                StringPredicate.whenHashCode(IntPredicate.isIn(ImmutableSet.of(1, 2, 3)).and(IntPredicate.isGreaterThan(0))),
+                StringPredicate.whenBytes(ByteArrayPredicate.whenIndex(2, BytePredicate.isEqualTo((byte) 7))
+                        .or(ByteArrayPredicate.isEqualTo(new byte[]{1, 2, 3}))),
+                ImmutableStringPredicate.Not.of(ford.and(StringPredicate.contains("F")))));
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            StringPredicate predicate = StringPredicate.isEqualTo(Integer.toString(random.nextInt()));
+            for (int j = random.nextInt(8); j > 0; j--) {
+                StringPredicate other = predicates.get(random.nextInt(predicates.size()));
+                predicate = random.nextBoolean() ? predicate.and(other) : random.nextBoolean() ? predicate.or(other) : ImmutableStringPredicate.Not.of(predicate);
+            }
+            predicates.add(predicate);
+        }
+        return predicates;
+    }
+
+    private static JsonElement shuffle(JsonElement element, Random random) {
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            for (JsonElement value : element.getAsJsonArray()) {
+                array.add(shuffle(value, random));
+            }
+            return array;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+        List<Map.Entry<String, JsonElement>> members = new ArrayList<>(element.getAsJsonObject().entrySet());
+        Collections.shuffle(members, random);
+        JsonObject object = new JsonObject();
+        for (Map.Entry<String, JsonElement> member : members) {
+            object.add(member.getKey(), shuffle(member.getValue(), random));
+        }
+        return object;
+    }
+
+    /**
+     * Creates the {@link Gson} the generated factories used to delegate to: a {@link RuntimeTypeAdapterFactory} for each
+     * hierarchy, labelled by the simple names of the immutable predicates, over the Immutables Gson adapters.
+     */
+    private static Gson baseline() {
+        GsonBuilder builder = immutables();
+        for (Class<?> hierarchy : HIERARCHIES) {
+            builder.registerTypeAdapterFactory(runtimeTypeAdapterFactory(hierarchy));
+        }
+        return builder.create();
+    }
+
+    private static Gson streaming() {
+        GsonBuilder builder = immutables();
+        for (TypeAdapterFactoryMirror factory : Arrays.asList(new StringPredicateTypeAdapterFactory(), new IntPredicateTypeAdapterFactory(),
+                new LongPredicateTypeAdapterFactory(), new BytePredicateTypeAdapterFactory(), new ByteArrayPredicateTypeAdapterFactory(),
+                new DoublePredicateTypeAdapterFactory(), new CharPredicateTypeAdapterFactory(), new BooleanPredicateTypeAdapterFactory())) {
+            builder.registerTypeAdapterFactory(factory.getFactory());
+        }
+        return builder.create();
+    }
+
+    private static GsonBuilder immutables() {
+        GsonBuilder builder = new GsonBuilder();
+        for (TypeAdapterFactory factory : ServiceLoader.load(TypeAdapterFactory.class)) {
+            builder.registerTypeAdapterFactory(factory);
+        }
+        return builder;
+    }
+
+    private static <T> RuntimeTypeAdapterFactory<T> runtimeTypeAdapterFactory(Class<T> hierarchy) {
+        RuntimeTypeAdapterFactory<T> factory = RuntimeTypeAdapterFactory.of(hierarchy);
+        try {
+            for (Class<?> type : Class.forName(hierarchy.getPackage().getName() + ".Immutable" + hierarchy.getSimpleName()).getDeclaredClasses()) {
+                if (hierarchy.isAssignableFrom(type)) {
+                    factory.registerSubtype(type.asSubclass(hierarchy));
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        return factory;
+    }
+}
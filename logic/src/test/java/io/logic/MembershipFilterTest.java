@@ -0,0 +1,105 @@
+package io.logic;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MembershipFilterTest {
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(new GsonAdaptersLongPredicate()).create();
+
+    @Test
+    public void membersAreAlwaysPresent() {
+        List<String> members = strings(0, 10_000);
+        MembershipFilter<CharSequence> filter = MembershipFilter.ofStrings(members, 0.01);
+        for (String member : members) {
+            assertTrue(member, filter.test(member));
+            assertTrue(member, filter.test(new StringBuilder(member)));
+        }
+        assertFalse(filter.test(null));
+    }
+
+    @Test
+    public void falsePositivesStayNearTheConfiguredProbability() {
+        MembershipFilter<CharSequence> filter = MembershipFilter.ofStrings(strings(0, 10_000), 0.01);
+        int falsePositives = 0;
+        for (String nonMember : strings(10_000, 20_000)) {
+            if (filter.test(nonMember)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives + " false positives", falsePositives < 300);
+        assertEquals(0.01, filter.getExpectedFalsePositiveProbability(), 0.005);
+    }
+
+    @Test
+    public void fallbacksConfirmOnlyPresentValues() {
+        Set<Long> members = LongStream.range(0, 1_000).boxed().collect(Collectors.toSet());
+        AtomicInteger lookups = new AtomicInteger();
+        MembershipFilter<Long> filter = MembershipFilter.ofLongs(members, 0.01).withFallback(value -> {
+            lookups.incrementAndGet();
+            return members.contains(value);
+        });
+        int nonMembers = 0;
+        for (long value = 0; value < 2_000; value++) {
+            assertEquals(members.contains(value), filter.test(value));
+            nonMembers += members.contains(value) ? 0 : 1;
+        }
+        assertTrue(lookups.get() >= members.size());
+        assertTrue(lookups.get() < members.size() + nonMembers / 10);
+    }
+
+    @Test
+    public void fallbacksArePartOfTheIdentity() {
+        MembershipFilter<CharSequence> filter = MembershipFilter.ofStrings(strings(0, 100), 0.01);
+        Predicate<CharSequence> none = value -> false;
+        MembershipFilter<CharSequence> confirmed = filter.withFallback(none);
+        assertFalse(filter.equals(confirmed));
+        assertFalse(filter.getFingerprint().equals(confirmed.getFingerprint()));
+        assertFalse(confirmed.equals(filter.withFallback(value -> false)));
+        assertFalse(confirmed.getFingerprint().equals(filter.withFallback(value -> false).getFingerprint()));
+        assertEquals(confirmed, filter.withFallback(none));
+        assertEquals(confirmed.hashCode(), filter.withFallback(none).hashCode());
+        assertEquals(confirmed.getFingerprint(), filter.withFallback(none).getFingerprint());
+        assertFalse(StringPredicate.isMemberOf(filter).equals(StringPredicate.isMemberOf(confirmed)));
+        assertTrue(filter.test("0"));
+        assertFalse(confirmed.test("0"));
+    }
+
+    @Test
+    public void kindsAreNotEqual() {
+        MembershipFilter<CharSequence> strings = MembershipFilter.ofStrings(new ArrayList<>(), 0.01);
+        MembershipFilter<Long> longs = MembershipFilter.ofLongs(new ArrayList<>(), 0.01);
+        assertFalse(strings.equals(longs));
+        assertFalse(strings.getFingerprint().equals(longs.getFingerprint()));
+    }
+
+    @Test
+    public void filtersRoundTripWithoutTheirFallback() {
+        MembershipFilter<Long> filter = MembershipFilter.ofLongs(LongStream.range(0, 1_000).boxed().collect(Collectors.toList()), 0.01);
+        MembershipFilter<?> decoded = GSON.fromJson(GSON.toJson(filter.withFallback(value -> false)), MembershipFilter.class);
+        assertEquals(filter, decoded);
+        assertEquals(filter.getFingerprint(), decoded.getFingerprint());
+        assertFalse(decoded.getFallback().isPresent());
+        assertEquals(LongPredicate.isMemberOf(filter), GSON.fromJson(GSON.toJson(LongPredicate.isMemberOf(filter)), LongPredicate.MemberOf.class));
+    }
+
+    private static List<String> strings(int from, int to) {
+        List<String> strings = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            strings.add(Integer.toString(i));
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,163 @@
+package io.logic.async;
+
+import io.logic.DoublePredicate;
+import io.logic.IntPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncEvaluatorTest {
+    private static final BulkLoader<Car, Double> PRICES = cars -> CompletableFuture.completedFuture(
+            cars.stream().map(Car::getPrice).collect(Collectors.toList()));
+
+    @Test
+    public void resultsMatchThePredicate() throws Exception {
+        CarPredicate predicate = year(IntPredicate.isLessThan(10)).or(price(DoublePredicate.isGreaterThan(0.5)));
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(predicate)
+                .addLoader("Price", PRICES)
+                .setMaxBatchSize(16)
+                .build();
+        List<Car> cars = IntStream.range(0, 100).mapToObj(year -> car(year, (year % 7) / 7.0)).collect(Collectors.toList());
+        List<Boolean> expected = cars.stream().map(predicate::test).collect(Collectors.toList());
+        assertEquals(expected, evaluator.testAll(cars).get(1, TimeUnit.SECONDS));
+        assertEquals(6, evaluator.getLoadCount());
+    }
+
+    @Test
+    public void localMembersDecideWithoutLoading() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(year(IntPredicate.isEqualTo(1)).and(price(DoublePredicate.isGreaterThan(0.5))))
+                .addLoader("Price", cars -> {
+                    throw new AssertionError("Price was loaded.");
+                })
+                .setMaxBatchSize(16)
+                .build();
+        assertFalse(evaluator.test(car(2, 1)).get(1, TimeUnit.SECONDS));
+        assertEquals(0, evaluator.getLoadCount());
+    }
+
+    @Test
+    public void batchesAreDispatchedAfterTheMaximumDelay() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", PRICES)
+                .setMaxBatchSize(16)
+                .setMaxDelay(Duration.ofMillis(5))
+                .build();
+        CompletableFuture<Boolean> first = evaluator.test(car(1, 1));
+        CompletableFuture<Boolean> second = evaluator.test(car(2, 0));
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertFalse(second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, evaluator.getLoadCount());
+    }
+
+    @Test
+    public void fullBatchesAreDispatchedImmediately() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", PRICES)
+                .setMaxBatchSize(2)
+                .setMaxDelay(Duration.ofHours(1))
+                .build();
+        CompletableFuture<Boolean> first = evaluator.test(car(1, 1));
+        CompletableFuture<Boolean> second = evaluator.test(car(2, 1));
+        CompletableFuture<Boolean> third = evaluator.test(car(3, 1));
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertTrue(second.get(1, TimeUnit.SECONDS));
+        try {
+            third.get(50, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (TimeoutException expected) {
+            //waits for the batch to fill or the delay to pass
+        }
+        evaluator.flush();
+        assertTrue(third.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void nullLoadedValuesCompleteTheBatchExceptionally() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", cars -> CompletableFuture.completedFuture(null))
+                .setMaxBatchSize(2)
+                .build();
+        assertFailure(evaluator.testAll(Arrays.asList(car(1, 1), car(2, 1))), NullPointerException.class);
+    }
+
+    @Test
+    public void nullLoaderFuturesCompleteTheBatchExceptionally() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", cars -> null)
+                .setMaxBatchSize(2)
+                .build();
+        assertFailure(evaluator.test(car(1, 1)), NullPointerException.class);
+    }
+
+    @Test
+    public void loadersReturningTheWrongNumberOfValuesFailTheBatch() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", cars -> CompletableFuture.completedFuture(new ArrayList<Double>()))
+                .setMaxBatchSize(2)
+                .build();
+        assertFailure(evaluator.test(car(1, 1)), IllegalStateException.class);
+    }
+
+    @Test
+    public void individualLoadersCombineTheirFutures() throws Exception {
+        AsyncEvaluator<Car> evaluator = AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", BulkLoader.<Car, Double>individually(car -> CompletableFuture.supplyAsync(car::getPrice)))
+                .setMaxBatchSize(4)
+                .build();
+        assertEquals(Arrays.asList(true, false, true), evaluator.testAll(Arrays.asList(car(1, 1), car(2, 0), car(3, 0.75))).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void maximumBatchSizeIsRequired() {
+        AsyncEvaluator.<Car>builder()
+                .setPredicate(price(DoublePredicate.isGreaterThan(0.5)))
+                .addLoader("Price", PRICES)
+                .build();
+    }
+
+    private static void assertFailure(CompletableFuture<?> future, Class<? extends Throwable> type) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().toString(), type.isInstance(e.getCause()));
+        }
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static CarPredicate price(DoublePredicate predicate) {
+        return CarPredicate.whenPrice(predicate);
+    }
+
+    private static Car car(int year, double price) {
+        return ImmutableCar.builder().year(year).price(price).build();
+    }
+}
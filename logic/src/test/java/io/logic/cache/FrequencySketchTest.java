@@ -0,0 +1,60 @@
+package io.logic.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrequencySketchTest {
+    @Test
+    public void countsSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("key");
+            assertEquals(Math.min(15, i + 1), sketch.frequency("key"));
+        }
+        assertEquals(0, sketch.frequency("other"));
+    }
+
+    @Test
+    public void countsAreHalvedPeriodically() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("key");
+        }
+        //the sample of a sketch of 16 longs is 160 increments
+        for (int i = 0; i < 145; i++) {
+            sketch.increment(i);
+        }
+        assertTrue(sketch.frequency("key") <= 7);
+    }
+
+    @Test
+    public void frequentKeysStandOut() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("frequent");
+        }
+        int overestimated = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sketch.frequency(i) > 1) {
+                overestimated++;
+            }
+        }
+        assertEquals(5, sketch.frequency("frequent"));
+        assertTrue(overestimated < 50);
+    }
+
+    @Test
+    public void growingDropsTheCounts() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        sketch.increment("key");
+        sketch.ensureCapacity(16);
+        assertEquals(1, sketch.frequency("key"));
+        sketch.ensureCapacity(17);
+        assertEquals(0, sketch.frequency("key"));
+    }
+}
@@ -0,0 +1,56 @@
+package io.logic.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.logic.structure.Atom;
+import io.logic.structure.Expression;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ImplicationTest {
+    private static final BigDecimal ONE = new BigDecimal("1.0");
+    private static final BigDecimal ONE_SCALED = new BigDecimal("1.00");
+
+    @Test
+    public void equalityUsesEquals() {
+        assertFalse(Implication.implies(test("Equals", ONE), test("Equals", ONE_SCALED)));
+        assertTrue(Implication.implies(test("Equals", ONE), test("NotEquals", ONE_SCALED)));
+        assertTrue(Implication.implies(test("Equals", ONE), test("Equals", new BigDecimal("1.0"))));
+        assertFalse(Implication.implies(test("Equals", ONE), test("NotEquals", new BigDecimal("1.0"))));
+        assertFalse(Implication.implies(in(ONE, new BigDecimal("2.0")), test("Equals", ONE_SCALED)));
+    }
+
+    @Test
+    public void rangesUseCompareTo() {
+        assertTrue(Implication.implies(test("Equals", ONE), test("LessThanEquals", ONE_SCALED)));
+        assertTrue(Implication.implies(test("Equals", ONE), test("GreaterThanEquals", ONE_SCALED)));
+        assertFalse(Implication.implies(test("Equals", ONE), test("LessThan", ONE_SCALED)));
+        assertTrue(Implication.implies(test("LessThan", ONE), test("LessThanEquals", ONE_SCALED)));
+    }
+
+    @Test
+    public void floatingPointEqualityIsNumeric() {
+        assertTrue(Implication.implies(test("Equals", -0.0), test("Equals", 0.0)));
+        assertFalse(Implication.implies(test("Equals", -0.0), test("NotEquals", 0.0)));
+        assertFalse(Implication.implies(test("Equals", Double.NaN), test("Equals", Double.NaN)));
+    }
+
+    @Test
+    public void arraysAreNeverProvenEqual() {
+        assertFalse(Implication.implies(test("Equals", new int[]{1}), test("NotEquals", new int[]{1})));
+        assertFalse(Implication.implies(test("Equals", new int[]{1}), test("Equals", new int[]{1})));
+    }
+
+    private static Expression test(String name, Object value) {
+        return Expression.test(Atom.of(ImmutableList.of("Value"), ImmutableList.of(), element -> element == value, name, ImmutableMap.of("value", value)));
+    }
+
+    private static Expression in(Object... values) {
+        return Expression.test(Atom.of(ImmutableList.of("Value"), ImmutableList.of(), element -> element == values, "In", ImmutableMap.of("values", ImmutableSet.copyOf(values))));
+    }
+}
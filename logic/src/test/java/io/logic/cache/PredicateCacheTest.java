@@ -0,0 +1,82 @@
+package io.logic.cache;
+
+import io.logic.IntPredicate;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PredicateCacheTest {
+    @Test
+    public void narrowerQueriesAreDerivedFromBroaderResults() {
+        PredicateCache<Integer> cache = PredicateCache.<Integer>builder().setMaximumWeight(1000).build();
+        cache.put(IntPredicate.isLessThan(20), range(0, 20));
+        assertEquals(Optional.of(range(0, 10)), cache.getIfPresent(IntPredicate.isLessThan(10)));
+        assertEquals(1, cache.getDerivedHitCount());
+        assertEquals(Optional.of(range(0, 10)), cache.getIfPresent(IntPredicate.isLessThan(10)));
+        assertEquals(1, cache.getHitCount());
+        assertFalse(cache.getIfPresent(IntPredicate.isLessThan(30)).isPresent());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void rejectedCandidatesEvictNothing() {
+        PredicateCache<Integer> cache = PredicateCache.<Integer>builder().setMaximumWeight(200).build();
+        Predicate<Integer> least = IntPredicate.isEqualTo(1);
+        Predicate<Integer> frequent = IntPredicate.isEqualTo(2);
+        Predicate<Integer> candidate = IntPredicate.isEqualTo(3);
+        cache.put(least, range(0, 99));
+        cache.put(frequent, range(0, 79));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.getIfPresent(frequent).isPresent());
+        }
+        for (int i = 0; i < 2; i++) {
+            assertFalse(cache.getIfPresent(candidate).isPresent());
+        }
+        //the candidate is used more often than the least recently used entry, but not than the next one it would evict
+        cache.put(candidate, range(0, 149));
+        assertEquals(2, cache.size());
+        assertEquals(180, cache.getWeight());
+        assertTrue(cache.getIfPresent(least).isPresent());
+    }
+
+    @Test
+    public void admittedCandidatesEvictTheLeastRecentlyUsed() {
+        PredicateCache<Integer> cache = PredicateCache.<Integer>builder().setMaximumWeight(200).build();
+        Predicate<Integer> least = IntPredicate.isEqualTo(1);
+        Predicate<Integer> candidate = IntPredicate.isEqualTo(3);
+        cache.put(least, range(0, 99));
+        cache.put(IntPredicate.isEqualTo(2), range(0, 79));
+        for (int i = 0; i < 2; i++) {
+            cache.getIfPresent(candidate);
+        }
+        cache.put(candidate, range(0, 99));
+        assertEquals(2, cache.size());
+        assertFalse(cache.getIfPresent(least).isPresent());
+        assertTrue(cache.getIfPresent(candidate).isPresent());
+    }
+
+    @Test
+    public void resultsLoadedWhileInvalidatingAreNotCached() {
+        PredicateCache<Integer> cache = PredicateCache.<Integer>builder().setMaximumWeight(1000).build();
+        List<Integer> results = cache.get(IntPredicate.isLessThan(10), predicate -> {
+            cache.invalidateAll();
+            return range(0, 10);
+        });
+        assertEquals(range(0, 10), results);
+        assertEquals(0, cache.size());
+        cache.get(IntPredicate.isLessThan(10), predicate -> range(0, 10));
+        assertEquals(1, cache.size());
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+}
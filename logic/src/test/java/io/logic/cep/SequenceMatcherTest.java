@@ -0,0 +1,166 @@
+package io.logic.cep;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SequenceMatcherTest {
+    private static final Function<Event, String> ACCOUNT = Event::getAccount;
+    private static final Predicate<Event> A = type("A");
+    private static final Predicate<Event> B = type("B");
+    private static final Predicate<Event> C = type("C");
+
+    @Test
+    public void skipTillAnyMatchFindsEveryCombination() {
+        SequenceMatcher<Event, String> matcher = matcher(SequencePattern.Selection.SKIP_TILL_ANY_MATCH, Integer.MAX_VALUE, A, B);
+        Event a1 = event("A", 1);
+        Event a2 = event("A", 2);
+        Event b3 = event("B", 3);
+        Event b4 = event("B", 4);
+        List<List<Event>> matches = process(matcher, a1, a2, b3, b4);
+        assertEquals(Arrays.asList(Arrays.asList(a1, b3), Arrays.asList(a2, b3), Arrays.asList(a1, b4), Arrays.asList(a2, b4)), matches);
+    }
+
+    @Test
+    public void skipTillNextMatchExtendsEachPartialMatchOnce() {
+        SequenceMatcher<Event, String> matcher = matcher(SequencePattern.Selection.SKIP_TILL_NEXT_MATCH, Integer.MAX_VALUE, A, B);
+        Event a1 = event("A", 1);
+        Event c2 = event("C", 2);
+        Event b3 = event("B", 3);
+        Event b4 = event("B", 4);
+        assertEquals(Collections.singletonList(Arrays.asList(a1, b3)), process(matcher, a1, c2, b3, b4));
+        assertEquals(0, matcher.getPartialMatchCount());
+    }
+
+    @Test
+    public void skipTillNextMatchKeepsWaitingForOtherPatternsOfASharedPrefix() {
+        SequenceMatcher<Event, String> matcher = SequenceMatcher.<Event, String>builder()
+                .setTimestamp(Event::getTime)
+                .addPattern(pattern(SequencePattern.Selection.SKIP_TILL_NEXT_MATCH, A, B), "AB")
+                .addPattern(pattern(SequencePattern.Selection.SKIP_TILL_NEXT_MATCH, A, C), "AC")
+                .build();
+        Event a1 = event("A", 1);
+        Event b2 = event("B", 2);
+        Event b3 = event("B", 3);
+        Event c4 = event("C", 4);
+        assertEquals(Arrays.asList(Arrays.asList(a1, b2), Arrays.asList(a1, c4)), process(matcher, a1, b2, b3, c4));
+        assertEquals(0, matcher.getPartialMatchCount());
+    }
+
+    @Test
+    public void strictContiguityRequiresTheNextEventOfTheKey() {
+        SequenceMatcher<Event, String> matcher = matcher(SequencePattern.Selection.STRICT_CONTIGUITY, Integer.MAX_VALUE, A, B);
+        Event a1 = event("A", 1);
+        Event x2 = event("X", 2);
+        Event b3 = event("B", 3);
+        Event a4 = event("A", 4);
+        Event other = new Event("other", "X", 5);
+        Event b6 = event("B", 6);
+        assertEquals(Collections.singletonList(Arrays.asList(a4, b6)), process(matcher, a1, x2, b3, a4, other, b6));
+    }
+
+    @Test
+    public void partialMatchesOfAKeyAreCapped() {
+        SequenceMatcher<Event, String> matcher = matcher(SequencePattern.Selection.SKIP_TILL_ANY_MATCH, 8, A, B, C);
+        List<Event> events = new ArrayList<>();
+        for (int time = 0; time < 20; time++) {
+            events.add(event(time % 2 == 0 ? "A" : "B", time));
+        }
+        for (Event event : events) {
+            matcher.process(event);
+            assertTrue(matcher.getPartialMatchCount() <= 8);
+        }
+        assertTrue(matcher.getDroppedPartialMatchCount() > 0);
+        List<SequenceMatch<Event, String>> matches = matcher.process(event("C", 20));
+        assertFalse(matches.isEmpty());
+        //the newest partial matches are kept
+        assertTrue(matches.stream().allMatch(match -> match.getEvents().get(0).getTime() >= 10));
+    }
+
+    @Test
+    public void uncappedPartialMatchesGrowWithEveryCombination() {
+        SequenceMatcher<Event, String> matcher = matcher(SequencePattern.Selection.SKIP_TILL_ANY_MATCH, Integer.MAX_VALUE, A, B, C);
+        for (int time = 0; time < 20; time++) {
+            matcher.process(event(time % 2 == 0 ? "A" : "B", time));
+        }
+        //10 partial matches of A, and one of AB for every A followed by a B
+        assertEquals(10 + 55, matcher.getPartialMatchCount());
+        assertEquals(0, matcher.getDroppedPartialMatchCount());
+    }
+
+    @SafeVarargs
+    private static SequenceMatcher<Event, String> matcher(SequencePattern.Selection selection, int maxPartialMatchesPerKey, Predicate<Event>... steps) {
+        return SequenceMatcher.<Event, String>builder()
+                .setTimestamp(Event::getTime)
+                .setMaxPartialMatchesPerKey(maxPartialMatchesPerKey)
+                .addPattern(pattern(selection, steps), "pattern")
+                .build();
+    }
+
+    @SafeVarargs
+    private static SequencePattern<Event> pattern(SequencePattern.Selection selection, Predicate<Event>... steps) {
+        SequencePattern.Builder<Event> builder = SequencePattern.<Event>builder()
+                .setWithin(Duration.ofMillis(100))
+                .setKey(ACCOUNT)
+                .setSelection(selection);
+        for (Predicate<Event> step : steps) {
+            builder.addStep(step);
+        }
+        return builder.build();
+    }
+
+    private static List<List<Event>> process(SequenceMatcher<Event, String> matcher, Event... events) {
+        List<List<Event>> matches = new ArrayList<>();
+        for (Event event : events) {
+            matcher.process(event, match -> matches.add(match.getEvents()));
+        }
+        return matches;
+    }
+
+    private static Predicate<Event> type(String type) {
+        return event -> event.getType().equals(type);
+    }
+
+    private static Event event(String type, long time) {
+        return new Event("account", type, time);
+    }
+
+    private static final class Event {
+        private final String account;
+        private final String type;
+        private final long time;
+
+        private Event(String account, String type, long time) {
+            this.account = account;
+            this.type = type;
+            this.time = time;
+        }
+
+        private String getAccount() {
+            return account;
+        }
+
+        private String getType() {
+            return type;
+        }
+
+        private long getTime() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return type + time;
+        }
+    }
+}
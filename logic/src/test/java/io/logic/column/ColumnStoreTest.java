@@ -0,0 +1,72 @@
+package io.logic.column;
+
+import com.google.common.collect.ImmutableSet;
+import io.logic.BooleanPredicate;
+import io.logic.CharPredicate;
+import io.logic.LongPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarColumns;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ColumnStoreTest {
+    @Test
+    public void scansMatchTheFilteredModels() {
+        List<Car> cars = cars(Column.PAGE_SIZE + 1000);
+        try (CarColumns store = new CarColumns()) {
+            store.addAll(cars);
+            List<CarPredicate> predicates = Arrays.asList(
+                    CarPredicate.whenMileage(LongPredicate.isGreaterThan(500L)).and(CarPredicate.whenElectric(BooleanPredicate.isTrue())),
+                    CarPredicate.whenMileage(LongPredicate.isIn(ImmutableSet.of(-3L, 0L, 7L))),
+                    CarPredicate.whenTransmission(CharPredicate.isEqualTo('M')).or(CarPredicate.whenMake(StringPredicate.isEqualTo("Ford"))),
+                    CarPredicate.whenTransmission(CharPredicate.isIn(ImmutableSet.of('A'))).negate(),
+                    CarPredicate.whenElectric(BooleanPredicate.isEqualTo(false)));
+            for (CarPredicate predicate : predicates) {
+                int[] expected = IntStream.range(0, cars.size()).filter(row -> predicate.test(cars.get(row))).toArray();
+                assertArrayEquals(expected, store.scan(predicate));
+            }
+            assertEquals(cars.get(42).getMileage(), store.get("Mileage", 42));
+            assertEquals(cars.get(42).getMileage(), store.getMileage(42));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedStoresCannotBeQueried() {
+        CarColumns store = new CarColumns();
+        store.add(car("Ford", 1, 'M', true));
+        store.close();
+        store.count(CarPredicate.whenElectric(BooleanPredicate.isTrue()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedStoresCannotBeAddedTo() {
+        CarColumns store = new CarColumns();
+        store.close();
+        store.add(car("Ford", 1, 'M', true));
+    }
+
+    private static List<Car> cars(int count) {
+        Random random = new Random(7);
+        String[] makes = {"Ford", "Tesla", "Kia"};
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cars.add(car(makes[random.nextInt(makes.length)], random.nextInt(2000) - 1000, "AM".charAt(random.nextInt(2)), random.nextBoolean()));
+        }
+        return cars;
+    }
+
+    private static Car car(String make, long mileage, char transmission, boolean electric) {
+        return ImmutableCar.builder().make(make).mileage(mileage).transmission(transmission).electric(electric).build();
+    }
+}
@@ -0,0 +1,146 @@
+package io.logic.dag;
+
+import io.logic.BooleanPredicate;
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class RuleDagTest {
+    private static final String[] MAKES = {"Ford", "Tesla", "Kia"};
+    private static final AtomicInteger MAKE_READS = new AtomicInteger();
+    private static final AtomicInteger ELECTRIC_READS = new AtomicInteger();
+    private static final AtomicInteger YEAR_READS = new AtomicInteger();
+
+    @Test
+    public void structurallyEqualSubPredicatesAreMerged() {
+        RuleDag<Car, String> dag = RuleDag.<Car, String>builder()
+                .addRule(make("Ford").and(electric()), "first")
+                .addRule(make("Ford").and(electric()), "second")
+                .addRule(make("Ford").and(electric()).or(year(IntPredicate.isGreaterThan(100))), "third")
+                .build();
+        //the atoms Ford, electric and year > 100, the conjunction, and the disjunction
+        assertEquals(5, dag.size());
+        assertEquals(Arrays.asList("first", "second", "third"), dag.match(car("Ford", true, 0)));
+        assertEquals(Collections.singletonList("third"), dag.match(car("Tesla", true, 500)));
+        assertEquals(Collections.emptyList(), dag.match(car("Tesla", true, 0)));
+    }
+
+    @Test
+    public void sharedNodesAreEvaluatedOncePerMatch() {
+        RuleDag.Builder<Car, Integer> builder = RuleDag.builder();
+        for (int i = 0; i < 10; i++) {
+            builder.addRule(make("Ford").and(electric()).and(year(IntPredicate.isGreaterThan(i))), i);
+        }
+        RuleDag<Car, Integer> dag = builder.build();
+        resetReads();
+        assertEquals(10, dag.match(car("Ford", true, 50)).size());
+        assertEquals(1, MAKE_READS.get());
+        assertEquals(1, ELECTRIC_READS.get());
+        assertEquals(10, YEAR_READS.get());
+    }
+
+    @Test
+    public void evaluationShortCircuits() {
+        RuleDag<Car, String> dag = RuleDag.<Car, String>builder()
+                .addRule(make("Ford").and(electric()), "electric Ford")
+                .addRule(make("Tesla").or(year(IntPredicate.isGreaterThan(100))), "Tesla or new")
+                .build();
+        resetReads();
+        assertEquals(Collections.singletonList("Tesla or new"), dag.match(car("Tesla", true, 0)));
+        assertEquals(0, ELECTRIC_READS.get());
+        assertEquals(0, YEAR_READS.get());
+    }
+
+    @Test
+    public void matchesLikeTheRules() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            List<CarPredicate> rules = new ArrayList<>();
+            RuleDag.Builder<Car, Integer> builder = RuleDag.builder();
+            for (int i = 0; i < 40; i++) {
+                CarPredicate rule = rule(random, 3);
+                rules.add(rule);
+                builder.addRule(rule, i);
+            }
+            RuleDag<Car, Integer> dag = builder.build();
+            for (int i = 0; i < 100; i++) {
+                Car car = car(MAKES[random.nextInt(MAKES.length)], random.nextBoolean(), random.nextInt(10));
+                List<Integer> expected = new ArrayList<>();
+                for (int j = 0; j < rules.size(); j++) {
+                    if (rules.get(j).test(car)) {
+                        expected.add(j);
+                    }
+                }
+                assertEquals(expected, dag.match(car));
+            }
+        }
+    }
+
+    private static void resetReads() {
+        MAKE_READS.set(0);
+        ELECTRIC_READS.set(0);
+        YEAR_READS.set(0);
+    }
+
+    private static CarPredicate rule(Random random, int depth) {
+        switch (depth == 0 ? random.nextInt(3) : random.nextInt(6)) {
+            case 0:
+                return make(MAKES[random.nextInt(MAKES.length)]);
+            case 1:
+                return electric();
+            case 2:
+                return year(IntPredicate.isLessThan(random.nextInt(10)));
+            case 3:
+                return rule(random, depth - 1).and(rule(random, depth - 1));
+            case 4:
+                return rule(random, depth - 1).or(rule(random, depth - 1));
+            default:
+                return rule(random, depth - 1).negate();
+        }
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate electric() {
+        return CarPredicate.whenElectric(BooleanPredicate.isTrue());
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static Car car(String make, boolean electric, int year) {
+        return new Car() {
+            @Override
+            public String getMake() {
+                MAKE_READS.incrementAndGet();
+                return make;
+            }
+
+            @Override
+            public boolean isElectric() {
+                ELECTRIC_READS.incrementAndGet();
+                return electric;
+            }
+
+            @Override
+            public int getYear() {
+                YEAR_READS.incrementAndGet();
+                return year;
+            }
+        };
+    }
+}
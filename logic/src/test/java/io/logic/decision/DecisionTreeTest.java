@@ -0,0 +1,127 @@
+package io.logic.decision;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecisionTreeTest {
+    private static final String[] MAKES = {"Ford", "Chevy", "Honda", "Toyota", "Tesla"};
+
+    @Test
+    public void routesToTheFirstMatchingRule() {
+        DecisionTree<Car, String> tree = DecisionTree.<Car, String>builder()
+                .addRule(make("Ford").and(year(IntPredicate.isGreaterThan(2010))), "new Ford")
+                .addRule(make("Ford"), "Ford")
+                .addRule(make("Chevy").or(make("Honda")), "Chevy or Honda")
+                .addRule(year(IntPredicate.isLessThan(2000)).negate(), "recent")
+                .build();
+        assertEquals(Optional.of("new Ford"), tree.route(car("Ford", 2015)));
+        assertEquals(Optional.of("Ford"), tree.route(car("Ford", 2005)));
+        assertEquals(Optional.of("Chevy or Honda"), tree.route(car("Honda", 1990)));
+        assertEquals(Optional.of("recent"), tree.route(car("Tesla", 2020)));
+        assertEquals(Optional.empty(), tree.route(car("Tesla", 1990)));
+    }
+
+    @Test
+    public void routesLikeTheRulesInOrder() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            List<CarPredicate> rules = new ArrayList<>();
+            DecisionTree.Builder<Car, Integer> builder = DecisionTree.builder();
+            DecisionTree.Builder<Car, Integer> limited = DecisionTree.<Car, Integer>builder().setMaxNodes(3).setMaxDepth(2);
+            for (int i = 0; i < 30; i++) {
+                CarPredicate rule = rule(random, 3);
+                rules.add(rule);
+                builder.addRule(rule, i);
+                limited.addRule(rule, i);
+            }
+            DecisionTree<Car, Integer> tree = builder.build();
+            DecisionTree<Car, Integer> limitedTree = limited.build();
+            assertTrue(limitedTree.size() <= 3);
+            for (int i = 0; i < 200; i++) {
+                Car car = car(MAKES[random.nextInt(MAKES.length)], 1990 + random.nextInt(40));
+                Optional<Integer> expected = Optional.empty();
+                for (int j = 0; j < rules.size() && !expected.isPresent(); j++) {
+                    if (rules.get(j).test(car)) {
+                        expected = Optional.of(j);
+                    }
+                }
+                assertEquals(expected, tree.route(car));
+                assertEquals(expected, limitedTree.route(car));
+            }
+        }
+    }
+
+    @Test
+    public void equalsTestsOnOneMemberShareASwitch() {
+        DecisionTree.Builder<Car, String> builder = DecisionTree.builder();
+        for (String make : MAKES) {
+            builder.addRule(make(make), make);
+        }
+        DecisionTree<Car, String> tree = builder.build();
+        assertEquals(1, tree.size());
+        for (String make : MAKES) {
+            assertEquals(Optional.of(make), tree.route(car(make, 2000)));
+        }
+        assertEquals(Optional.empty(), tree.route(car("Saab", 2000)));
+        assertEquals(Optional.empty(), tree.route(new Car() {
+            @Override
+            public String getMake() {
+                return null;
+            }
+        }));
+    }
+
+    @Test
+    public void opaquePredicatesAreTestedAsIs() {
+        Predicate<Car> even = car -> car.getYear() % 2 == 0;
+        DecisionTree<Car, String> tree = DecisionTree.<Car, String>builder()
+                .addRule(even, "even")
+                .addRule(make("Ford"), "Ford")
+                .build();
+        assertEquals(Optional.of("even"), tree.route(car("Ford", 2000)));
+        assertEquals(Optional.of("Ford"), tree.route(car("Ford", 2001)));
+        assertEquals(Optional.empty(), tree.route(car("Tesla", 2001)));
+    }
+
+    private static CarPredicate rule(Random random, int depth) {
+        int kind = depth == 0 ? random.nextInt(2) : random.nextInt(5);
+        switch (kind) {
+            case 0:
+                return make(MAKES[random.nextInt(MAKES.length)]);
+            case 1:
+                int year = 1990 + random.nextInt(40);
+                return year(random.nextBoolean() ? IntPredicate.isLessThan(year) : IntPredicate.isEqualTo(year));
+            case 2:
+                return rule(random, depth - 1).and(rule(random, depth - 1));
+            case 3:
+                return rule(random, depth - 1).or(rule(random, depth - 1));
+            default:
+                return rule(random, depth - 1).negate();
+        }
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static Car car(String make, int year) {
+        return ImmutableCar.builder().make(make).year(year).build();
+    }
+}
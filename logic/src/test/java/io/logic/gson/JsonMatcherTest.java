@@ -0,0 +1,99 @@
+package io.logic.gson;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.CarPredicate;
+import io.logic.model.CarPredicateJsonMatcher;
+import io.logic.model.Engine;
+import io.logic.model.EnginePredicate;
+import io.logic.model.EnginePredicateJsonMatcher;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JsonMatcherTest {
+    @Test
+    public void missingMemberIsUnknown() throws IOException {
+        CarPredicateJsonMatcher matcher = new CarPredicateJsonMatcher(make("Ford").and(yearAfter(2010)), new Gson());
+        assertFalse(test(matcher, "{\"make\":\"Kia\"}"));
+        assertTrue(test(matcher, "{\"make\":\"Ford\",\"year\":2015}"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void missingMemberWhichDecidesTheOutcomeFails() throws IOException {
+        test(new CarPredicateJsonMatcher(make("Ford").and(yearAfter(-1)), new Gson()), "{\"make\":\"Ford\"}");
+    }
+
+    @Test
+    public void missingMemberConsumesTheObject() throws IOException {
+        CarPredicateJsonMatcher matcher = new CarPredicateJsonMatcher(yearAfter(2010), new Gson());
+        JsonReader reader = new JsonReader(new StringReader("{\"make\":\"Ford\"} {\"year\":2015}"));
+        reader.setLenient(true);
+        try {
+            matcher.test(reader);
+        } catch (JsonParseException expected) {
+            //the object is unknown, but the reader moves on to the next object
+        }
+        assertTrue(matcher.test(reader));
+    }
+
+    @Test
+    public void nullMemberIsTestedWithItsDefaultValue() throws IOException {
+        assertTrue(test(new CarPredicateJsonMatcher(yearAfter(-1), new Gson()), "{\"year\":null}"));
+        //generated member predicates are not null safe, so the null make is tested by a membership instead
+        assertFalse(test(new CarPredicateJsonMatcher(CarPredicate.whenMake(StringPredicate.isIn(ImmutableSet.of("Ford"))), new Gson()), "{\"make\":null}"));
+    }
+
+    @Test
+    public void membersAreNamedByTheFieldNamingPolicy() throws IOException {
+        Gson gson = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE).create();
+        EnginePredicateJsonMatcher matcher = new EnginePredicateJsonMatcher(EnginePredicate.whenCylinders(IntPredicate.isGreaterThan(4)), gson);
+        String json = gson.toJson(new Engine(6, "Petrol"));
+        assertTrue(json.contains("\"Cylinders\""));
+        assertTrue(test(matcher, json));
+        assertFalse(test(matcher, gson.toJson(new Engine(4, "Petrol"))));
+    }
+
+    @Test
+    public void membersAreNamedBySerializedName() throws IOException {
+        Gson gson = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE).create();
+        EnginePredicateJsonMatcher matcher = new EnginePredicateJsonMatcher(fuel("Diesel"), gson);
+        String json = gson.toJson(new Engine(6, "Diesel"));
+        assertTrue(json.contains("\"fuel_type\""));
+        assertTrue(test(matcher, json));
+        assertTrue(test(matcher, "{\"fuelType\":\"Diesel\"}"));
+        assertFalse(test(matcher, "{\"Fuel\":\"Petrol\",\"fuelType\":\"Petrol\"}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void membersWithTheSameJsonNameAreRejected() {
+        Gson gson = new GsonBuilder().setFieldNamingStrategy(field -> "fuel_type").create();
+        new EnginePredicateJsonMatcher(EnginePredicate.whenCylinders(IntPredicate.isGreaterThan(4)).and(fuel("Diesel")), gson);
+    }
+
+    private static boolean test(JsonMatcher<?> matcher, String json) throws IOException {
+        return matcher.test(new JsonReader(new StringReader(json)));
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate yearAfter(int year) {
+        return CarPredicate.whenYear(IntPredicate.isGreaterThan(year));
+    }
+
+    private static EnginePredicate fuel(String fuel) {
+        return EnginePredicate.whenFuel(StringPredicate.isEqualTo(fuel));
+    }
+}
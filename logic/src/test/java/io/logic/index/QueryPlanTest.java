@@ -0,0 +1,116 @@
+package io.logic.index;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.CarIndex;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import io.logic.structure.Expression;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QueryPlanTest {
+    private static final String[] COLORS = {"Red", "Blue", "Green", "Black"};
+
+    @Test
+    public void theMostSelectiveLookupComesFirst() {
+        CarIndex index = cars(1_000);
+        QueryPlan plan = index.plan(year(IntPredicate.isGreaterThanEqualTo(1_500)).and(make("Make7")));
+        assertEquals(Expression.of(make("Make7")), plan.getLookups().get(0));
+        assertEquals(5, plan.getEstimatedRows(), 1);
+    }
+
+    @Test
+    public void conjunctOrderDoesNotChangeThePlan() {
+        CarIndex index = cars(1_000);
+        CarPredicate make = make("Make7");
+        CarPredicate year = year(IntPredicate.isLessThan(1_100));
+        CarPredicate color = color("Red");
+        QueryPlan plan = index.plan(make.and(year).and(color));
+        for (CarPredicate predicate : Arrays.asList(color.and(year).and(make), year.and(color.and(make)), make.and(color.and(year)))) {
+            QueryPlan reordered = index.plan(predicate);
+            assertEquals(plan.getLookups(), reordered.getLookups());
+            assertEquals(plan.getFilters(), reordered.getFilters());
+            assertEquals(plan.getEstimatedCost(), reordered.getEstimatedCost(), 1e-9);
+        }
+    }
+
+    @Test
+    public void unindexedConjunctsAreFilters() {
+        CarIndex index = cars(1_000);
+        QueryPlan plan = index.plan(color("Red").and(make("Make7")));
+        assertEquals(Collections.singletonList(Expression.of(make("Make7"))), plan.getLookups());
+        assertEquals(Collections.singletonList(Expression.of(color("Red"))), plan.getFilters());
+        assertTrue(plan.explain().startsWith("Lookup Make Equals(Make7) [selectivity=0.0100 rows=10 cost="));
+        assertTrue(index.plan(color("Red")).isScan());
+        assertTrue(index.plan(color("Red")).explain().startsWith("Scan [rows=1000]"));
+    }
+
+    @Test
+    public void unselectiveLookupsAreNotWorthTheirCost() {
+        CarIndex index = cars(1_000);
+        QueryPlan plan = index.plan(year(IntPredicate.isGreaterThanEqualTo(1_000)).and(make("Make7")));
+        assertEquals(1, plan.getLookups().size());
+        assertFalse(plan.isScan());
+        assertEquals(Collections.singletonList(Expression.of(year(IntPredicate.isGreaterThanEqualTo(1_000)))), plan.getFilters());
+    }
+
+    @Test
+    public void queriesMatchLikeTestingEveryElement() {
+        Random random = new Random(1);
+        CarIndex index = cars(2_000);
+        for (int i = 0; i < 200; i++) {
+            CarPredicate predicate = conjunct(random);
+            for (int j = random.nextInt(4); j > 0; j--) {
+                predicate = predicate.and(conjunct(random));
+            }
+            CarPredicate query = predicate;
+            assertEquals(index.stream().filter(query).collect(Collectors.toSet()), new HashSet<>(index.query(query)));
+        }
+    }
+
+    private static CarPredicate conjunct(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return make("Make" + random.nextInt(100));
+            case 1:
+                return year(IntPredicate.isLessThan(1_000 + random.nextInt(1_000)));
+            case 2:
+                return year(IntPredicate.isGreaterThanEqualTo(1_000 + random.nextInt(1_000)));
+            default:
+                return color(COLORS[random.nextInt(COLORS.length)]);
+        }
+    }
+
+    /**
+     * Creates an index of cars with 100 makes, a distinct year each starting at 1000, and 4 colors.
+     */
+    private static CarIndex cars(int count) {
+        CarIndex index = new CarIndex();
+        for (int i = 0; i < count; i++) {
+            index.add(ImmutableCar.builder().make("Make" + i % 100).year(1_000 + i).color(COLORS[i % COLORS.length]).build());
+        }
+        return index;
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static CarPredicate color(String color) {
+        return CarPredicate.whenColor(StringPredicate.isEqualTo(color));
+    }
+}
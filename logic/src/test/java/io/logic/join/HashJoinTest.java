@@ -0,0 +1,195 @@
+package io.logic.join;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class HashJoinTest {
+    @Test
+    public void joinsEqualKeys() {
+        HashJoin<Order, Payment> join = HashJoin.<Order, Payment>builder().on(Order::getId, Payment::getOrderId).build();
+        List<Order> orders = Arrays.asList(new Order(1, "EU", 10), new Order(2, "US", 20), new Order(3, "US", 30));
+        List<Payment> payments = Arrays.asList(new Payment(1, "EU", 5), new Payment(1, "EU", 6), new Payment(3, "US", 7), new Payment(4, "US", 8));
+        assertEquals(Arrays.asList("1-5", "1-6", "3-7"), sorted(join.join(orders, payments, HashJoinTest::describe)));
+        assertEquals(3, join.count(orders, payments));
+    }
+
+    @Test
+    public void outerJoinsEmitUnmatchedInstances() {
+        List<Order> orders = Arrays.asList(new Order(1, "EU", 10), new Order(2, "US", 20));
+        List<Payment> payments = Arrays.asList(new Payment(1, "EU", 5), new Payment(4, "US", 8));
+        assertEquals(Arrays.asList("1-5", "2-null"), sorted(join(HashJoin.Type.LEFT).join(orders, payments, HashJoinTest::describe)));
+        assertEquals(Arrays.asList("1-5", "null-8"), sorted(join(HashJoin.Type.RIGHT).join(orders, payments, HashJoinTest::describe)));
+        assertEquals(Arrays.asList("1-5", "2-null", "null-8"), sorted(join(HashJoin.Type.FULL).join(orders, payments, HashJoinTest::describe)));
+    }
+
+    @Test
+    public void nullKeysNeverMatch() {
+        HashJoin<Order, Payment> join = HashJoin.<Order, Payment>builder().on(Order::getId, Payment::getOrderId).setType(HashJoin.Type.FULL).build();
+        List<Order> orders = Collections.singletonList(new Order(null, "EU", 10));
+        List<Payment> payments = Collections.singletonList(new Payment(null, "EU", 5));
+        assertEquals(Arrays.asList("null-5", "null-null"), sorted(join.join(orders, payments, HashJoinTest::describe)));
+    }
+
+    @Test
+    public void sidePredicatesAreTestedOnceBeforeTheJoin() {
+        AtomicInteger tests = new AtomicInteger();
+        HashJoin<Order, Payment> join = HashJoin.<Order, Payment>builder()
+                .on(Order::getId, Payment::getOrderId)
+                .setLeftFilter(order -> {
+                    tests.incrementAndGet();
+                    return order.amount > 10;
+                })
+                .build();
+        List<Order> orders = Arrays.asList(new Order(1, "EU", 10), new Order(2, "US", 20));
+        List<Payment> payments = Collections.nCopies(10, new Payment(2, "US", 1));
+        assertEquals(10, join.count(orders, payments));
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void joinsMatchNestedLoops() {
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            List<Order> orders = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                orders.add(new Order(random.nextInt(10) == 0 ? null : random.nextInt(10), random.nextBoolean() ? "EU" : "US", random.nextInt(50)));
+            }
+            List<Payment> payments = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                payments.add(new Payment(random.nextInt(10) == 0 ? null : random.nextInt(10), random.nextBoolean() ? "EU" : "US", random.nextInt(50)));
+            }
+            HashJoin.Type type = HashJoin.Type.values()[random.nextInt(HashJoin.Type.values().length)];
+            boolean composite = random.nextBoolean();
+            Predicate<Order> leftFilter = order -> order.amount >= 10;
+            Predicate<Payment> rightFilter = payment -> payment.amount % 3 != 0;
+            BiPredicate<Order, Payment> condition = (order, payment) -> payment.amount <= order.amount;
+            HashJoin.Builder<Order, Payment> builder = HashJoin.<Order, Payment>builder().on(Order::getId, Payment::getOrderId).setType(type);
+            if (composite) {
+                builder.on(Order::getRegion, Payment::getRegion);
+            }
+            HashJoin<Order, Payment> join = builder.setLeftFilter(leftFilter).setRightFilter(rightFilter).setCondition(condition).build();
+            BiPredicate<Order, Payment> keys = (order, payment) -> order.id != null && order.id.equals(payment.orderId)
+                    && (!composite || order.region.equals(payment.region));
+            List<String> expected = nestedLoops(orders, payments, type, leftFilter, rightFilter, keys.and(condition));
+            assertEquals(expected, sorted(join.join(orders, payments, HashJoinTest::describeFully)));
+        }
+    }
+
+    @Test
+    public void keysAreRequired() {
+        try {
+            HashJoin.<Order, Payment>builder().build();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("At least one equality between the members of both sides must be set.", e.getMessage());
+        }
+    }
+
+    private static HashJoin<Order, Payment> join(HashJoin.Type type) {
+        return HashJoin.<Order, Payment>builder().on(Order::getId, Payment::getOrderId).setType(type).build();
+    }
+
+    private static List<String> nestedLoops(List<Order> orders, List<Payment> payments, HashJoin.Type type, Predicate<Order> leftFilter,
+                                            Predicate<Payment> rightFilter, BiPredicate<Order, Payment> matches) {
+        List<String> output = new ArrayList<>();
+        boolean[] matchedPayments = new boolean[payments.size()];
+        for (Order order : orders) {
+            if (!leftFilter.test(order)) {
+                continue;
+            }
+            boolean matched = false;
+            for (int i = 0; i < payments.size(); i++) {
+                Payment payment = payments.get(i);
+                if (rightFilter.test(payment) && matches.test(order, payment)) {
+                    matched = true;
+                    matchedPayments[i] = true;
+                    output.add(describeFully(order, payment));
+                }
+            }
+            if (!matched && (type == HashJoin.Type.LEFT || type == HashJoin.Type.FULL)) {
+                output.add(describeFully(order, null));
+            }
+        }
+        for (int i = 0; i < payments.size(); i++) {
+            if (!matchedPayments[i] && rightFilter.test(payments.get(i)) && (type == HashJoin.Type.RIGHT || type == HashJoin.Type.FULL)) {
+                output.add(describeFully(null, payments.get(i)));
+            }
+        }
+        return sorted(output);
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static String describe(Order order, Payment payment) {
+        return (order == null ? "null" : String.valueOf(order.id)) + "-" + (payment == null ? "null" : String.valueOf(payment.amount));
+    }
+
+    private static String describeFully(Order order, Payment payment) {
+        return order + "-" + payment;
+    }
+
+    private static final class Order {
+        private final Integer id;
+        private final String region;
+        private final int amount;
+
+        private Order(Integer id, String region, int amount) {
+            this.id = id;
+            this.region = region;
+            this.amount = amount;
+        }
+
+        private Integer getId() {
+            return id;
+        }
+
+        private String getRegion() {
+            return region;
+        }
+
+        @Override
+        public String toString() {
+            return "Order{" + id + ", " + region + ", " + amount + "}";
+        }
+    }
+
+    private static final class Payment {
+        private final Integer orderId;
+        private final String region;
+        private final int amount;
+
+        private Payment(Integer orderId, String region, int amount) {
+            this.orderId = orderId;
+            this.region = region;
+            this.amount = amount;
+        }
+
+        private Integer getOrderId() {
+            return orderId;
+        }
+
+        private String getRegion() {
+            return region;
+        }
+
+        @Override
+        public String toString() {
+            return "Payment{" + orderId + ", " + region + ", " + amount + "}";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.logic.model;
+
+import io.logic.Logic;
+import org.immutables.value.Value;
+
+@Logic(methods = {"get*", "is*"}, columnar = true)
+@Value.Immutable
+@Value.Style(get = {"get*", "is*"})
+public interface Car {
+    @Logic.Indexed
+    @Value.Default
+    default String getMake() {
+        return "";
+    }
+
+    @Value.Default
+    default String getModel() {
+        return "";
+    }
+
+    @Value.Default
+    default String getColor() {
+        return "";
+    }
+
+    @Logic.Indexed(Logic.Indexed.Type.SORTED)
+    @Value.Default
+    default int getYear() {
+        return 0;
+    }
+
+    @Value.Default
+    default double getPrice() {
+        return 0;
+    }
+
+    @Value.Default
+    default long getMileage() {
+        return 0;
+    }
+
+    @Value.Default
+    default char getTransmission() {
+        return 'A';
+    }
+
+    @Value.Default
+    default boolean isElectric() {
+        return false;
+    }
+
+    @Value.Default
+    default Engine getEngine() {
+        return new Engine(4, "Petrol");
+    }
+}
@@ -0,0 +1,140 @@
+package io.logic.model;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import io.logic.BooleanPredicate;
+import io.logic.CharPredicate;
+import io.logic.DoublePredicate;
+import io.logic.IntPredicate;
+import io.logic.LongPredicate;
+import io.logic.StringPredicate;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CarTest {
+    private static final String[] MAKES = {"Ford", "Tesla", "Kia"};
+    private static final String[] COLORS = {"Red", "Blue", "Green"};
+    private static final String[] FUELS = {"Petrol", "Diesel"};
+
+    @Test
+    public void indexQueriesMatchTheFilteredCars() {
+        Random random = new Random(1);
+        List<Car> cars = cars(random, 2_000);
+        CarIndex index = new CarIndex();
+        index.addAll(cars);
+        for (int i = 0; i < 500; i++) {
+            CarPredicate predicate = predicate(random, 3);
+            assertEquals(cars.stream().filter(predicate).collect(Collectors.toList()), index.query(predicate));
+        }
+    }
+
+    @Test
+    public void columnScansMatchTheFilteredCars() {
+        Random random = new Random(2);
+        List<Car> cars = cars(random, 5_000);
+        try (CarColumns store = new CarColumns()) {
+            store.addAll(cars);
+            for (int i = 0; i < 500; i++) {
+                CarPredicate predicate = predicate(random, 3);
+                int[] expected = IntStream.range(0, cars.size()).filter(row -> predicate.test(cars.get(row))).toArray();
+                assertArrayEquals(expected, store.scan(predicate));
+                assertEquals(expected.length, store.count(predicate));
+            }
+            Car car = cars.get(42);
+            assertEquals(car.getMake(), store.getMake(42));
+            assertEquals(car.getYear(), store.getYear(42));
+            assertEquals(car.getMileage(), store.getMileage(42));
+            assertEquals(car.getTransmission(), store.getTransmission(42));
+            assertEquals(car.isElectric(), store.getElectric(42));
+            assertEquals(car.getEngine(), store.getEngine(42));
+        }
+    }
+
+    @Test
+    public void jsonMatchesLikeTheDecodedCar() throws IOException {
+        Random random = new Random(3);
+        Gson gson = new Gson();
+        List<Car> cars = cars(random, 200);
+        for (int i = 0; i < 200; i++) {
+            CarPredicate predicate = predicate(random, 3);
+            CarPredicateJsonMatcher matcher = new CarPredicateJsonMatcher(predicate, gson);
+            for (Car car : cars) {
+                String json = gson.toJson(car);
+                assertEquals(json, predicate.test(car), matcher.test(new JsonReader(new StringReader(json))));
+            }
+        }
+    }
+
+    @Test
+    public void nestedMembersAreNamedByTheirOwnSchema() throws IOException {
+        CarPredicateJsonMatcher matcher = new CarPredicateJsonMatcher(CarPredicate.whenEngine(EnginePredicate.whenFuel(StringPredicate.isEqualTo("Diesel"))), new Gson());
+        String json = new Gson().toJson(ImmutableCar.builder().engine(new Engine(6, "Diesel")).build());
+        assertTrue(json.contains("\"fuel_type\":\"Diesel\""));
+        assertTrue(matcher.test(new JsonReader(new StringReader(json))));
+        assertFalse(matcher.test(new JsonReader(new StringReader("{\"engine\":{\"fuelType\":\"Petrol\"}}"))));
+    }
+
+    private static List<Car> cars(Random random, int count) {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cars.add(ImmutableCar.builder()
+                    .make(MAKES[random.nextInt(MAKES.length)])
+                    .model("M" + random.nextInt(5))
+                    .color(COLORS[random.nextInt(COLORS.length)])
+                    .year(2000 + random.nextInt(20))
+                    .price(random.nextInt(100) * 500.0)
+                    .mileage(random.nextInt(1_000) * 100L)
+                    .transmission("AM".charAt(random.nextInt(2)))
+                    .electric(random.nextBoolean())
+                    .engine(new Engine(2 * (1 + random.nextInt(4)), FUELS[random.nextInt(FUELS.length)]))
+                    .build());
+        }
+        return cars;
+    }
+
+    private static CarPredicate predicate(Random random, int depth) {
+        switch (depth == 0 ? random.nextInt(9) : random.nextInt(12)) {
+            case 0:
+                return CarPredicate.whenMake(StringPredicate.isEqualTo(MAKES[random.nextInt(MAKES.length)]));
+            case 1:
+                return CarPredicate.whenMake(StringPredicate.isIn(ImmutableSet.of(MAKES[random.nextInt(MAKES.length)], MAKES[random.nextInt(MAKES.length)])));
+            case 2:
+                return CarPredicate.whenColor(StringPredicate.isEqualTo(COLORS[random.nextInt(COLORS.length)]));
+            case 3:
+                return random.nextBoolean()
+                        ? CarPredicate.whenYear(IntPredicate.isGreaterThan(2000 + random.nextInt(20)))
+                        : CarPredicate.whenYear(IntPredicate.isLessThanEqualTo(2000 + random.nextInt(20)));
+            case 4:
+                return CarPredicate.whenPrice(DoublePredicate.isLessThan(random.nextInt(100) * 500.0));
+            case 5:
+                return CarPredicate.whenMileage(LongPredicate.isGreaterThanEqualTo(random.nextInt(1_000) * 100L));
+            case 6:
+                return CarPredicate.whenTransmission(CharPredicate.isEqualTo("AM".charAt(random.nextInt(2))));
+            case 7:
+                return CarPredicate.whenElectric(BooleanPredicate.isTrue());
+            case 8:
+                return CarPredicate.whenEngine(random.nextBoolean()
+                        ? EnginePredicate.whenCylinders(IntPredicate.isGreaterThan(random.nextInt(8)))
+                        : EnginePredicate.whenFuel(StringPredicate.isEqualTo(FUELS[random.nextInt(FUELS.length)])));
+            case 9:
+                return predicate(random, depth - 1).and(predicate(random, depth - 1));
+            case 10:
+                return predicate(random, depth - 1).or(predicate(random, depth - 1));
+            default:
+                return predicate(random, depth - 1).negate();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.logic.model;
+
+import com.google.gson.annotations.SerializedName;
+import io.logic.Logic;
+
+import java.util.Objects;
+
+@Logic
+public final class Engine {
+    public final int cylinders;
+    @SerializedName(value = "fuel_type", alternate = "fuelType")
+    public final String fuel;
+
+    public Engine(int cylinders, String fuel) {
+        this.cylinders = cylinders;
+        this.fuel = fuel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Engine)) {
+            return false;
+        }
+        Engine other = (Engine) o;
+        return cylinders == other.cylinders && Objects.equals(fuel, other.fuel);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cylinders, fuel);
+    }
+}
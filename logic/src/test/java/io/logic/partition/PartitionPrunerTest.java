@@ -0,0 +1,134 @@
+package io.logic.partition;
+
+import io.logic.DoublePredicate;
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PartitionPrunerTest {
+    private static final Partitioning YEAR_RANGES = Partitioning.range(Arrays.asList(10, 20, 30));
+    private static final PartitionPruner BY_YEAR = PartitionPruner.builder().setPath("Year").setPartitioning(YEAR_RANGES).build();
+
+    @Test
+    public void rangesPruneComparisons() {
+        assertEquals(partitions(1), BY_YEAR.prune(year(IntPredicate.isEqualTo(10))));
+        assertEquals(partitions(0), BY_YEAR.prune(year(IntPredicate.isLessThan(10))));
+        assertEquals(partitions(0, 1), BY_YEAR.prune(year(IntPredicate.isLessThanEqualTo(10))));
+        assertEquals(partitions(2, 3), BY_YEAR.prune(year(IntPredicate.isGreaterThan(25))));
+        assertEquals(partitions(1, 2), BY_YEAR.prune(year(IntPredicate.isGreaterThanEqualTo(12)).and(year(IntPredicate.isLessThan(30)))));
+        assertEquals(partitions(0, 3), BY_YEAR.prune(year(IntPredicate.isLessThan(5)).or(year(IntPredicate.isEqualTo(31)))));
+        assertEquals(partitions(), BY_YEAR.prune(year(IntPredicate.isLessThan(5)).and(year(IntPredicate.isGreaterThan(35)))));
+    }
+
+    @Test
+    public void negationsArePushedToTheAtoms() {
+        assertEquals(partitions(1, 2, 3), BY_YEAR.prune(year(IntPredicate.isLessThan(10)).negate()));
+        assertEquals(partitions(0, 1), BY_YEAR.prune(year(IntPredicate.isGreaterThanEqualTo(20)).or(make("Ford")).negate()));
+        assertEquals(partitions(0, 1, 2, 3), BY_YEAR.prune(year(IntPredicate.isEqualTo(15)).negate()));
+    }
+
+    @Test
+    public void otherMembersMatchEveryPartition() {
+        assertEquals(partitions(0, 1, 2, 3), BY_YEAR.prune(make("Ford")));
+        assertEquals(partitions(2), BY_YEAR.prune(make("Ford").and(year(IntPredicate.isEqualTo(29)))));
+        assertEquals(partitions(0, 1, 2, 3), BY_YEAR.prune(make("Ford").or(year(IntPredicate.isEqualTo(29)))));
+    }
+
+    @Test
+    public void hashingPrunesOnlyEqualities() {
+        PartitionPruner pruner = PartitionPruner.builder().setPath("Year").setPartitioning(Partitioning.hash(8, Object::hashCode)).build();
+        assertEquals(partitions(5), pruner.prune(year(IntPredicate.isEqualTo(13))));
+        assertEquals(partitions(0, 1, 2, 3, 4, 5, 6, 7), pruner.prune(year(IntPredicate.isLessThan(13))));
+        assertEquals(partitions(2, 5), pruner.prune(year(IntPredicate.isEqualTo(13)).or(year(IntPredicate.isEqualTo(2)))));
+    }
+
+    @Test
+    public void floatingPointBoundsKeepSignedZerosAndNaN() {
+        PartitionPruner pruner = PartitionPruner.builder().setPath("Price")
+                .setPartitioning(Partitioning.range(Arrays.asList(-0.0, 0.0, 100.0))).build();
+        assertEquals(partitions(1, 2), pruner.prune(price(DoublePredicate.isEqualTo(0.0))));
+        assertEquals(partitions(0, 1, 2), pruner.prune(price(DoublePredicate.isLessThanEqualTo(-0.0))));
+        assertEquals(partitions(0, 1, 2, 3), pruner.prune(price(DoublePredicate.isLessThan(100.0)).negate()));
+    }
+
+    @Test
+    public void neverPrunesAPartitionWithAMatch() {
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000; i++) {
+            CarPredicate predicate = predicate(random, 3);
+            BitSet partitions = BY_YEAR.prune(predicate);
+            for (int id = -5; id < 40; id++) {
+                for (String make : Arrays.asList("Ford", "Kia")) {
+                    Car car = ImmutableCar.builder().year(id).make(make).build();
+                    if (predicate.test(car)) {
+                        assertTrue(id + " " + make, partitions.get(YEAR_RANGES.partitionOf(id)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void boundariesMustAscend() {
+        try {
+            Partitioning.range(Arrays.asList(1, 1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Partition boundaries must be strictly ascending.", e.getMessage());
+        }
+    }
+
+    private static CarPredicate predicate(Random random, int depth) {
+        switch (depth == 0 ? random.nextInt(6) : random.nextInt(9)) {
+            case 0:
+                return year(IntPredicate.isEqualTo(random.nextInt(40)));
+            case 1:
+                return year(IntPredicate.isLessThan(random.nextInt(40)));
+            case 2:
+                return year(IntPredicate.isLessThanEqualTo(random.nextInt(40)));
+            case 3:
+                return year(IntPredicate.isGreaterThan(random.nextInt(40)));
+            case 4:
+                return year(IntPredicate.isGreaterThanEqualTo(random.nextInt(40)));
+            case 5:
+                return make(random.nextBoolean() ? "Ford" : "Kia");
+            case 6:
+                return predicate(random, depth - 1).and(predicate(random, depth - 1));
+            case 7:
+                return predicate(random, depth - 1).or(predicate(random, depth - 1));
+            default:
+                return predicate(random, depth - 1).negate();
+        }
+    }
+
+    private static BitSet partitions(int... partitions) {
+        BitSet set = new BitSet();
+        for (int partition : partitions) {
+            set.set(partition);
+        }
+        return set;
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static CarPredicate price(DoublePredicate predicate) {
+        return CarPredicate.whenPrice(predicate);
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+}
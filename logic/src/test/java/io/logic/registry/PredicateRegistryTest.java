@@ -0,0 +1,162 @@
+package io.logic.registry;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PredicateRegistryTest {
+    private static final String[] MAKES = {"Ford", "Chevy", "Honda", "Tesla"};
+
+    @Test
+    public void matchesIndexedAndUnindexedPredicates() {
+        PredicateRegistry<Car, String> registry = PredicateRegistry.<Car, String>builder().build();
+        registry.register(make("Ford"), "Ford");
+        registry.register(make("Ford").and(year(IntPredicate.isGreaterThan(100))), "large Ford");
+        registry.register(year(IntPredicate.isGreaterThan(100)), "large");
+        registry.register(CarPredicate.whenMake(StringPredicate.isIn(ImmutableSet.of("Chevy", "Honda"))), "Chevy or Honda");
+        assertEquals(ImmutableMultiset.of("Ford", "large Ford", "large"), HashMultiset.create(registry.match(car("Ford", 500))));
+        assertEquals(ImmutableMultiset.of("Ford"), HashMultiset.create(registry.match(car("Ford", 5))));
+        assertEquals(ImmutableMultiset.of("Chevy or Honda"), HashMultiset.create(registry.match(car("Honda", 5))));
+        assertEquals(ImmutableMultiset.of("large"), HashMultiset.create(registry.match(new Car() {
+            @Override
+            public String getMake() {
+                return null;
+            }
+
+            @Override
+            public int getYear() {
+                return 500;
+            }
+        })));
+        assertEquals(4, registry.size());
+    }
+
+    @Test
+    public void unregisteredPredicatesNoLongerMatch() {
+        PredicateRegistry<Car, String> registry = PredicateRegistry.<Car, String>builder().build();
+        long us = registry.register(make("Ford"), "Ford");
+        registry.register(make("Ford"), "also Ford");
+        assertTrue(registry.unregister(us));
+        assertFalse(registry.unregister(us));
+        assertFalse(registry.unregister(-1));
+        assertEquals(ImmutableMultiset.of("also Ford"), HashMultiset.create(registry.match(car("Ford", 0))));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void matchesAcrossCompactions() {
+        Queue<Runnable> compactions = new ArrayDeque<>();
+        PredicateRegistry<Car, Integer> registry = PredicateRegistry.<Car, Integer>builder()
+                .setExecutor(compactions::add)
+                .setCompactionThreshold(4)
+                .build();
+        Map<Long, CarPredicate> predicates = new HashMap<>();
+        Map<Long, Integer> values = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            if (!predicates.isEmpty() && random.nextInt(3) == 0) {
+                Long id = new ArrayList<>(predicates.keySet()).get(random.nextInt(predicates.size()));
+                assertTrue(registry.unregister(id));
+                predicates.remove(id);
+            } else {
+                CarPredicate predicate = random.nextBoolean()
+                        ? make(MAKES[random.nextInt(MAKES.length)]).and(year(IntPredicate.isGreaterThan(random.nextInt(100))))
+                        : year(IntPredicate.isLessThan(random.nextInt(100)));
+                long id = registry.register(predicate, i);
+                predicates.put(id, predicate);
+                values.put(id, i);
+            }
+            //run pending compactions at random points, so registrations made while compacting are carried over
+            while (!compactions.isEmpty() && random.nextBoolean()) {
+                compactions.poll().run();
+            }
+            Car car = car(MAKES[random.nextInt(MAKES.length)], random.nextInt(100));
+            HashMultiset<Integer> expected = HashMultiset.create();
+            predicates.forEach((id, predicate) -> {
+                if (predicate.test(car)) {
+                    expected.add(values.get(id));
+                }
+            });
+            assertEquals(expected, HashMultiset.create(registry.match(car)));
+            assertEquals(predicates.size(), registry.size());
+        }
+        registry.compact();
+        assertEquals(predicates.size(), registry.size());
+    }
+
+    @Test
+    public void replaceAllIsAtomic() throws InterruptedException {
+        PredicateRegistry<Car, String> registry = PredicateRegistry.<Car, String>builder().build();
+        Map<CarPredicate, String> first = rules("first");
+        Map<CarPredicate, String> second = rules("second");
+        registry.replaceAll(first);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<AssertionError> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable reader = () -> {
+            try {
+                while (running.get()) {
+                    List<String> matches = registry.match(car("Ford", 50));
+                    assertEquals(first.size(), matches.size());
+                    assertEquals(1, HashMultiset.create(matches).elementSet().size());
+                }
+            } catch (AssertionError e) {
+                failure.set(e);
+            } finally {
+                done.countDown();
+            }
+        };
+        new Thread(reader).start();
+        new Thread(reader).start();
+        for (int i = 0; i < 2000; i++) {
+            registry.replaceAll(i % 2 == 0 ? second : first);
+        }
+        running.set(false);
+        done.await();
+        assertNull(failure.get());
+        assertEquals(first.size(), registry.size());
+    }
+
+    private static Map<CarPredicate, String> rules(String value) {
+        Map<CarPredicate, String> rules = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            rules.put(i % 2 == 0 ? make("Ford").and(year(IntPredicate.isLessThan(100 + i))) : year(IntPredicate.isGreaterThan(-i)), value);
+        }
+        return rules;
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static Car car(String make, int year) {
+        return ImmutableCar.builder().make(make).year(year).build();
+    }
+}
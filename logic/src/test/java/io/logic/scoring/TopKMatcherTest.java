@@ -0,0 +1,168 @@
+package io.logic.scoring;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.Car;
+import io.logic.model.CarPredicate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TopKMatcherTest {
+    private static final String[] COLORS = {"Red", "Blue", "Green"};
+    private static final AtomicInteger COLOR_READS = new AtomicInteger();
+    private static final AtomicInteger YEAR_READS = new AtomicInteger();
+
+    @Test
+    public void ranksByScoreThenByRuleOrder() {
+        TopKMatcher<Car, String> matcher = TopKMatcher.<Car, String>builder()
+                .addRule(WeightedRule.<Car, String>builder("red").putWeight(color("Red"), 2).build())
+                .addRule(WeightedRule.<Car, String>builder("red and new").putWeight(color("Red"), 2).putWeight(year(IntPredicate.isGreaterThan(5)), 3).build())
+                .addRule(WeightedRule.<Car, String>builder("also red").putWeight(color("Red"), 2).build())
+                .addRule(WeightedRule.<Car, String>builder("not old").putWeight(year(IntPredicate.isLessThan(3)), -1).build())
+                .build();
+        assertEquals(Arrays.asList(ScoredMatch.of("red and new", 5.0), ScoredMatch.of("red", 2.0), ScoredMatch.of("also red", 2.0)),
+                matcher.match(car("Red", 9), 3));
+        assertEquals(Arrays.asList(ScoredMatch.of("red", 2.0), ScoredMatch.of("red and new", 2.0)), matcher.match(car("Red", 1), 2));
+        assertEquals(Collections.emptyList(), matcher.match(car("Red", 9), 0));
+        assertEquals(4, matcher.match(car("Blue", 1), 10).size());
+    }
+
+    @Test
+    public void filtersExcludeRules() {
+        TopKMatcher<Car, String> matcher = TopKMatcher.<Car, String>builder()
+                .addRule(WeightedRule.<Car, String>builder("new").setFilter(year(IntPredicate.isGreaterThan(5))).putWeight(color("Red"), 1).build())
+                .addRule(WeightedRule.<Car, String>builder("any").putWeight(color("Blue"), 1).build())
+                .build();
+        assertEquals(Collections.singletonList(ScoredMatch.of("any", 0.0)), matcher.match(car("Red", 1), 5));
+        assertEquals(Arrays.asList(ScoredMatch.of("new", 1.0), ScoredMatch.of("any", 0.0)), matcher.match(car("Red", 9), 5));
+    }
+
+    @Test
+    public void rulesThatCannotReachTheTopKAreNotEvaluated() {
+        TopKMatcher.Builder<Car, Integer> builder = TopKMatcher.builder();
+        builder.addRule(WeightedRule.<Car, Integer>builder(0).putWeight(color("Red"), 10).build());
+        for (int i = 1; i <= 100; i++) {
+            builder.addRule(WeightedRule.<Car, Integer>builder(i).putWeight(year(IntPredicate.isEqualTo(i)), 1).build());
+        }
+        TopKMatcher<Car, Integer> matcher = builder.build();
+        resetReads();
+        assertEquals(Collections.singletonList(ScoredMatch.of(0, 10.0)), matcher.match(car("Red", 50), 1));
+        assertEquals(1, COLOR_READS.get());
+        assertEquals(0, YEAR_READS.get());
+    }
+
+    @Test
+    public void sharedPredicatesAreEvaluatedOncePerMatch() {
+        TopKMatcher.Builder<Car, Integer> builder = TopKMatcher.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.addRule(WeightedRule.<Car, Integer>builder(i).putWeight(color("Red"), 1).putWeight(year(IntPredicate.isGreaterThan(i)), 1).build());
+        }
+        TopKMatcher<Car, Integer> matcher = builder.build();
+        resetReads();
+        assertEquals(20, matcher.match(car("Red", 10), 20).size());
+        assertEquals(1, COLOR_READS.get());
+        assertEquals(20, YEAR_READS.get());
+    }
+
+    @Test
+    public void matchesLikeScoringEveryRule() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            List<WeightedRule<Car, Integer>> rules = new ArrayList<>();
+            TopKMatcher.Builder<Car, Integer> builder = TopKMatcher.builder();
+            for (int i = 0; i < 50; i++) {
+                WeightedRule.Builder<Car, Integer> rule = WeightedRule.builder(i);
+                if (random.nextInt(4) == 0) {
+                    rule.setFilter(predicate(random));
+                }
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    rule.putWeight(predicate(random), random.nextInt(9) - 2);
+                }
+                rules.add(rule.build());
+                builder.addRule(rules.get(i));
+            }
+            TopKMatcher<Car, Integer> matcher = builder.build();
+            for (int i = 0; i < 50; i++) {
+                Car car = car(COLORS[random.nextInt(COLORS.length)], random.nextInt(10));
+                int k = random.nextInt(8);
+                assertEquals(scoreEveryRule(rules, car, k), matcher.match(car, k));
+            }
+        }
+    }
+
+    @Test
+    public void negativeKIsRejected() {
+        try {
+            TopKMatcher.<Car, String>builder().build().match(car("Red", 1), -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("k must not be negative.", e.getMessage());
+        }
+    }
+
+    private static List<ScoredMatch<Integer>> scoreEveryRule(List<WeightedRule<Car, Integer>> rules, Car car, int k) {
+        List<ScoredMatch<Integer>> matches = new ArrayList<>();
+        for (WeightedRule<Car, Integer> rule : rules) {
+            if (rule.getFilter().map(filter -> filter.test(car)).orElse(true)) {
+                double score = 0;
+                for (Map.Entry<Predicate<Car>, Double> weight : rule.getWeights().entrySet()) {
+                    if (weight.getKey().test(car)) {
+                        score += weight.getValue();
+                    }
+                }
+                matches.add(ScoredMatch.of(rule.getOutcome(), score));
+            }
+        }
+        //stable, so rules with equal scores keep the order they were added
+        return matches.stream()
+                .sorted(Comparator.<ScoredMatch<Integer>>comparingDouble(ScoredMatch::getScore).reversed())
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    private static void resetReads() {
+        COLOR_READS.set(0);
+        YEAR_READS.set(0);
+    }
+
+    private static CarPredicate predicate(Random random) {
+        return random.nextBoolean() ? color(COLORS[random.nextInt(COLORS.length)]) : year(IntPredicate.isLessThan(random.nextInt(10)));
+    }
+
+    private static CarPredicate color(String color) {
+        return CarPredicate.whenColor(StringPredicate.isEqualTo(color));
+    }
+
+    private static CarPredicate year(IntPredicate predicate) {
+        return CarPredicate.whenYear(predicate);
+    }
+
+    private static Car car(String color, int year) {
+        return new Car() {
+            @Override
+            public String getColor() {
+                COLOR_READS.incrementAndGet();
+                return color;
+            }
+
+            @Override
+            public int getYear() {
+                YEAR_READS.incrementAndGet();
+                return year;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package io.logic.structure;
+
+import io.logic.IntPredicate;
+import io.logic.StringPredicate;
+import io.logic.model.CarPredicate;
+import io.logic.model.Engine;
+import io.logic.model.EnginePredicate;
+import io.logic.model.ImmutableCar;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MemberDependenciesTest {
+    @Test
+    public void membersAreListedInEvaluationOrder() {
+        CarPredicate predicate = year(2010).and(make("Ford").or(year(2015).negate()));
+        assertEquals(Arrays.asList(path("Year"), path("Make")), new ArrayList<>(predicate.getReferencedMembers()));
+    }
+
+    @Test
+    public void nestedMembersExtendThePath() {
+        CarPredicate predicate = CarPredicate.whenEngine(cylinders(4).and(EnginePredicate.whenFuel(StringPredicate.isEqualTo("Diesel"))))
+                .and(make("Ford"));
+        assertEquals(Arrays.asList(path("Engine", "Cylinders"), path("Engine", "Fuel"), path("Make")),
+                new ArrayList<>(predicate.getReferencedMembers()));
+    }
+
+    @Test
+    public void mixinsOnANestedModelReadTheWholeValue() {
+        CarPredicate predicate = CarPredicate.whenEngine(cylinders(4))
+                .or(make("Ford").and(CarPredicate.whenEngine(EnginePredicate.isEqualTo(new Engine(4, "Petrol")))));
+        assertEquals(Arrays.asList(path("Engine"), path("Make")), new ArrayList<>(predicate.getReferencedMembers()));
+    }
+
+    @Test
+    public void mixinsOnTheModelReadEverything() {
+        CarPredicate predicate = CarPredicate.whenEngine(cylinders(4)).and(CarPredicate.isEqualTo(ImmutableCar.builder().build()));
+        assertEquals(Collections.singletonList(path()), new ArrayList<>(predicate.getReferencedMembers()));
+    }
+
+    private static List<String> path(String... names) {
+        return Arrays.asList(names);
+    }
+
+    private static CarPredicate make(String make) {
+        return CarPredicate.whenMake(StringPredicate.isEqualTo(make));
+    }
+
+    private static CarPredicate year(int year) {
+        return CarPredicate.whenYear(IntPredicate.isEqualTo(year));
+    }
+
+    private static EnginePredicate cylinders(int cylinders) {
+        return EnginePredicate.whenCylinders(IntPredicate.isEqualTo(cylinders));
+    }
+}
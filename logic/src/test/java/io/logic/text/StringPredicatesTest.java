@@ -0,0 +1,148 @@
+package io.logic.text;
+
+import com.google.common.collect.ImmutableSet;
+import io.logic.ByteArrayPredicate;
+import io.logic.IntPredicate;
+import io.logic.MembershipFilter;
+import io.logic.StringPredicate;
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StringPredicatesTest {
+    //case folding corners (sharp s, dotted and dotless i, the Kelvin sign), a supplementary character and the replacement character
+    private static final String[] PIECES = {"a", "A", "é", "É", "ß", "İ", "ı", "i", "I", "K", "k", "𝄞", "�", " "};
+    private static final byte[] BYTES = {0x61, 0x41, (byte) 0xC3, (byte) 0xA9, (byte) 0xE2, (byte) 0x84, (byte) 0xAA, (byte) 0xF0,
+            (byte) 0x9D, (byte) 0x84, (byte) 0x9E, (byte) 0xED, (byte) 0xA0, (byte) 0x80, (byte) 0xFF, (byte) 0xC0};
+    private static final MembershipFilter<CharSequence> FILTER = MembershipFilter.ofStrings(Arrays.asList("a", "é", "𝄞"), 0.01);
+
+    @Test
+    public void charSequencesMatchStrings() {
+        Random random = new Random(1);
+        for (int i = 0; i < 2_000; i++) {
+            String text = text(random);
+            String value = text(random);
+            StringBuilder sequence = new StringBuilder(text);
+            assertEquals(text.contentEquals(value), CharSequences.contentEquals(sequence, value));
+            assertEquals(text.equalsIgnoreCase(value), CharSequences.equalsIgnoreCase(sequence, value));
+            assertEquals(text.indexOf(value), CharSequences.indexOf(sequence, value));
+            assertEquals(text.hashCode(), CharSequences.hashCode(CharBuffer.wrap(text)));
+        }
+    }
+
+    @Test
+    public void bridgedPredicatesMatchLikeStrings() {
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            StringPredicate predicate = predicate(random, 3);
+            Predicate<CharSequence> sequences = StringPredicates.forCharSequences(predicate);
+            Utf8Predicate utf8 = StringPredicates.forUtf8(predicate);
+            for (int j = 0; j < 20; j++) {
+                String text = text(random);
+                assertEquals(predicate + " " + text, predicate.test(text), sequences.test(new StringBuilder(text)));
+                byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+                byte[] padded = new byte[encoded.length + 4];
+                System.arraycopy(encoded, 0, padded, 2, encoded.length);
+                assertEquals(predicate + " " + text, predicate.test(text), utf8.test(padded, 2, encoded.length));
+            }
+        }
+    }
+
+    @Test
+    public void malformedUtf8MatchesLikeItsDecodedString() {
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            StringPredicate predicate = predicate(random, 3);
+            Utf8Predicate utf8 = StringPredicates.forUtf8(predicate);
+            for (int j = 0; j < 20; j++) {
+                byte[] bytes = new byte[random.nextInt(8)];
+                for (int k = 0; k < bytes.length; k++) {
+                    bytes[k] = BYTES[random.nextInt(BYTES.length)];
+                }
+                String decoded = new String(bytes, StandardCharsets.UTF_8);
+                assertEquals(predicate + " " + Arrays.toString(bytes), predicate.test(decoded), utf8.test(bytes));
+            }
+        }
+    }
+
+    @Test
+    public void identityOnlyMatchesTheIdenticalString() {
+        String value = "Ford";
+        assertTrue(StringPredicates.forCharSequences(StringPredicate.is(value)).test(value));
+        assertFalse(StringPredicates.forCharSequences(StringPredicate.is(value)).test(new StringBuilder(value)));
+        assertFalse(StringPredicates.forUtf8(StringPredicate.is(value)).test(value.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(StringPredicates.forUtf8(StringPredicate.isNot(value)).test(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void utf8PredicatesMatchLikeStrings() {
+        Random random = new Random(1);
+        for (int i = 0; i < 2_000; i++) {
+            String text = text(random);
+            String value = text(random);
+            byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+            assertEquals(text.equals(value), Utf8Predicate.isEqualTo(value).test(encoded));
+            assertEquals(!text.equals(value), Utf8Predicate.isNotEqualTo(value).test(encoded));
+            assertEquals(text.equals(value) || text.equals("a"), Utf8Predicate.isIn(ImmutableSet.of(value, "a")).test(encoded));
+            assertEquals(text.equalsIgnoreCase(value), Utf8Predicate.isEqualToIgnoreCase(value).test(encoded));
+            assertEquals(text.contains(value), Utf8Predicate.contains(value).test(encoded));
+            assertEquals(text.isEmpty(), Utf8Predicate.isEmpty().test(encoded));
+            assertEquals(!text.isEmpty(), Utf8Predicate.isNotEmpty().test(encoded));
+            assertEquals(text.hashCode() > 0, Utf8Predicate.whenHashCode(IntPredicate.isGreaterThan(0)).test(encoded));
+        }
+    }
+
+    private static String text(Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            builder.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static StringPredicate predicate(Random random, int depth) {
+        String value = text(new Random(random.nextLong()));
+        switch (depth == 0 ? random.nextInt(12) : random.nextInt(15)) {
+            case 0:
+                return StringPredicate.isEqualTo(value);
+            case 1:
+                return StringPredicate.isNotEqualTo(value);
+            case 2:
+                return StringPredicate.isIn(ImmutableSet.of(value, "a", "�"));
+            case 3:
+                return StringPredicate.isEqualToIgnoreCase(value);
+            case 4:
+                return StringPredicate.contains(value);
+            case 5:
+                return random.nextBoolean() ? StringPredicate.isEmpty() : StringPredicate.isNotEmpty();
+            case 6:
+                return StringPredicate.matches(Pattern.compile(Pattern.quote(value) + ".*", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+            case 7:
+                return StringPredicate.whenHashCode(IntPredicate.isGreaterThan(0));
+            case 8:
+                return StringPredicate.whenBytes(ByteArrayPredicate.isEqualTo(value.getBytes(StandardCharsets.UTF_8))
+                        .or(ByteArrayPredicate.isEqualTo("é".getBytes(StandardCharsets.UTF_8))));
+            case 9:
+                return StringPredicate.isMemberOf(random.nextBoolean() ? FILTER : FILTER.withFallback(text -> text.toString().equals("a")));
+            case 10:
+                return StringPredicate.isNot(value);
+            case 11:
+                return StringPredicate.isEqualTo(value).negate();
+            case 12:
+                return predicate(random, depth - 1).and(predicate(random, depth - 1));
+            case 13:
+                return predicate(random, depth - 1).or(predicate(random, depth - 1));
+            default:
+                return predicate(random, depth - 1).negate();
+        }
+    }
+}